@@ -0,0 +1,92 @@
+package com.puresoltechnologies.javafx.benchmarks;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.puresoltechnologies.javafx.charts.axes.AxisRendererFactory;
+import com.puresoltechnologies.javafx.charts.axes.AxisType;
+import com.puresoltechnologies.javafx.charts.axes.NumberAxis;
+import com.puresoltechnologies.javafx.charts.axes.NumberAxisRenderer;
+import com.puresoltechnologies.javafx.charts.plots.Plot;
+import com.puresoltechnologies.javafx.charts.plots.xy.XYPlot;
+import com.puresoltechnologies.javafx.charts.plots.xy.XYValue;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+/**
+ * Measures the projection of values into the plotting area by
+ * {@link com.puresoltechnologies.javafx.charts.axes.AbstractAxisRenderer}, once
+ * per value with <code>calculatePos</code> and once for a whole array with
+ * <code>project</code>. The time is reported per call, so it needs to be
+ * divided by the size for the time per value.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AxisProjectionBenchmark {
+
+    private static final double WIDTH = 1920.0;
+    private static final double HEIGHT = 1080.0;
+
+    @Param({ "1000", "10000", "100000", "1000000", "10000000" })
+    private int size;
+
+    private NumberAxisRenderer renderer;
+    private double[] values;
+    private double[] positions;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+	BenchmarkPreferences.initialize();
+	NumberAxis<Double> xAxis = new NumberAxis<>("x", "", AxisType.X, Double.class);
+	NumberAxis<Double> yAxis = new NumberAxis<>("y", "", AxisType.Y, Double.class);
+	XYPlot<Double, Double> plot = new XYPlot<>("Benchmark", xAxis, yAxis,
+		Arrays.asList(new XYValue<>(0.0, 0.0), new XYValue<>((double) size, 1.0)));
+	ObservableList<Plot<?, ?, ?>> plots = FXCollections.observableArrayList();
+	plots.add(plot);
+	renderer = (NumberAxisRenderer) AxisRendererFactory.forAxis(null, xAxis, plots);
+	Random random = new Random(42);
+	values = new double[size];
+	for (int i = 0; i < size; i++) {
+	    values[i] = random.nextDouble() * size;
+	}
+	positions = new double[size];
+    }
+
+    @Benchmark
+    public double calculatePos() {
+	double sum = 0.0;
+	for (int i = 0; i < size; i++) {
+	    sum += renderer.calculatePos(0.0, 0.0, WIDTH, HEIGHT, values[i]);
+	}
+	return sum;
+    }
+
+    @Benchmark
+    public double[] project() {
+	renderer.project(0.0, 0.0, WIDTH, HEIGHT, values, positions, 0, size);
+	return positions;
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.puresoltechnologies.javafx.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+import com.puresoltechnologies.javafx.preferences.Preferences;
+
+/**
+ * Axes and plots read their fonts and colors from the {@link Preferences}. The
+ * benchmarks use an empty temporary directory for them, so that the defaults
+ * are used and the preferences of the user are not touched.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+final class BenchmarkPreferences {
+
+    static synchronized void initialize() throws IOException {
+	if (Preferences.isInitialized()) {
+	    return;
+	}
+	System.setProperty(Preferences.PREFERENCES_DIRECTORY_PROPERTY,
+		Files.createTempDirectory("benchmark-preferences").toString());
+	Preferences.initialize();
+    }
+
+    private BenchmarkPreferences() {
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.puresoltechnologies.javafx.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * This is the main class of the benchmark jar. It accepts the usual JMH command
+ * line options and always adds the GC profiler, so that the allocation rate is
+ * reported next to the time of every benchmark. For example, the following
+ * line runs the tree map benchmarks for 100k nodes only:
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar TreeMapLayout -p nodes=100000
+ * </pre>
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+	Options options = new OptionsBuilder() //
+		.parent(new CommandLineOptions(args)) //
+		.addProfiler(GCProfiler.class) //
+		.build();
+	new Runner(options).run();
+    }
+
+}
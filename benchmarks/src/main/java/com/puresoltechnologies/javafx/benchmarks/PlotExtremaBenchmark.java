@@ -0,0 +1,90 @@
+package com.puresoltechnologies.javafx.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.puresoltechnologies.javafx.charts.axes.AxisType;
+import com.puresoltechnologies.javafx.charts.axes.NumberAxis;
+import com.puresoltechnologies.javafx.charts.plots.xy.XYPlot;
+import com.puresoltechnologies.javafx.charts.plots.xy.XYValue;
+
+/**
+ * Measures the extrema updates of {@link com.puresoltechnologies.javafx.charts.plots.AbstractPlot}
+ * for changes of its data. Streaming changes are expected to take constant
+ * time independent of the size of the data, while setting new data is a full
+ * scan.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlotExtremaBenchmark {
+
+    @Param({ "1000", "10000", "100000", "1000000", "10000000" })
+    private int size;
+
+    private final Random random = new Random(42);
+    private List<XYValue<Double, Double>> values;
+    private XYPlot<Double, Double> plot;
+    private double nextX;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+	BenchmarkPreferences.initialize();
+	values = new ArrayList<>(size);
+	for (int i = 0; i < size; i++) {
+	    values.add(new XYValue<>((double) i, random.nextGaussian()));
+	}
+	plot = new XYPlot<>("Benchmark", new NumberAxis<>("x", "", AxisType.X, Double.class),
+		new NumberAxis<>("y", "", AxisType.Y, Double.class), values);
+	nextX = size;
+    }
+
+    /**
+     * Appends a value and removes the oldest one, like a streaming plot with a
+     * window of the last values.
+     */
+    @Benchmark
+    public Double slideWindow() {
+	plot.data().add(new XYValue<>(nextX++, random.nextGaussian()));
+	plot.data().remove(0);
+	return plot.getMaxY();
+    }
+
+    /**
+     * Replaces the last value, like the open candle of a streaming OHLC plot.
+     */
+    @Benchmark
+    public Double replaceLast() {
+	plot.data().set(size - 1, new XYValue<>(size - 1.0, random.nextGaussian()));
+	return plot.getMaxY();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Double setData() {
+	plot.setData(values);
+	return plot.getMaxY();
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.puresoltechnologies.javafx.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.puresoltechnologies.javafx.charts.utils.InstantTickCalculator;
+import com.puresoltechnologies.javafx.charts.utils.InstantTickCalculator.TickStep;
+import com.puresoltechnologies.javafx.charts.utils.TickCalculator;
+
+/**
+ * Measures the tick calculation of the axes. The number axes use
+ * {@link TickCalculator} for their range, and the time axes use
+ * {@link InstantTickCalculator} to select the tick step, the ticks and their
+ * labels, like <code>InstantAxisRenderer</code> does for every frame. The
+ * ranges are cycled through a set of random ranges, so that the results cannot
+ * be predicted.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TickCalculatorBenchmark {
+
+    private static final int RANGES = 1024;
+    private static final double AXIS_LENGTH = 1920.0;
+    private static final double MIN_TICK_DISTANCE = 50.0;
+
+    /**
+     * The span of the time axis in milliseconds: a minute, a day and a year.
+     */
+    @Param({ "60000", "86400000", "31556952000" })
+    private long span;
+
+    private final double[] minima = new double[RANGES];
+    private final double[] maxima = new double[RANGES];
+    private final long[] starts = new long[RANGES];
+    private int next = 0;
+
+    @Setup(Level.Trial)
+    public void setup() {
+	Random random = new Random(42);
+	for (int i = 0; i < RANGES; i++) {
+	    double magnitude = Math.pow(10.0, random.nextInt(13) - 6);
+	    minima[i] = (random.nextDouble() - 0.5) * magnitude;
+	    maxima[i] = minima[i] + (random.nextDouble() * magnitude);
+	    starts[i] = 1_500_000_000_000L + (long) (random.nextDouble() * 100_000_000_000L);
+	}
+    }
+
+    private int nextRange() {
+	next = (next + 1) & (RANGES - 1);
+	return next;
+    }
+
+    @Benchmark
+    public double numberAxisRange() {
+	int range = nextRange();
+	int accuracy = TickCalculator.calculateAccuracy(minima[range], maxima[range]);
+	return TickCalculator.calculateChartMin(minima[range], accuracy)
+		+ TickCalculator.calculateChartMax(maxima[range], accuracy);
+    }
+
+    @Benchmark
+    public long[] instantTicks() {
+	long min = starts[nextRange()];
+	long max = min + span;
+	TickStep step = InstantTickCalculator.calculateStep(min, max, AXIS_LENGTH, MIN_TICK_DISTANCE);
+	return InstantTickCalculator.calculateTicks(min, max, step);
+    }
+
+    @Benchmark
+    public void instantTicksWithLabels(Blackhole blackhole) {
+	long min = starts[nextRange()];
+	long max = min + span;
+	TickStep step = InstantTickCalculator.calculateStep(min, max, AXIS_LENGTH, MIN_TICK_DISTANCE);
+	for (long tick : InstantTickCalculator.calculateTicks(min, max, step)) {
+	    blackhole.consume(InstantTickCalculator.format(tick, step));
+	}
+    }
+
+}
@@ -0,0 +1,130 @@
+package com.puresoltechnologies.javafx.benchmarks;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.puresoltechnologies.javafx.charts.tree.TreeMapLayout;
+import com.puresoltechnologies.javafx.charts.tree.TreeMapNode;
+
+/**
+ * Measures the squarified layout used by
+ * <code>SquarifiedTreeMapRenderer</code>, sequentially and in parallel, once
+ * for the full layout and once for the relayout after a single leaf changed.
+ * The tree has a fan-out of eight. Its size stops at one million nodes, as
+ * larger trees of node objects do not fit into a reasonable heap anymore.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TreeMapLayoutBenchmark {
+
+    private static final int FAN_OUT = 8;
+    private static final int DEPTH = 10;
+    private static final double TITLE_HEIGHT = 12.0;
+
+    private static class Node implements TreeMapNode {
+
+	private final String name;
+	private final Node parent;
+	private final List<TreeMapNode> children = new ArrayList<>();
+	private double value;
+
+	Node(Node parent, String name, double value) {
+	    this.parent = parent;
+	    this.name = name;
+	    this.value = value;
+	    if (parent != null) {
+		parent.children.add(this);
+	    }
+	}
+
+	@Override
+	public String getName() {
+	    return name;
+	}
+
+	@Override
+	public double getValue() {
+	    return value;
+	}
+
+	@Override
+	public TreeMapNode getParent() {
+	    return parent;
+	}
+
+	@Override
+	public List<TreeMapNode> getChildren() {
+	    return children;
+	}
+    }
+
+    @Param({ "1000", "10000", "100000", "1000000" })
+    private int nodes;
+
+    @Param({ "false", "true" })
+    private boolean parallel;
+
+    private final Random random = new Random(42);
+    private Node root;
+    private Node leaf;
+    private TreeMapLayout layout;
+
+    @Setup(Level.Trial)
+    public void setup() {
+	root = new Node(null, "root", 0.0);
+	Deque<Node> queue = new ArrayDeque<>();
+	queue.add(root);
+	int count = 1;
+	while (count < nodes) {
+	    Node parent = queue.poll();
+	    for (int i = 0; (i < FAN_OUT) && (count < nodes); i++) {
+		Node child = new Node(parent, parent.getName() + "." + i, 1.0 + random.nextInt(1000));
+		queue.add(child);
+		leaf = child;
+		count++;
+	    }
+	}
+	layout = new TreeMapLayout(node -> TITLE_HEIGHT);
+	layout.setParallel(parallel);
+	layout.update(root, DEPTH, 0.0, 0.0, 1920.0, 1080.0);
+    }
+
+    @Benchmark
+    public int fullLayout() {
+	layout.invalidate();
+	layout.update(root, DEPTH, 0.0, 0.0, 1920.0, 1080.0);
+	return layout.size();
+    }
+
+    @Benchmark
+    public int leafChanged() {
+	leaf.value = 1.0 + random.nextInt(1000);
+	layout.nodeChanged(leaf);
+	layout.update(root, DEPTH, 0.0, 0.0, 1920.0, 1080.0);
+	return layout.size();
+    }
+
+}
@@ -7,6 +7,7 @@ import com.puresoltechnologies.javafx.extensions.fonts.FontDefinition;
 import com.puresoltechnologies.javafx.preferences.Preferences;
 import com.puresoltechnologies.javafx.utils.FXNodeUtils;
 
+import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
@@ -87,6 +88,18 @@ public class ChartView extends GridPane {
 	return subTitleProperty.get();
     }
 
+    public DoubleProperty maxFrameRateProperty() {
+	return plotCanvas.maxFrameRateProperty();
+    }
+
+    public void setMaxFrameRate(double maxFrameRate) {
+	plotCanvas.setMaxFrameRate(maxFrameRate);
+    }
+
+    public double getMaxFrameRate() {
+	return plotCanvas.getMaxFrameRate();
+    }
+
     public void addPlot(Plot<?, ?, ?> plot) {
 	plotCanvas.addPlot(plot);
     }
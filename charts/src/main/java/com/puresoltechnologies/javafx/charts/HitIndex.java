@@ -0,0 +1,262 @@
+package com.puresoltechnologies.javafx.charts;
+
+import java.util.Arrays;
+
+/**
+ * This is a spatial index of the screen rectangles drawn by a renderer. The
+ * rectangles are recorded during the draw pass together with the data they
+ * represent, so that a mouse position can be resolved to the data item below
+ * without iterating the data again.
+ * <p>
+ * The index is a uniform grid: every cell keeps the entries overlapping it, so
+ * a lookup only checks the entries of a single cell. Each entry references an
+ * owner (like a plot or a tree map node) and an index within the owner (like
+ * the index of a data point), so recording does not create any objects. The
+ * arrays are kept and reused after {@link #reset(double, double)}.
+ * <p>
+ * Data points are recorded with
+ * {@link #addPoint(double, double, double, Object, int)}, which keeps at most
+ * one entry per pixel. Large series drawn into a small area therefore do not
+ * produce more entries than there are pixels.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class HitIndex {
+
+    private static final int CELL_SIZE = 32;
+
+    private int columns = 0;
+    private int rows = 0;
+    private int[][] cells = new int[0][];
+    private int[] cellSizes = new int[0];
+    private double[] bounds = new double[4 * 64];
+    private Object[] owners = new Object[64];
+    private int[] indices = new int[64];
+    private int size = 0;
+    /*
+     * Open addressing hash table from the pixel of a point to its entry + 1, so
+     * that 0 marks a free slot.
+     */
+    private long[] pointPixels = new long[256];
+    private int[] pointEntries = new int[256];
+    private int pointCount = 0;
+
+    /**
+     * Removes all entries and sets the size of the area to be indexed. It is to
+     * be called at the beginning of a draw pass.
+     *
+     * @param width  is the width of the area.
+     * @param height is the height of the area.
+     */
+    public void reset(double width, double height) {
+	Arrays.fill(owners, 0, size, null);
+	size = 0;
+	if (pointCount > 0) {
+	    Arrays.fill(pointEntries, 0);
+	    pointCount = 0;
+	}
+	columns = Math.max(1, (int) Math.ceil(width / CELL_SIZE));
+	rows = Math.max(1, (int) Math.ceil(height / CELL_SIZE));
+	int cellCount = columns * rows;
+	if (cells.length < cellCount) {
+	    cells = Arrays.copyOf(cells, cellCount);
+	    cellSizes = new int[cellCount];
+	} else {
+	    Arrays.fill(cellSizes, 0);
+	}
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return The number of entries is returned.
+     */
+    public int size() {
+	return size;
+    }
+
+    /**
+     * Records a rectangle. Rectangles outside of the area are ignored.
+     *
+     * @param x      is the x position of the rectangle.
+     * @param y      is the y position of the rectangle.
+     * @param width  is the width of the rectangle.
+     * @param height is the height of the rectangle.
+     * @param owner  is the object the rectangle belongs to.
+     * @param index  is the index of the data item within the owner or -1 in case
+     *               the owner is the data item itself.
+     */
+    public void add(double x, double y, double width, double height, Object owner, int index) {
+	addEntry(x, y, width, height, owner, index);
+    }
+
+    /**
+     * Records a data point drawn at the given position as square around it. In
+     * case there is an entry for a point within the same pixel already, only
+     * its owner and index are replaced, because the point drawn later is the
+     * one on top.
+     *
+     * @param x      is the x position of the point.
+     * @param y      is the y position of the point.
+     * @param radius is the distance around the point to be hit.
+     * @param owner  is the object the point belongs to.
+     * @param index  is the index of the data item within the owner.
+     */
+    public void addPoint(double x, double y, double radius, Object owner, int index) {
+	if (Double.isNaN(x) || Double.isNaN(y)) {
+	    return;
+	}
+	long pixel = (((long) Math.floor(x)) << 32) ^ (((long) Math.floor(y)) & 0xFFFFFFFFL);
+	int slot = findSlot(pointPixels, pointEntries, pixel);
+	if (pointEntries[slot] != 0) {
+	    int entry = pointEntries[slot] - 1;
+	    owners[entry] = owner;
+	    indices[entry] = index;
+	    return;
+	}
+	int entry = addEntry(x - radius, y - radius, 2.0 * radius, 2.0 * radius, owner, index);
+	if (entry < 0) {
+	    return;
+	}
+	pointPixels[slot] = pixel;
+	pointEntries[slot] = entry + 1;
+	pointCount++;
+	if ((2 * pointCount) > pointEntries.length) {
+	    growPoints();
+	}
+    }
+
+    private static int findSlot(long[] pixels, int[] entries, long pixel) {
+	int mask = entries.length - 1;
+	long hash = pixel * 0x9E3779B97F4A7C15L;
+	int slot = (int) (hash ^ (hash >>> 32)) & mask;
+	while ((entries[slot] != 0) && (pixels[slot] != pixel)) {
+	    slot = (slot + 1) & mask;
+	}
+	return slot;
+    }
+
+    private void growPoints() {
+	long[] pixels = new long[2 * pointPixels.length];
+	int[] entries = new int[2 * pointEntries.length];
+	for (int i = 0; i < pointEntries.length; i++) {
+	    if (pointEntries[i] != 0) {
+		int slot = findSlot(pixels, entries, pointPixels[i]);
+		pixels[slot] = pointPixels[i];
+		entries[slot] = pointEntries[i];
+	    }
+	}
+	pointPixels = pixels;
+	pointEntries = entries;
+    }
+
+    private int addEntry(double x, double y, double width, double height, Object owner, int index) {
+	int firstColumn = Math.max(0, (int) Math.floor(x / CELL_SIZE));
+	int lastColumn = Math.min(columns - 1, (int) Math.floor((x + width) / CELL_SIZE));
+	int firstRow = Math.max(0, (int) Math.floor(y / CELL_SIZE));
+	int lastRow = Math.min(rows - 1, (int) Math.floor((y + height) / CELL_SIZE));
+	if ((firstColumn > lastColumn) || (firstRow > lastRow) || Double.isNaN(x) || Double.isNaN(y)) {
+	    return -1;
+	}
+	if (size == owners.length) {
+	    int capacity = size * 2;
+	    bounds = Arrays.copyOf(bounds, 4 * capacity);
+	    owners = Arrays.copyOf(owners, capacity);
+	    indices = Arrays.copyOf(indices, capacity);
+	}
+	int entry = size++;
+	bounds[4 * entry] = x;
+	bounds[(4 * entry) + 1] = y;
+	bounds[(4 * entry) + 2] = width;
+	bounds[(4 * entry) + 3] = height;
+	owners[entry] = owner;
+	indices[entry] = index;
+	for (int row = firstRow; row <= lastRow; row++) {
+	    for (int column = firstColumn; column <= lastColumn; column++) {
+		addToCell((row * columns) + column, entry);
+	    }
+	}
+	return entry;
+    }
+
+    private void addToCell(int cell, int entry) {
+	int[] entries = cells[cell];
+	int count = cellSizes[cell];
+	if (entries == null) {
+	    entries = new int[8];
+	    cells[cell] = entries;
+	} else if (count == entries.length) {
+	    entries = Arrays.copyOf(entries, count * 2);
+	    cells[cell] = entries;
+	}
+	entries[count] = entry;
+	cellSizes[cell] = count + 1;
+    }
+
+    /**
+     * Finds the entry at the given position. In case of overlapping rectangles,
+     * the one recorded last, which is the one drawn on top, is returned.
+     *
+     * @param x is the x position.
+     * @param y is the y position.
+     * @return The entry number is returned to be used with {@link #getOwner(int)}
+     *         and {@link #getIndex(int)}. -1 is returned in case there is no
+     *         entry at the position.
+     */
+    public int find(double x, double y) {
+	int column = (int) Math.floor(x / CELL_SIZE);
+	int row = (int) Math.floor(y / CELL_SIZE);
+	if ((column < 0) || (column >= columns) || (row < 0) || (row >= rows)) {
+	    return -1;
+	}
+	int cell = (row * columns) + column;
+	int[] entries = cells[cell];
+	for (int i = cellSizes[cell] - 1; i >= 0; i--) {
+	    int entry = entries[i];
+	    double left = bounds[4 * entry];
+	    double top = bounds[(4 * entry) + 1];
+	    if ((x >= left) && (x <= (left + bounds[(4 * entry) + 2])) && (y >= top)
+		    && (y <= (top + bounds[(4 * entry) + 3]))) {
+		return entry;
+	    }
+	}
+	return -1;
+    }
+
+    public Object getOwner(int entry) {
+	checkEntry(entry);
+	return owners[entry];
+    }
+
+    public int getIndex(int entry) {
+	checkEntry(entry);
+	return indices[entry];
+    }
+
+    public double getX(int entry) {
+	checkEntry(entry);
+	return bounds[4 * entry];
+    }
+
+    public double getY(int entry) {
+	checkEntry(entry);
+	return bounds[(4 * entry) + 1];
+    }
+
+    public double getWidth(int entry) {
+	checkEntry(entry);
+	return bounds[(4 * entry) + 2];
+    }
+
+    public double getHeight(int entry) {
+	checkEntry(entry);
+	return bounds[(4 * entry) + 3];
+    }
+
+    private void checkEntry(int entry) {
+	if ((entry < 0) || (entry >= size)) {
+	    throw new IndexOutOfBoundsException("Entry " + entry + " is out of bounds for size " + size + ".");
+	}
+    }
+
+}
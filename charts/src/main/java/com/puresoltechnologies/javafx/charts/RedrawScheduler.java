@@ -0,0 +1,136 @@
+package com.puresoltechnologies.javafx.charts;
+
+import javafx.animation.AnimationTimer;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+
+/**
+ * This class coalesces redraw requests of a canvas. Requests only set a dirty
+ * flag and the actual redraw is done once per pulse at most, so a burst of
+ * changes within one frame leads to a single redraw. Additionally, the redraws
+ * are limited to a maximum frame rate, so live data cannot starve the FX
+ * thread.
+ * <p>
+ * The scheduler needs to be used from the FX thread only. The timer is only
+ * running while redraws are pending. The decision about drawing within a pulse
+ * is made in {@link #onPulse(long)}, so the scheduler can be driven by another
+ * source of pulses, too.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class RedrawScheduler {
+
+    public static final double DEFAULT_MAX_FRAME_RATE = 60.0;
+
+    private final DoubleProperty maxFrameRate = new SimpleDoubleProperty(DEFAULT_MAX_FRAME_RATE);
+    private final Runnable redraw;
+    private final Runnable startPulses;
+    private final Runnable stopPulses;
+    /*
+     * Created with the first redraw request.
+     */
+    private AnimationTimer timer = null;
+    private boolean dirty = false;
+    private boolean running = false;
+    private boolean redrawn = false;
+    private long lastRedraw = 0;
+
+    /**
+     * @param redraw is the actual redraw to be run.
+     */
+    public RedrawScheduler(Runnable redraw) {
+	super();
+	this.redraw = redraw;
+	this.startPulses = this::startTimer;
+	this.stopPulses = this::stopTimer;
+    }
+
+    /**
+     * Creates a scheduler which is driven by another source of pulses than an
+     * {@link AnimationTimer}. The source needs to call {@link #onPulse(long)}
+     * after it was started until it is stopped.
+     *
+     * @param redraw      is the actual redraw to be run.
+     * @param startPulses starts the pulses. It is called from
+     *                    {@link #requestRedraw()}.
+     * @param stopPulses  stops the pulses. It is called from within
+     *                    {@link #onPulse(long)}.
+     */
+    public RedrawScheduler(Runnable redraw, Runnable startPulses, Runnable stopPulses) {
+	super();
+	this.redraw = redraw;
+	this.startPulses = startPulses;
+	this.stopPulses = stopPulses;
+    }
+
+    /**
+     * The maximum number of redraws per second. Values smaller or equal to zero
+     * only limit the redraws to one per pulse.
+     *
+     * @return The property is returned.
+     */
+    public DoubleProperty maxFrameRateProperty() {
+	return maxFrameRate;
+    }
+
+    public double getMaxFrameRate() {
+	return maxFrameRate.get();
+    }
+
+    public void setMaxFrameRate(double maxFrameRate) {
+	this.maxFrameRate.set(maxFrameRate);
+    }
+
+    /**
+     * Marks the canvas as dirty, so it is redrawn with the next possible pulse.
+     */
+    public void requestRedraw() {
+	dirty = true;
+	if (!running) {
+	    running = true;
+	    startPulses.run();
+	}
+    }
+
+    private void startTimer() {
+	if (timer == null) {
+	    timer = new AnimationTimer() {
+		@Override
+		public void handle(long now) {
+		    onPulse(now);
+		}
+	    };
+	}
+	timer.start();
+    }
+
+    private void stopTimer() {
+	timer.stop();
+    }
+
+    /**
+     * Runs the redraw in case it was requested since the last redraw and the
+     * maximum frame rate allows it. Without a pending request, the pulses are
+     * stopped until the next request. It is called once per pulse on the FX
+     * thread.
+     *
+     * @param now is the time of the pulse in nanoseconds, like given by
+     *            {@link System#nanoTime()}.
+     */
+    public void onPulse(long now) {
+	if (!dirty) {
+	    running = false;
+	    stopPulses.run();
+	    return;
+	}
+	double rate = maxFrameRate.get();
+	if (redrawn && (rate > 0.0) && ((now - lastRedraw) < (1.0e9 / rate))) {
+	    return;
+	}
+	dirty = false;
+	redrawn = true;
+	lastRedraw = now;
+	redraw.run();
+    }
+
+}
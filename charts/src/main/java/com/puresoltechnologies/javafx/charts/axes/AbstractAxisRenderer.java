@@ -1,20 +1,38 @@
 package com.puresoltechnologies.javafx.charts.axes;
 
 import com.puresoltechnologies.javafx.charts.AbstractRenderer;
+import com.puresoltechnologies.javafx.charts.plots.AbstractPlot;
 import com.puresoltechnologies.javafx.charts.plots.Plot;
 import com.puresoltechnologies.javafx.charts.preferences.ChartsProperties;
+import com.puresoltechnologies.javafx.charts.utils.FontMetricsCache;
+import com.puresoltechnologies.javafx.extensions.fonts.FontDefinition;
 import com.puresoltechnologies.javafx.preferences.Preferences;
 
+import javafx.beans.InvalidationListener;
 import javafx.beans.property.ObjectProperty;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
+import javafx.geometry.Bounds;
 import javafx.geometry.VPos;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
-import javafx.scene.text.Text;
+import javafx.scene.text.Font;
 import javafx.scene.text.TextAlignment;
 
+/**
+ * This is the base class for all axis renderers.
+ * <p>
+ * The axis range is calculated lazily: changes of the plots or their data only
+ * invalidate the range and it is recalculated on next access. The projection
+ * of values into the plotting area is kept as affine transformation (scale
+ * and offset), which is only recalculated when the plotting area or the range
+ * changes.
+ *
+ * @author Rick-Rainer Ludwig
+ *
+ * @param <T> is the type of the axis values.
+ */
 public abstract class AbstractAxisRenderer<T> extends AbstractRenderer implements AxisRenderer<T> {
 
     protected static final double AXIS_THICKNESS = 10.0;
@@ -28,25 +46,172 @@ public abstract class AbstractAxisRenderer<T> extends AbstractRenderer implement
     private final Axis<T> axis;
     private final ObservableList<Plot<?, ?, ?>> plots;
 
+    private final ListChangeListener<Object> dataListener = change -> invalidateRange();
+    private final InvalidationListener revisionListener = event -> invalidateRange();
     private T min = null;
     private T max = null;
+    private boolean rangeValid = false;
+    private boolean visibleRangeSet = false;
+    private double visibleMin = 0.0;
+    private double visibleMax = 0.0;
+
+    /*
+     * Projection cache: position = offset + scale * value for the area and range
+     * given below.
+     */
+    private double projectionX = Double.NaN;
+    private double projectionY = Double.NaN;
+    private double projectionWidth = Double.NaN;
+    private double projectionHeight = Double.NaN;
+    private double projectionMin = Double.NaN;
+    private double projectionMax = Double.NaN;
+    private double scale = 0.0;
+    private double offset = 0.0;
+
+    /*
+     * Fonts and title are derived from the axis only when its properties change,
+     * so that an unchanged axis is redrawn without allocations.
+     */
+    private FontDefinition labelFontDefinition = null;
+    private Font labelFont = null;
+    private FontDefinition titleFontDefinition = null;
+    private Font titleFont = null;
+    private String title = null;
+    private String unit = null;
+    private String axisTitle = null;
+    private double titleHeight = 0.0;
+    /*
+     * The thickness is only measured again when the fonts or the title of the
+     * axis change, because it is needed several times per draw.
+     */
+    private FontDefinition thicknessLabelFont = null;
+    private FontDefinition thicknessTitleFont = null;
+    private String thicknessTitle = null;
+    private double thickness = 0.0;
 
     public AbstractAxisRenderer(Axis<T> axis, ObservableList<Plot<?, ?, ?>> plots) {
 	this.axis = axis;
 	this.plots = plots;
-	plots.addListener((ListChangeListener<Plot<?, ?, ?>>) c -> updateMinMax());
-	plots.forEach(plot -> plot.data().addListener((ListChangeListener<Object>) arg0 -> updateMinMax()));
-	updateMinMax();
+	plots.addListener((ListChangeListener<Plot<?, ?, ?>>) change -> {
+	    while (change.next()) {
+		change.getRemoved().forEach(this::removePlotListeners);
+		change.getAddedSubList().forEach(this::addPlotListeners);
+	    }
+	    invalidateRange();
+	});
+	plots.forEach(this::addPlotListeners);
+    }
+
+    private void addPlotListeners(Plot<?, ?, ?> plot) {
+	plot.data().addListener(dataListener);
+	if (plot instanceof AbstractPlot) {
+	    ((AbstractPlot<?, ?, ?>) plot).revisionProperty().addListener(revisionListener);
+	}
+    }
+
+    private void removePlotListeners(Plot<?, ?, ?> plot) {
+	plot.data().removeListener(dataListener);
+	if (plot instanceof AbstractPlot) {
+	    ((AbstractPlot<?, ?, ?>) plot).revisionProperty().removeListener(revisionListener);
+	}
     }
 
+    /**
+     * Calculates the axis range from the plots and sets it with
+     * {@link #setMin(Object)} and {@link #setMax(Object)}. It is called lazily
+     * after the plots or their data have changed.
+     */
     protected abstract void updateMinMax();
 
+    /**
+     * Marks the axis range as outdated, so it is recalculated on next access.
+     */
+    protected final void invalidateRange() {
+	rangeValid = false;
+    }
+
+    /**
+     * Recalculates the axis range if it is outdated.
+     */
+    protected final void validateRange() {
+	if (!rangeValid) {
+	    rangeValid = true;
+	    updateMinMax();
+	    if (visibleRangeSet) {
+		updateVisibleRange(visibleMin, visibleMax);
+	    }
+	}
+    }
+
+    /**
+     * Restricts the axis to the given range instead of the range of the plotted
+     * data, which is used for zooming and panning.
+     *
+     * @param min is the minimum of the visible range in the numeric domain of the
+     *            axis (see {@link #toDouble(Object)}).
+     * @param max is the maximum of the visible range in the numeric domain of the
+     *            axis (see {@link #toDouble(Object)}).
+     */
+    public final void setVisibleRange(double min, double max) {
+	if (!(min < max)) {
+	    throw new IllegalArgumentException("Minimum must be smaller than maximum.");
+	}
+	visibleRangeSet = true;
+	visibleMin = min;
+	visibleMax = max;
+	invalidateRange();
+    }
+
+    /**
+     * Removes the visible range, so the axis shows the full range of the plotted
+     * data again.
+     */
+    public final void resetVisibleRange() {
+	visibleRangeSet = false;
+	invalidateRange();
+    }
+
+    public final boolean isVisibleRangeSet() {
+	return visibleRangeSet;
+    }
+
+    /**
+     * @return The minimum of the axis in its numeric domain is returned or NaN in
+     *         case there is no range.
+     */
+    public final double getMinValue() {
+	T min = getMin();
+	return min != null ? toDouble(min) : Double.NaN;
+    }
+
+    /**
+     * @return The maximum of the axis in its numeric domain is returned or NaN in
+     *         case there is no range.
+     */
+    public final double getMaxValue() {
+	T max = getMax();
+	return max != null ? toDouble(max) : Double.NaN;
+    }
+
+    /**
+     * Sets the minimum and maximum for a visible range. It is called after
+     * {@link #updateMinMax()} in case a visible range is set.
+     *
+     * @param min is the minimum of the visible range.
+     * @param max is the maximum of the visible range.
+     */
+    protected void updateVisibleRange(double min, double max) {
+	setMin(fromDouble(min));
+	setMax(fromDouble(max));
+    }
+
     protected final void setMin(T min) {
 	this.min = min;
     }
 
     @Override
     public final T getMin() {
+	validateRange();
 	return min;
     }
 
@@ -56,6 +221,7 @@ public abstract class AbstractAxisRenderer<T> extends AbstractRenderer implement
 
     @Override
     public final T getMax() {
+	validateRange();
 	return max;
     }
 
@@ -89,31 +255,159 @@ public abstract class AbstractAxisRenderer<T> extends AbstractRenderer implement
 
     @Override
     public double getTickness() {
-	double thickness = AXIS_THICKNESS;
-	thickness += getLabelThickness();
-	Text text = new Text(axis.getTitle());
-	text.setFont(axis.getTitleFont().toFont());
-	text.applyCss();
-	thickness += text.getLayoutBounds().getHeight();
+	FontDefinition labelFont = axis.getLabelFont();
+	FontDefinition titleFont = axis.getTitleFont();
+	String title = axis.getTitle();
+	if ((thicknessLabelFont == null) || (labelFont != thicknessLabelFont) || (titleFont != thicknessTitleFont)
+		|| (title != thicknessTitle)) {
+	    thickness = AXIS_THICKNESS + getLabelThickness() + measureText(titleFont, title).getHeight();
+	    thicknessLabelFont = labelFont;
+	    thicknessTitleFont = titleFont;
+	    thicknessTitle = title;
+	}
 	return thickness;
     }
 
+    /**
+     * Measures a text. All texts of the axis renderers are measured with this
+     * method, which uses the {@link FontMetricsCache}.
+     *
+     * @param font is the font of the text.
+     * @param text is the text to be measured.
+     * @return The layout {@link Bounds} of the text are returned.
+     */
+    protected Bounds measureText(FontDefinition font, String text) {
+	return FontMetricsCache.getBounds(font, text);
+    }
+
+    /**
+     * Calculates the position of a value within the plotting area for the given
+     * range. The result is the same as for {@link #calcPosX(double, double,
+     * double, double, double)} and {@link #calcPosY(double, double, double,
+     * double, double)}, but the transformation is cached, so there is only a
+     * multiplication and an addition per value for repeated calls with the same
+     * area and range.
+     */
     public double calculatePos(double x, double y, double width, double height, double min, double max, double value) {
+	updateProjectionIfNeeded(x, y, width, height, min, max);
+	return offset + (scale * value);
+    }
+
+    private void updateProjectionIfNeeded(double x, double y, double width, double height, double min, double max) {
+	if ((x != projectionX) || (y != projectionY) || (width != projectionWidth) || (height != projectionHeight)
+		|| (min != projectionMin) || (max != projectionMax)) {
+	    updateProjection(x, y, width, height, min, max);
+	}
+    }
+
+    private void updateProjection(double x, double y, double width, double height, double min, double max) {
 	AxisType axisType = getAxis().getAxisType();
+	double range = max - min;
 	switch (axisType) {
 	case X:
 	case ALT_X:
-	    return calcPosX(x, width, min, max, value);
+	    if (range == 0.0) {
+		scale = 0.0;
+		offset = x + (width / 2.0);
+	    } else {
+		scale = width / range;
+		offset = x - (scale * min);
+	    }
+	    break;
 	case Y:
 	case ALT_Y:
-	    return calcPosY(y, height, min, max, value);
+	    if (range == 0.0) {
+		scale = 0.0;
+		offset = y + (height / 2.0);
+	    } else {
+		scale = -height / range;
+		offset = (y + height) - (scale * min);
+	    }
+	    break;
 	default:
 	    throw new IllegalStateException("Unknown axis type '" + axisType + "' found.");
 	}
+	projectionX = x;
+	projectionY = y;
+	projectionWidth = width;
+	projectionHeight = height;
+	projectionMin = min;
+	projectionMax = max;
     }
 
     public abstract double calculatePos(double x, double y, double width, double height, T value);
 
+    /**
+     * Converts an axis value into the numeric domain used for the projection.
+     *
+     * @param value is the value to be converted.
+     * @return The numeric representation of the value is returned.
+     */
+    protected abstract double toDouble(T value);
+
+    /**
+     * Converts a value of the numeric domain back into an axis value.
+     *
+     * @param value is the value to be converted.
+     * @return The axis value is returned.
+     * @see #toDouble(Object)
+     */
+    protected abstract T fromDouble(double value);
+
+    /**
+     * Returns the value of the numeric domain which is projected onto the start
+     * of the plotting area.
+     *
+     * @param min is the minimum of the axis.
+     * @return By default, the numeric representation of the minimum is returned.
+     */
+    protected double getProjectionMin(T min) {
+	return toDouble(min);
+    }
+
+    /**
+     * Returns the value of the numeric domain which is projected onto the end of
+     * the plotting area.
+     *
+     * @param max is the maximum of the axis.
+     * @return By default, the numeric representation of the maximum is returned.
+     */
+    protected double getProjectionMax(T max) {
+	return toDouble(max);
+    }
+
+    /**
+     * Calculates the position of a value given in the numeric domain of the axis
+     * (see {@link #toDouble(Object)}) within the current axis range.
+     */
+    public final double calculatePos(double x, double y, double width, double height, double value) {
+	T min = getMin();
+	T max = getMax();
+	if ((min != null) && (max != null)) {
+	    return calculatePos(x, y, width, height, getProjectionMin(min), getProjectionMax(max), value);
+	} else {
+	    return calculatePos(x, y, width, height, value, value, value);
+	}
+    }
+
+    @Override
+    public final void project(double x, double y, double width, double height, double[] in, double[] out, int from,
+	    int to) {
+	T min = getMin();
+	T max = getMax();
+	if ((min != null) && (max != null)) {
+	    updateProjectionIfNeeded(x, y, width, height, getProjectionMin(min), getProjectionMax(max));
+	} else {
+	    // without range, everything is put into the center
+	    updateProjectionIfNeeded(x, y, width, height, 0.0, 0.0);
+	}
+	double scale = this.scale;
+	double offset = this.offset;
+	for (int i = from; i < to; i++) {
+	    out[i] = offset + (scale * in[i]);
+	}
+    }
+
     protected abstract double getLabelThickness();
 
     @Override
@@ -158,27 +452,54 @@ public abstract class AbstractAxisRenderer<T> extends AbstractRenderer implement
 
     protected abstract void drawTicks(GraphicsContext gc, double x, double y, double width, double height);
 
+    /**
+     * Returns the label font of the axis as {@link Font}. The font is only
+     * created again after the label font of the axis has changed.
+     *
+     * @return The {@link Font} for the tick labels is returned.
+     */
+    protected final Font getLabelFont() {
+	FontDefinition definition = axis.getLabelFont();
+	if (definition != labelFontDefinition) {
+	    labelFont = definition.toFont();
+	    labelFontDefinition = definition;
+	}
+	return labelFont;
+    }
+
+    /**
+     * Updates the title with unit, its font and its height in case one of them
+     * has changed.
+     */
+    private void updateAxisTitle() {
+	FontDefinition definition = axis.getTitleFont();
+	String title = axis.getTitle();
+	String unit = axis.getUnit();
+	if ((definition == titleFontDefinition) && (title == this.title) && (unit == this.unit)) {
+	    return;
+	}
+	axisTitle = unit != null ? title + " (" + unit + ")" : title;
+	titleFont = definition.toFont();
+	titleHeight = measureText(definition, axisTitle).getHeight();
+	titleFontDefinition = definition;
+	this.title = title;
+	this.unit = unit;
+    }
+
     private void renderAxisTitle(Canvas canvas, double x, double y, double width, double height) {
 	GraphicsContext gc = canvas.getGraphicsContext2D();
-	// TITLE
-	String axisTitle = axis.getTitle();
-	if (axis.getUnit() != null) {
-	    axisTitle += " (" + axis.getUnit() + ")";
-	}
-	Text titleText = new Text(axisTitle);
-	titleText.setFont(axis.getTitleFont().toFont());
-	titleText.applyCss();
+	updateAxisTitle();
 	// Set attributes
-	gc.setStroke(axis.getTitleFont().getColor());
-	gc.setFill(axis.getTitleFont().getColor());
-	gc.setFont(axis.getTitleFont().toFont());
+	gc.setStroke(titleFontDefinition.getColor());
+	gc.setFill(titleFontDefinition.getColor());
+	gc.setFont(titleFont);
 	gc.setTextAlign(TextAlignment.CENTER);
 	gc.setTextBaseline(VPos.TOP);
 
 	switch (axis.getAxisType()) {
 	case X:
 	    // Title
-	    gc.fillText(axisTitle, x + (width / 2.0), (y + height) - titleText.getLayoutBounds().getHeight());
+	    gc.fillText(axisTitle, x + (width / 2.0), (y + height) - titleHeight);
 	    break;
 	case ALT_X:
 	    // Title
@@ -193,8 +514,7 @@ public abstract class AbstractAxisRenderer<T> extends AbstractRenderer implement
 	case ALT_Y:
 	    // Title
 	    gc.rotate(-90);
-	    gc.fillText(axisTitle, -canvas.getHeight() / 2.0,
-		    canvas.getWidth() - titleText.getLayoutBounds().hashCode());
+	    gc.fillText(axisTitle, -canvas.getHeight() / 2.0, canvas.getWidth() - titleHeight);
 	    gc.rotate(90);
 	    break;
 	}
@@ -0,0 +1,203 @@
+package com.puresoltechnologies.javafx.charts.axes;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.puresoltechnologies.javafx.charts.plots.AbstractPlot;
+import com.puresoltechnologies.javafx.charts.plots.Plot;
+
+import javafx.collections.ObservableList;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * This is the base class for the renderers of axes with categories instead of
+ * numbers, like nominal and ordinal values. The categories are collected from
+ * the data of the plots and numbered, and the number of a category is its
+ * value in the numeric domain of the axis. Every category gets a band of the
+ * same size within the plotting area and is placed in the center of its band,
+ * where its label is drawn, too.
+ *
+ * @author Rick-Rainer Ludwig
+ *
+ * @param <T> is the type of the categories.
+ */
+public abstract class AbstractCategoryAxisRenderer<T> extends AbstractAxisRenderer<T> {
+
+    private final List<T> categories = new ArrayList<>();
+    private final Map<T, Integer> categoryNumbers = new HashMap<>();
+    private final List<String> labels = new ArrayList<>();
+
+    public AbstractCategoryAxisRenderer(Axis<T> axis, ObservableList<Plot<?, ?, ?>> plots) {
+	super(axis, plots);
+    }
+
+    @Override
+    protected void updateMinMax() {
+	categories.clear();
+	categoryNumbers.clear();
+	AxisType axisType = getAxis().getAxisType();
+	boolean xAxis = (axisType == AxisType.X) || (axisType == AxisType.ALT_X);
+	for (Plot<?, ?, ?> plot : getPlots()) {
+	    if (plot instanceof AbstractPlot) {
+		addCategories((AbstractPlot<?, ?, ?>) plot, xAxis);
+	    }
+	}
+	orderCategories(categories);
+	labels.clear();
+	for (int i = 0; i < categories.size(); i++) {
+	    categoryNumbers.put(categories.get(i), i);
+	    labels.add(String.valueOf(categories.get(i)));
+	}
+	setMin(categories.isEmpty() ? null : categories.get(0));
+	setMax(categories.isEmpty() ? null : categories.get(categories.size() - 1));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <D> void addCategories(AbstractPlot<?, ?, D> plot, boolean xAxis) {
+	for (D item : plot.getData()) {
+	    T category = (T) (xAxis ? plot.getAxisX(item) : plot.getAxisY(item));
+	    if ((category != null) && !categoryNumbers.containsKey(category)) {
+		categoryNumbers.put(category, categories.size());
+		categories.add(category);
+	    }
+	}
+    }
+
+    /**
+     * Brings the categories into the order they are drawn in. They are given in
+     * the order of their first appearance in the plots, which is kept by
+     * default.
+     *
+     * @param categories is the list of categories to be ordered in place.
+     */
+    protected void orderCategories(List<T> categories) {
+	// the order of appearance is kept
+    }
+
+    /**
+     * @return The number of categories on the axis is returned.
+     */
+    public final int getCategoryCount() {
+	validateRange();
+	return categories.size();
+    }
+
+    /**
+     * @param number is the number of the category in the order of the axis.
+     * @return The category is returned.
+     */
+    public final T getCategory(int number) {
+	validateRange();
+	return categories.get(number);
+    }
+
+    @Override
+    public double calculatePos(double x, double y, double width, double height, T value) {
+	validateRange();
+	return calculatePos(x, y, width, height, toDouble(value));
+    }
+
+    /**
+     * Returns the number of the category. NaN is returned for values which are
+     * not a category of the axis, so they are not drawn.
+     */
+    @Override
+    protected double toDouble(T value) {
+	Integer number = categoryNumbers.get(value);
+	return number != null ? number : Double.NaN;
+    }
+
+    /**
+     * Returns the category with the number closest to the value.
+     */
+    @Override
+    protected T fromDouble(double value) {
+	if (categories.isEmpty()) {
+	    return null;
+	}
+	int number = (int) Math.max(0, Math.min(categories.size() - 1, Math.round(value)));
+	return categories.get(number);
+    }
+
+    /**
+     * The band of the first category starts half a category before its number.
+     */
+    @Override
+    protected double getProjectionMin(T min) {
+	return toDouble(min) - 0.5;
+    }
+
+    /**
+     * The band of the last category ends half a category after its number.
+     */
+    @Override
+    protected double getProjectionMax(T max) {
+	return toDouble(max) + 0.5;
+    }
+
+    @Override
+    protected void drawTicks(GraphicsContext gc, double x, double y, double width, double height) {
+	AxisType axisType = getAxis().getAxisType();
+	Color tickColor = axisColor.get();
+	Color labelColor = getAxis().getTitleFont().getColor();
+	boolean xAxis = (axisType == AxisType.X) || (axisType == AxisType.ALT_X);
+	double minDistance = xAxis ? MIN_X_DISTANCE : MIN_Y_DISTANCE;
+	double lastPosition = Double.NaN;
+	gc.setFont(getLabelFont());
+	for (int number = 0; number < categories.size(); number++) {
+	    double position = calculatePos(x, y, width, height, (double) number);
+	    // labels of narrow bands would overlap, so only some of them are drawn
+	    if (Math.abs(position - lastPosition) < minDistance) {
+		continue;
+	    }
+	    lastPosition = position;
+	    String label = labels.get(number);
+	    gc.setFill(tickColor);
+	    gc.setStroke(tickColor);
+	    switch (axisType) {
+	    case X:
+		gc.strokeLine(position, y, position, y + ((AXIS_THICKNESS * 2) / 3));
+		break;
+	    case ALT_X:
+		gc.strokeLine(position, y + height, position, (y + height) - ((AXIS_THICKNESS * 2) / 3));
+		break;
+	    case Y:
+		gc.strokeLine((x + width) - ((AXIS_THICKNESS * 2) / 3), position, x + width, position);
+		break;
+	    case ALT_Y:
+		gc.strokeLine(x, position, x + ((AXIS_THICKNESS * 2) / 3), position);
+		break;
+	    }
+	    gc.setStroke(labelColor);
+	    gc.setFill(labelColor);
+	    switch (axisType) {
+	    case X:
+		gc.setTextAlign(TextAlignment.CENTER);
+		gc.setTextBaseline(VPos.TOP);
+		gc.fillText(label, position, y + AXIS_THICKNESS);
+		break;
+	    case ALT_X:
+		gc.setTextAlign(TextAlignment.CENTER);
+		gc.setTextBaseline(VPos.BOTTOM);
+		gc.fillText(label, position, (y + height) - AXIS_THICKNESS);
+		break;
+	    case Y:
+		gc.setTextAlign(TextAlignment.RIGHT);
+		gc.setTextBaseline(VPos.CENTER);
+		gc.fillText(label, (x + width) - AXIS_THICKNESS, position);
+		break;
+	    case ALT_Y:
+		gc.setTextAlign(TextAlignment.LEFT);
+		gc.setTextBaseline(VPos.CENTER);
+		gc.fillText(label, x + AXIS_THICKNESS, position);
+		break;
+	    }
+	}
+    }
+
+}
@@ -33,4 +33,22 @@ public interface AxisRenderer<T> extends Renderer {
      */
     double getTickness();
 
+    /**
+     * Projects values in the numeric domain of the axis into positions within
+     * the plotting area. This is the bulk version of the single value position
+     * calculation: the transformation is calculated once and applied to the
+     * whole range. <code>in</code> and <code>out</code> may be the same array.
+     *
+     * @param x      is the x position of the plotting area.
+     * @param y      is the y position of the plotting area.
+     * @param width  is the width of the plotting area.
+     * @param height is the height of the plotting area.
+     * @param in     are the values to be projected. For time axes these are epoch
+     *               milliseconds.
+     * @param out    is the array the positions are written to.
+     * @param from   is the index of the first value to be projected.
+     * @param to     is the index after the last value to be projected.
+     */
+    void project(double x, double y, double width, double height, double[] in, double[] out, int from, int to);
+
 }
\ No newline at end of file
@@ -1,25 +1,36 @@
 package com.puresoltechnologies.javafx.charts.axes;
 
 import java.time.Instant;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
-import com.puresoltechnologies.javafx.charts.plots.AbstractPlot;
+import java.util.function.LongFunction;
+
 import com.puresoltechnologies.javafx.charts.plots.Plot;
+import com.puresoltechnologies.javafx.charts.utils.InstantTickCalculator;
+import com.puresoltechnologies.javafx.charts.utils.InstantTickCalculator.TickStep;
+import com.puresoltechnologies.javafx.charts.utils.TickLabelCache;
+import com.puresoltechnologies.javafx.extensions.fonts.FontDefinition;
 
 import javafx.collections.ObservableList;
 import javafx.geometry.VPos;
 import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.text.Text;
 import javafx.scene.text.TextAlignment;
 
 public class InstantAxisRenderer extends AbstractAxisRenderer<Instant> {
 
-    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yy MMM dd\nHH:mm");
+    /*
+     * The ticks of the last draw, which are reused as long as the axis is
+     * unchanged.
+     */
+    private long[] ticks = null;
+    private TickStep step = null;
+    private long ticksMin;
+    private long ticksMax;
+    private double ticksWidth;
+    private double ticksHeight;
+    private FontDefinition ticksFont = null;
+    private final TickLabelCache tickLabels = new TickLabelCache();
+    private final LongFunction<String> tickFormatter = tick -> InstantTickCalculator.format(tick, step);
+    private double[] tickPositions = new double[0];
+    private String[] tickTexts = new String[0];
 
     public InstantAxisRenderer(Axis<Instant> axis, ObservableList<Plot<?, ?, ?>> plots) {
 	super(axis, plots);
@@ -59,130 +70,146 @@ public class InstantAxisRenderer extends AbstractAxisRenderer<Instant> {
 
     @Override
     protected double getLabelThickness() {
-	Text text = new Text("WQ");
-	text.setFont(getAxis().getLabelFont().toFont());
-	text.applyCss();
-	return 2 * text.getLayoutBounds().getHeight();
+	return 2 * measureText(getAxis().getLabelFont(), "WQ").getHeight();
     }
 
     @Override
     public double calculatePos(double x, double y, double width, double height, Instant value) {
-	updateMinMax(); // XXX find something more efficient
-	long maxEpochSecond = getMax().getEpochSecond();
-	long minEpochSecond = getMin().getEpochSecond();
-	long currentEpochSecond = value.getEpochSecond();
-	AxisType axisType = getAxis().getAxisType();
+	return calculatePos(x, y, width, height, (double) value.toEpochMilli());
+    }
+
+    /**
+     * Instants are projected as epoch milliseconds.
+     */
+    @Override
+    protected double toDouble(Instant value) {
+	return value.toEpochMilli();
+    }
+
+    @Override
+    protected Instant fromDouble(double value) {
+	return Instant.ofEpochMilli(Math.round(value));
+    }
+
+    /**
+     * Calculates the tick step and the ticks in case the range, the length of the
+     * axis or the label font have changed since the last draw.
+     */
+    private void updateTicks(AxisType axisType, FontDefinition labelFont, long min, long max, double width,
+	    double height) {
+	if ((ticks != null) && (min == ticksMin) && (max == ticksMax) && (width == ticksWidth)
+		&& (height == ticksHeight) && (labelFont == ticksFont)) {
+	    return;
+	}
 	switch (axisType) {
 	case X:
 	case ALT_X:
-	    return x + ((width / (maxEpochSecond - minEpochSecond)) * (currentEpochSecond - minEpochSecond));
+	    step = InstantTickCalculator.calculateStep(min, max, width, MIN_X_DISTANCE);
+	    // make sure the labels do not overlap
+	    double labelWidth = measureText(labelFont, InstantTickCalculator.format(min, step)).getWidth()
+		    + AXIS_THICKNESS;
+	    if (labelWidth > MIN_X_DISTANCE) {
+		step = InstantTickCalculator.calculateStep(min, max, width, labelWidth);
+	    }
+	    break;
 	case Y:
 	case ALT_Y:
-	    return (y + height)
-		    - ((height / (maxEpochSecond - minEpochSecond)) * (currentEpochSecond - minEpochSecond));
+	    double labelHeight = measureText(labelFont, "WQ\nWQ").getHeight();
+	    step = InstantTickCalculator.calculateStep(min, max, height, Math.max(MIN_Y_DISTANCE, labelHeight));
+	    break;
 	default:
 	    throw new IllegalStateException("Unknown axis type '" + axisType + "' found.");
 	}
+	ticks = InstantTickCalculator.calculateTicks(min, max, step);
+	ticksMin = min;
+	ticksMax = max;
+	ticksWidth = width;
+	ticksHeight = height;
+	ticksFont = labelFont;
+    }
+
+    /**
+     * Calculates the positions and labels of the ticks to be drawn. It does not
+     * need a graphics context and it does not allocate anything for an unchanged
+     * axis, the results are kept in reused arrays.
+     *
+     * @return The number of ticks is returned.
+     */
+    final int calculateTicks(double x, double y, double width, double height) {
+	updateTicks(getAxis().getAxisType(), getAxis().getLabelFont(), getMin().toEpochMilli(),
+		getMax().toEpochMilli(), width, height);
+	if (tickPositions.length < ticks.length) {
+	    tickPositions = new double[ticks.length];
+	    tickTexts = new String[ticks.length];
+	}
+	for (int i = 0; i < ticks.length; i++) {
+	    tickPositions[i] = calculatePos(x, y, width, height, (double) ticks[i]);
+	    tickTexts[i] = tickLabels.getLabel(ticks[i], step, tickFormatter);
+	}
+	return ticks.length;
+    }
+
+    /**
+     * @return The positions of the ticks of the last
+     *         {@link #calculateTicks(double, double, double, double)} are
+     *         returned.
+     */
+    final double[] getTickPositions() {
+	return tickPositions;
+    }
+
+    /**
+     * @return The labels of the ticks of the last
+     *         {@link #calculateTicks(double, double, double, double)} are
+     *         returned.
+     */
+    final String[] getTickTexts() {
+	return tickTexts;
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     protected void drawTicks(GraphicsContext gc, double x, double y, double width, double height) {
 	AxisType axisType = getAxis().getAxisType();
-	gc.setFont(getAxis().getLabelFont().toFont());
-	List<Instant> possibleTicks = new ArrayList<>();
-	switch (axisType) {
-	case X:
-	case ALT_X:
-	    for (Plot<?, ?, ?> plot : getPlots()) {
-		for (Object value : plot.getData()) {
-		    Instant i = ((AbstractPlot<Instant, ?, Object>) plot).getAxisX(value);
-		    possibleTicks.add(i);
-		}
-	    }
-	    break;
-	case Y:
-	case ALT_Y:
-	    for (Plot<?, ?, ?> plot : getPlots()) {
-		for (Object value : plot.getData()) {
-		    Instant i = ((AbstractPlot<?, Instant, Object>) plot).getAxisY(value);
-		    possibleTicks.add(i);
-		}
-	    }
-	    break;
-	}
-	Collections.sort(possibleTicks);
-	double position = 0.0;
-	for (Instant current : possibleTicks) {
-	    long maxEpochSecond = getMax().getEpochSecond();
-	    long minEpochSecond = getMin().getEpochSecond();
-	    long currentEpochSecond = current.getEpochSecond();
-	    double currentPosition;
+	FontDefinition labelFont = getAxis().getLabelFont();
+	gc.setFont(getLabelFont());
+	int count = calculateTicks(x, y, width, height);
+	for (int tick = 0; tick < count; tick++) {
+	    double position = tickPositions[tick];
+	    String label = tickTexts[tick];
+	    gc.setStroke(axisColor.get());
+	    gc.setFill(axisColor.get());
 	    switch (axisType) {
 	    case X:
-		currentPosition = (width / (maxEpochSecond - minEpochSecond)) * (currentEpochSecond - minEpochSecond);
-		if (((currentPosition - position) < MIN_X_DISTANCE) && (position > 0.0)) {
-		    continue;
-		}
-		position = currentPosition;
-		gc.setStroke(axisColor.get());
-		gc.setFill(axisColor.get());
-		gc.strokeLine(x + position, y, x + position, y + AXIS_THICKNESS);
+		gc.strokeLine(position, y, position, y + AXIS_THICKNESS);
 		gc.setTextAlign(TextAlignment.CENTER);
 		gc.setTextBaseline(VPos.TOP);
-		gc.setStroke(getAxis().getLabelFont().getColor());
-		gc.setFill(getAxis().getLabelFont().getColor());
-		gc.fillText(formatter.format(ZonedDateTime.ofInstant(current, ZoneId.of("UTC"))), x + position,
-			y + AXIS_THICKNESS);
+		gc.setStroke(labelFont.getColor());
+		gc.setFill(labelFont.getColor());
+		gc.fillText(label, position, y + AXIS_THICKNESS);
 		break;
 	    case ALT_X:
-		currentPosition = (width / (maxEpochSecond - minEpochSecond)) * (currentEpochSecond - minEpochSecond);
-		if ((currentPosition - position) < MIN_X_DISTANCE) {
-		    continue;
-		}
-		position = currentPosition;
-		gc.setStroke(axisColor.get());
-		gc.setFill(axisColor.get());
-		gc.strokeLine(x + position, y + height, x + position, (y + height) - AXIS_THICKNESS);
+		gc.strokeLine(position, y + height, position, (y + height) - AXIS_THICKNESS);
 		gc.setTextAlign(TextAlignment.CENTER);
 		gc.setTextBaseline(VPos.BOTTOM);
-		gc.setStroke(getAxis().getLabelFont().getColor());
-		gc.setFill(getAxis().getLabelFont().getColor());
-		gc.fillText(formatter.format(ZonedDateTime.ofInstant(current, ZoneId.of("UTC"))), x + position,
-			(y + height) - AXIS_THICKNESS);
+		gc.setStroke(labelFont.getColor());
+		gc.setFill(labelFont.getColor());
+		gc.fillText(label, position, (y + height) - AXIS_THICKNESS);
 		break;
 	    case Y:
-		currentPosition = (height / (maxEpochSecond - minEpochSecond)) * (currentEpochSecond - minEpochSecond);
-		if ((currentPosition - position) < MIN_X_DISTANCE) {
-		    continue;
-		}
-		position = currentPosition;
-		gc.setStroke(axisColor.get());
-		gc.setFill(axisColor.get());
-		gc.strokeLine((x + width) - AXIS_THICKNESS, (y + height) - position, x + width,
-			(y + height) - position);
+		gc.strokeLine((x + width) - AXIS_THICKNESS, position, x + width, position);
 		gc.setTextAlign(TextAlignment.RIGHT);
 		gc.setTextBaseline(VPos.CENTER);
-		gc.setStroke(getAxis().getLabelFont().getColor());
-		gc.setFill(getAxis().getLabelFont().getColor());
-		gc.fillText(formatter.format(ZonedDateTime.ofInstant(current, ZoneId.of("UTC"))),
-			(x + width) - AXIS_THICKNESS, (y + height) - position);
+		gc.setStroke(labelFont.getColor());
+		gc.setFill(labelFont.getColor());
+		gc.fillText(label, (x + width) - AXIS_THICKNESS, position);
 		break;
 	    case ALT_Y:
-		currentPosition = (height / (maxEpochSecond - minEpochSecond)) * (currentEpochSecond - minEpochSecond);
-		if ((currentPosition - position) < MIN_X_DISTANCE) {
-		    continue;
-		}
-		position = currentPosition;
-		gc.setStroke(axisColor.get());
-		gc.setFill(axisColor.get());
-		gc.strokeLine(x, (y + height) - position, x + AXIS_THICKNESS, (y + height) - position);
+		gc.strokeLine(x, position, x + AXIS_THICKNESS, position);
 		gc.setTextAlign(TextAlignment.LEFT);
 		gc.setTextBaseline(VPos.CENTER);
-		gc.setStroke(getAxis().getLabelFont().getColor());
-		gc.setFill(getAxis().getLabelFont().getColor());
-		gc.fillText(formatter.format(ZonedDateTime.ofInstant(current, ZoneId.of("UTC"))), x + AXIS_THICKNESS,
-			(y + height) - position);
+		gc.setStroke(labelFont.getColor());
+		gc.setFill(labelFont.getColor());
+		gc.fillText(label, x + AXIS_THICKNESS, position);
 		break;
 	    }
 	}
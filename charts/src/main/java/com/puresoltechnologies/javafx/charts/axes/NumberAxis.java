@@ -1,9 +1,44 @@
 package com.puresoltechnologies.javafx.charts.axes;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
 public class NumberAxis<T extends Number & Comparable<T>> extends OrdinalAxis<T> {
 
     public NumberAxis(String title, String unit, AxisType type, Class<T> valueType) {
 	super(title, unit, type, valueType);
     }
 
+    /**
+     * Converts a value from the numeric domain of the renderers into the value
+     * type of a number axis. Integral types are rounded.
+     *
+     * @param value     is the value to be converted.
+     * @param valueType is the value type of the axis.
+     * @return The value is returned as instance of the value type.
+     */
+    public static <T extends Number> T valueOf(double value, Class<T> valueType) {
+	Number number;
+	if (valueType == Double.class) {
+	    number = value;
+	} else if (valueType == Float.class) {
+	    number = (float) value;
+	} else if (valueType == Long.class) {
+	    number = Math.round(value);
+	} else if (valueType == Integer.class) {
+	    number = (int) Math.round(value);
+	} else if (valueType == Short.class) {
+	    number = (short) Math.round(value);
+	} else if (valueType == Byte.class) {
+	    number = (byte) Math.round(value);
+	} else if (valueType == BigDecimal.class) {
+	    number = BigDecimal.valueOf(value);
+	} else if (valueType == BigInteger.class) {
+	    number = BigDecimal.valueOf(value).toBigInteger();
+	} else {
+	    throw new IllegalArgumentException("Value type " + valueType.getName() + " is not supported.");
+	}
+	return valueType.cast(number);
+    }
+
 }
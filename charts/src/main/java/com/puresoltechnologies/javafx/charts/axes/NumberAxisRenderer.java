@@ -1,12 +1,17 @@
 package com.puresoltechnologies.javafx.charts.axes;
 
+import java.util.Arrays;
+import java.util.function.LongFunction;
+
 import com.puresoltechnologies.javafx.charts.plots.Plot;
 import com.puresoltechnologies.javafx.charts.utils.TickCalculator;
+import com.puresoltechnologies.javafx.charts.utils.TickLabelCache;
 
 import javafx.collections.ObservableList;
+import javafx.geometry.Bounds;
 import javafx.geometry.VPos;
 import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.text.Text;
+import javafx.scene.paint.Color;
 import javafx.scene.text.TextAlignment;
 
 public class NumberAxisRenderer extends AbstractAxisRenderer<Number> {
@@ -16,6 +21,18 @@ public class NumberAxisRenderer extends AbstractAxisRenderer<Number> {
      */
     private int accuracy = 0;
     private double tickSteps = 1;
+    private String formatString = "%.0f";
+    /**
+     * The tick labels are kept by the index of the tick, which is the tick value
+     * divided by {@link #tickSteps}, for the current accuracy.
+     */
+    private final TickLabelCache tickLabels = new TickLabelCache();
+    private final LongFunction<String> tickFormatter = tick -> String.format(formatString, tick * tickSteps);
+    /*
+     * The ticks of the last draw.
+     */
+    private double[] tickPositions = new double[16];
+    private String[] tickTexts = new String[16];
 
     public NumberAxisRenderer(Axis<Number> axis, ObservableList<Plot<?, ?, ?>> plots) {
 	super(axis, plots);
@@ -64,41 +81,58 @@ public class NumberAxisRenderer extends AbstractAxisRenderer<Number> {
     private void setAccuracy(int accuracy) {
 	this.accuracy = accuracy;
 	this.tickSteps = Math.pow(10.0, accuracy);
+	this.formatString = accuracy < 0 ? "%." + Math.abs(accuracy) + "f" : "%.0f";
     }
 
     public int getAccuracy() {
+	validateRange();
 	return accuracy;
     }
 
     @Override
     public double calculatePos(double x, double y, double width, double height, Number value) {
-	double d = value.doubleValue();
-	if ((getMin() != null) && (getMax() != null)) {
-	    return super.calculatePos(x, y, width, height, getMin().doubleValue(), getMax().doubleValue(), d);
-	} else {
-	    return super.calculatePos(x, y, width, height, d, d, d);
-	}
+	return calculatePos(x, y, width, height, value.doubleValue());
+    }
+
+    @Override
+    protected double toDouble(Number value) {
+	return value.doubleValue();
+    }
+
+    @Override
+    protected Number fromDouble(double value) {
+	return value;
+    }
+
+    @Override
+    protected void updateVisibleRange(double min, double max) {
+	setAccuracy(TickCalculator.calculateAccuracy(min, max));
+	super.updateVisibleRange(min, max);
     }
 
     @Override
     protected double getLabelThickness() {
-	Text text = new Text("W1.234");
-	text.setFont(getAxis().getLabelFont().toFont());
-	text.applyCss();
+	Bounds bounds = measureText(getAxis().getLabelFont(), "W1.234");
 	switch (getAxis().getAxisType()) {
 	case X:
 	case ALT_X:
-	    return text.getLayoutBounds().getHeight();
+	    return bounds.getHeight();
 	case Y:
 	case ALT_Y:
-	    return text.getLayoutBounds().getWidth();
+	    return bounds.getWidth();
 	default:
-	    return text.getLayoutBounds().getHeight();
+	    return bounds.getHeight();
 	}
     }
 
-    @Override
-    protected void drawTicks(GraphicsContext gc, double x, double y, double width, double height) {
+    /**
+     * Calculates the positions and labels of the ticks to be drawn. It does not
+     * need a graphics context and it does not allocate anything for an unchanged
+     * axis, the results are kept in reused arrays.
+     *
+     * @return The number of ticks is returned.
+     */
+    final int calculateTicks(double x, double y, double width, double height) {
 	AxisType axisType = getAxis().getAxisType();
 	double position;
 	double minDinstance;
@@ -116,19 +150,61 @@ public class NumberAxisRenderer extends AbstractAxisRenderer<Number> {
 	default:
 	    throw new IllegalStateException("Unknown axis type '" + axisType + "' found.");
 	}
-	String formatString = "%.0f";
-	if (accuracy < 0) {
-	    formatString = "%." + Math.abs(accuracy) + "f";
+	// the accuracy is boxed to the same cached Integer on every draw
+	Integer format = accuracy;
+	// a visible range does not need to start at a tick
+	double start = TickCalculator.calculateChartMin(getMin().doubleValue(), accuracy);
+	if (start < (getMin().doubleValue() - (tickSteps * 1e-9))) {
+	    start += tickSteps;
 	}
-	boolean first = true;
-	for (double current = getMin().doubleValue(); current <= getMax().doubleValue(); current += tickSteps) {
+	int count = 0;
+	for (double current = start; current <= getMax().doubleValue(); current += tickSteps) {
 	    double currentPosition = calculatePos(x, y, width, height, current);
-	    if ((Math.abs(currentPosition - position) < minDinstance) && !first) {
+	    if ((Math.abs(currentPosition - position) < minDinstance) && (count > 0)) {
 		continue;
 	    }
 	    position = currentPosition;
-	    gc.setFill(axisColor.get());
-	    gc.setStroke(axisColor.get());
+	    if (count == tickPositions.length) {
+		tickPositions = Arrays.copyOf(tickPositions, count * 2);
+		tickTexts = Arrays.copyOf(tickTexts, count * 2);
+	    }
+	    tickPositions[count] = position;
+	    tickTexts[count] = tickLabels.getLabel(Math.round(current / tickSteps), format, tickFormatter);
+	    count++;
+	}
+	return count;
+    }
+
+    /**
+     * @return The positions of the ticks of the last
+     *         {@link #calculateTicks(double, double, double, double)} are
+     *         returned.
+     */
+    final double[] getTickPositions() {
+	return tickPositions;
+    }
+
+    /**
+     * @return The labels of the ticks of the last
+     *         {@link #calculateTicks(double, double, double, double)} are
+     *         returned.
+     */
+    final String[] getTickTexts() {
+	return tickTexts;
+    }
+
+    @Override
+    protected void drawTicks(GraphicsContext gc, double x, double y, double width, double height) {
+	AxisType axisType = getAxis().getAxisType();
+	int count = calculateTicks(x, y, width, height);
+	Color tickColor = axisColor.get();
+	Color labelColor = getAxis().getTitleFont().getColor();
+	gc.setFont(getLabelFont());
+	for (int tick = 0; tick < count; tick++) {
+	    double position = tickPositions[tick];
+	    String tickLabel = tickTexts[tick];
+	    gc.setFill(tickColor);
+	    gc.setStroke(tickColor);
 	    switch (axisType) {
 	    case X:
 		gc.strokeLine(position, y, position, y + ((AXIS_THICKNESS * 2) / 3));
@@ -143,10 +219,8 @@ public class NumberAxisRenderer extends AbstractAxisRenderer<Number> {
 		gc.strokeLine(x, position, x + ((AXIS_THICKNESS * 2) / 3), position);
 		break;
 	    }
-	    gc.setFont(getAxis().getLabelFont().toFont());
-	    gc.setStroke(getAxis().getTitleFont().getColor());
-	    gc.setFill(getAxis().getTitleFont().getColor());
-	    String tickLabel = String.format(formatString, current);
+	    gc.setStroke(labelColor);
+	    gc.setFill(labelColor);
 	    switch (axisType) {
 	    case X:
 		gc.setTextAlign(TextAlignment.CENTER);
@@ -169,7 +243,6 @@ public class NumberAxisRenderer extends AbstractAxisRenderer<Number> {
 		gc.fillText(tickLabel, x + AXIS_THICKNESS, position);
 		break;
 	    }
-	    first = false;
 	}
     }
 
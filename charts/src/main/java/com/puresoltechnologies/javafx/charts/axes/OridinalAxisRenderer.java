@@ -1,12 +1,12 @@
 package com.puresoltechnologies.javafx.charts.axes;
 
+import java.util.List;
+
 import com.puresoltechnologies.javafx.charts.plots.Plot;
 
 import javafx.collections.ObservableList;
-import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.text.Text;
 
-public class OridinalAxisRenderer extends AbstractAxisRenderer<Comparable<Object>> {
+public class OridinalAxisRenderer extends AbstractCategoryAxisRenderer<Comparable<Object>> {
 
     public OridinalAxisRenderer(Axis<Comparable<Object>> axis, ObservableList<Plot<?, ?, ?>> plots) {
 	super(axis, plots);
@@ -14,27 +14,15 @@ public class OridinalAxisRenderer extends AbstractAxisRenderer<Comparable<Object
 
     @Override
     protected double getLabelThickness() {
-	Text text = new Text("WQ");
-	text.setFont(getAxis().getLabelFont().toFont());
-	text.applyCss();
-	return text.getLayoutBounds().getHeight();
-    }
-
-    @Override
-    public double calculatePos(double x, double y, double width, double height, Comparable<Object> value) {
-	// TODO Auto-generated method stub
-	return 0;
+	return measureText(getAxis().getLabelFont(), "WQ").getHeight();
     }
 
+    /**
+     * Ordinal values are drawn in their natural order.
+     */
     @Override
-    protected void drawTicks(GraphicsContext gc, double x, double y, double width, double height) {
-	// TODO Auto-generated method stub
-    }
-
-    @Override
-    protected void updateMinMax() {
-	// TODO Auto-generated method stub
-
+    protected void orderCategories(List<Comparable<Object>> categories) {
+	categories.sort(null);
     }
 
 }
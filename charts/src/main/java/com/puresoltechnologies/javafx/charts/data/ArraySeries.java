@@ -0,0 +1,114 @@
+package com.puresoltechnologies.javafx.charts.data;
+
+import java.util.Arrays;
+
+/**
+ * This is a small {@link ColumnarSeries} backed by plain arrays. It is meant as
+ * reusable output buffer for intermediate results like decimated series, so
+ * {@link #clear()} keeps the allocated capacity.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class ArraySeries implements ColumnarSeries {
+
+    private double[] xValues;
+    private double[] yValues;
+    private int size = 0;
+    private boolean sortedByX = true;
+
+    public ArraySeries() {
+	this(256);
+    }
+
+    public ArraySeries(int capacity) {
+	super();
+	xValues = new double[capacity];
+	yValues = new double[capacity];
+    }
+
+    @Override
+    public final int size() {
+	return size;
+    }
+
+    @Override
+    public final double getX(int index) {
+	if (index >= size) {
+	    throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for size " + size + ".");
+	}
+	return xValues[index];
+    }
+
+    @Override
+    public final double getY(int index) {
+	if (index >= size) {
+	    throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for size " + size + ".");
+	}
+	return yValues[index];
+    }
+
+    @Override
+    public final boolean isSortedByX() {
+	return sortedByX;
+    }
+
+    @Override
+    public final void copyX(int from, int to, double[] destination, int offset) {
+	checkRange(from, to);
+	System.arraycopy(xValues, from, destination, offset, to - from);
+    }
+
+    @Override
+    public final void copyY(int from, int to, double[] destination, int offset) {
+	checkRange(from, to);
+	System.arraycopy(yValues, from, destination, offset, to - from);
+    }
+
+    private void checkRange(int from, int to) {
+	if ((from < 0) || (to > size) || (from > to)) {
+	    throw new IndexOutOfBoundsException(
+		    "Range [" + from + ", " + to + ") is out of bounds for size " + size + ".");
+	}
+    }
+
+    public final void add(double x, double y) {
+	if (size == xValues.length) {
+	    int capacity = Math.max(16, size * 2);
+	    xValues = Arrays.copyOf(xValues, capacity);
+	    yValues = Arrays.copyOf(yValues, capacity);
+	}
+	if ((size > 0) && (x < xValues[size - 1])) {
+	    sortedByX = false;
+	}
+	xValues[size] = x;
+	yValues[size] = y;
+	size++;
+    }
+
+    /**
+     * Replaces the data points with the ones of another series, for instance to
+     * take a snapshot of it. The values are copied in bulk.
+     *
+     * @param series is the series to be copied.
+     */
+    public final void setAll(ColumnarSeries series) {
+	int count = series.size();
+	if (count > xValues.length) {
+	    xValues = new double[count];
+	    yValues = new double[count];
+	}
+	series.copyX(0, count, xValues, 0);
+	series.copyY(0, count, yValues, 0);
+	size = count;
+	sortedByX = series.isSortedByX();
+    }
+
+    /**
+     * Removes all data points, but keeps the capacity for reuse.
+     */
+    public final void clear() {
+	size = 0;
+	sortedByX = true;
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.puresoltechnologies.javafx.charts.data;
+
+/**
+ * This is the default {@link ColumnarSeries} implementation which keeps x and
+ * y values in two {@link DoubleColumn}s. No object is kept per data point.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class ChunkedSeries implements ColumnarSeries {
+
+    private final DoubleColumn xValues = new DoubleColumn();
+    private final DoubleColumn yValues = new DoubleColumn();
+    private boolean sortedByX = true;
+
+    @Override
+    public final int size() {
+	return xValues.size();
+    }
+
+    @Override
+    public final double getX(int index) {
+	return xValues.get(index);
+    }
+
+    @Override
+    public final double getY(int index) {
+	return yValues.get(index);
+    }
+
+    @Override
+    public final boolean isSortedByX() {
+	return sortedByX;
+    }
+
+    @Override
+    public final void copyX(int from, int to, double[] destination, int offset) {
+	xValues.copyTo(from, to, destination, offset);
+    }
+
+    @Override
+    public final void copyY(int from, int to, double[] destination, int offset) {
+	yValues.copyTo(from, to, destination, offset);
+    }
+
+    /**
+     * Appends a data point at the end of the series.
+     *
+     * @param x is the x value.
+     * @param y is the y value.
+     */
+    public void add(double x, double y) {
+	if (sortedByX && !xValues.isEmpty() && (x < xValues.get(xValues.size() - 1))) {
+	    sortedByX = false;
+	}
+	xValues.add(x);
+	yValues.add(y);
+    }
+
+    /**
+     * Removes the given number of data points from the front of the series.
+     *
+     * @param count is the number of data points to be removed.
+     */
+    public void removeFirst(int count) {
+	xValues.removeFirst(count);
+	yValues.removeFirst(count);
+    }
+
+    /**
+     * Removes all data points.
+     */
+    public void clear() {
+	xValues.clear();
+	yValues.clear();
+	sortedByX = true;
+    }
+
+    public final DoubleColumn getXValues() {
+	return xValues;
+    }
+
+    public final DoubleColumn getYValues() {
+	return yValues;
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.puresoltechnologies.javafx.charts.data;
+
+/**
+ * This interface provides read access to a series of plot values stored in
+ * primitive columns. Renderers use it to read the coordinates of the data
+ * points without unboxing the plot's data objects for every redraw.
+ * <p>
+ * The x values are kept in the numeric domain of the x axis: plain numbers for
+ * number axes and epoch milliseconds for time axes.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public interface ColumnarSeries {
+
+    /**
+     * Returns the number of data points in the series.
+     *
+     * @return The number of data points is returned.
+     */
+    int size();
+
+    /**
+     * Returns the x value of the data point at the given index.
+     *
+     * @param index is the index of the data point.
+     * @return The x value is returned.
+     */
+    double getX(int index);
+
+    /**
+     * Returns the y value of the data point at the given index.
+     *
+     * @param index is the index of the data point.
+     * @return The y value is returned.
+     */
+    double getY(int index);
+
+    /**
+     * Returns whether the x values are in ascending order. Several optimizations
+     * like decimation only apply to sorted series.
+     *
+     * @return <code>true</code> is returned in case x never decreases with
+     *         increasing index.
+     */
+    boolean isSortedByX();
+
+    /**
+     * Returns the index of the first data point with an x value larger than or
+     * equal to the given value. This is a binary search, so it requires a series
+     * sorted by x (see {@link #isSortedByX()}).
+     *
+     * @param x is the x value to search for.
+     * @return The index is returned. {@link #size()} is returned in case all x
+     *         values are smaller.
+     */
+    default int ceilingIndex(double x) {
+	int low = 0;
+	int high = size();
+	while (low < high) {
+	    int middle = (low + high) >>> 1;
+	    if (getX(middle) < x) {
+		low = middle + 1;
+	    } else {
+		high = middle;
+	    }
+	}
+	return low;
+    }
+
+    /**
+     * Copies a range of x values into the given array.
+     *
+     * @param from        is the index of the first value to be copied.
+     * @param to          is the index after the last value to be copied.
+     * @param destination is the array to copy into.
+     * @param offset      is the position in the destination to start with.
+     */
+    default void copyX(int from, int to, double[] destination, int offset) {
+	for (int i = from; i < to; i++) {
+	    destination[offset++] = getX(i);
+	}
+    }
+
+    /**
+     * Copies a range of y values into the given array.
+     *
+     * @param from        is the index of the first value to be copied.
+     * @param to          is the index after the last value to be copied.
+     * @param destination is the array to copy into.
+     * @param offset      is the position in the destination to start with.
+     */
+    default void copyY(int from, int to, double[] destination, int offset) {
+	for (int i = from; i < to; i++) {
+	    destination[offset++] = getY(i);
+	}
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.puresoltechnologies.javafx.charts.data;
+
+/**
+ * A decimator reduces a {@link ColumnarSeries} to the data points which are
+ * actually distinguishable on screen. It is applied by the plot renderers
+ * between the plot data and the drawing, so the rendering time depends on the
+ * canvas size and not on the size of the data.
+ * <p>
+ * Decimators only work on series sorted by x. For other series and for series
+ * already small enough the input is returned unchanged. Implementations may
+ * reuse their result buffer, so the returned series is only valid until the
+ * next call.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public interface Decimator {
+
+    /**
+     * Reduces the series to be drawn into the given number of pixel columns.
+     *
+     * @param series  is the series to be decimated.
+     * @param minX    is the x value mapped to the first pixel column.
+     * @param maxX    is the x value mapped to the last pixel column.
+     * @param columns is the number of pixel columns available.
+     * @return A {@link ColumnarSeries} with the reduced data is returned.
+     */
+    ColumnarSeries decimate(ColumnarSeries series, double minX, double maxX, int columns);
+
+}
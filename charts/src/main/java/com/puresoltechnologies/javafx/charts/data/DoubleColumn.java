@@ -0,0 +1,147 @@
+package com.puresoltechnologies.javafx.charts.data;
+
+import java.util.Arrays;
+
+/**
+ * This is a growable column of primitive double values. The values are kept in
+ * fixed size chunks, so that growing the column never copies the values
+ * already stored and removing values from the front only drops whole chunks.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class DoubleColumn {
+
+    private static final int CHUNK_SHIFT = 14;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private double[][] chunks = new double[4][];
+    private int chunkCount = 0;
+    /**
+     * Position of the first value within the first chunk.
+     */
+    private int head = 0;
+    private int size = 0;
+
+    /**
+     * Returns the number of values in the column.
+     *
+     * @return The size is returned.
+     */
+    public final int size() {
+	return size;
+    }
+
+    public final boolean isEmpty() {
+	return size == 0;
+    }
+
+    /**
+     * Returns the value at the given index.
+     *
+     * @param index is the index of the value starting with 0.
+     * @return The value is returned.
+     * @throws IndexOutOfBoundsException is thrown in case the index is not within
+     *                                   the column.
+     */
+    public final double get(int index) {
+	if ((index < 0) || (index >= size)) {
+	    throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for size " + size + ".");
+	}
+	int position = head + index;
+	return chunks[position >>> CHUNK_SHIFT][position & CHUNK_MASK];
+    }
+
+    /**
+     * Replaces the value at the given index.
+     *
+     * @param index is the index of the value starting with 0.
+     * @param value is the new value.
+     */
+    public final void set(int index, double value) {
+	if ((index < 0) || (index >= size)) {
+	    throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for size " + size + ".");
+	}
+	int position = head + index;
+	chunks[position >>> CHUNK_SHIFT][position & CHUNK_MASK] = value;
+    }
+
+    /**
+     * Appends a value at the end of the column.
+     *
+     * @param value is the value to be added.
+     */
+    public final void add(double value) {
+	int position = head + size;
+	int chunk = position >>> CHUNK_SHIFT;
+	if (chunk == chunkCount) {
+	    if (chunkCount == chunks.length) {
+		chunks = Arrays.copyOf(chunks, chunkCount * 2);
+	    }
+	    chunks[chunkCount] = new double[CHUNK_SIZE];
+	    chunkCount++;
+	}
+	chunks[chunk][position & CHUNK_MASK] = value;
+	size++;
+    }
+
+    /**
+     * Removes the given number of values from the front of the column. Chunks
+     * which become empty are released.
+     *
+     * @param count is the number of values to be removed.
+     */
+    public final void removeFirst(int count) {
+	if ((count < 0) || (count > size)) {
+	    throw new IllegalArgumentException("Cannot remove " + count + " values from column of size " + size + ".");
+	}
+	if (count == size) {
+	    clear();
+	    return;
+	}
+	head += count;
+	size -= count;
+	int emptyChunks = head >>> CHUNK_SHIFT;
+	if (emptyChunks > 0) {
+	    System.arraycopy(chunks, emptyChunks, chunks, 0, chunkCount - emptyChunks);
+	    Arrays.fill(chunks, chunkCount - emptyChunks, chunkCount, null);
+	    chunkCount -= emptyChunks;
+	    head &= CHUNK_MASK;
+	}
+    }
+
+    /**
+     * Removes all values and releases all chunks.
+     */
+    public final void clear() {
+	Arrays.fill(chunks, 0, chunkCount, null);
+	chunkCount = 0;
+	head = 0;
+	size = 0;
+    }
+
+    /**
+     * Copies a range of values into the given array.
+     *
+     * @param from        is the index of the first value to be copied.
+     * @param to          is the index after the last value to be copied.
+     * @param destination is the array to copy into.
+     * @param offset      is the position in the destination to start with.
+     */
+    public final void copyTo(int from, int to, double[] destination, int offset) {
+	if ((from < 0) || (to > size) || (from > to)) {
+	    throw new IndexOutOfBoundsException(
+		    "Range [" + from + ", " + to + ") is out of bounds for size " + size + ".");
+	}
+	int position = head + from;
+	int end = head + to;
+	while (position < end) {
+	    int inChunk = position & CHUNK_MASK;
+	    int length = Math.min(CHUNK_SIZE - inChunk, end - position);
+	    System.arraycopy(chunks[position >>> CHUNK_SHIFT], inChunk, destination, offset, length);
+	    offset += length;
+	    position += length;
+	}
+    }
+
+}
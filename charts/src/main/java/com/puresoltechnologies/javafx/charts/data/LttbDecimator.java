@@ -0,0 +1,78 @@
+package com.puresoltechnologies.javafx.charts.data;
+
+/**
+ * This {@link Decimator} implements the Largest-Triangle-Three-Buckets
+ * algorithm. The series is split into equally sized buckets and from each
+ * bucket the point spanning the largest triangle with its neighbors is kept.
+ * This keeps peaks and the overall shape with a fixed number of points, but in
+ * contrast to {@link M4Decimator} the result is not pixel exact.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class LttbDecimator implements Decimator {
+
+    private final ArraySeries result = new ArraySeries();
+    private final int pointsPerColumn;
+
+    public LttbDecimator() {
+	this(2);
+    }
+
+    /**
+     * @param pointsPerColumn is the number of points to be kept per pixel column.
+     */
+    public LttbDecimator(int pointsPerColumn) {
+	super();
+	if (pointsPerColumn < 1) {
+	    throw new IllegalArgumentException("At least one point per column is needed.");
+	}
+	this.pointsPerColumn = pointsPerColumn;
+    }
+
+    @Override
+    public ColumnarSeries decimate(ColumnarSeries series, double minX, double maxX, int columns) {
+	int size = series.size();
+	int threshold = Math.max(3, columns * pointsPerColumn);
+	if ((columns <= 0) || (size <= threshold) || !series.isSortedByX()) {
+	    return series;
+	}
+	result.clear();
+	double bucketSize = (double) (size - 2) / (threshold - 2);
+	int a = 0;
+	result.add(series.getX(a), series.getY(a));
+	for (int bucket = 0; bucket < (threshold - 2); bucket++) {
+	    // average of the next bucket is the third point of the triangle
+	    int averageFrom = (int) ((bucket + 1) * bucketSize) + 1;
+	    int averageTo = Math.min((int) ((bucket + 2) * bucketSize) + 1, size);
+	    double averageX = 0.0;
+	    double averageY = 0.0;
+	    for (int i = averageFrom; i < averageTo; i++) {
+		averageX += series.getX(i);
+		averageY += series.getY(i);
+	    }
+	    int averageLength = averageTo - averageFrom;
+	    averageX /= averageLength;
+	    averageY /= averageLength;
+
+	    int from = (int) (bucket * bucketSize) + 1;
+	    int to = (int) ((bucket + 1) * bucketSize) + 1;
+	    double ax = series.getX(a);
+	    double ay = series.getY(a);
+	    double maxArea = -1.0;
+	    int next = from;
+	    for (int i = from; i < to; i++) {
+		double area = Math.abs(((ax - averageX) * (series.getY(i) - ay))
+			- ((ax - series.getX(i)) * (averageY - ay)));
+		if (area > maxArea) {
+		    maxArea = area;
+		    next = i;
+		}
+	    }
+	    result.add(series.getX(next), series.getY(next));
+	    a = next;
+	}
+	result.add(series.getX(size - 1), series.getY(size - 1));
+	return result;
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.puresoltechnologies.javafx.charts.data;
+
+/**
+ * This {@link Decimator} implements the M4 aggregation: for each pixel column
+ * only the first, the last, the minimum and the maximum data point are kept.
+ * A line drawn through these points is pixel identical to the line through all
+ * points of the column, so the visible shape does not change.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class M4Decimator implements Decimator {
+
+    private static final int POINTS_PER_COLUMN = 4;
+
+    private final ArraySeries result = new ArraySeries();
+    private final int[] indices = new int[POINTS_PER_COLUMN];
+
+    @Override
+    public ColumnarSeries decimate(ColumnarSeries series, double minX, double maxX, int columns) {
+	int size = series.size();
+	if ((columns <= 0) || (size <= (POINTS_PER_COLUMN * columns)) || !series.isSortedByX()) {
+	    return series;
+	}
+	result.clear();
+	double scale = maxX > minX ? columns / (maxX - minX) : 0.0;
+	int currentColumn = getColumn(series.getX(0), minX, scale, columns);
+	int first = 0;
+	int last = 0;
+	int min = 0;
+	int max = 0;
+	double minY = series.getY(0);
+	double maxY = minY;
+	for (int i = 1; i < size; i++) {
+	    double y = series.getY(i);
+	    int column = getColumn(series.getX(i), minX, scale, columns);
+	    if (column != currentColumn) {
+		addColumn(series, first, min, max, last);
+		currentColumn = column;
+		first = i;
+		last = i;
+		min = i;
+		max = i;
+		minY = y;
+		maxY = y;
+		continue;
+	    }
+	    last = i;
+	    if (y < minY) {
+		minY = y;
+		min = i;
+	    }
+	    if (y > maxY) {
+		maxY = y;
+		max = i;
+	    }
+	}
+	addColumn(series, first, min, max, last);
+	return result;
+    }
+
+    private static int getColumn(double x, double minX, double scale, int columns) {
+	int column = (int) ((x - minX) * scale);
+	if (column < 0) {
+	    return 0;
+	}
+	if (column >= columns) {
+	    return columns - 1;
+	}
+	return column;
+    }
+
+    /**
+     * Adds the distinct points of a column in the order of the original series.
+     */
+    private void addColumn(ColumnarSeries series, int first, int min, int max, int last) {
+	indices[0] = first;
+	indices[1] = Math.min(min, max);
+	indices[2] = Math.max(min, max);
+	indices[3] = last;
+	int previous = -1;
+	for (int index : indices) {
+	    if (index != previous) {
+		result.add(series.getX(index), series.getY(index));
+		previous = index;
+	    }
+	}
+    }
+
+}
@@ -0,0 +1,424 @@
+package com.puresoltechnologies.javafx.charts.data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class provides read access to a time series file by mapping it into
+ * memory. Opening a file only reads the header and maps the file, so it takes
+ * the same time for small and for huge files. The operating system pages in
+ * the parts of the file which are actually read, which are the visible ranges
+ * only when the series are drawn by a plot with a sorted time axis.
+ * <p>
+ * The file format is column oriented and little endian:
+ *
+ * <pre>
+ * int    magic number 0x46535450 ("PTSF")
+ * int    version 2
+ * long   number of rows
+ * int    number of value columns
+ * int    flags, bit 0 is set in case the timestamps are in ascending order
+ * long   minimum and maximum timestamp, 0 for an empty file
+ * double minimum and maximum of each value column, NaN for columns without
+ *        values
+ * long   timestamps in epoch milliseconds, one per row
+ * double values of the first value column, one per row
+ * double values of the second value column, one per row
+ * ...
+ * </pre>
+ *
+ * NaN values are gaps in the series. The file is mapped in segments of 1 GiB,
+ * because a {@link MappedByteBuffer} is limited to 2 GiB. All values are eight
+ * bytes aligned, so no value spans two segments. The number of rows is limited
+ * to {@link Integer#MAX_VALUE} like for all {@link ColumnarSeries}.
+ * <p>
+ * Closing the file closes the channel. The mapping itself is released when the
+ * buffers are garbage collected, so the series must not be used after closing.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class MappedSeriesFile implements Closeable {
+
+    public static final int MAGIC = 0x46535450;
+    public static final int VERSION = 2;
+    private static final int FLAG_SORTED = 1;
+    private static final int HEADER_SIZE = 40;
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT;
+
+    /**
+     * Opens a time series file.
+     *
+     * @param file is the file to be opened.
+     * @return A {@link MappedSeriesFile} is returned.
+     * @throws IOException is thrown in case the file cannot be read or is not a
+     *                     valid time series file.
+     */
+    public static MappedSeriesFile open(Path file) throws IOException {
+	FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+	try {
+	    return new MappedSeriesFile(file, channel);
+	} catch (IOException | RuntimeException e) {
+	    channel.close();
+	    throw e;
+	}
+    }
+
+    /**
+     * Writes a time series file. It is meant for tests and small recordings,
+     * larger recordings are written in the same format by the recording
+     * application.
+     *
+     * @param file       is the file to be written. An existing file is
+     *                   overwritten.
+     * @param timestamps are the timestamps in epoch milliseconds.
+     * @param columns    are the value columns. Each column needs to have the same
+     *                   length like the timestamps.
+     * @throws IOException is thrown in case the file cannot be written.
+     */
+    public static void write(Path file, long[] timestamps, double[]... columns) throws IOException {
+	int rows = timestamps.length;
+	for (double[] column : columns) {
+	    if (column.length != rows) {
+		throw new IllegalArgumentException(
+			"Column with " + column.length + " values does not match " + rows + " timestamps.");
+	    }
+	}
+	boolean sorted = true;
+	long minTimestamp = rows > 0 ? timestamps[0] : 0;
+	long maxTimestamp = minTimestamp;
+	for (int row = 1; row < rows; row++) {
+	    if (timestamps[row] < timestamps[row - 1]) {
+		sorted = false;
+	    }
+	    minTimestamp = Math.min(minTimestamp, timestamps[row]);
+	    maxTimestamp = Math.max(maxTimestamp, timestamps[row]);
+	}
+	ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE + (16 * columns.length)).order(ByteOrder.LITTLE_ENDIAN);
+	header.putInt(MAGIC);
+	header.putInt(VERSION);
+	header.putLong(rows);
+	header.putInt(columns.length);
+	header.putInt(sorted ? FLAG_SORTED : 0);
+	header.putLong(minTimestamp);
+	header.putLong(maxTimestamp);
+	for (double[] column : columns) {
+	    double min = Double.NaN;
+	    double max = Double.NaN;
+	    for (double value : column) {
+		if (!Double.isNaN(value)) {
+		    min = Double.isNaN(min) ? value : Math.min(min, value);
+		    max = Double.isNaN(max) ? value : Math.max(max, value);
+		}
+	    }
+	    header.putDouble(min);
+	    header.putDouble(max);
+	}
+	header.flip();
+	try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+		StandardOpenOption.TRUNCATE_EXISTING)) {
+	    writeFully(channel, header);
+	    ByteBuffer buffer = ByteBuffer.allocate(8 * 8192).order(ByteOrder.LITTLE_ENDIAN);
+	    for (long timestamp : timestamps) {
+		if (!buffer.hasRemaining()) {
+		    buffer.flip();
+		    writeFully(channel, buffer);
+		    buffer.clear();
+		}
+		buffer.putLong(timestamp);
+	    }
+	    for (double[] column : columns) {
+		for (double value : column) {
+		    if (!buffer.hasRemaining()) {
+			buffer.flip();
+			writeFully(channel, buffer);
+			buffer.clear();
+		    }
+		    buffer.putDouble(value);
+		}
+	    }
+	    buffer.flip();
+	    writeFully(channel, buffer);
+	}
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+	while (buffer.hasRemaining()) {
+	    channel.write(buffer);
+	}
+    }
+
+    private final Path file;
+    private final FileChannel channel;
+    private final int rows;
+    private final boolean sorted;
+    private final long minTimestamp;
+    private final long maxTimestamp;
+    private final double[] minValues;
+    private final double[] maxValues;
+    private final long dataOffset;
+    private final ByteBuffer[] segments;
+    private final ColumnarSeries[] series;
+
+    private MappedSeriesFile(Path file, FileChannel channel) throws IOException {
+	super();
+	this.file = file;
+	this.channel = channel;
+	long size = channel.size();
+	ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+	readFully(header, 0);
+	if ((header.getInt(0) != MAGIC) || (header.getInt(4) != VERSION)) {
+	    throw new IOException("File '" + file + "' is not a time series file of version " + VERSION + ".");
+	}
+	long rowCount = header.getLong(8);
+	int columns = header.getInt(16);
+	if ((rowCount < 0) || (rowCount > Integer.MAX_VALUE) || (columns < 0)) {
+	    throw new IOException("File '" + file + "' has an invalid header with " + rowCount + " rows and "
+		    + columns + " columns.");
+	}
+	rows = (int) rowCount;
+	sorted = (header.getInt(20) & FLAG_SORTED) != 0;
+	minTimestamp = header.getLong(24);
+	maxTimestamp = header.getLong(32);
+	dataOffset = HEADER_SIZE + (16L * columns);
+	long expectedSize = dataOffset + (8L * rows * (columns + 1));
+	if (size != expectedSize) {
+	    throw new IOException("File '" + file + "' has a size of " + size + " bytes, but " + expectedSize
+		    + " bytes are expected.");
+	}
+	ByteBuffer extrema = ByteBuffer.allocate(16 * columns).order(ByteOrder.LITTLE_ENDIAN);
+	readFully(extrema, HEADER_SIZE);
+	minValues = new double[columns];
+	maxValues = new double[columns];
+	for (int column = 0; column < columns; column++) {
+	    minValues[column] = extrema.getDouble(16 * column);
+	    maxValues[column] = extrema.getDouble((16 * column) + 8);
+	}
+	segments = new ByteBuffer[(int) ((size + SEGMENT_SIZE - 1) >>> SEGMENT_SHIFT)];
+	for (int segment = 0; segment < segments.length; segment++) {
+	    long position = segment * SEGMENT_SIZE;
+	    segments[segment] = channel.map(MapMode.READ_ONLY, position, Math.min(SEGMENT_SIZE, size - position))
+		    .order(ByteOrder.LITTLE_ENDIAN);
+	}
+	series = new ColumnarSeries[columns];
+	for (int column = 0; column < columns; column++) {
+	    series[column] = new MappedSeries(column);
+	}
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+	while (buffer.hasRemaining()) {
+	    if (channel.read(buffer, position + buffer.position()) < 0) {
+		throw new IOException("File '" + file + "' ends within the header.");
+	    }
+	}
+    }
+
+    @Override
+    public void close() throws IOException {
+	channel.close();
+    }
+
+    public final Path getFile() {
+	return file;
+    }
+
+    /**
+     * @return The number of rows is returned.
+     */
+    public final int size() {
+	return rows;
+    }
+
+    /**
+     * @return The number of value columns is returned.
+     */
+    public final int getColumnCount() {
+	return series.length;
+    }
+
+    /**
+     * @return <code>true</code> is returned in case the timestamps are in
+     *         ascending order.
+     */
+    public final boolean isSorted() {
+	return sorted;
+    }
+
+    /**
+     * @return The first timestamp in epoch milliseconds is returned.
+     * @throws IndexOutOfBoundsException is thrown in case the file is empty.
+     */
+    public final long getFirstTimestamp() {
+	return getTimestamp(0);
+    }
+
+    /**
+     * @return The last timestamp in epoch milliseconds is returned.
+     * @throws IndexOutOfBoundsException is thrown in case the file is empty.
+     */
+    public final long getLastTimestamp() {
+	return getTimestamp(rows - 1);
+    }
+
+    /**
+     * @return The smallest timestamp from the header in epoch milliseconds is
+     *         returned. It is the first one for sorted files.
+     * @throws IndexOutOfBoundsException is thrown in case the file is empty.
+     */
+    public final long getMinTimestamp() {
+	checkNotEmpty();
+	return minTimestamp;
+    }
+
+    /**
+     * @return The largest timestamp from the header in epoch milliseconds is
+     *         returned. It is the last one for sorted files.
+     * @throws IndexOutOfBoundsException is thrown in case the file is empty.
+     */
+    public final long getMaxTimestamp() {
+	checkNotEmpty();
+	return maxTimestamp;
+    }
+
+    private void checkNotEmpty() {
+	if (rows == 0) {
+	    throw new IndexOutOfBoundsException("File '" + file + "' has no rows.");
+	}
+    }
+
+    /**
+     * @param row is the index of the row.
+     * @return The timestamp of the row in epoch milliseconds is returned.
+     */
+    public final long getTimestamp(int row) {
+	long offset = offset(-1, row);
+	return segments[(int) (offset >>> SEGMENT_SHIFT)].getLong((int) (offset & (SEGMENT_SIZE - 1)));
+    }
+
+    /**
+     * @param column is the index of the value column.
+     * @param row    is the index of the row.
+     * @return The value is returned.
+     */
+    public final double getValue(int column, int row) {
+	checkColumn(column);
+	long offset = offset(column, row);
+	return segments[(int) (offset >>> SEGMENT_SHIFT)].getDouble((int) (offset & (SEGMENT_SIZE - 1)));
+    }
+
+    /**
+     * @param column is the index of the value column.
+     * @return The smallest value of the column from the header is returned. NaN
+     *         is returned in case the column has no values.
+     */
+    public final double getMinValue(int column) {
+	checkColumn(column);
+	return minValues[column];
+    }
+
+    /**
+     * @param column is the index of the value column.
+     * @return The largest value of the column from the header is returned. NaN is
+     *         returned in case the column has no values.
+     */
+    public final double getMaxValue(int column) {
+	checkColumn(column);
+	return maxValues[column];
+    }
+
+    /**
+     * Returns the series of a value column over the timestamps. The values are
+     * read from the mapped file on every access, nothing is copied in advance.
+     *
+     * @param column is the index of the value column.
+     * @return A {@link ColumnarSeries} is returned.
+     */
+    public final ColumnarSeries getSeries(int column) {
+	checkColumn(column);
+	return series[column];
+    }
+
+    private void checkColumn(int column) {
+	if ((column < 0) || (column >= series.length)) {
+	    throw new IndexOutOfBoundsException("Column " + column + " is not within [0, " + series.length + ").");
+	}
+    }
+
+    /**
+     * Calculates the file offset of a value. The column -1 is the timestamp
+     * column.
+     */
+    private long offset(int column, int row) {
+	if ((row < 0) || (row >= rows)) {
+	    throw new IndexOutOfBoundsException("Row " + row + " is not within [0, " + rows + ").");
+	}
+	return dataOffset + (8L * (((long) (column + 1) * rows) + row));
+    }
+
+    private class MappedSeries implements ColumnarSeries {
+
+	private final int column;
+
+	MappedSeries(int column) {
+	    this.column = column;
+	}
+
+	@Override
+	public int size() {
+	    return rows;
+	}
+
+	@Override
+	public double getX(int index) {
+	    return getTimestamp(index);
+	}
+
+	@Override
+	public double getY(int index) {
+	    return getValue(column, index);
+	}
+
+	@Override
+	public boolean isSortedByX() {
+	    return sorted;
+	}
+
+	@Override
+	public void copyX(int from, int to, double[] destination, int offset) {
+	    if (from >= to) {
+		return;
+	    }
+	    long position = offset(-1, from);
+	    offset(-1, to - 1);
+	    for (int i = from; i < to; i++) {
+		destination[offset++] = segments[(int) (position >>> SEGMENT_SHIFT)]
+			.getLong((int) (position & (SEGMENT_SIZE - 1)));
+		position += 8;
+	    }
+	}
+
+	@Override
+	public void copyY(int from, int to, double[] destination, int offset) {
+	    if (from >= to) {
+		return;
+	    }
+	    long position = offset(column, from);
+	    offset(column, to - 1);
+	    for (int i = from; i < to; i++) {
+		destination[offset++] = segments[(int) (position >>> SEGMENT_SHIFT)]
+			.getDouble((int) (position & (SEGMENT_SIZE - 1)));
+		position += 8;
+	    }
+	}
+
+    }
+
+}
@@ -0,0 +1,304 @@
+package com.puresoltechnologies.javafx.charts.data;
+
+import java.util.Arrays;
+
+/**
+ * This is a {@link ChunkedSeries} which additionally keeps a multi-resolution
+ * pyramid of its data. Every level of the pyramid splits the data points into
+ * buckets of a fixed size (16, 64, 256,... data points) and keeps the first,
+ * minimum, maximum and last data point of each bucket, like
+ * {@link M4Decimator} does for pixel columns.
+ * <p>
+ * The pyramid is updated incrementally with every appended data point and
+ * with every removal from the front. When a large range is to be drawn,
+ * {@link #select(double, double, int)} reads the pre-aggregated buckets of the
+ * level fitting the available pixel columns instead of all data points.
+ * <p>
+ * The pyramid is only used for series sorted by x.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class PyramidSeries extends ChunkedSeries {
+
+    private static final int FIRST_LEVEL_SHIFT = 4;
+    private static final int LEVEL_SHIFT_STEP = 2;
+    private static final int LEVEL_COUNT = 10;
+
+    private final Level[] levels = new Level[LEVEL_COUNT];
+    private final ArraySeries selection = new ArraySeries();
+    /**
+     * Number of data points removed from the front. The buckets are aligned to
+     * the absolute position of the data points, so they do not move on removal.
+     */
+    private long removed = 0;
+
+    public PyramidSeries() {
+	super();
+	for (int i = 0; i < LEVEL_COUNT; i++) {
+	    levels[i] = new Level(FIRST_LEVEL_SHIFT + (i * LEVEL_SHIFT_STEP));
+	}
+    }
+
+    @Override
+    public void add(double x, double y) {
+	long position = removed + size();
+	super.add(x, y);
+	for (Level level : levels) {
+	    level.add(position, x, y);
+	}
+    }
+
+    @Override
+    public void removeFirst(int count) {
+	super.removeFirst(count);
+	removed += count;
+	for (Level level : levels) {
+	    if (size() == 0) {
+		level.clear();
+	    } else {
+		level.removeBefore(removed);
+	    }
+	}
+    }
+
+    @Override
+    public void clear() {
+	super.clear();
+	removed = 0;
+	for (Level level : levels) {
+	    level.clear();
+	}
+    }
+
+    /**
+     * Selects the data to be drawn for the given x range. In case there are more
+     * data points in the range than can be distinguished in the given number of
+     * pixel columns, the buckets of the finest level with at most one bucket per
+     * column are returned. Otherwise, or in case the series is not sorted,
+     * <code>null</code> is returned and the data points are to be used directly.
+     * <p>
+     * The returned series is reused with the next call.
+     *
+     * @param minX    is the minimum x value to be drawn.
+     * @param maxX    is the maximum x value to be drawn.
+     * @param columns is the number of pixel columns available.
+     * @return A {@link ColumnarSeries} with the aggregated data points is
+     *         returned or <code>null</code> if no aggregation is needed.
+     */
+    public ColumnarSeries select(double minX, double maxX, int columns) {
+	if (!isSortedByX() || (columns <= 0)) {
+	    return null;
+	}
+	int from = ceilingIndex(minX);
+	int to = ceilingIndex(Math.nextUp(maxX));
+	int count = to - from;
+	if (count <= (4 * columns)) {
+	    return null;
+	}
+	Level level = levels[LEVEL_COUNT - 1];
+	for (Level candidate : levels) {
+	    if ((count >> candidate.shift) <= columns) {
+		level = candidate;
+		break;
+	    }
+	}
+	// the buckets right before and after the range are included to draw lines
+	// up to the border
+	long firstBucket = Math.max(level.firstBucket, ((removed + from) >> level.shift) - 1);
+	long lastBucket = Math.min(level.firstBucket + level.size - 1, (removed + to) >> level.shift);
+	if (firstBucket == level.firstBucket) {
+	    rebuildFirstBucket(level);
+	}
+	selection.clear();
+	for (long bucket = firstBucket; bucket <= lastBucket; bucket++) {
+	    level.appendTo((int) (bucket - level.firstBucket), selection);
+	}
+	return selection;
+    }
+
+    /**
+     * Recomputes the first bucket of a level from the remaining data points in
+     * case data points of it were removed. This is done lazily when the bucket
+     * is selected, because the buckets of the coarse levels contain millions of
+     * data points and most levels are never selected.
+     */
+    private void rebuildFirstBucket(Level level) {
+	if (!level.firstBucketStale) {
+	    return;
+	}
+	long end = (level.firstBucket + 1) << level.shift;
+	level.rebuildFirst(this, (int) Math.min(size(), end - removed));
+    }
+
+    /**
+     * One level of the pyramid. The buckets are kept in a single array with
+     * {@link #STRIDE} values per bucket.
+     */
+    private static final class Level {
+
+	private static final int FIRST_X = 0;
+	private static final int FIRST_Y = 1;
+	private static final int MIN_X = 2;
+	private static final int MIN_Y = 3;
+	private static final int MAX_X = 4;
+	private static final int MAX_Y = 5;
+	private static final int LAST_X = 6;
+	private static final int LAST_Y = 7;
+	private static final int STRIDE = 8;
+
+	private final int shift;
+	private double[] buckets = new double[16 * STRIDE];
+	/**
+	 * Index of the first bucket within the array.
+	 */
+	private int head = 0;
+	private int size = 0;
+	/**
+	 * Absolute number of the first bucket.
+	 */
+	private long firstBucket = 0;
+	/**
+	 * Is <code>true</code> in case data points were removed from the first
+	 * bucket, so that its aggregates may belong to removed data points.
+	 */
+	private boolean firstBucketStale = false;
+
+	Level(int shift) {
+	    this.shift = shift;
+	}
+
+	void add(long position, double x, double y) {
+	    long bucket = position >> shift;
+	    if ((size == 0) || (bucket > (firstBucket + size - 1))) {
+		if (size == 0) {
+		    firstBucket = bucket;
+		}
+		set(allocate(), x, y);
+		return;
+	    }
+	    update((head + size - 1) * STRIDE, x, y);
+	}
+
+	private void set(int offset, double x, double y) {
+	    buckets[offset + FIRST_X] = x;
+	    buckets[offset + FIRST_Y] = y;
+	    buckets[offset + MIN_X] = x;
+	    buckets[offset + MIN_Y] = y;
+	    buckets[offset + MAX_X] = x;
+	    buckets[offset + MAX_Y] = y;
+	    buckets[offset + LAST_X] = x;
+	    buckets[offset + LAST_Y] = y;
+	}
+
+	private void update(int offset, double x, double y) {
+	    if (y < buckets[offset + MIN_Y]) {
+		buckets[offset + MIN_X] = x;
+		buckets[offset + MIN_Y] = y;
+	    }
+	    if (y > buckets[offset + MAX_Y]) {
+		buckets[offset + MAX_X] = x;
+		buckets[offset + MAX_Y] = y;
+	    }
+	    buckets[offset + LAST_X] = x;
+	    buckets[offset + LAST_Y] = y;
+	}
+
+	/**
+	 * Recomputes the first bucket from the data points remaining in it.
+	 *
+	 * @param series is the series with the first remaining data point at index
+	 *               0.
+	 * @param count  is the number of data points remaining in the bucket.
+	 */
+	void rebuildFirst(ColumnarSeries series, int count) {
+	    int offset = head * STRIDE;
+	    set(offset, series.getX(0), series.getY(0));
+	    for (int i = 1; i < count; i++) {
+		update(offset, series.getX(i), series.getY(i));
+	    }
+	    firstBucketStale = false;
+	}
+
+	private int allocate() {
+	    if (((head + size + 1) * STRIDE) > buckets.length) {
+		if ((head * 2) >= size) {
+		    // enough space at the front, so compact
+		    System.arraycopy(buckets, head * STRIDE, buckets, 0, size * STRIDE);
+		    head = 0;
+		} else {
+		    buckets = Arrays.copyOf(buckets, buckets.length * 2);
+		}
+	    }
+	    size++;
+	    return (head + size - 1) * STRIDE;
+	}
+
+	/**
+	 * Removes the buckets which only contain data points before the given
+	 * position. In case the position is within the first remaining bucket, its
+	 * aggregates still include removed data points. It is marked as stale then
+	 * and has to be rebuilt with {@link #rebuildFirst(ColumnarSeries, int)}
+	 * before it is used.
+	 */
+	void removeBefore(long position) {
+	    long bucket = position >> shift;
+	    int count = (int) Math.min(size, Math.max(0, bucket - firstBucket));
+	    head += count;
+	    size -= count;
+	    firstBucket += count;
+	    if (size == 0) {
+		head = 0;
+		firstBucketStale = false;
+	    } else if ((firstBucket == bucket) && ((position & ((1L << shift) - 1)) != 0)) {
+		firstBucketStale = true;
+	    } else if (count > 0) {
+		firstBucketStale = false;
+	    }
+	}
+
+	void clear() {
+	    head = 0;
+	    size = 0;
+	    firstBucket = 0;
+	    firstBucketStale = false;
+	}
+
+	/**
+	 * Appends the distinct data points of a bucket in ascending x order.
+	 */
+	void appendTo(int index, ArraySeries series) {
+	    int offset = (head + index) * STRIDE;
+	    double firstX = buckets[offset + FIRST_X];
+	    double firstY = buckets[offset + FIRST_Y];
+	    double lastX = buckets[offset + LAST_X];
+	    double lastY = buckets[offset + LAST_Y];
+	    double minX = buckets[offset + MIN_X];
+	    double minY = buckets[offset + MIN_Y];
+	    double maxX = buckets[offset + MAX_X];
+	    double maxY = buckets[offset + MAX_Y];
+	    series.add(firstX, firstY);
+	    if (minX <= maxX) {
+		appendIfDistinct(series, firstX, firstY, minX, minY);
+		appendIfDistinct(series, minX, minY, maxX, maxY);
+		appendIfDistinct(series, maxX, maxY, lastX, lastY);
+	    } else {
+		appendIfDistinct(series, firstX, firstY, maxX, maxY);
+		appendIfDistinct(series, maxX, maxY, minX, minY);
+		appendIfDistinct(series, minX, minY, lastX, lastY);
+	    }
+	}
+
+	/**
+	 * Appends the data point in case it differs from the previous one. The
+	 * previous data point is passed explicitly as it may have been skipped,
+	 * too.
+	 */
+	private static void appendIfDistinct(ArraySeries series, double previousX, double previousY, double x,
+		double y) {
+	    if ((x != previousX) || (y != previousY)) {
+		series.add(x, y);
+	    }
+	}
+    }
+
+}
@@ -0,0 +1,285 @@
+package com.puresoltechnologies.javafx.charts.data;
+
+import java.util.Arrays;
+
+/**
+ * This is a mergeable streaming quantile sketch after Karnin, Lang and Liberty
+ * (KLL). It summarizes an unbounded number of samples in bounded memory, so
+ * that quantiles like the median or the quartiles can be estimated without
+ * keeping the samples.
+ * <p>
+ * The samples are kept in a hierarchy of compactors. Every sample in level
+ * <i>h</i> represents 2<sup><i>h</i></sup> original samples. When a level is
+ * full, it is sorted and every other sample is promoted to the next level,
+ * while the rest is dropped. The capacities of the lower levels shrink
+ * geometrically, so the memory is O(k) and the rank error is about 1.7/k. The
+ * minimum and the maximum are tracked exactly.
+ * <p>
+ * Sketches with the same k can be merged, so samples can be summarized in
+ * parallel or per time window and combined afterwards. This class is not
+ * thread-safe.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class QuantileSketch {
+
+    public static final int DEFAULT_K = 200;
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+    private static final int MIN_CAPACITY = 2;
+
+    private final int k;
+    private double[][] levels = new double[1][];
+    private int[] sizes = new int[1];
+    /**
+     * The position of the samples to be promoted alternates per level, so that
+     * the compaction is deterministic and still unbiased on average.
+     */
+    private boolean[] oddOffsets = new boolean[1];
+    private int levelCount = 1;
+    private int retained = 0;
+    private int maxRetained;
+    private long count = 0;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+
+    public QuantileSketch() {
+	this(DEFAULT_K);
+    }
+
+    /**
+     * @param k is the accuracy parameter. Larger values lead to smaller errors
+     *          and more memory.
+     */
+    public QuantileSketch(int k) {
+	super();
+	if (k < 8) {
+	    throw new IllegalArgumentException("k must be at least 8, but was " + k + ".");
+	}
+	this.k = k;
+	levels[0] = new double[capacity(0)];
+	maxRetained = totalCapacity();
+    }
+
+    public final int getK() {
+	return k;
+    }
+
+    /**
+     * @return The number of samples added is returned.
+     */
+    public final long getCount() {
+	return count;
+    }
+
+    /**
+     * @return The smallest sample is returned or NaN in case the sketch is
+     *         empty.
+     */
+    public final double getMin() {
+	return min;
+    }
+
+    /**
+     * @return The largest sample is returned or NaN in case the sketch is empty.
+     */
+    public final double getMax() {
+	return max;
+    }
+
+    public final boolean isEmpty() {
+	return count == 0;
+    }
+
+    /**
+     * Adds a sample. NaN values are ignored.
+     *
+     * @param value is the sample to be added.
+     */
+    public final void add(double value) {
+	if (Double.isNaN(value)) {
+	    return;
+	}
+	if (count == 0) {
+	    min = value;
+	    max = value;
+	} else {
+	    min = Math.min(min, value);
+	    max = Math.max(max, value);
+	}
+	count++;
+	append(0, value);
+	retained++;
+	if (retained >= maxRetained) {
+	    compress();
+	}
+    }
+
+    /**
+     * Merges another sketch into this one. The other sketch is not changed.
+     *
+     * @param other is the sketch to be merged.
+     */
+    public final void merge(QuantileSketch other) {
+	if (other.k != k) {
+	    throw new IllegalArgumentException("Sketches with k=" + other.k + " and k=" + k + " cannot be merged.");
+	}
+	if (other.count == 0) {
+	    return;
+	}
+	if (count == 0) {
+	    min = other.min;
+	    max = other.max;
+	} else {
+	    min = Math.min(min, other.min);
+	    max = Math.max(max, other.max);
+	}
+	count += other.count;
+	while (levelCount < other.levelCount) {
+	    grow();
+	}
+	for (int level = 0; level < other.levelCount; level++) {
+	    for (int i = 0; i < other.sizes[level]; i++) {
+		append(level, other.levels[level][i]);
+	    }
+	    retained += other.sizes[level];
+	}
+	while (retained >= maxRetained) {
+	    compress();
+	}
+    }
+
+    /**
+     * Removes all samples.
+     */
+    public final void clear() {
+	Arrays.fill(sizes, 0);
+	retained = 0;
+	count = 0;
+	min = Double.NaN;
+	max = Double.NaN;
+    }
+
+    /**
+     * Estimates a quantile.
+     *
+     * @param quantile is the quantile between 0.0 and 1.0, like 0.5 for the
+     *                 median.
+     * @return The estimated value of the quantile is returned. 0.0 and 1.0
+     *         return the exact minimum and maximum. NaN is returned in case the
+     *         sketch is empty.
+     */
+    public final double getQuantile(double quantile) {
+	if ((quantile < 0.0) || (quantile > 1.0)) {
+	    throw new IllegalArgumentException("Quantile " + quantile + " is not within [0, 1].");
+	}
+	if (count == 0) {
+	    return Double.NaN;
+	}
+	if (quantile == 0.0) {
+	    return min;
+	}
+	if (quantile == 1.0) {
+	    return max;
+	}
+	// the levels are sorted and merged by their smallest remaining values
+	long totalWeight = 0;
+	for (int level = 0; level < levelCount; level++) {
+	    Arrays.sort(levels[level], 0, sizes[level]);
+	    totalWeight += (long) sizes[level] << level;
+	}
+	double rank = quantile * totalWeight;
+	int[] positions = new int[levelCount];
+	long cumulated = 0;
+	while (true) {
+	    int smallest = -1;
+	    for (int level = 0; level < levelCount; level++) {
+		if ((positions[level] < sizes[level]) && ((smallest < 0)
+			|| (levels[level][positions[level]] < levels[smallest][positions[smallest]]))) {
+		    smallest = level;
+		}
+	    }
+	    if (smallest < 0) {
+		return max;
+	    }
+	    double value = levels[smallest][positions[smallest]++];
+	    cumulated += 1L << smallest;
+	    if (cumulated >= rank) {
+		return value;
+	    }
+	}
+    }
+
+    private void append(int level, double value) {
+	double[] buffer = levels[level];
+	if (sizes[level] == buffer.length) {
+	    buffer = Arrays.copyOf(buffer, Math.max(MIN_CAPACITY, buffer.length * 2));
+	    levels[level] = buffer;
+	}
+	buffer[sizes[level]++] = value;
+    }
+
+    /**
+     * Compacts the lowest full level. A new level is added in case the highest
+     * level is full.
+     */
+    private void compress() {
+	for (int level = 0; level < levelCount; level++) {
+	    if (sizes[level] >= capacity(level)) {
+		if ((level + 1) == levelCount) {
+		    grow();
+		}
+		compact(level);
+		if (retained < maxRetained) {
+		    return;
+		}
+	    }
+	}
+    }
+
+    private void compact(int level) {
+	double[] buffer = levels[level];
+	int size = sizes[level];
+	Arrays.sort(buffer, 0, size);
+	// an odd sample stays in the level
+	int pairs = size / 2;
+	int offset = oddOffsets[level] ? 1 : 0;
+	oddOffsets[level] = !oddOffsets[level];
+	for (int i = 0; i < pairs; i++) {
+	    append(level + 1, buffer[(2 * i) + offset]);
+	}
+	if ((size % 2) == 1) {
+	    buffer[0] = buffer[size - 1];
+	    sizes[level] = 1;
+	} else {
+	    sizes[level] = 0;
+	}
+	retained -= pairs;
+    }
+
+    private void grow() {
+	levels = Arrays.copyOf(levels, levelCount + 1);
+	sizes = Arrays.copyOf(sizes, levelCount + 1);
+	oddOffsets = Arrays.copyOf(oddOffsets, levelCount + 1);
+	levelCount++;
+	levels[levelCount - 1] = new double[capacity(levelCount - 1)];
+	maxRetained = totalCapacity();
+    }
+
+    /**
+     * Calculates the capacity of a level. The highest level has a capacity of k
+     * and every lower level two thirds of the next higher one.
+     */
+    private int capacity(int level) {
+	int height = levelCount - level - 1;
+	return Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, height)));
+    }
+
+    private int totalCapacity() {
+	int total = 0;
+	for (int level = 0; level < levelCount; level++) {
+	    total += capacity(level);
+	}
+	return total;
+    }
+
+}
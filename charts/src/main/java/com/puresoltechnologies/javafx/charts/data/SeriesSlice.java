@@ -0,0 +1,88 @@
+package com.puresoltechnologies.javafx.charts.data;
+
+/**
+ * This is a view on a range of another {@link ColumnarSeries}. No data is
+ * copied and the view can be reused for different ranges and series, so
+ * restricting a series to a visible range does not allocate anything.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class SeriesSlice implements ColumnarSeries {
+
+    private ColumnarSeries series = null;
+    private int from = 0;
+    private int size = 0;
+
+    /**
+     * Sets the range to be viewed.
+     *
+     * @param series is the series to be viewed.
+     * @param from   is the index of the first data point.
+     * @param to     is the index after the last data point.
+     */
+    public final void set(ColumnarSeries series, int from, int to) {
+	if ((from < 0) || (to > series.size()) || (from > to)) {
+	    throw new IndexOutOfBoundsException(
+		    "Range [" + from + ", " + to + ") is out of bounds for size " + series.size() + ".");
+	}
+	this.series = series;
+	this.from = from;
+	this.size = to - from;
+    }
+
+    /**
+     * @return The index of the first data point within the viewed series is
+     *         returned.
+     */
+    public final int getFrom() {
+	return from;
+    }
+
+    @Override
+    public final int size() {
+	return size;
+    }
+
+    @Override
+    public final double getX(int index) {
+	checkIndex(index);
+	return series.getX(from + index);
+    }
+
+    @Override
+    public final double getY(int index) {
+	checkIndex(index);
+	return series.getY(from + index);
+    }
+
+    @Override
+    public final boolean isSortedByX() {
+	return series.isSortedByX();
+    }
+
+    @Override
+    public final void copyX(int from, int to, double[] destination, int offset) {
+	checkRange(from, to);
+	series.copyX(this.from + from, this.from + to, destination, offset);
+    }
+
+    @Override
+    public final void copyY(int from, int to, double[] destination, int offset) {
+	checkRange(from, to);
+	series.copyY(this.from + from, this.from + to, destination, offset);
+    }
+
+    private void checkIndex(int index) {
+	if ((index < 0) || (index >= size)) {
+	    throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for size " + size + ".");
+	}
+    }
+
+    private void checkRange(int from, int to) {
+	if ((from < 0) || (to > size) || (from > to)) {
+	    throw new IndexOutOfBoundsException(
+		    "Range [" + from + ", " + to + ") is out of bounds for size " + size + ".");
+	}
+    }
+
+}
@@ -1,37 +1,87 @@
 package com.puresoltechnologies.javafx.charts.meter;
 
+import com.puresoltechnologies.javafx.charts.RedrawScheduler;
 import com.puresoltechnologies.javafx.utils.FXDefaultFonts;
 
+import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 import javafx.geometry.VPos;
+import javafx.scene.SnapshotParameters;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.ArcType;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontPosture;
 import javafx.scene.text.FontWeight;
 import javafx.scene.text.TextAlignment;
-
+import javafx.scene.transform.Transform;
+import javafx.stage.Window;
+
+/**
+ * This canvas shows a value on a semicircular dial with a needle.
+ * <p>
+ * The dial with its scale, labels and unit only changes with the size, the
+ * range or the unit. It is rendered once into an image, so that a new value
+ * only draws this image, the needle and the center knob. All changes within a
+ * frame are drawn with a single redraw.
+ *
+ * @author Rick-Rainer Ludwig
+ *
+ * @param <T> is the type of the value.
+ */
 public class MeterCanvas<T extends Number> extends Canvas {
 
     private final StringProperty unit = new SimpleStringProperty();
     private final ObjectProperty<T> start = new SimpleObjectProperty<T>();
     private final ObjectProperty<T> end = new SimpleObjectProperty<T>();
     private final ObjectProperty<T> value = new SimpleObjectProperty<T>();
+    private final RedrawScheduler redrawScheduler;
+    /**
+     * The dial is drawn here to take a snapshot of it.
+     */
+    private final Canvas dialCanvas = new Canvas();
+    private final SnapshotParameters snapshotParameters = new SnapshotParameters();
+    private WritableImage dialImage = null;
+    private boolean dialValid = false;
+    private double dialScale = 1.0;
+    private final double[] needleX = new double[3];
+    private final double[] needleY = new double[3];
 
     public MeterCanvas() {
 	super();
-	widthProperty().addListener(event -> redraw());
-	heightProperty().addListener(event -> redraw());
-	unit.addListener((observable, oldValue, newValue) -> redraw());
-	start.addListener((observable, oldValue, newValue) -> redraw());
-	end.addListener((observable, oldValue, newValue) -> redraw());
-	value.addListener((observable, oldValue, newValue) -> redraw());
-	draw();
+	redrawScheduler = new RedrawScheduler(this::draw);
+	initialize();
+    }
+
+    /**
+     * Creates a canvas which is driven by another source of pulses than an
+     * animation timer. The source needs to call {@link #onPulse(long)} after it
+     * was started until it is stopped.
+     *
+     * @param startPulses starts the pulses.
+     * @param stopPulses  stops the pulses. It is called from within
+     *                    {@link #onPulse(long)}.
+     */
+    MeterCanvas(Runnable startPulses, Runnable stopPulses) {
+	super();
+	redrawScheduler = new RedrawScheduler(this::draw, startPulses, stopPulses);
+	initialize();
+    }
+
+    private void initialize() {
+	snapshotParameters.setFill(Color.WHITE);
+	widthProperty().addListener(event -> invalidateDial());
+	heightProperty().addListener(event -> invalidateDial());
+	unit.addListener((observable, oldValue, newValue) -> invalidateDial());
+	start.addListener((observable, oldValue, newValue) -> invalidateDial());
+	end.addListener((observable, oldValue, newValue) -> invalidateDial());
+	value.addListener((observable, oldValue, newValue) -> redrawScheduler.requestRedraw());
+	invalidateDial();
     }
 
     public StringProperty unitProperty() {
@@ -82,6 +132,24 @@ public class MeterCanvas<T extends Number> extends Canvas {
 	this.value.set(value);
     }
 
+    /**
+     * The maximum number of redraws per second. All changes within a frame are
+     * drawn with a single redraw.
+     *
+     * @return The property is returned.
+     */
+    public DoubleProperty maxFrameRateProperty() {
+	return redrawScheduler.maxFrameRateProperty();
+    }
+
+    public double getMaxFrameRate() {
+	return redrawScheduler.getMaxFrameRate();
+    }
+
+    public void setMaxFrameRate(double maxFrameRate) {
+	redrawScheduler.setMaxFrameRate(maxFrameRate);
+    }
+
     @Override
     public double minHeight(double height) {
 	return 100;
@@ -122,26 +190,78 @@ public class MeterCanvas<T extends Number> extends Canvas {
 	super.resize(width, height);
 	setWidth(width);
 	setHeight(height);
-	redraw();
     }
 
-    private void redraw() {
-	clear();
-	draw();
+    /**
+     * Draws the pending changes. It is called once per pulse on the FX thread.
+     *
+     * @param now is the time of the pulse in nanoseconds.
+     */
+    void onPulse(long now) {
+	redrawScheduler.onPulse(now);
     }
 
-    private void clear() {
-	GraphicsContext gc = getGraphicsContext2D();
-	gc.setFill(Color.WHITE);
-	gc.fillRect(0.0, 0.0, getWidth(), getHeight());
+    private void invalidateDial() {
+	dialValid = false;
+	redrawScheduler.requestRedraw();
     }
 
     private void draw() {
-	GraphicsContext gc = getGraphicsContext2D();
 	double width = getWidth();
 	double height = getHeight();
+	if ((width <= 0.0) || (height <= 0.0)) {
+	    return;
+	}
+	double scale = getOutputScale();
+	if (!dialValid || (scale != dialScale)) {
+	    dialImage = renderDial(width, height, scale);
+	    dialValid = true;
+	    dialScale = scale;
+	}
+	GraphicsContext gc = getGraphicsContext2D();
+	if (dialImage != null) {
+	    gc.drawImage(dialImage, 0.0, 0.0, width * scale, height * scale, 0.0, 0.0, width, height);
+	}
+	drawNeedle(gc, width, height);
+    }
+
+    /**
+     * Returns the scale of the window, so that the dial image has the resolution
+     * of the screen.
+     */
+    private double getOutputScale() {
+	if (getScene() == null) {
+	    return 1.0;
+	}
+	Window window = getScene().getWindow();
+	return window != null ? window.getOutputScaleX() : 1.0;
+    }
+
+    /**
+     * Renders the dial into an image with the resolution of the screen.
+     *
+     * @return The image is returned. The image of the last call is reused if it
+     *         has the right size.
+     */
+    WritableImage renderDial(double width, double height, double scale) {
+	dialCanvas.setWidth(width);
+	dialCanvas.setHeight(height);
+	GraphicsContext gc = dialCanvas.getGraphicsContext2D();
+	gc.setFill(Color.WHITE);
+	gc.fillRect(0.0, 0.0, width, height);
+	drawDial(gc, width, height);
+	int imageWidth = (int) Math.ceil(width * scale);
+	int imageHeight = (int) Math.ceil(height * scale);
+	WritableImage image = dialImage;
+	if ((image == null) || (image.getWidth() != imageWidth) || (image.getHeight() != imageHeight)) {
+	    image = new WritableImage(imageWidth, imageHeight);
+	}
+	snapshotParameters.setTransform(Transform.scale(scale, scale));
+	return dialCanvas.snapshot(snapshotParameters, image);
+    }
+
+    private void drawDial(GraphicsContext gc, double width, double height) {
 	double diameter = Math.min(width / 2.0, height) * 2.0;
-	double centerKnobDiameter = diameter / 10.0;
 	double scaleDiameter = diameter * 0.9;
 	double left = (width - diameter) / 2.0;
 	double top = height - diameter / 2.0;
@@ -160,8 +280,20 @@ public class MeterCanvas<T extends Number> extends Canvas {
 	gc.setTextAlign(TextAlignment.CENTER);
 	gc.fillText(unit.get(), left + diameter / 2.0, top + diameter / 4.0);
 
+	drawScale(gc, width, height, diameter, scaleDiameter, left, top);
+    }
+
+    /**
+     * Draws the needle and the center knob on top of the dial.
+     */
+    void drawNeedle(GraphicsContext gc, double width, double height) {
+	double diameter = Math.min(width / 2.0, height) * 2.0;
+	double centerKnobDiameter = diameter / 10.0;
+	double scaleDiameter = diameter * 0.9;
+	double left = (width - diameter) / 2.0;
+	double top = height - diameter / 2.0;
 	// Draw handle
-	if (value.get() != null) {
+	if ((value.get() != null) && (start.get() != null) && (end.get() != null)) {
 	    gc.setFill(Color.BLACK);
 	    gc.setTransform(1.0, 0.0, 0.0, 1.0, width / 2.0, height);
 	    gc.transform(1.0, 0.0, 0.0, -1.0, 0.0, 0.0);
@@ -169,8 +301,10 @@ public class MeterCanvas<T extends Number> extends Canvas {
 	    double rad = Math.PI * (1 - (value.get().doubleValue() - start.get().doubleValue())
 		    / (end.get().doubleValue() - start.get().doubleValue()));
 	    gc.transform(Math.cos(rad), Math.sin(rad), -Math.sin(rad), Math.cos(rad), 0.0, 0.0);
-	    gc.fillPolygon(new double[] { 0, scaleDiameter * 0.45, 0 },
-		    new double[] { centerKnobDiameter / 4.0, 0, -centerKnobDiameter / 4.0 }, 3);
+	    needleX[1] = scaleDiameter * 0.45;
+	    needleY[0] = centerKnobDiameter / 4.0;
+	    needleY[2] = -centerKnobDiameter / 4.0;
+	    gc.fillPolygon(needleX, needleY, 3);
 
 	    gc.setTransform(1.0, 0.0, 0.0, 1.0, 0.0, 0.0);
 	}
@@ -178,8 +312,6 @@ public class MeterCanvas<T extends Number> extends Canvas {
 	gc.setFill(Color.DARKGRAY);
 	gc.fillArc(left + (diameter - centerKnobDiameter) / 2.0, top + (diameter - centerKnobDiameter) / 2.0,
 		centerKnobDiameter, centerKnobDiameter, 0, 180, ArcType.CHORD);
-
-	drawScale(gc, width, height, diameter, scaleDiameter, left, top);
     }
 
     private void drawScale(GraphicsContext gc, double width, double height, double diameter, double scaleDiameter,
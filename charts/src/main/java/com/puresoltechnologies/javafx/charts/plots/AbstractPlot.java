@@ -8,11 +8,13 @@ import com.puresoltechnologies.javafx.charts.axes.AxisRenderer;
 import com.puresoltechnologies.javafx.charts.axes.AxisType;
 
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyLongProperty;
+import javafx.beans.property.ReadOnlyLongWrapper;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
-import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
+import javafx.collections.ListChangeListener.Change;
 import javafx.collections.ObservableList;
 import javafx.scene.paint.Color;
 
@@ -20,9 +22,18 @@ public abstract class AbstractPlot<X extends Comparable<X>, Y extends Comparable
 
     private final StringProperty title = new SimpleStringProperty();
     private final ObjectProperty<Color> color = new SimpleObjectProperty<>();
-    private final ObservableList<D> data = FXCollections.observableArrayList();
+    private final ObservableList<D> data = new ObservableRingBuffer<>();
+    private final ReadOnlyLongWrapper revision = new ReadOnlyLongWrapper(0);
     private final Axis<X> xAxis;
     private final Axis<Y> yAxis;
+    private final SlidingExtrema<X> xExtrema = new SlidingExtrema<>();
+    /**
+     * Is <code>true</code> as long as the x values of the data are ascending.
+     * {@link #xExtrema} is only used otherwise.
+     */
+    private boolean xAscending = true;
+    private final SlidingExtrema<Y> yLowerExtrema = new SlidingExtrema<>();
+    private final SlidingExtrema<Y> yUpperExtrema = new SlidingExtrema<>();
     private X minX = null;
     private X maxX = null;
     private Y minY = null;
@@ -40,7 +51,7 @@ public abstract class AbstractPlot<X extends Comparable<X>, Y extends Comparable
 		&& yAxis.getAxisType() != AxisType.ALT_Y) {
 	    throw new IllegalArgumentException("Provided Y axis is not an Y axis.");
 	}
-	data.addListener((ListChangeListener<D>) change -> updateExtrema());
+	data.addListener((ListChangeListener<D>) this::updateExtrema);
     }
 
     public AbstractPlot(String title, Axis<X> xAxis, Axis<Y> yAxis) {
@@ -106,24 +117,221 @@ public abstract class AbstractPlot<X extends Comparable<X>, Y extends Comparable
 
     public abstract Y getAxisY(D date);
 
-    private final void updateExtrema() {
-	setMinX(null);
-	setMaxX(null);
-	setMinY(null);
-	setMaxY(null);
-	getData().forEach(value -> {
-	    X x = getAxisX(value);
-	    Y y = getAxisY(value);
-	    updateMinX(x);
-	    updateMaxX(x);
-	    updateMaxY(y);
-	    updateMinY(y);
-	});
+    /**
+     * Returns the lowest y value covered by a data item. Plots whose data items
+     * cover a range, like box plots, override it together with
+     * {@link #getUpperAxisY(Object)}, so that the y axis covers the whole range.
+     *
+     * @param date is the data item.
+     * @return The lowest y value is returned.
+     */
+    protected Y getLowerAxisY(D date) {
+	return getAxisY(date);
+    }
+
+    /**
+     * Returns the highest y value covered by a data item.
+     *
+     * @param date is the data item.
+     * @return The highest y value is returned.
+     * @see #getLowerAxisY(Object)
+     */
+    protected Y getUpperAxisY(D date) {
+	return getAxisY(date);
+    }
+
+    /**
+     * Updates the extrema incrementally. Appending at the end, replacing the last
+     * item and removing from the front, which is the typical usage for streaming
+     * data, only looks at the changed values. All other changes lead to a full
+     * rescan.
+     * <p>
+     * As long as the x values are ascending, which is the usual case for
+     * streaming data, the x extrema are simply the x values of the first and the
+     * last item and are not tracked at all. Otherwise, a {@link SlidingExtrema}
+     * would keep every single x value for the minimum.
+     */
+    private final void updateExtrema(Change<? extends D> change) {
+	while (change.next()) {
+	    if (change.wasPermutated()) {
+		continue;
+	    }
+	    if (change.wasReplaced() && (change.getFrom() == (yLowerExtrema.size() - 1))
+		    && (change.getRemovedSize() == 1) && (change.getAddedSize() == 1)) {
+		D value = change.getAddedSubList().get(0);
+		if (xAscending) {
+		    if (!isAscendingAt(change.getFrom())) {
+			rescanExtrema();
+			return;
+		    }
+		} else {
+		    xExtrema.replaceLast(getAxisX(value));
+		}
+		yLowerExtrema.replaceLast(getLowerAxisY(value));
+		yUpperExtrema.replaceLast(getUpperAxisY(value));
+		continue;
+	    }
+	    if (change.wasUpdated() || change.wasReplaced()) {
+		rescanExtrema();
+		return;
+	    }
+	    if (change.wasRemoved()) {
+		if (change.getFrom() != 0) {
+		    rescanExtrema();
+		    return;
+		}
+		yLowerExtrema.removeFirst(change.getRemovedSize());
+		yUpperExtrema.removeFirst(change.getRemovedSize());
+		if (yLowerExtrema.size() == 0) {
+		    // an empty list is ascending again
+		    xExtrema.clear();
+		    xAscending = true;
+		} else if (!xAscending) {
+		    xExtrema.removeFirst(change.getRemovedSize());
+		}
+	    }
+	    if (change.wasAdded()) {
+		if (change.getFrom() != yLowerExtrema.size()) {
+		    rescanExtrema();
+		    return;
+		}
+		if (xAscending) {
+		    for (int index = change.getFrom(); index < change.getTo(); index++) {
+			if (!isAscendingAt(index)) {
+			    rescanExtrema();
+			    return;
+			}
+		    }
+		}
+		for (D value : change.getAddedSubList()) {
+		    if (!xAscending) {
+			xExtrema.add(getAxisX(value));
+		    }
+		    yLowerExtrema.add(getLowerAxisY(value));
+		    yUpperExtrema.add(getUpperAxisY(value));
+		}
+	    }
+	}
+	applyExtrema();
+    }
+
+    /**
+     * Checks whether the x value of an item is not <code>null</code> and not
+     * lower than the one of the item before.
+     */
+    private boolean isAscendingAt(int index) {
+	X value = getAxisX(data.get(index));
+	return (value != null) && ((index == 0) || (value.compareTo(getAxisX(data.get(index - 1))) >= 0));
+    }
+
+    private final void rescanExtrema() {
+	xExtrema.clear();
+	yLowerExtrema.clear();
+	yUpperExtrema.clear();
+	xAscending = true;
+	for (int index = 0; xAscending && (index < data.size()); index++) {
+	    xAscending = isAscendingAt(index);
+	}
+	for (D value : data) {
+	    if (!xAscending) {
+		xExtrema.add(getAxisX(value));
+	    }
+	    yLowerExtrema.add(getLowerAxisY(value));
+	    yUpperExtrema.add(getUpperAxisY(value));
+	}
+	applyExtrema();
+    }
+
+    private final void applyExtrema() {
+	if (!xAscending) {
+	    setMinX(xExtrema.getMin());
+	    setMaxX(xExtrema.getMax());
+	} else if (data.isEmpty()) {
+	    setMinX(null);
+	    setMaxX(null);
+	} else {
+	    setMinX(getAxisX(data.get(0)));
+	    setMaxX(getAxisX(data.get(data.size() - 1)));
+	}
+	setMinY(yLowerExtrema.getMin());
+	setMaxY(yUpperExtrema.getMax());
+    }
+
+    /**
+     * Returns the number of data items. It is the size of {@link #data()} by
+     * default. Plots reading their items from another source override it
+     * together with {@link #getItem(int)}.
+     *
+     * @return The number of data items is returned.
+     */
+    public int getItemCount() {
+	return data.size();
+    }
+
+    /**
+     * Returns a data item. The index is the one recorded to the hit index by the
+     * renderers.
+     *
+     * @param index is the index of the data item.
+     * @return The data item is returned.
+     */
+    public D getItem(int index) {
+	return data.get(index);
+    }
+
+    /**
+     * Returns the x value of a data item in the domain of the x axis. Plots
+     * which keep their values without data items override it together with
+     * {@link #getItemCount()} and {@link #getItemY(int)}.
+     *
+     * @param index is the index of the data item.
+     * @return The x value is returned.
+     */
+    public X getItemX(int index) {
+	return getAxisX(getItem(index));
+    }
+
+    /**
+     * Returns the y value of a data item in the domain of the y axis.
+     *
+     * @param index is the index of the data item.
+     * @return The y value is returned.
+     * @see #getItemX(int)
+     */
+    public Y getItemY(int index) {
+	return getAxisY(getItem(index));
+    }
+
+    /**
+     * Returns the revision of the plot values. It is incremented for changes
+     * which are not changes of {@link #data()}, like values added without a data
+     * item, so that canvas and axes can listen to both.
+     *
+     * @return The revision property is returned.
+     */
+    public final ReadOnlyLongProperty revisionProperty() {
+	return revision.getReadOnlyProperty();
+    }
+
+    /**
+     * Notifies the listeners of {@link #revisionProperty()} about a change of
+     * the plot values.
+     */
+    protected final void incrementRevision() {
+	revision.set(revision.get() + 1);
+    }
+
+    /**
+     * Is called before the extrema are read, so that subclasses keeping their
+     * extrema in another form can update them lazily.
+     */
+    protected void validateExtrema() {
+	// nothing to do, the extrema of the data are kept up to date
     }
 
     @Override
     public final boolean hasData() {
-	return data.size() > 0 //
+	return getItemCount() > 0 //
 		&& getMinX() != null //
 		&& getMaxX() != null //
 		&& getMinY() != null //
@@ -132,21 +340,25 @@ public abstract class AbstractPlot<X extends Comparable<X>, Y extends Comparable
 
     @Override
     public final X getMinX() {
+	validateExtrema();
 	return minX;
     }
 
     @Override
     public final X getMaxX() {
+	validateExtrema();
 	return maxX;
     }
 
     @Override
     public final Y getMinY() {
+	validateExtrema();
 	return minY;
     }
 
     @Override
     public final Y getMaxY() {
+	validateExtrema();
 	return maxY;
     }
 
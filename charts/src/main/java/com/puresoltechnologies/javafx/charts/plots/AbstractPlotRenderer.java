@@ -1,14 +1,38 @@
 package com.puresoltechnologies.javafx.charts.plots;
 
 import com.puresoltechnologies.javafx.charts.AbstractRenderer;
+import com.puresoltechnologies.javafx.charts.HitIndex;
 import com.puresoltechnologies.javafx.charts.axes.AxisRenderer;
+import com.puresoltechnologies.javafx.charts.data.ColumnarSeries;
+import com.puresoltechnologies.javafx.charts.data.SeriesSlice;
 
+import javafx.scene.canvas.GraphicsContext;
+
+/**
+ * This is the base class for plot renderers. It provides reusable coordinate
+ * buffers to project series in chunks into the plotting area.
+ *
+ * @author Rick-Rainer Ludwig
+ */
 public abstract class AbstractPlotRenderer<X extends Comparable<X>, Y extends Comparable<Y>, D, XAR extends AxisRenderer<?>, YAR extends AxisRenderer<?>>
 	extends AbstractRenderer implements PlotRenderer<X, Y, D, XAR, YAR> {
 
+    /**
+     * The maximum number of data points projected at once.
+     */
+    protected static final int CHUNK_SIZE = 4096;
+    /**
+     * The distance around a drawn data point in which the mouse hits it.
+     */
+    protected static final double HIT_RADIUS = 4.0;
+
     private final Plot<X, Y, D> plot;
     private final XAR xAxisRenderer;
     private final YAR yAxisRenderer;
+    private final SeriesSlice visibleSlice = new SeriesSlice();
+    private HitIndex hitIndex = null;
+    private double[] xPositions = new double[0];
+    private double[] yPositions = new double[0];
 
     public AbstractPlotRenderer(Plot<X, Y, D> plot, XAR xAxisRenderer, YAR yAxisRenderer) {
 	this.plot = plot;
@@ -31,4 +55,217 @@ public abstract class AbstractPlotRenderer<X extends Comparable<X>, Y extends Co
 	return yAxisRenderer;
     }
 
+    @Override
+    public final void setHitIndex(HitIndex hitIndex) {
+	this.hitIndex = hitIndex;
+    }
+
+    /**
+     * @return The {@link HitIndex} to record the drawn data items to is returned
+     *         or <code>null</code> in case nothing is to be recorded.
+     */
+    protected final HitIndex getHitIndex() {
+	return hitIndex;
+    }
+
+    /**
+     * Records the data points of the last projected chunk (see
+     * {@link #projectSeries(ColumnarSeries, int, double, double, double, double)})
+     * to the {@link HitIndex} with the index of the data item in
+     * {@link Plot#getData()}. Only one entry is kept per pixel (see
+     * {@link HitIndex#addPoint(double, double, double, Object, int)}).
+     *
+     * @param series is the projected series. This is either the series of the
+     *               plot, a visible slice or a decimated series of it.
+     * @param from   is the index of the first data point of the chunk.
+     * @param count  is the number of data points in the chunk.
+     * @param radius is the distance around the points to be hit.
+     */
+    protected final void recordHits(ColumnarSeries series, int from, int count, double radius) {
+	if ((hitIndex == null) || !(plot instanceof PointBasedPlot)) {
+	    return;
+	}
+	for (int i = 0; i < count; i++) {
+	    hitIndex.addPoint(xPositions[i], yPositions[i], radius, plot, getDataIndex(series, from + i));
+	}
+    }
+
+    /**
+     * Finds the index of a data point of a series in {@link Plot#getData()}.
+     *
+     * @param series is either the series of the plot, a visible slice or a
+     *               decimated series of it.
+     * @param index  is the index of the data point within the series.
+     * @return The index of the data item is returned.
+     */
+    protected final int getDataIndex(ColumnarSeries series, int index) {
+	ColumnarSeries plotSeries = ((PointBasedPlot<?, ?, ?>) plot).getSeries();
+	if (series == plotSeries) {
+	    return index;
+	} else if (series == visibleSlice) {
+	    return visibleSlice.getFrom() + index;
+	} else {
+	    // decimated series are sorted, so the data point is found by its x value
+	    return plotSeries.ceilingIndex(series.getX(index));
+	}
+    }
+
+    /**
+     * Restricts a series sorted by x to the data points within the given x range.
+     * The data points right before and after the range are kept, so that lines
+     * are drawn up to the border of the plotting area. The range is found with a
+     * binary search, so only the visible data points need to be iterated.
+     *
+     * @param series is the series to be restricted.
+     * @param minX   is the minimum visible x value.
+     * @param maxX   is the maximum visible x value.
+     * @return A view on the visible part of the series is returned. Unsorted
+     *         series are returned as they are.
+     */
+    protected final ColumnarSeries getVisibleSlice(ColumnarSeries series, double minX, double maxX) {
+	if (!series.isSortedByX() || Double.isNaN(minX) || Double.isNaN(maxX)) {
+	    return series;
+	}
+	int from = Math.max(0, series.ceilingIndex(minX) - 1);
+	int to = Math.min(series.size(), series.ceilingIndex(Math.nextUp(maxX)) + 1);
+	if ((from == 0) && (to == series.size())) {
+	    return series;
+	}
+	visibleSlice.set(series, from, to);
+	return visibleSlice;
+    }
+
+    /**
+     * Projects a chunk of the series into the plotting area. The positions are
+     * written to {@link #getXPositions()} and {@link #getYPositions()} starting
+     * at index 0. At most {@link #CHUNK_SIZE} data points are projected at once
+     * to bound the buffer size.
+     *
+     * @param series is the series to be projected.
+     * @param from   is the index of the first data point to be projected.
+     * @param x      is the x position of the plotting area.
+     * @param y      is the y position of the plotting area.
+     * @param width  is the width of the plotting area.
+     * @param height is the height of the plotting area.
+     * @return The number of projected data points is returned.
+     */
+    protected final int projectSeries(ColumnarSeries series, int from, double x, double y, double width,
+	    double height) {
+	int to = Math.min(series.size(), from + CHUNK_SIZE);
+	int count = to - from;
+	if (xPositions.length < count) {
+	    xPositions = new double[count];
+	    yPositions = new double[count];
+	}
+	series.copyX(from, to, xPositions, 0);
+	series.copyY(from, to, yPositions, 0);
+	xAxisRenderer.project(x, y, width, height, xPositions, xPositions, 0, count);
+	yAxisRenderer.project(x, y, width, height, yPositions, yPositions, 0, count);
+	return count;
+    }
+
+    /**
+     * Strokes the series as connected line. The points are emitted chunk by chunk
+     * as polylines, so there are only a few drawing commands per series.
+     * Points with an undefined (NaN) coordinate interrupt the line. The graphics
+     * state like color and line width needs to be set before.
+     *
+     * @param gc     is the {@link GraphicsContext} to draw to.
+     * @param series is the series to be drawn.
+     * @param x      is the x position of the plotting area.
+     * @param y      is the y position of the plotting area.
+     * @param width  is the width of the plotting area.
+     * @param height is the height of the plotting area.
+     */
+    protected final void strokePolyline(GraphicsContext gc, ColumnarSeries series, double x, double y, double width,
+	    double height) {
+	strokePolyline(gc, series, x, y, width, height, false);
+    }
+
+    /**
+     * Strokes the series like
+     * {@link #strokePolyline(GraphicsContext, ColumnarSeries, double, double, double, double)}
+     * and optionally records the points to the {@link HitIndex}.
+     */
+    protected final void strokePolyline(GraphicsContext gc, ColumnarSeries series, double x, double y, double width,
+	    double height, boolean recordHits) {
+	double lastX = Double.NaN;
+	double lastY = Double.NaN;
+	for (int from = 0; from < series.size();) {
+	    int count = projectSeries(series, from, x, y, width, height);
+	    // connect to the last point of the previous chunk
+	    if (!Double.isNaN(lastX) && !Double.isNaN(lastY) && !Double.isNaN(xPositions[0])
+		    && !Double.isNaN(yPositions[0])) {
+		gc.strokeLine(lastX, lastY, xPositions[0], yPositions[0]);
+	    }
+	    lastX = xPositions[count - 1];
+	    lastY = yPositions[count - 1];
+	    if (recordHits) {
+		recordHits(series, from, count, HIT_RADIUS);
+	    }
+	    /*
+	     * The points of a line are moved to the front of the buffers, so they can
+	     * be passed to strokePolyline directly.
+	     */
+	    int points = 0;
+	    for (int i = 0; i < count; i++) {
+		if (Double.isNaN(xPositions[i]) || Double.isNaN(yPositions[i])) {
+		    if (points > 1) {
+			gc.strokePolyline(xPositions, yPositions, points);
+		    }
+		    points = 0;
+		} else {
+		    xPositions[points] = xPositions[i];
+		    yPositions[points] = yPositions[i];
+		    points++;
+		}
+	    }
+	    if (points > 1) {
+		gc.strokePolyline(xPositions, yPositions, points);
+	    }
+	    from += count;
+	}
+    }
+
+    /**
+     * Projects the whole series into a {@link PositionBuffer}, for instance to
+     * hand the positions over to a {@link RasterPlotRenderer.RasterTask}. The
+     * buffer is cleared before.
+     *
+     * @param series     is the series to be projected.
+     * @param x          is the x position of the plotting area.
+     * @param y          is the y position of the plotting area.
+     * @param width      is the width of the plotting area.
+     * @param height     is the height of the plotting area.
+     * @param buffer     is the buffer to write the positions to.
+     * @param recordHits specifies whether the points are recorded to the
+     *                   {@link HitIndex}.
+     */
+    protected final void projectSeries(ColumnarSeries series, double x, double y, double width, double height,
+	    PositionBuffer buffer, boolean recordHits) {
+	buffer.clear();
+	for (int from = 0; from < series.size();) {
+	    int count = projectSeries(series, from, x, y, width, height);
+	    buffer.add(xPositions, yPositions, count);
+	    if (recordHits) {
+		recordHits(series, from, count, HIT_RADIUS);
+	    }
+	    from += count;
+	}
+    }
+
+    /**
+     * @return The x positions of the last projected chunk are returned.
+     */
+    protected final double[] getXPositions() {
+	return xPositions;
+    }
+
+    /**
+     * @return The y positions of the last projected chunk are returned.
+     */
+    protected final double[] getYPositions() {
+	return yPositions;
+    }
+
 }
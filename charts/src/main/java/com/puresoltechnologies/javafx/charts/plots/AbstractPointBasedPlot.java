@@ -3,13 +3,25 @@ package com.puresoltechnologies.javafx.charts.plots;
 import java.util.List;
 
 import com.puresoltechnologies.javafx.charts.axes.Axis;
+import com.puresoltechnologies.javafx.charts.data.ChunkedSeries;
+import com.puresoltechnologies.javafx.charts.data.ColumnarSeries;
+import com.puresoltechnologies.javafx.charts.data.Decimator;
+import com.puresoltechnologies.javafx.charts.data.M4Decimator;
 
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ListChangeListener.Change;
 
 /**
  * This is an abstract class providing common functionality for
  * {@link PointBasedPlot}s.
+ * <p>
+ * The values are either set as data items with {@link #data()} or, for large
+ * or fast streams, added as primitive points with
+ * {@link #addPoint(double, double)}. Points are only kept in the series, so no
+ * data item is created for them. Both cannot be mixed: changing the data drops
+ * the points.
  *
  * @author Rick-Rainer Ludwig
  *
@@ -22,17 +34,37 @@ public abstract class AbstractPointBasedPlot<X extends Comparable<X>, Y extends
 
     private final ObjectProperty<ConnectingLineStyle> connectingLineStyle = new SimpleObjectProperty<>(
 	    ConnectingLineStyle.NONE);
+    private final ObjectProperty<Decimator> decimator = new SimpleObjectProperty<>(new M4Decimator());
+    /**
+     * The series is created and built lazily on first access, because subclasses
+     * may not be fully initialized while the data is set within the constructor.
+     */
+    private ChunkedSeries series = null;
+    private boolean seriesValid = false;
+    /*
+     * Extrema of the points. They are kept as primitives and only converted into
+     * axis values when they are read, so adding a point does not allocate.
+     */
+    private boolean points = false;
+    private boolean pointExtremaValid = true;
+    private double minPointX = Double.POSITIVE_INFINITY;
+    private double maxPointX = Double.NEGATIVE_INFINITY;
+    private double minPointY = Double.POSITIVE_INFINITY;
+    private double maxPointY = Double.NEGATIVE_INFINITY;
 
     public AbstractPointBasedPlot(Axis<X> xAxis, Axis<Y> yAxis) {
 	super(xAxis, yAxis);
+	data().addListener((ListChangeListener<D>) this::updateSeries);
     }
 
     public AbstractPointBasedPlot(String title, Axis<X> xAxis, Axis<Y> yAxis, List<D> data) {
 	super(title, xAxis, yAxis, data);
+	data().addListener((ListChangeListener<D>) this::updateSeries);
     }
 
     public AbstractPointBasedPlot(String title, Axis<X> xAxis, Axis<Y> yAxis) {
 	super(title, xAxis, yAxis);
+	data().addListener((ListChangeListener<D>) this::updateSeries);
     }
 
     @Override
@@ -50,4 +82,217 @@ public abstract class AbstractPointBasedPlot<X extends Comparable<X>, Y extends
 	this.connectingLineStyle.setValue(connectingLineStyle);
     }
 
+    @Override
+    public ObjectProperty<Decimator> decimatorProperty() {
+	return decimator;
+    }
+
+    @Override
+    public Decimator getDecimator() {
+	return decimator.getValue();
+    }
+
+    @Override
+    public void setDecimator(Decimator decimator) {
+	this.decimator.setValue(decimator);
+    }
+
+    /**
+     * Converts the x value of a data point into the numeric domain of the x axis.
+     *
+     * @param date is the data point.
+     * @return The x value is returned as double.
+     */
+    protected abstract double getSeriesX(D date);
+
+    /**
+     * Converts the y value of a data point into the numeric domain of the y axis.
+     *
+     * @param date is the data point.
+     * @return The y value is returned as double.
+     */
+    protected abstract double getSeriesY(D date);
+
+    /**
+     * Converts a value of the series into the domain of the x axis. It is the
+     * inverse of {@link #getSeriesX(Object)}.
+     *
+     * @param value is the x value of the series.
+     * @return The x value is returned as axis value.
+     */
+    protected abstract X toAxisX(double value);
+
+    /**
+     * Converts a value of the series into the domain of the y axis. It is the
+     * inverse of {@link #getSeriesY(Object)}.
+     *
+     * @param value is the y value of the series.
+     * @return The y value is returned as axis value.
+     */
+    protected abstract Y toAxisY(double value);
+
+    /**
+     * Creates the series the data is mirrored to. Subclasses may provide a
+     * specialized series.
+     *
+     * @return A new and empty {@link ChunkedSeries} is returned.
+     */
+    protected ChunkedSeries createSeries() {
+	return new ChunkedSeries();
+    }
+
+    @Override
+    public final ColumnarSeries getSeries() {
+	if (series == null) {
+	    series = createSeries();
+	}
+	if (!seriesValid) {
+	    series.clear();
+	    data().forEach(this::appendToSeries);
+	    seriesValid = true;
+	}
+	return series;
+    }
+
+    /**
+     * Adds a point without a data item. The point is written to the series
+     * directly and the extrema are kept as primitives, so nothing is allocated
+     * besides the growth of the series. Points can only be added as long as
+     * {@link #data()} is empty.
+     *
+     * @param x is the x value in the numeric domain of the x axis.
+     * @param y is the y value in the numeric domain of the y axis.
+     */
+    protected final void addPoint(double x, double y) {
+	if (!data().isEmpty()) {
+	    throw new IllegalStateException("Points cannot be added to a plot with data items.");
+	}
+	// creates or rebuilds the series in case it is not valid
+	getSeries();
+	series.add(x, y);
+	points = true;
+	// NaN fails all comparisons, so it is not taken into account
+	if (x < minPointX) {
+	    minPointX = x;
+	}
+	if (x > maxPointX) {
+	    maxPointX = x;
+	}
+	if (y < minPointY) {
+	    minPointY = y;
+	}
+	if (y > maxPointY) {
+	    maxPointY = y;
+	}
+	pointExtremaValid = false;
+	incrementRevision();
+    }
+
+    /**
+     * Removes all points added with {@link #addPoint(double, double)}.
+     */
+    public final void clearPoints() {
+	if (!points) {
+	    return;
+	}
+	resetPoints();
+	series.clear();
+	setMinX(null);
+	setMaxX(null);
+	setMinY(null);
+	setMaxY(null);
+	incrementRevision();
+    }
+
+    private void resetPoints() {
+	points = false;
+	pointExtremaValid = true;
+	minPointX = Double.POSITIVE_INFINITY;
+	maxPointX = Double.NEGATIVE_INFINITY;
+	minPointY = Double.POSITIVE_INFINITY;
+	maxPointY = Double.NEGATIVE_INFINITY;
+    }
+
+    @Override
+    protected void validateExtrema() {
+	if (pointExtremaValid) {
+	    return;
+	}
+	pointExtremaValid = true;
+	boolean valid = (minPointX <= maxPointX) && (minPointY <= maxPointY);
+	setMinX(valid ? toAxisX(minPointX) : null);
+	setMaxX(valid ? toAxisX(maxPointX) : null);
+	setMinY(valid ? toAxisY(minPointY) : null);
+	setMaxY(valid ? toAxisY(maxPointY) : null);
+    }
+
+    @Override
+    public int getItemCount() {
+	return points ? series.size() : super.getItemCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws UnsupportedOperationException in case the values were added as
+     *                                       points, which have no data items.
+     */
+    @Override
+    public D getItem(int index) {
+	if (points) {
+	    throw new UnsupportedOperationException("Points do not have data items.");
+	}
+	return super.getItem(index);
+    }
+
+    @Override
+    public X getItemX(int index) {
+	return points ? toAxisX(series.getX(index)) : super.getItemX(index);
+    }
+
+    @Override
+    public Y getItemY(int index) {
+	return points ? toAxisY(series.getY(index)) : super.getItemY(index);
+    }
+
+    /**
+     * Keeps the series in sync with the data. Appending and removing from the
+     * front are applied incrementally, all other changes lead to a rebuild on
+     * next access.
+     */
+    private void updateSeries(Change<? extends D> change) {
+	if (points) {
+	    // the data replaces the points, the extrema are already set from the data
+	    resetPoints();
+	    seriesValid = false;
+	}
+	if (!seriesValid) {
+	    return;
+	}
+	while (change.next()) {
+	    if (change.wasPermutated() || change.wasUpdated()) {
+		seriesValid = false;
+		return;
+	    }
+	    if (change.wasRemoved()) {
+		if ((change.getFrom() != 0) || change.wasAdded()) {
+		    seriesValid = false;
+		    return;
+		}
+		series.removeFirst(change.getRemovedSize());
+	    }
+	    if (change.wasAdded()) {
+		if (change.getFrom() != series.size()) {
+		    seriesValid = false;
+		    return;
+		}
+		change.getAddedSubList().forEach(this::appendToSeries);
+	    }
+	}
+    }
+
+    private void appendToSeries(D value) {
+	series.add(getSeriesX(value), getSeriesY(value));
+    }
+
 }
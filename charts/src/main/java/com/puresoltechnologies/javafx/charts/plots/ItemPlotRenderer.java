@@ -0,0 +1,44 @@
+package com.puresoltechnologies.javafx.charts.plots;
+
+import javafx.scene.canvas.Canvas;
+
+/**
+ * This interface is implemented by plot renderers which are able to redraw a
+ * vertical stripe of the plotting area only. It is used by the
+ * {@link PlotCanvas} to redraw a single changed data item, like the open candle
+ * of a streaming OHLC plot, instead of the whole data layer. The stripe is
+ * cleared and clipped by the canvas, so the renderer only needs to draw the
+ * data items within it.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public interface ItemPlotRenderer {
+
+    /**
+     * Calculates the horizontal range a data item is drawn in. The range must
+     * only depend on the x value of the data item.
+     *
+     * @param x      is the x position of the plotting area.
+     * @param y      is the y position of the plotting area.
+     * @param width  is the width of the plotting area.
+     * @param height is the height of the plotting area.
+     * @param index  is the index of the data item in {@link Plot#getData()}.
+     * @param range  is an array with at least two elements to receive the left
+     *               and the right position of the data item.
+     */
+    void calculateItemRange(double x, double y, double width, double height, int index, double[] range);
+
+    /**
+     * Draws all data items which overlap the given horizontal range.
+     *
+     * @param canvas is the {@link Canvas} to draw into.
+     * @param x      is the x position of the plotting area.
+     * @param y      is the y position of the plotting area.
+     * @param width  is the width of the plotting area.
+     * @param height is the height of the plotting area.
+     * @param fromX  is the left position of the range to be drawn.
+     * @param toX    is the right position of the range to be drawn.
+     */
+    void renderRangeTo(Canvas canvas, double x, double y, double width, double height, double fromX, double toX);
+
+}
@@ -0,0 +1,105 @@
+package com.puresoltechnologies.javafx.charts.plots;
+
+import java.util.Arrays;
+
+import javafx.collections.ModifiableObservableListBase;
+
+/**
+ * This is the observable list used for plot data. It is backed by a ring
+ * buffer, so that appending at the end and removing from the front, which is
+ * what streaming data with a bounded window does, are O(1) operations. Random
+ * access is O(1), too. Insertions and removals in the middle shift the
+ * elements like an array list.
+ *
+ * @author Rick-Rainer Ludwig
+ *
+ * @param <E> is the element type.
+ */
+final class ObservableRingBuffer<E> extends ModifiableObservableListBase<E> {
+
+    private Object[] elements = new Object[16];
+    private int head = 0;
+    private int size = 0;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+	checkIndex(index, size);
+	return (E) elements[position(index)];
+    }
+
+    @Override
+    public int size() {
+	return size;
+    }
+
+    @Override
+    protected void doAdd(int index, E element) {
+	checkIndex(index, size + 1);
+	if (size == elements.length) {
+	    grow();
+	}
+	if (index == 0) {
+	    head = (head - 1) & (elements.length - 1);
+	} else {
+	    for (int i = size; i > index; i--) {
+		elements[position(i)] = elements[position(i - 1)];
+	    }
+	}
+	elements[position(index)] = element;
+	size++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected E doSet(int index, E element) {
+	checkIndex(index, size);
+	int position = position(index);
+	E old = (E) elements[position];
+	elements[position] = element;
+	return old;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected E doRemove(int index) {
+	checkIndex(index, size);
+	E old = (E) elements[position(index)];
+	if (index == 0) {
+	    elements[head] = null;
+	    head = (head + 1) & (elements.length - 1);
+	} else {
+	    for (int i = index; i < (size - 1); i++) {
+		elements[position(i)] = elements[position(i + 1)];
+	    }
+	    elements[position(size - 1)] = null;
+	}
+	size--;
+	return old;
+    }
+
+    private int position(int index) {
+	return (head + index) & (elements.length - 1);
+    }
+
+    /**
+     * Doubles the capacity, which is kept a power of two to map the positions
+     * with a mask.
+     */
+    private void grow() {
+	Object[] newElements = new Object[elements.length * 2];
+	int firstPart = Math.min(size, elements.length - head);
+	System.arraycopy(elements, head, newElements, 0, firstPart);
+	System.arraycopy(elements, 0, newElements, firstPart, size - firstPart);
+	Arrays.fill(elements, null);
+	elements = newElements;
+	head = 0;
+    }
+
+    private void checkIndex(int index, int bound) {
+	if ((index < 0) || (index >= bound)) {
+	    throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for size " + size + ".");
+	}
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.puresoltechnologies.javafx.charts.plots;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import com.puresoltechnologies.javafx.charts.plots.RasterPlotRenderer.RasterTask;
+
+/**
+ * This class runs the {@link RasterTask}s of many plots in parallel. The tasks
+ * are split into contiguous groups, one per worker, and each worker draws its
+ * group into its own {@link Raster}. The first group is drawn into the target
+ * raster directly. Afterwards, the rasters of the other groups are blended over
+ * the target in the order of the groups, so plots added later are still drawn
+ * on top. The compositing is split into bands of rows for the workers, too.
+ * <p>
+ * The rasters of the workers are kept and reused for the next frame. An
+ * instance must not be used by more than one thread at a time.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class ParallelRasterizer {
+
+    private final ForkJoinPool pool;
+    private final List<Raster> layers = new ArrayList<>();
+    private final List<ForkJoinTask<?>> jobs = new ArrayList<>();
+
+    /**
+     * Creates a rasterizer running on the common {@link ForkJoinPool}.
+     */
+    public ParallelRasterizer() {
+	this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool is the {@link ForkJoinPool} to run the tasks on.
+     */
+    public ParallelRasterizer(ForkJoinPool pool) {
+	super();
+	this.pool = pool;
+    }
+
+    /**
+     * Runs the tasks. It returns after all of them finished and their results
+     * are composited into the target raster.
+     *
+     * @param target is the raster to draw into. Its size and clip are used for
+     *               the rasters of the workers, too.
+     * @param tasks  are the tasks to be run in the order of the plots.
+     */
+    public void rasterize(Raster target, List<RasterTask> tasks) {
+	int workers = Math.min(tasks.size(), pool.getParallelism());
+	if (workers <= 1) {
+	    for (RasterTask task : tasks) {
+		task.rasterize(target);
+	    }
+	    return;
+	}
+	while (layers.size() < workers) {
+	    layers.add(new Raster());
+	}
+	for (int worker = 0; worker < workers; worker++) {
+	    Raster raster = worker == 0 ? target : layers.get(worker);
+	    int from = (tasks.size() * worker) / workers;
+	    int to = (tasks.size() * (worker + 1)) / workers;
+	    jobs.add(pool.submit(() -> {
+		if (raster != target) {
+		    raster.resizeTo(target);
+		}
+		for (int i = from; i < to; i++) {
+		    tasks.get(i).rasterize(raster);
+		}
+	    }));
+	}
+	joinAll();
+	int height = target.getHeight();
+	for (int worker = 0; worker < workers; worker++) {
+	    int fromRow = (height * worker) / workers;
+	    int toRow = (height * (worker + 1)) / workers;
+	    int layerCount = workers;
+	    jobs.add(pool.submit(() -> {
+		for (int layer = 1; layer < layerCount; layer++) {
+		    target.composite(layers.get(layer), fromRow, toRow);
+		}
+	    }));
+	}
+	joinAll();
+    }
+
+    /**
+     * Waits for all jobs, even if one of them failed, so that no job is using the
+     * rasters anymore when this rasterizer is used again.
+     */
+    private void joinAll() {
+	RuntimeException failure = null;
+	for (ForkJoinTask<?> job : jobs) {
+	    try {
+		job.join();
+	    } catch (RuntimeException e) {
+		if (failure == null) {
+		    failure = e;
+		}
+	    }
+	}
+	jobs.clear();
+	if (failure != null) {
+	    throw failure;
+	}
+    }
+
+}
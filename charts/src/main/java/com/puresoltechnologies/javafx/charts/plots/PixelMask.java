@@ -0,0 +1,71 @@
+package com.puresoltechnologies.javafx.charts.plots;
+
+import java.util.Arrays;
+
+/**
+ * This is a bit set of the pixels of a rectangular area. It is used to draw
+ * only one marker per pixel, so that the drawing costs of large series are
+ * bound by the size of the area. The bits are kept and reused after
+ * {@link #reset(int, int, int, int)}. An instance must only be used by one
+ * thread at a time.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class PixelMask {
+
+    private long[] bits = new long[0];
+    private int left = 0;
+    private int top = 0;
+    private int columns = 0;
+    private int rows = 0;
+
+    /**
+     * Clears all pixels and sets the area.
+     *
+     * @param left    is the x position of the first pixel column.
+     * @param top     is the y position of the first pixel row.
+     * @param columns is the number of pixel columns.
+     * @param rows    is the number of pixel rows.
+     */
+    public final void reset(int left, int top, int columns, int rows) {
+	if ((columns < 0) || (rows < 0)) {
+	    throw new IllegalArgumentException("Size " + columns + "x" + rows + " is invalid.");
+	}
+	this.left = left;
+	this.top = top;
+	this.columns = columns;
+	this.rows = rows;
+	int length = (int) ((((long) columns * rows) + 63) / 64);
+	if (bits.length < length) {
+	    bits = new long[length];
+	} else {
+	    Arrays.fill(bits, 0, length, 0L);
+	}
+    }
+
+    /**
+     * Marks the pixel containing the given position.
+     *
+     * @param x is the x position.
+     * @param y is the y position.
+     * @return <code>true</code> is returned in case the pixel was not marked
+     *         before. <code>false</code> is returned in case it was marked
+     *         already or the position is outside of the area or not a number.
+     */
+    public final boolean mark(double x, double y) {
+	double column = Math.floor(x) - left;
+	double row = Math.floor(y) - top;
+	if (!(column >= 0.0) || !(column < columns) || !(row >= 0.0) || !(row < rows)) {
+	    return false;
+	}
+	long pixel = ((long) row * columns) + (long) column;
+	int word = (int) (pixel >>> 6);
+	long bit = 1L << pixel;
+	if ((bits[word] & bit) != 0) {
+	    return false;
+	}
+	bits[word] |= bit;
+	return true;
+    }
+
+}
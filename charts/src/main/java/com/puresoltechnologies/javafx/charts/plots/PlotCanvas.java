@@ -1,31 +1,76 @@
 package com.puresoltechnologies.javafx.charts.plots;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
+import com.puresoltechnologies.javafx.charts.HitIndex;
+import com.puresoltechnologies.javafx.charts.RedrawScheduler;
+import com.puresoltechnologies.javafx.charts.axes.AbstractAxisRenderer;
 import com.puresoltechnologies.javafx.charts.axes.Axis;
 import com.puresoltechnologies.javafx.charts.axes.AxisRenderer;
 import com.puresoltechnologies.javafx.charts.axes.AxisRendererFactory;
+import com.puresoltechnologies.javafx.charts.plots.RasterPlotRenderer.RasterTask;
 import com.puresoltechnologies.javafx.charts.preferences.ChartsProperties;
 import com.puresoltechnologies.javafx.preferences.Preferences;
+import com.puresoltechnologies.javafx.utils.FXThreads;
 
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
+import javafx.collections.ListChangeListener.Change;
 import javafx.collections.ObservableList;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Tooltip;
+import javafx.scene.image.WritableImage;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 
-public class PlotCanvas extends Canvas {
+/**
+ * This is the area the plots and their axes are drawn into. It consists of
+ * stacked canvas layers: the static layer keeps the background, the axes and
+ * the frame, the data layer keeps the plots and the overlay layer is used for
+ * interactive decorations. When only data changes and the axes ranges stay the
+ * same, only the data layer is repainted.
+ * <p>
+ * The visible range of the x axes can be changed with the mouse wheel (zoom)
+ * and by dragging (pan). A double click shows the full range again. While
+ * hovering, a crosshair is shown and the data item below the mouse is shown as
+ * tooltip. The data items are looked up in a {@link HitIndex} which is filled
+ * by the plot renderers while drawing.
+ * <p>
+ * With {@link #backgroundRenderingProperty()} enabled, plots with a
+ * {@link RasterPlotRenderer} are rasterized off the FX thread and the FX
+ * thread only copies the finished raster into the data layer. Until then, the
+ * previous frame stays visible. Multiple plots are rasterized in parallel with
+ * a {@link ParallelRasterizer}.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class PlotCanvas extends Pane {
 
     protected static final ObjectProperty<Color> backgroundColor = Preferences
 	    .getProperty(ChartsProperties.BACKGROUND_COLOR);
     protected static final ObjectProperty<Color> axisColor = Preferences.getProperty(ChartsProperties.AXIS_COLOR);
+    /**
+     * The number of hits the redraws of single items may add to the hit index
+     * before the whole data layer is redrawn.
+     */
+    private static final int MAX_ADDITIONAL_HITS = 1024;
 
     private final List<Plot<?, ?, ?>> plots = new ArrayList<>();
     private final List<Axis<?>> xAxes = new ArrayList<>();
@@ -34,55 +79,232 @@ public class PlotCanvas extends Canvas {
     private final List<Axis<?>> altYAxes = new ArrayList<>();
     private final Map<Axis<?>, AxisRenderer<?>> renderers = new HashMap<>();
     private final Map<Axis<?>, ObservableList<Plot<?, ?, ?>>> affectedPlots = new HashMap<>();
+    /**
+     * Plot renderers are kept, so that their coordinate buffers are reused.
+     */
+    private final Map<Plot<?, ?, ?>, PlotRenderer<?, ?, ?, ?, ?>> plotRenderers = new HashMap<>();
+    private final Map<Axis<?>, Object> drawnMinima = new HashMap<>();
+    private final Map<Axis<?>, Object> drawnMaxima = new HashMap<>();
+    private final RedrawScheduler redrawScheduler = new RedrawScheduler(this::draw);
+    private final Canvas staticLayer = new Canvas();
+    private final Canvas dataLayer = new Canvas();
+    private final Canvas overlayLayer = new Canvas();
+    private boolean staticLayerValid = false;
+    private final HitIndex hitIndex = new HitIndex();
+    private final Tooltip tooltip = new Tooltip();
+    private Rectangle plottingArea = null;
+    private double lastDragX = Double.NaN;
+    private final BooleanProperty backgroundRendering = new SimpleBooleanProperty(false);
+    private final Raster raster = new Raster();
+    private final ParallelRasterizer rasterizer = new ParallelRasterizer();
+    private final List<RasterTask> rasterTasks = new ArrayList<>();
+    private WritableImage rasterImage = null;
+    /**
+     * Set while a raster is drawn on a worker thread. The raster and the buffers
+     * of the renderers are in use then, so the next frame is deferred.
+     */
+    private boolean rasterizing = false;
+    private boolean rasterPending = false;
+    /**
+     * Plots whose data changed since the last frame. If only their last data
+     * items were replaced, only these items are redrawn.
+     */
+    private final Set<Plot<?, ?, ?>> changedLastItems = new HashSet<>();
+    private boolean fullRedraw = true;
+    private int fullHitCount = 0;
+    private final double[] itemRange = new double[2];
 
     public PlotCanvas() {
 	super();
-	widthProperty().addListener(event -> draw());
-	heightProperty().addListener(event -> draw());
-	draw();
+	setMinSize(320, 200);
+	setPrefSize(320, 200);
+	setMaxSize(10000, 10000);
+	for (Canvas layer : Arrays.asList(staticLayer, dataLayer, overlayLayer)) {
+	    layer.widthProperty().bind(widthProperty());
+	    layer.heightProperty().bind(heightProperty());
+	    layer.setManaged(false);
+	    getChildren().add(layer);
+	}
+	overlayLayer.setMouseTransparent(true);
+	backgroundRendering.addListener(event -> invalidateAll());
+	widthProperty().addListener(event -> invalidateAll());
+	heightProperty().addListener(event -> invalidateAll());
+	addEventHandler(ScrollEvent.SCROLL, this::zoom);
+	addEventHandler(MouseEvent.MOUSE_PRESSED, event -> lastDragX = event.getX());
+	addEventHandler(MouseEvent.MOUSE_DRAGGED, this::pan);
+	addEventHandler(MouseEvent.MOUSE_MOVED, this::hover);
+	addEventHandler(MouseEvent.MOUSE_EXITED, event -> clearHover());
+	addEventHandler(MouseEvent.MOUSE_CLICKED, event -> {
+	    if ((event.getButton() == MouseButton.PRIMARY) && (event.getClickCount() == 2)) {
+		resetVisibleRange();
+	    }
+	});
+	invalidateAll();
+    }
+
+    /**
+     * Restricts all x axes to the given range.
+     *
+     * @param minX is the minimum visible x value in the numeric domain of the
+     *             axes, which is epoch milliseconds for time axes.
+     * @param maxX is the maximum visible x value in the numeric domain of the
+     *             axes, which is epoch milliseconds for time axes.
+     */
+    public void setVisibleRange(double minX, double maxX) {
+	for (AbstractAxisRenderer<?> renderer : getXAxisRenderers()) {
+	    renderer.setVisibleRange(minX, maxX);
+	}
+	requestFullRedraw();
     }
 
-    @Override
-    public double minHeight(double height) {
-	return 200;
+    /**
+     * Restricts all (time) x axes to the given range.
+     *
+     * @param from is the first visible instant.
+     * @param to   is the last visible instant.
+     */
+    public void setVisibleRange(Instant from, Instant to) {
+	setVisibleRange(from.toEpochMilli(), to.toEpochMilli());
     }
 
-    @Override
-    public double maxHeight(double height) {
-	return 10000;
+    /**
+     * Shows the full range of the data on all x axes again.
+     */
+    public void resetVisibleRange() {
+	for (AbstractAxisRenderer<?> renderer : getXAxisRenderers()) {
+	    renderer.resetVisibleRange();
+	}
+	requestFullRedraw();
     }
 
-    @Override
-    public double prefHeight(double height) {
-	return minHeight(height);
+    private List<AbstractAxisRenderer<?>> getXAxisRenderers() {
+	List<AbstractAxisRenderer<?>> xAxisRenderers = new ArrayList<>();
+	for (List<Axis<?>> axes : Arrays.asList(xAxes, altXAxes)) {
+	    for (Axis<?> axis : axes) {
+		AxisRenderer<?> renderer = renderers.get(axis);
+		if (renderer instanceof AbstractAxisRenderer) {
+		    xAxisRenderers.add((AbstractAxisRenderer<?>) renderer);
+		}
+	    }
+	}
+	return xAxisRenderers;
     }
 
-    @Override
-    public double minWidth(double width) {
-	return 320;
+    private void hover(MouseEvent event) {
+	if ((plottingArea == null) || !plottingArea.contains(event.getX(), event.getY())) {
+	    clearHover();
+	    return;
+	}
+	GraphicsContext gc = overlayLayer.getGraphicsContext2D();
+	gc.clearRect(0.0, 0.0, getWidth(), getHeight());
+	gc.setStroke(axisColor.get());
+	gc.setLineWidth(1.0);
+	gc.setGlobalAlpha(0.5);
+	gc.strokeLine(event.getX(), plottingArea.getY(), event.getX(),
+		plottingArea.getY() + plottingArea.getHeight());
+	gc.strokeLine(plottingArea.getX(), event.getY(), plottingArea.getX() + plottingArea.getWidth(),
+		event.getY());
+	gc.setGlobalAlpha(1.0);
+	int entry = hitIndex.find(event.getX(), event.getY());
+	String text = entry >= 0 ? getHitText(entry) : null;
+	if (text == null) {
+	    tooltip.hide();
+	    return;
+	}
+	gc.strokeRect(hitIndex.getX(entry), hitIndex.getY(entry), hitIndex.getWidth(entry),
+		hitIndex.getHeight(entry));
+	tooltip.setText(text);
+	tooltip.show(this, event.getScreenX() + 12.0, event.getScreenY() + 12.0);
     }
 
-    @Override
-    public double maxWidth(double width) {
-	return 10000;
+    private String getHitText(int entry) {
+	AbstractPlot<?, ?, ?> plot = (AbstractPlot<?, ?, ?>) hitIndex.getOwner(entry);
+	int index = hitIndex.getIndex(entry);
+	if ((index < 0) || (index >= plot.getItemCount())) {
+	    return null;
+	}
+	return plot.getTitle() + "\nx: " + plot.getItemX(index) + "\ny: " + plot.getItemY(index);
     }
 
-    @Override
-    public double prefWidth(double width) {
-	return minWidth(width);
+    private void clearHover() {
+	overlayLayer.getGraphicsContext2D().clearRect(0.0, 0.0, getWidth(), getHeight());
+	tooltip.hide();
     }
 
-    @Override
-    public boolean isResizable() {
-	return true;
+    private void zoom(ScrollEvent event) {
+	if ((plottingArea == null) || (event.getDeltaY() == 0.0)) {
+	    return;
+	}
+	double factor = event.getDeltaY() > 0.0 ? 0.8 : 1.25;
+	double center = (event.getX() - plottingArea.getX()) / plottingArea.getWidth();
+	center = Math.max(0.0, Math.min(1.0, center));
+	for (AbstractAxisRenderer<?> renderer : getXAxisRenderers()) {
+	    double min = renderer.getMinValue();
+	    double max = renderer.getMaxValue();
+	    if (min < max) {
+		double range = max - min;
+		double newMin = min + (range * center * (1.0 - factor));
+		renderer.setVisibleRange(newMin, newMin + (range * factor));
+	    }
+	}
+	requestFullRedraw();
+	event.consume();
     }
 
-    @Override
-    public void resize(double width, double height) {
-	super.resize(width, height);
-	setWidth(width);
-	setHeight(height);
-	draw();
+    private void pan(MouseEvent event) {
+	if ((plottingArea == null) || Double.isNaN(lastDragX) || (event.getButton() != MouseButton.PRIMARY)) {
+	    return;
+	}
+	double shift = (lastDragX - event.getX()) / plottingArea.getWidth();
+	lastDragX = event.getX();
+	for (AbstractAxisRenderer<?> renderer : getXAxisRenderers()) {
+	    double min = renderer.getMinValue();
+	    double max = renderer.getMaxValue();
+	    if (min < max) {
+		double range = max - min;
+		renderer.setVisibleRange(min + (range * shift), max + (range * shift));
+	    }
+	}
+	requestFullRedraw();
+	event.consume();
+    }
+
+    /**
+     * The maximum number of redraws per second. All changes within a frame are
+     * drawn with a single redraw.
+     *
+     * @return The property is returned.
+     */
+    public DoubleProperty maxFrameRateProperty() {
+	return redrawScheduler.maxFrameRateProperty();
+    }
+
+    public double getMaxFrameRate() {
+	return redrawScheduler.getMaxFrameRate();
+    }
+
+    public void setMaxFrameRate(double maxFrameRate) {
+	redrawScheduler.setMaxFrameRate(maxFrameRate);
+    }
+
+    /**
+     * Enables the rasterization of the plots on worker threads, which keeps the
+     * FX thread responsive for plots with millions of data points. It only takes
+     * effect as long as {@link FXThreads} is initialized. Plots without a
+     * {@link RasterPlotRenderer} are still drawn on the FX thread.
+     *
+     * @return The property is returned.
+     */
+    public BooleanProperty backgroundRenderingProperty() {
+	return backgroundRendering;
+    }
+
+    public boolean isBackgroundRendering() {
+	return backgroundRendering.get();
+    }
+
+    public void setBackgroundRendering(boolean backgroundRendering) {
+	this.backgroundRendering.set(backgroundRendering);
     }
 
     public void addPlot(Plot<?, ?, ?> plot) {
@@ -126,31 +348,258 @@ public class PlotCanvas extends Canvas {
 	    } else {
 		affectedPlots.get(axis).add(plot);
 	    }
-	    renderers.put(axis, AxisRendererFactory.forAxis(this, axis, affectedPlots.get(axis)));
+	    /*
+	     * The renderer follows its list of plots, so it is only created once per
+	     * axis.
+	     */
+	    renderers.computeIfAbsent(axis, key -> {
+		AxisRenderer<?> renderer = AxisRendererFactory.forAxis(staticLayer, key, affectedPlots.get(key));
+		// a new x axis shows the same range like the others
+		List<AbstractAxisRenderer<?>> xAxisRenderers = getXAxisRenderers();
+		if ((renderer instanceof AbstractAxisRenderer) && (key == xAxis) && !xAxisRenderers.isEmpty()
+			&& xAxisRenderers.get(0).isVisibleRangeSet()) {
+		    ((AbstractAxisRenderer<?>) renderer).setVisibleRange(xAxisRenderers.get(0).getMinValue(),
+			    xAxisRenderers.get(0).getMaxValue());
+		}
+		return renderer;
+	    });
+	}
+	plot.data().addListener((ListChangeListener<Object>) change -> dataChanged(plot, change));
+	if (plot instanceof AbstractPlot) {
+	    ((AbstractPlot<?, ?, ?>) plot).revisionProperty().addListener(event -> requestFullRedraw());
+	}
+	invalidateAll();
+    }
+
+    /**
+     * Returns the top most layer which is not used by the plots. It can be used
+     * for interactive decorations like selections.
+     *
+     * @return The overlay {@link Canvas} is returned.
+     */
+    protected final Canvas getOverlayLayer() {
+	return overlayLayer;
+    }
+
+    /**
+     * Requests a redraw of all layers.
+     */
+    private void invalidateAll() {
+	staticLayerValid = false;
+	requestFullRedraw();
+    }
+
+    /**
+     * Requests a redraw of the data layer.
+     */
+    private void requestFullRedraw() {
+	fullRedraw = true;
+	redrawScheduler.requestRedraw();
+    }
+
+    /**
+     * Requests a redraw after the data of a plot changed. In case only its last
+     * data item was replaced without changing its x value, only this item needs
+     * to be redrawn.
+     */
+    @SuppressWarnings("unchecked")
+    private void dataChanged(Plot<?, ?, ?> plot, Change<?> change) {
+	AbstractPlot<?, ?, Object> abstractPlot = (AbstractPlot<?, ?, Object>) plot;
+	while (change.next()) {
+	    if (!change.wasReplaced() || (change.getRemovedSize() != 1) || (change.getAddedSize() != 1)
+		    || (change.getFrom() != (change.getList().size() - 1)) || !Objects.equals(
+			    abstractPlot.getAxisX(change.getRemoved().get(0)),
+			    abstractPlot.getAxisX(change.getAddedSubList().get(0)))) {
+		fullRedraw = true;
+	    }
 	}
-	plot.data().addListener((ListChangeListener<Object>) change -> draw());
+	changedLastItems.add(plot);
+	redrawScheduler.requestRedraw();
     }
 
     private void draw() {
-	clearPlotArea();
-	Rectangle plottingArea = drawAxes();
-	drawPlots(plottingArea);
-	drawFrame();
+	boolean itemsOnly = !fullRedraw && canRedrawItems();
+	fullRedraw = false;
+	if (itemsOnly) {
+	    redrawItems();
+	    changedLastItems.clear();
+	    return;
+	}
+	changedLastItems.clear();
+	if (!staticLayerValid || axesRangesChanged()) {
+	    clearPlotArea();
+	    plottingArea = drawAxes();
+	    drawFrame();
+	    rememberAxesRanges();
+	    staticLayerValid = true;
+	}
+	if (isBackgroundRendering() && FXThreads.isInitialized()) {
+	    rasterizePlots(plottingArea);
+	} else {
+	    clearDataLayer();
+	    hitIndex.reset(getWidth(), getHeight());
+	    drawPlots(plottingArea, false);
+	    fullHitCount = hitIndex.size();
+	}
+    }
+
+    /**
+     * Checks whether it is sufficient to redraw the changed last items. This is
+     * only possible if the axes did not change and all plots are able to draw a
+     * part of the plotting area. Each redraw adds the items to the hit index
+     * again, so after a while the whole data layer is redrawn to clean it up.
+     */
+    private boolean canRedrawItems() {
+	if (!staticLayerValid || (plottingArea == null) || isBackgroundRendering() || changedLastItems.isEmpty()
+		|| (hitIndex.size() > ((2 * fullHitCount) + MAX_ADDITIONAL_HITS)) || axesRangesChanged()) {
+	    return false;
+	}
+	for (Plot<?, ?, ?> plot : plots) {
+	    if (plot.hasData() && !(getPlotRenderer(plot) instanceof ItemPlotRenderer)) {
+		return false;
+	    }
+	}
+	return true;
+    }
+
+    /**
+     * Redraws the stripe of the plotting area covered by the changed last items.
+     */
+    private void redrawItems() {
+	double x = plottingArea.getX();
+	double y = plottingArea.getY();
+	double width = plottingArea.getWidth();
+	double height = plottingArea.getHeight();
+	double fromX = Double.POSITIVE_INFINITY;
+	double toX = Double.NEGATIVE_INFINITY;
+	for (Plot<?, ?, ?> plot : changedLastItems) {
+	    if (plots.contains(plot) && plot.hasData()) {
+		((ItemPlotRenderer) getPlotRenderer(plot)).calculateItemRange(x, y, width, height,
+			plot.getData().size() - 1, itemRange);
+		fromX = Math.min(fromX, itemRange[0]);
+		toX = Math.max(toX, itemRange[1]);
+	    }
+	}
+	// the anti-aliased edges reach into the neighboring pixels
+	fromX = Math.max(x, Math.floor(fromX) - 1.0);
+	toX = Math.min(x + width, Math.ceil(toX) + 1.0);
+	if (!(fromX < toX)) {
+	    return;
+	}
+	GraphicsContext gc = dataLayer.getGraphicsContext2D();
+	gc.clearRect(fromX, y, toX - fromX, height);
+	gc.save();
+	gc.beginPath();
+	gc.rect(fromX, y, toX - fromX, height);
+	gc.clip();
+	for (Plot<?, ?, ?> plot : plots) {
+	    if (plot.hasData()) {
+		((ItemPlotRenderer) getPlotRenderer(plot)).renderRangeTo(dataLayer, x, y, width, height, fromX, toX);
+	    }
+	}
+	gc.restore();
+    }
+
+    private void rasterizePlots(Rectangle plottingArea) {
+	if (rasterizing) {
+	    rasterPending = true;
+	    return;
+	}
+	hitIndex.reset(getWidth(), getHeight());
+	rasterTasks.clear();
+	for (Plot<?, ?, ?> plot : plots) {
+	    if (plot.hasData()) {
+		PlotRenderer<?, ?, ?, ?, ?> plotRenderer = getPlotRenderer(plot);
+		if (plotRenderer instanceof RasterPlotRenderer) {
+		    rasterTasks.add(((RasterPlotRenderer) plotRenderer).prepareRaster(plottingArea.getX(),
+			    plottingArea.getY(), plottingArea.getWidth(), plottingArea.getHeight()));
+		}
+	    }
+	}
+	int width = (int) Math.ceil(getWidth());
+	int height = (int) Math.ceil(getHeight());
+	rasterizing = true;
+	FXThreads.runAsync(() -> {
+	    try {
+		raster.resize(width, height);
+		// zoomed data must not be drawn over the axes
+		raster.setClip((int) plottingArea.getX(), (int) plottingArea.getY(),
+			(int) Math.ceil(plottingArea.getWidth()), (int) Math.ceil(plottingArea.getHeight()));
+		rasterizer.rasterize(raster, rasterTasks);
+	    } finally {
+		FXThreads.runOnFXThread(() -> showRaster(plottingArea));
+	    }
+	});
+    }
+
+    private void showRaster(Rectangle plottingArea) {
+	rasterizing = false;
+	if (rasterPending) {
+	    /*
+	     * The data changed while rasterizing. The raster is shown anyway, because
+	     * it is still newer than the shown frame and with continuously changing
+	     * data, there would be no frame otherwise.
+	     */
+	    rasterPending = false;
+	    requestFullRedraw();
+	}
+	if (!isBackgroundRendering()) {
+	    rasterTasks.clear();
+	    return;
+	}
+	for (RasterTask task : rasterTasks) {
+	    task.recordHits(hitIndex);
+	}
+	rasterTasks.clear();
+	clearDataLayer();
+	int width = raster.getWidth();
+	int height = raster.getHeight();
+	if ((width > 0) && (height > 0)) {
+	    if ((rasterImage == null) || (rasterImage.getWidth() < width) || (rasterImage.getHeight() < height)) {
+		rasterImage = new WritableImage(width, height);
+	    }
+	    raster.writeTo(rasterImage.getPixelWriter());
+	    dataLayer.getGraphicsContext2D().drawImage(rasterImage, 0.0, 0.0, width, height, 0.0, 0.0, width,
+		    height);
+	}
+	drawPlots(plottingArea, true);
+    }
+
+    private boolean axesRangesChanged() {
+	for (Map.Entry<Axis<?>, AxisRenderer<?>> entry : renderers.entrySet()) {
+	    AxisRenderer<?> renderer = entry.getValue();
+	    if (!Objects.equals(drawnMinima.get(entry.getKey()), renderer.getMin())
+		    || !Objects.equals(drawnMaxima.get(entry.getKey()), renderer.getMax())) {
+		return true;
+	    }
+	}
+	return false;
+    }
+
+    private void rememberAxesRanges() {
+	for (Map.Entry<Axis<?>, AxisRenderer<?>> entry : renderers.entrySet()) {
+	    drawnMinima.put(entry.getKey(), entry.getValue().getMin());
+	    drawnMaxima.put(entry.getKey(), entry.getValue().getMax());
+	}
     }
 
     private void clearPlotArea() {
 	double width = getWidth();
 	double height = getHeight();
-	GraphicsContext gc = getGraphicsContext2D();
+	GraphicsContext gc = staticLayer.getGraphicsContext2D();
 	gc.setFill(backgroundColor.get());
 	gc.setStroke(backgroundColor.get());
 	gc.fillRect(0.0, 0.0, width, height);
     }
 
+    private void clearDataLayer() {
+	dataLayer.getGraphicsContext2D().clearRect(0.0, 0.0, getWidth(), getHeight());
+    }
+
     private void drawFrame() {
 	double width = getWidth();
 	double height = getHeight();
-	GraphicsContext gc = getGraphicsContext2D();
+	GraphicsContext gc = staticLayer.getGraphicsContext2D();
 	gc.setStroke(axisColor.get());
 	gc.strokeRect(0.0, 0.0, width, height);
     }
@@ -170,7 +619,7 @@ public class PlotCanvas extends Canvas {
 	for (Axis<?> axis : xAxes) {
 	    AxisRenderer<?> renderer = renderers.get(axis);
 	    double tickness = renderer.getTickness();
-	    renderer.renderTo(this, yAxesThickness, position, getWidth() - yAxesThickness - altYAxesThickness,
+	    renderer.renderTo(staticLayer, yAxesThickness, position, getWidth() - yAxesThickness - altYAxesThickness,
 		    tickness);
 	    position += tickness;
 	}
@@ -178,7 +627,7 @@ public class PlotCanvas extends Canvas {
 	for (Axis<?> axis : yAxes) {
 	    AxisRenderer<?> renderer = renderers.get(axis);
 	    double tickness = renderer.getTickness();
-	    renderer.renderTo(this, position, altXAxesThickness, tickness,
+	    renderer.renderTo(staticLayer, position, altXAxesThickness, tickness,
 		    getHeight() - xAxesThickness - altXAxesThickness);
 	    position += tickness;
 	}
@@ -186,7 +635,7 @@ public class PlotCanvas extends Canvas {
 	for (Axis<?> axis : altXAxes) {
 	    AxisRenderer<?> renderer = renderers.get(axis);
 	    double tickness = renderer.getTickness();
-	    renderer.renderTo(this, yAxesThickness, position, getWidth() - yAxesThickness - altYAxesThickness,
+	    renderer.renderTo(staticLayer, yAxesThickness, position, getWidth() - yAxesThickness - altYAxesThickness,
 		    tickness);
 	    position += tickness;
 	}
@@ -194,30 +643,60 @@ public class PlotCanvas extends Canvas {
 	for (Axis<?> axis : altYAxes) {
 	    AxisRenderer<?> renderer = renderers.get(axis);
 	    double tickness = renderer.getTickness();
-	    renderer.renderTo(this, position, altXAxesThickness, tickness,
+	    renderer.renderTo(staticLayer, position, altXAxesThickness, tickness,
 		    getHeight() - xAxesThickness - altXAxesThickness);
 	    position += tickness;
 	}
 
-	double width = getWidth();
-	double height = getHeight();
-	return new Rectangle( //
-		yAxesThickness, //
-		altXAxesThickness, //
-		width - yAxesThickness - altYAxesThickness, //
-		height - xAxesThickness - altXAxesThickness //
-	);
+	double areaWidth = getWidth() - yAxesThickness - altYAxesThickness;
+	double areaHeight = getHeight() - xAxesThickness - altXAxesThickness;
+	/*
+	 * The area is kept as long as it does not change, so that redraws do not
+	 * allocate. It is not modified in place, because a pending rasterization
+	 * still refers to it.
+	 */
+	if ((plottingArea != null) && (plottingArea.getX() == yAxesThickness)
+		&& (plottingArea.getY() == altXAxesThickness) && (plottingArea.getWidth() == areaWidth)
+		&& (plottingArea.getHeight() == areaHeight)) {
+	    return plottingArea;
+	}
+	return new Rectangle(yAxesThickness, altXAxesThickness, areaWidth, areaHeight);
     }
 
-    private void drawPlots(Rectangle plottingArea) {
+    /**
+     * Draws the plots on the FX thread.
+     *
+     * @param plottingArea    is the area to draw into.
+     * @param skipRasterPlots specifies whether plots with a
+     *                        {@link RasterPlotRenderer} are skipped, because
+     *                        they were rasterized already.
+     */
+    private void drawPlots(Rectangle plottingArea, boolean skipRasterPlots) {
+	// zoomed data must not be drawn over the axes
+	GraphicsContext gc = dataLayer.getGraphicsContext2D();
+	gc.save();
+	gc.beginPath();
+	gc.rect(plottingArea.getX(), plottingArea.getY(), plottingArea.getWidth(), plottingArea.getHeight());
+	gc.clip();
 	for (Plot<?, ?, ?> plot : plots) {
 	    if (plot.hasData()) {
-		PlotRenderer<?, ?, ?, ?, ?> plotRenderer = ((AbstractPlot<?, ?, ?>) plot)
-			.getGenericRenderer(renderers.get(plot.getXAxis()), renderers.get(plot.getYAxis()));
-		plotRenderer.renderTo(this, plottingArea.getX(), plottingArea.getY(), plottingArea.getWidth(),
-			plottingArea.getHeight());
+		PlotRenderer<?, ?, ?, ?, ?> plotRenderer = getPlotRenderer(plot);
+		if (!skipRasterPlots || !(plotRenderer instanceof RasterPlotRenderer)) {
+		    plotRenderer.renderTo(dataLayer, plottingArea.getX(), plottingArea.getY(),
+			    plottingArea.getWidth(), plottingArea.getHeight());
+		}
 	    }
 	}
+	gc.restore();
+    }
+
+    private PlotRenderer<?, ?, ?, ?, ?> getPlotRenderer(Plot<?, ?, ?> plot) {
+	return plotRenderers.computeIfAbsent(plot, key -> {
+	    PlotRenderer<?, ?, ?, ?, ?> renderer = ((AbstractPlot<?, ?, ?>) key)
+		    .getGenericRenderer(renderers.get(key.getXAxis()), renderers.get(key.getYAxis()));
+	    renderer.setHitIndex(hitIndex);
+	    return renderer;
+	});
     }
 
     private double calculateThickness(List<Axis<?>> axes, Map<Axis<?>, AxisRenderer<?>> renderers) {
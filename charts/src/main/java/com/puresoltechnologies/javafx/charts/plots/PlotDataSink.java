@@ -0,0 +1,215 @@
+package com.puresoltechnologies.javafx.charts.plots;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.puresoltechnologies.javafx.utils.FXThreads;
+
+import javafx.animation.AnimationTimer;
+import javafx.collections.ObservableList;
+
+/**
+ * This class is used to feed streaming data into a {@link Plot}. Samples can be
+ * added from any thread. They are buffered in a lock-free queue and flushed to
+ * the plot's data in one batch per pulse on the FX thread, so there is no need
+ * for a {@link javafx.application.Platform#runLater(Runnable)} per sample.
+ * <p>
+ * Optionally, the plot data is limited to a window of the last N samples
+ * and/or, for plots with a time axis, to the samples of a given time span. The
+ * window is applied by removing the oldest samples from the front of the data,
+ * which is cheap for the plot's data list, its extrema and its series.
+ *
+ * @author Rick-Rainer Ludwig
+ *
+ * @param <D> is the data type of the plot.
+ */
+public class PlotDataSink<D> {
+
+    private final AbstractPlot<?, ?, D> plot;
+    private final Queue<D> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private final Runnable startPulses;
+    private final Runnable stopPulses;
+    /*
+     * Created on the FX thread with the first sample.
+     */
+    private AnimationTimer timer = null;
+    private final List<D> batch = new ArrayList<>();
+    private volatile int maxSize = 0;
+    private volatile Duration maxAge = null;
+
+    public PlotDataSink(AbstractPlot<?, ?, D> plot) {
+	super();
+	this.plot = plot;
+	this.startPulses = () -> FXThreads.runOnFXThread(this::startTimer);
+	this.stopPulses = this::stopTimer;
+    }
+
+    /**
+     * Creates a sink which is driven by another source of pulses than an
+     * {@link AnimationTimer}. The source needs to call {@link #onPulse()} after
+     * it was started until it is stopped.
+     *
+     * @param plot        is the plot to feed.
+     * @param startPulses starts the pulses. It is called from any thread.
+     * @param stopPulses  stops the pulses. It is called from within
+     *                    {@link #onPulse()}.
+     */
+    PlotDataSink(AbstractPlot<?, ?, D> plot, Runnable startPulses, Runnable stopPulses) {
+	super();
+	this.plot = plot;
+	this.startPulses = startPulses;
+	this.stopPulses = stopPulses;
+    }
+
+    public final AbstractPlot<?, ?, D> getPlot() {
+	return plot;
+    }
+
+    /**
+     * Returns the maximum number of samples kept in the plot.
+     *
+     * @return The maximum number of samples is returned. 0 means unlimited.
+     */
+    public int getMaxSize() {
+	return maxSize;
+    }
+
+    /**
+     * Limits the plot data to the last samples.
+     *
+     * @param maxSize is the maximum number of samples to keep. 0 means unlimited.
+     */
+    public void setMaxSize(int maxSize) {
+	if (maxSize < 0) {
+	    throw new IllegalArgumentException("Maximum size must not be negative.");
+	}
+	this.maxSize = maxSize;
+    }
+
+    public Duration getMaxAge() {
+	return maxAge;
+    }
+
+    /**
+     * Limits the plot data to the samples within the given time span before the
+     * newest sample. This is only supported for plots with an {@link Instant} x
+     * axis and expects the samples to be added in chronological order.
+     *
+     * @param maxAge is the time span to keep. <code>null</code> means unlimited.
+     */
+    public void setMaxAge(Duration maxAge) {
+	if ((maxAge != null) && !Instant.class.isAssignableFrom(plot.getXAxis().getValueType())) {
+	    throw new IllegalStateException("A maximum age is only supported for plots with a time axis.");
+	}
+	this.maxAge = maxAge;
+    }
+
+    /**
+     * Adds a sample. This method can be called from any thread.
+     *
+     * @param sample is the sample to be added to the plot.
+     */
+    public void add(D sample) {
+	queue.add(sample);
+	schedule();
+    }
+
+    /**
+     * Adds several samples. This method can be called from any thread.
+     *
+     * @param samples are the samples to be added to the plot.
+     */
+    public void addAll(Collection<? extends D> samples) {
+	queue.addAll(samples);
+	schedule();
+    }
+
+    private void schedule() {
+	if (scheduled.compareAndSet(false, true)) {
+	    startPulses.run();
+	}
+    }
+
+    private void startTimer() {
+	if (timer == null) {
+	    timer = new AnimationTimer() {
+		@Override
+		public void handle(long now) {
+		    onPulse();
+		}
+	    };
+	}
+	timer.start();
+    }
+
+    private void stopTimer() {
+	timer.stop();
+    }
+
+    /**
+     * Flushes the samples added since the last pulse to the plot. Without new
+     * samples, the pulses are stopped until the next sample arrives. It is called
+     * once per pulse on the FX thread.
+     */
+    void onPulse() {
+	D sample;
+	while ((sample = queue.poll()) != null) {
+	    batch.add(sample);
+	}
+	if (batch.isEmpty()) {
+	    stopPulses.run();
+	    scheduled.set(false);
+	    // a sample may have been added after polling, but before resetting
+	    if (!queue.isEmpty()) {
+		schedule();
+	    }
+	    return;
+	}
+	try {
+	    flush();
+	} finally {
+	    batch.clear();
+	}
+    }
+
+    private void flush() {
+	ObservableList<D> data = plot.data();
+	int size = maxSize;
+	List<D> samples = batch;
+	if ((size > 0) && (samples.size() > size)) {
+	    samples = samples.subList(samples.size() - size, samples.size());
+	}
+	data.addAll(samples);
+	int excess = 0;
+	if ((size > 0) && (data.size() > size)) {
+	    excess = data.size() - size;
+	}
+	Duration age = maxAge;
+	if (age != null) {
+	    excess = Math.max(excess, countExpired(data, age));
+	}
+	if (excess > 0) {
+	    data.remove(0, excess);
+	}
+    }
+
+    @SuppressWarnings("unchecked")
+    private int countExpired(ObservableList<D> data, Duration age) {
+	AbstractPlot<Instant, ?, D> timePlot = (AbstractPlot<Instant, ?, D>) plot;
+	Instant newest = timePlot.getAxisX(data.get(data.size() - 1));
+	Instant oldest = newest.minus(age);
+	int count = 0;
+	while ((count < data.size()) && timePlot.getAxisX(data.get(count)).isBefore(oldest)) {
+	    count++;
+	}
+	return count;
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.puresoltechnologies.javafx.charts.plots;
 
+import com.puresoltechnologies.javafx.charts.HitIndex;
 import com.puresoltechnologies.javafx.charts.Renderer;
 import com.puresoltechnologies.javafx.charts.axes.AxisRenderer;
 
@@ -34,4 +35,13 @@ public interface PlotRenderer<X extends Comparable<X>, Y extends Comparable<Y>,
      */
     YAR getYAxisRenderer();
 
+    /**
+     * Sets the index the renderer records the drawn data items to. It is used to
+     * find the data item below the mouse.
+     *
+     * @param hitIndex is the {@link HitIndex} to record to. <code>null</code>
+     *                 disables recording.
+     */
+    void setHitIndex(HitIndex hitIndex);
+
 }
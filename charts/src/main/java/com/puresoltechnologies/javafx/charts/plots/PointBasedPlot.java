@@ -1,5 +1,8 @@
 package com.puresoltechnologies.javafx.charts.plots;
 
+import com.puresoltechnologies.javafx.charts.data.ColumnarSeries;
+import com.puresoltechnologies.javafx.charts.data.Decimator;
+
 import javafx.beans.property.ObjectProperty;
 
 /**
@@ -36,4 +39,37 @@ public interface PointBasedPlot<X extends Comparable<X>, Y extends Comparable<Y>
      */
     void setConnectingLineStyle(ConnectingLineStyle connectingLineStyle);
 
+    /**
+     * Returns the plot data as primitive x and y columns in the numeric domain of
+     * the axes. This is what the renderers read, so the data objects do not need
+     * to be converted again for every redraw.
+     *
+     * @return A {@link ColumnarSeries} is returned which is kept in sync with
+     *         {@link #data()}.
+     */
+    ColumnarSeries getSeries();
+
+    /**
+     * Returns the {@link Decimator} property.
+     *
+     * @return
+     */
+    ObjectProperty<Decimator> decimatorProperty();
+
+    /**
+     * Returns the {@link Decimator} used to reduce the series before rendering.
+     *
+     * @return The {@link Decimator} is returned or <code>null</code> in case all
+     *         data points are drawn.
+     */
+    Decimator getDecimator();
+
+    /**
+     * Sets the {@link Decimator}.
+     *
+     * @param decimator is the {@link Decimator} to be set. <code>null</code>
+     *                  switches decimation off.
+     */
+    void setDecimator(Decimator decimator);
+
 }
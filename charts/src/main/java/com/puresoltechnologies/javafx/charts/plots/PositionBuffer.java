@@ -0,0 +1,64 @@
+package com.puresoltechnologies.javafx.charts.plots;
+
+import java.util.Arrays;
+
+/**
+ * This is a growable buffer of projected screen positions. It is used to hand
+ * the positions of a series over from the FX thread to a rasterizing thread.
+ * Screen positions do not need double precision, so they are kept as floats to
+ * halve the memory of large series. {@link #clear()} keeps the capacity.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class PositionBuffer {
+
+    private float[] xPositions = new float[256];
+    private float[] yPositions = new float[256];
+    private int size = 0;
+
+    public final int size() {
+	return size;
+    }
+
+    public final float getX(int index) {
+	checkIndex(index);
+	return xPositions[index];
+    }
+
+    public final float getY(int index) {
+	checkIndex(index);
+	return yPositions[index];
+    }
+
+    private void checkIndex(int index) {
+	if ((index < 0) || (index >= size)) {
+	    throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for size " + size + ".");
+	}
+    }
+
+    /**
+     * Appends positions.
+     *
+     * @param xPositions are the x positions to be appended.
+     * @param yPositions are the y positions to be appended.
+     * @param count      is the number of positions to be appended from the start
+     *                   of the arrays.
+     */
+    public final void add(double[] xPositions, double[] yPositions, int count) {
+	if ((size + count) > this.xPositions.length) {
+	    int capacity = Math.max(size + count, this.xPositions.length * 2);
+	    this.xPositions = Arrays.copyOf(this.xPositions, capacity);
+	    this.yPositions = Arrays.copyOf(this.yPositions, capacity);
+	}
+	for (int i = 0; i < count; i++) {
+	    this.xPositions[size + i] = (float) xPositions[i];
+	    this.yPositions[size + i] = (float) yPositions[i];
+	}
+	size += count;
+    }
+
+    public final void clear() {
+	size = 0;
+    }
+
+}
@@ -0,0 +1,303 @@
+package com.puresoltechnologies.javafx.charts.plots;
+
+import java.util.Arrays;
+
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.paint.Color;
+
+/**
+ * This is a plain ARGB pixel buffer to rasterize plots into. In contrast to a
+ * {@link javafx.scene.canvas.Canvas}, it can be drawn to from any thread. The
+ * pixels are kept in a single <code>int[]</code> with non-premultiplied
+ * colors, so they can be written to an image with a {@link PixelWriter} in one
+ * call.
+ * <p>
+ * Rectangles are filled span by span and lines are drawn with a DDA algorithm.
+ * All drawing is restricted to the clip rectangle and translucent colors are
+ * blended over the existing pixels. An instance must only be used by one
+ * thread at a time.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class Raster {
+
+    private int width = 0;
+    private int height = 0;
+    private int[] pixels = new int[0];
+    private int clipMinX = 0;
+    private int clipMinY = 0;
+    private int clipMaxX = 0;
+    private int clipMaxY = 0;
+    /**
+     * Parameters of the clipped part of the current line.
+     */
+    private double lineStart;
+    private double lineEnd;
+
+    public Raster() {
+	super();
+    }
+
+    public Raster(int width, int height) {
+	super();
+	resize(width, height);
+    }
+
+    /**
+     * Changes the size of the raster. The pixel array is only reallocated in case
+     * it is too small. All pixels are cleared and the clip is reset to the whole
+     * raster.
+     *
+     * @param width  is the new width in pixels.
+     * @param height is the new height in pixels.
+     */
+    public final void resize(int width, int height) {
+	if ((width < 0) || (height < 0)) {
+	    throw new IllegalArgumentException("Size " + width + "x" + height + " is invalid.");
+	}
+	this.width = width;
+	this.height = height;
+	if (pixels.length < (width * height)) {
+	    pixels = new int[width * height];
+	}
+	clear();
+	setClip(0, 0, width, height);
+    }
+
+    /**
+     * Changes the size and the clip of the raster to the ones of another raster.
+     * All pixels are cleared.
+     *
+     * @param template is the raster to take the size and the clip from.
+     */
+    public final void resizeTo(Raster template) {
+	resize(template.width, template.height);
+	clipMinX = template.clipMinX;
+	clipMinY = template.clipMinY;
+	clipMaxX = template.clipMaxX;
+	clipMaxY = template.clipMaxY;
+    }
+
+    public final int getWidth() {
+	return width;
+    }
+
+    public final int getHeight() {
+	return height;
+    }
+
+    /**
+     * Returns the pixels row by row. The array may be larger than
+     * <code>width * height</code>.
+     *
+     * @return The ARGB pixels are returned.
+     */
+    public final int[] getPixels() {
+	return pixels;
+    }
+
+    public final int getPixel(int x, int y) {
+	if ((x < 0) || (x >= width) || (y < 0) || (y >= height)) {
+	    throw new IndexOutOfBoundsException(
+		    "Pixel (" + x + ", " + y + ") is out of bounds for size " + width + "x" + height + ".");
+	}
+	return pixels[(y * width) + x];
+    }
+
+    /**
+     * Sets all pixels to transparent.
+     */
+    public final void clear() {
+	Arrays.fill(pixels, 0, width * height, 0);
+    }
+
+    /**
+     * Restricts all drawing to the given rectangle.
+     *
+     * @param x      is the x position of the clip.
+     * @param y      is the y position of the clip.
+     * @param width  is the width of the clip.
+     * @param height is the height of the clip.
+     */
+    public final void setClip(int x, int y, int width, int height) {
+	clipMinX = Math.max(0, x);
+	clipMinY = Math.max(0, y);
+	clipMaxX = Math.min(this.width, x + width);
+	clipMaxY = Math.min(this.height, y + height);
+    }
+
+    /**
+     * Fills a rectangle. The rectangle covers all pixels whose centers are
+     * within it.
+     *
+     * @param x      is the x position of the rectangle.
+     * @param y      is the y position of the rectangle.
+     * @param width  is the width of the rectangle.
+     * @param height is the height of the rectangle.
+     * @param argb   is the color to fill with.
+     */
+    public final void fillRect(double x, double y, double width, double height, int argb) {
+	if (Double.isNaN(x) || Double.isNaN(y)) {
+	    return;
+	}
+	int minX = (int) Math.max(clipMinX, Math.round(x));
+	int minY = (int) Math.max(clipMinY, Math.round(y));
+	int maxX = (int) Math.min(clipMaxX, Math.round(x + width));
+	int maxY = (int) Math.min(clipMaxY, Math.round(y + height));
+	boolean opaque = (argb >>> 24) == 0xFF;
+	for (int row = minY; row < maxY; row++) {
+	    int offset = row * this.width;
+	    if (opaque) {
+		Arrays.fill(pixels, offset + minX, offset + maxX, argb);
+	    } else {
+		for (int column = minX; column < maxX; column++) {
+		    blend(offset + column, argb);
+		}
+	    }
+	}
+    }
+
+    /**
+     * Draws a line with a width of one pixel. Lines with undefined (NaN) end
+     * points are skipped.
+     *
+     * @param x0   is the x position of the start point.
+     * @param y0   is the y position of the start point.
+     * @param x1   is the x position of the end point.
+     * @param y1   is the y position of the end point.
+     * @param argb is the color of the line.
+     */
+    public final void drawLine(double x0, double y0, double x1, double y1, int argb) {
+	if (Double.isNaN(x0) || Double.isNaN(y0) || Double.isNaN(x1) || Double.isNaN(y1)) {
+	    return;
+	}
+	// Liang-Barsky clipping, so lines far outside do not cost any steps
+	double dx = x1 - x0;
+	double dy = y1 - y0;
+	lineStart = 0.0;
+	lineEnd = 1.0;
+	if (!clip(-dx, x0 - clipMinX) || !clip(dx, clipMaxX - 1 - x0) || !clip(-dy, y0 - clipMinY)
+		|| !clip(dy, clipMaxY - 1 - y0)) {
+	    return;
+	}
+	double startX = x0 + (lineStart * dx);
+	double startY = y0 + (lineStart * dy);
+	double endX = x0 + (lineEnd * dx);
+	double endY = y0 + (lineEnd * dy);
+	int steps = (int) Math.ceil(Math.max(Math.abs(endX - startX), Math.abs(endY - startY)));
+	double stepX = steps > 0 ? (endX - startX) / steps : 0.0;
+	double stepY = steps > 0 ? (endY - startY) / steps : 0.0;
+	double currentX = startX;
+	double currentY = startY;
+	boolean opaque = (argb >>> 24) == 0xFF;
+	for (int i = 0; i <= steps; i++) {
+	    int column = (int) Math.round(currentX);
+	    int row = (int) Math.round(currentY);
+	    if ((column >= clipMinX) && (column < clipMaxX) && (row >= clipMinY) && (row < clipMaxY)) {
+		int index = (row * width) + column;
+		if (opaque) {
+		    pixels[index] = argb;
+		} else {
+		    blend(index, argb);
+		}
+	    }
+	    currentX += stepX;
+	    currentY += stepY;
+	}
+    }
+
+    private boolean clip(double p, double q) {
+	if (p == 0.0) {
+	    return q >= 0.0;
+	}
+	double r = q / p;
+	if (p < 0.0) {
+	    if (r > lineEnd) {
+		return false;
+	    }
+	    lineStart = Math.max(lineStart, r);
+	} else {
+	    if (r < lineStart) {
+		return false;
+	    }
+	    lineEnd = Math.min(lineEnd, r);
+	}
+	return true;
+    }
+
+    /**
+     * Blends a color over a pixel (source over).
+     */
+    private void blend(int index, int argb) {
+	int sourceAlpha = argb >>> 24;
+	if (sourceAlpha == 0) {
+	    return;
+	}
+	int destination = pixels[index];
+	int destinationAlpha = ((destination >>> 24) * (255 - sourceAlpha)) / 255;
+	int alpha = sourceAlpha + destinationAlpha;
+	int red = ((((argb >> 16) & 0xFF) * sourceAlpha) + (((destination >> 16) & 0xFF) * destinationAlpha))
+		/ alpha;
+	int green = ((((argb >> 8) & 0xFF) * sourceAlpha) + (((destination >> 8) & 0xFF) * destinationAlpha))
+		/ alpha;
+	int blue = (((argb & 0xFF) * sourceAlpha) + ((destination & 0xFF) * destinationAlpha)) / alpha;
+	pixels[index] = (alpha << 24) | (red << 16) | (green << 8) | blue;
+    }
+
+    /**
+     * Blends the rows of another raster of the same size over this raster. Only
+     * the clip of this raster is touched, so the rows can be composited in
+     * parallel by different threads.
+     *
+     * @param layer   is the raster to be drawn on top.
+     * @param fromRow is the first row to be composited.
+     * @param toRow   is the row after the last row to be composited.
+     */
+    public final void composite(Raster layer, int fromRow, int toRow) {
+	if ((layer.width != width) || (layer.height != height)) {
+	    throw new IllegalArgumentException("Raster of size " + layer.width + "x" + layer.height
+		    + " cannot be composited onto raster of size " + width + "x" + height + ".");
+	}
+	int[] layerPixels = layer.pixels;
+	for (int row = Math.max(clipMinY, fromRow); row < Math.min(clipMaxY, toRow); row++) {
+	    int offset = row * width;
+	    for (int index = offset + clipMinX; index < (offset + clipMaxX); index++) {
+		int argb = layerPixels[index];
+		if ((argb >>> 24) == 0xFF) {
+		    pixels[index] = argb;
+		} else {
+		    blend(index, argb);
+		}
+	    }
+	}
+    }
+
+    /**
+     * Writes the raster to the upper left corner of an image.
+     *
+     * @param writer is the {@link PixelWriter} of the image. The image needs to
+     *               be at least as large as the raster.
+     */
+    public final void writeTo(PixelWriter writer) {
+	if ((width > 0) && (height > 0)) {
+	    writer.setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+	}
+    }
+
+    /**
+     * Converts a color into the ARGB format of the raster.
+     *
+     * @param color is the color to be converted.
+     * @param alpha is an additional opacity to be applied like
+     *              {@link javafx.scene.canvas.GraphicsContext#setGlobalAlpha(double)}.
+     * @return The ARGB value is returned.
+     */
+    public static int toArgb(Color color, double alpha) {
+	return ((int) Math.round(color.getOpacity() * alpha * 255.0) << 24) //
+		| ((int) Math.round(color.getRed() * 255.0) << 16) //
+		| ((int) Math.round(color.getGreen() * 255.0) << 8) //
+		| (int) Math.round(color.getBlue() * 255.0);
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.puresoltechnologies.javafx.charts.plots;
+
+import com.puresoltechnologies.javafx.charts.HitIndex;
+
+/**
+ * This interface is implemented by plot renderers which are able to rasterize
+ * their plot into a {@link Raster} off the FX thread. The work is split into
+ * two steps: the data to be drawn is prepared on the FX thread, because the
+ * data and the axes are only to be accessed there, and the returned
+ * {@link RasterTask} draws the prepared data on a worker thread.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public interface RasterPlotRenderer {
+
+    /**
+     * This is the part of the drawing which is run on a worker thread.
+     */
+    @FunctionalInterface
+    interface RasterTask {
+
+	/**
+	 * Draws the prepared data.
+	 *
+	 * @param raster is the {@link Raster} to draw into. It has the size of the
+	 *               canvas and is clipped to the plotting area.
+	 */
+	void rasterize(Raster raster);
+
+	/**
+	 * Records the drawn data items to the {@link HitIndex}. It is called on the
+	 * FX thread after {@link #rasterize(Raster)} finished, so tasks which find
+	 * the drawn items while rasterizing do not need to project them on the FX
+	 * thread. By default, nothing is recorded.
+	 *
+	 * @param hitIndex is the {@link HitIndex} to record to.
+	 */
+	default void recordHits(HitIndex hitIndex) {
+	    // nothing to record by default
+	}
+
+    }
+
+    /**
+     * Prepares the rasterization of the plot. It is called on the FX thread and
+     * takes a snapshot of everything needed to draw the plot, like the visible
+     * data and colors. The renderer may reuse its buffers for the snapshot,
+     * so the next call must not happen before the returned task finished.
+     *
+     * @param x      is the x position of the plotting area.
+     * @param y      is the y position of the plotting area.
+     * @param width  is the width of the plotting area.
+     * @param height is the height of the plotting area.
+     * @return A {@link RasterTask} to be run on any thread is returned.
+     */
+    RasterTask prepareRaster(double x, double y, double width, double height);
+
+}
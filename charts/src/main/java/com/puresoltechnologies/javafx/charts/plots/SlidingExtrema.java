@@ -0,0 +1,196 @@
+package com.puresoltechnologies.javafx.charts.plots;
+
+import java.util.Arrays;
+
+/**
+ * This class keeps track of the minimum and maximum of a sequence of values
+ * which is only appended at the end and removed from the front, like the data
+ * of a streaming plot. Both operations are O(1) amortized.
+ * <p>
+ * The extrema are kept in two monotonic deques: the minimum deque only keeps
+ * values which may become the minimum after older values were removed, and the
+ * same for the maximum. An older value equal to a new one is dropped, because
+ * the new one stays longer, so a run of equal values keeps one entry only.
+ * <code>null</code> values are counted, but ignored for the extrema.
+ * <p>
+ * A deque still keeps every value of a monotonic sequence, like the minimum
+ * deque for ascending values. {@link AbstractPlot} therefore does not use this
+ * class for ascending x values.
+ * <p>
+ * The newest value is kept outside of the deques until the next value is
+ * added, so it can be replaced in O(1), too. This is used for data whose last
+ * item is still changing, like the open candle of an OHLC plot.
+ *
+ * @author Rick-Rainer Ludwig
+ *
+ * @param <T> is the type of the values.
+ */
+final class SlidingExtrema<T extends Comparable<T>> {
+
+    private final MonotonicDeque<T> minima = new MonotonicDeque<>();
+    private final MonotonicDeque<T> maxima = new MonotonicDeque<>();
+    /**
+     * Sequence number of the next value to be added.
+     */
+    private long tail = 0;
+    /**
+     * Sequence number of the oldest value still contained.
+     */
+    private long head = 0;
+    /**
+     * The newest value, which is not part of the deques, yet.
+     */
+    private T last = null;
+
+    /**
+     * Returns the number of values added and not removed, yet.
+     *
+     * @return The number of values is returned.
+     */
+    int size() {
+	return (int) (tail - head);
+    }
+
+    T getMin() {
+	T min = minima.isEmpty() ? null : minima.firstValue();
+	if ((last != null) && ((min == null) || (last.compareTo(min) < 0))) {
+	    min = last;
+	}
+	return min;
+    }
+
+    T getMax() {
+	T max = maxima.isEmpty() ? null : maxima.firstValue();
+	if ((last != null) && ((max == null) || (last.compareTo(max) > 0))) {
+	    max = last;
+	}
+	return max;
+    }
+
+    void add(T value) {
+	if (tail > head) {
+	    push(tail - 1, last);
+	}
+	last = value;
+	tail++;
+    }
+
+    /**
+     * Replaces the newest value.
+     *
+     * @param value is the new value.
+     */
+    void replaceLast(T value) {
+	if (tail == head) {
+	    throw new IllegalStateException("There is no value to be replaced.");
+	}
+	last = value;
+    }
+
+    void removeFirst(int count) {
+	head += count;
+	while (!minima.isEmpty() && (minima.firstSequence() < head)) {
+	    minima.removeFirst();
+	}
+	while (!maxima.isEmpty() && (maxima.firstSequence() < head)) {
+	    maxima.removeFirst();
+	}
+	if (head >= tail) {
+	    last = null;
+	}
+    }
+
+    private void push(long sequence, T value) {
+	if (value == null) {
+	    return;
+	}
+	while (!minima.isEmpty() && (minima.lastValue().compareTo(value) >= 0)) {
+	    minima.removeLast();
+	}
+	minima.addLast(sequence, value);
+	while (!maxima.isEmpty() && (maxima.lastValue().compareTo(value) <= 0)) {
+	    maxima.removeLast();
+	}
+	maxima.addLast(sequence, value);
+    }
+
+    void clear() {
+	minima.clear();
+	maxima.clear();
+	last = null;
+	head = 0;
+	tail = 0;
+    }
+
+    /**
+     * A ring buffer of sequence numbers and values. Primitive arrays are used to
+     * not create an entry object per value.
+     */
+    private static final class MonotonicDeque<T> {
+
+	private long[] sequences = new long[16];
+	private Object[] values = new Object[16];
+	private int first = 0;
+	private int size = 0;
+
+	boolean isEmpty() {
+	    return size == 0;
+	}
+
+	long firstSequence() {
+	    return sequences[first];
+	}
+
+	@SuppressWarnings("unchecked")
+	T firstValue() {
+	    return (T) values[first];
+	}
+
+	@SuppressWarnings("unchecked")
+	T lastValue() {
+	    return (T) values[(first + size - 1) % values.length];
+	}
+
+	void addLast(long sequence, T value) {
+	    if (size == values.length) {
+		grow();
+	    }
+	    int position = (first + size) % values.length;
+	    sequences[position] = sequence;
+	    values[position] = value;
+	    size++;
+	}
+
+	void removeFirst() {
+	    values[first] = null;
+	    first = (first + 1) % values.length;
+	    size--;
+	}
+
+	void removeLast() {
+	    values[(first + size - 1) % values.length] = null;
+	    size--;
+	}
+
+	void clear() {
+	    Arrays.fill(values, null);
+	    first = 0;
+	    size = 0;
+	}
+
+	private void grow() {
+	    int capacity = values.length * 2;
+	    long[] newSequences = new long[capacity];
+	    Object[] newValues = new Object[capacity];
+	    for (int i = 0; i < size; i++) {
+		int position = (first + i) % values.length;
+		newSequences[i] = sequences[position];
+		newValues[i] = values[position];
+	    }
+	    sequences = newSequences;
+	    values = newValues;
+	    first = 0;
+	}
+    }
+
+}
@@ -1,34 +1,118 @@
 package com.puresoltechnologies.javafx.charts.plots.box;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.puresoltechnologies.javafx.charts.axes.Axis;
 import com.puresoltechnologies.javafx.charts.axes.AxisRenderer;
 import com.puresoltechnologies.javafx.charts.axes.NumberAxis;
 import com.puresoltechnologies.javafx.charts.axes.NumberAxisRenderer;
+import com.puresoltechnologies.javafx.charts.data.QuantileSketch;
 import com.puresoltechnologies.javafx.charts.plots.AbstractPlot;
 import com.puresoltechnologies.javafx.charts.plots.PlotRenderer;
 
-public class BoxPlot<X extends Comparable<X>, Y extends Number & Comparable<Y>, D> extends AbstractPlot<X, Y, D> {
+/**
+ * This plot draws a box with whiskers per category. The samples are summarized
+ * in {@link BoxPlotValue}s while they arrive, so the plot does not need to
+ * keep them. The y axis covers the whole range from the minimum to the maximum
+ * of all categories, so outliers beyond the whiskers are visible, too.
+ *
+ * @author Rick-Rainer Ludwig
+ *
+ * @param <X> is the type of the categories.
+ */
+public class BoxPlot<X extends Comparable<X>> extends AbstractPlot<X, Double, BoxPlotValue<X>> {
 
-    public BoxPlot(String title, Axis<X> xAxis, NumberAxis<Y> yAxis, List<D> data) {
+    public BoxPlot(String title, Axis<X> xAxis, NumberAxis<Double> yAxis) {
+	super(title, xAxis, yAxis);
+    }
+
+    public BoxPlot(String title, Axis<X> xAxis, NumberAxis<Double> yAxis, List<BoxPlotValue<X>> data) {
 	super(title, xAxis, yAxis, data);
     }
 
     @Override
-    public X getAxisX(D date) {
-	// TODO Auto-generated method stub
-	return null;
+    public X getAxisX(BoxPlotValue<X> date) {
+	return date.getCategory();
+    }
+
+    @Override
+    public Double getAxisY(BoxPlotValue<X> date) {
+	return date.getMedian();
+    }
+
+    @Override
+    protected Double getLowerAxisY(BoxPlotValue<X> date) {
+	return date.getMin();
     }
 
     @Override
-    public Y getAxisY(D date) {
-	// TODO Auto-generated method stub
-	return null;
+    protected Double getUpperAxisY(BoxPlotValue<X> date) {
+	return date.getMax();
+    }
+
+    /**
+     * Adds a sample to a category. The category is created if it does not exist,
+     * yet.
+     *
+     * @param category is the category of the sample.
+     * @param sample   is the sample to be added.
+     */
+    public final void add(X category, double sample) {
+	update(category, value -> value.add(sample));
+    }
+
+    /**
+     * Adds a batch of samples to a category. The plot is only updated once for
+     * the whole batch.
+     *
+     * @param category is the category of the samples.
+     * @param samples  are the samples to be added.
+     */
+    public final void add(X category, double[] samples) {
+	update(category, value -> {
+	    for (double sample : samples) {
+		value.add(sample);
+	    }
+	});
+    }
+
+    /**
+     * Merges samples which were summarized elsewhere, e.g. in parallel, into a
+     * category.
+     *
+     * @param category is the category of the samples.
+     * @param sketch   is the summary of the samples. It is not changed.
+     */
+    public final void merge(X category, QuantileSketch sketch) {
+	update(category, value -> value.getSketch().merge(sketch));
+    }
+
+    /**
+     * Updates the value of a category and sets it again, so that the extrema
+     * and the views are updated. The number of categories is expected to be
+     * small, so a linear search is used. A missing category is appended after
+     * the update, unless it is still empty.
+     */
+    private void update(X category, Consumer<BoxPlotValue<X>> update) {
+	List<BoxPlotValue<X>> data = data();
+	for (int i = 0; i < data.size(); i++) {
+	    BoxPlotValue<X> value = data.get(i);
+	    if (value.getCategory().equals(category)) {
+		update.accept(value);
+		data.set(i, value);
+		return;
+	    }
+	}
+	BoxPlotValue<X> value = new BoxPlotValue<>(category);
+	update.accept(value);
+	if (value.getCount() > 0) {
+	    data.add(value);
+	}
     }
 
     @Override
-    public PlotRenderer getRenderer(AxisRenderer<X> xAxisRenderer, AxisRenderer<Y> yAxisRenderer) {
-	return new BoxPlotRenderer<>(this, xAxisRenderer, (NumberAxisRenderer) yAxisRenderer);
+    public PlotRenderer getRenderer(AxisRenderer<X> xAxisRenderer, AxisRenderer<Double> yAxisRenderer) {
+	return new BoxPlotRenderer<>(this, xAxisRenderer, (NumberAxisRenderer) (AxisRenderer<?>) yAxisRenderer);
     }
 }
@@ -1,23 +1,118 @@
 package com.puresoltechnologies.javafx.charts.plots.box;
 
+import java.util.Arrays;
+import java.util.List;
+
+import com.puresoltechnologies.javafx.charts.axes.AbstractAxisRenderer;
 import com.puresoltechnologies.javafx.charts.axes.AxisRenderer;
 import com.puresoltechnologies.javafx.charts.axes.NumberAxisRenderer;
 import com.puresoltechnologies.javafx.charts.plots.AbstractPlotRenderer;
 import com.puresoltechnologies.javafx.charts.plots.Plot;
 
 import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+
+/**
+ * This renderer draws a box from the lower to the upper quartile with a line
+ * at the median and whiskers with caps. The minimum and the maximum are marked
+ * in case they are outside of the whiskers. The width of the boxes is derived
+ * from the smallest distance between two categories.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class BoxPlotRenderer<X extends Comparable<X>, XAR extends AxisRenderer<?>>
+	extends AbstractPlotRenderer<X, Double, BoxPlotValue<X>, XAR, NumberAxisRenderer> {
 
-public class BoxPlotRenderer<X extends Comparable<X>, Y extends Number & Comparable<Y>, D, XAR extends AxisRenderer<?>>
-	extends AbstractPlotRenderer<X, Y, D, XAR, NumberAxisRenderer> {
+    private static final double BOX_WIDTH_RATIO = 0.6;
+    private static final double MAX_BOX_WIDTH = 80.0;
+    private static final double OUTLIER_SIZE = 5.0;
 
-    public BoxPlotRenderer(Plot<X, Y, D> plot, XAR xAxisRenderer, NumberAxisRenderer yAxisRenderer) {
+    private double[] positions = new double[0];
+    private double[] sortedPositions = new double[0];
+
+    public BoxPlotRenderer(Plot<X, Double, BoxPlotValue<X>> plot, XAR xAxisRenderer,
+	    NumberAxisRenderer yAxisRenderer) {
 	super(plot, xAxisRenderer, yAxisRenderer);
     }
 
     @Override
     public void renderTo(Canvas canvas, double x, double y, double width, double height) {
-	// TODO Auto-generated method stub
+	Plot<X, Double, BoxPlotValue<X>> plot = getPlot();
+	List<BoxPlotValue<X>> data = plot.getData();
+	int count = data.size();
+	if (count == 0) {
+	    return;
+	}
+	@SuppressWarnings("unchecked")
+	AbstractAxisRenderer<X> xAxisRenderer = (AbstractAxisRenderer<X>) getXAxisRenderer();
+	NumberAxisRenderer yAxisRenderer = getYAxisRenderer();
+	if (positions.length < count) {
+	    positions = new double[count];
+	    sortedPositions = new double[count];
+	}
+	for (int i = 0; i < count; i++) {
+	    positions[i] = xAxisRenderer.calculatePos(x, y, width, height, data.get(i).getCategory());
+	}
+	double boxWidth = calculateBoxWidth(count, width);
+
+	GraphicsContext gc = canvas.getGraphicsContext2D();
+	Color color = plot.getColor();
+	gc.setStroke(color);
+	gc.setFill(color.deriveColor(0.0, 1.0, 1.0, 0.3));
+	gc.setLineWidth(1.0);
+	for (int i = 0; i < count; i++) {
+	    BoxPlotValue<X> value = data.get(i);
+	    double center = positions[i];
+	    double left = center - (boxWidth / 2.0);
+	    double lowerWhisker = yAxisRenderer.calculatePos(x, y, width, height, value.getLowerWhisker());
+	    double lowerQuartile = yAxisRenderer.calculatePos(x, y, width, height, value.getLowerQuartile());
+	    double median = yAxisRenderer.calculatePos(x, y, width, height, value.getMedian());
+	    double upperQuartile = yAxisRenderer.calculatePos(x, y, width, height, value.getUpperQuartile());
+	    double upperWhisker = yAxisRenderer.calculatePos(x, y, width, height, value.getUpperWhisker());
+	    // the y axis points upwards, so the upper values have the smaller position
+	    gc.fillRect(left, upperQuartile, boxWidth, lowerQuartile - upperQuartile);
+	    gc.strokeRect(left, upperQuartile, boxWidth, lowerQuartile - upperQuartile);
+	    gc.setLineWidth(2.0);
+	    gc.strokeLine(left, median, left + boxWidth, median);
+	    gc.setLineWidth(1.0);
+	    gc.strokeLine(center, upperQuartile, center, upperWhisker);
+	    gc.strokeLine(center, lowerQuartile, center, lowerWhisker);
+	    gc.strokeLine(center - (boxWidth / 4.0), upperWhisker, center + (boxWidth / 4.0), upperWhisker);
+	    gc.strokeLine(center - (boxWidth / 4.0), lowerWhisker, center + (boxWidth / 4.0), lowerWhisker);
+	    if (value.getMax() > value.getUpperWhisker()) {
+		drawOutlier(gc, center, yAxisRenderer.calculatePos(x, y, width, height, value.getMax()));
+	    }
+	    if (value.getMin() < value.getLowerWhisker()) {
+		drawOutlier(gc, center, yAxisRenderer.calculatePos(x, y, width, height, value.getMin()));
+	    }
+	    if (getHitIndex() != null) {
+		getHitIndex().add(left, upperWhisker, boxWidth, lowerWhisker - upperWhisker, plot, i);
+	    }
+	}
+    }
+
+    /**
+     * Calculates the width of the boxes, so that neighboring boxes do not
+     * overlap.
+     */
+    private double calculateBoxWidth(int count, double width) {
+	double distance = width / count;
+	if (count > 1) {
+	    System.arraycopy(positions, 0, sortedPositions, 0, count);
+	    Arrays.sort(sortedPositions, 0, count);
+	    for (int i = 1; i < count; i++) {
+		double gap = sortedPositions[i] - sortedPositions[i - 1];
+		if (gap > 0.0) {
+		    distance = Math.min(distance, gap);
+		}
+	    }
+	}
+	return Math.max(3.0, Math.min(MAX_BOX_WIDTH, distance * BOX_WIDTH_RATIO));
+    }
 
+    private void drawOutlier(GraphicsContext gc, double x, double y) {
+	gc.strokeOval(x - (OUTLIER_SIZE / 2.0), y - (OUTLIER_SIZE / 2.0), OUTLIER_SIZE, OUTLIER_SIZE);
     }
 
 }
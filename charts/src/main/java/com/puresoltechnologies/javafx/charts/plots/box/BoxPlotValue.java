@@ -0,0 +1,85 @@
+package com.puresoltechnologies.javafx.charts.plots.box;
+
+import com.puresoltechnologies.javafx.charts.data.QuantileSketch;
+
+/**
+ * This is the value of a single box of a {@link BoxPlot}. It does not keep the
+ * samples of its category, but summarizes them in a {@link QuantileSketch}, so
+ * millions of samples only take a few kilobytes.
+ * <p>
+ * The quartiles are estimates with the rank error of the sketch. The whiskers
+ * follow Tukey's rule and reach to 1.5 times the interquartile range beyond the
+ * quartiles. As the sketch does not know the sample which is closest to this
+ * fence, the fence itself is used and clamped to the exact minimum and
+ * maximum.
+ *
+ * @author Rick-Rainer Ludwig
+ *
+ * @param <X> is the type of the category.
+ */
+public class BoxPlotValue<X extends Comparable<X>> {
+
+    private static final double WHISKER_FACTOR = 1.5;
+
+    private final X category;
+    private final QuantileSketch sketch;
+
+    public BoxPlotValue(X category) {
+	this(category, new QuantileSketch());
+    }
+
+    public BoxPlotValue(X category, QuantileSketch sketch) {
+	super();
+	this.category = category;
+	this.sketch = sketch;
+    }
+
+    public final X getCategory() {
+	return category;
+    }
+
+    public final QuantileSketch getSketch() {
+	return sketch;
+    }
+
+    public final void add(double sample) {
+	sketch.add(sample);
+    }
+
+    public final long getCount() {
+	return sketch.getCount();
+    }
+
+    public final double getMin() {
+	return sketch.getMin();
+    }
+
+    public final double getMax() {
+	return sketch.getMax();
+    }
+
+    public final double getMedian() {
+	return sketch.getQuantile(0.5);
+    }
+
+    public final double getLowerQuartile() {
+	return sketch.getQuantile(0.25);
+    }
+
+    public final double getUpperQuartile() {
+	return sketch.getQuantile(0.75);
+    }
+
+    public final double getLowerWhisker() {
+	double lowerQuartile = getLowerQuartile();
+	double range = getUpperQuartile() - lowerQuartile;
+	return Math.max(sketch.getMin(), lowerQuartile - (WHISKER_FACTOR * range));
+    }
+
+    public final double getUpperWhisker() {
+	double upperQuartile = getUpperQuartile();
+	double range = upperQuartile - getLowerQuartile();
+	return Math.min(sketch.getMax(), upperQuartile + (WHISKER_FACTOR * range));
+    }
+
+}
@@ -0,0 +1,233 @@
+package com.puresoltechnologies.javafx.charts.plots.density;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import com.puresoltechnologies.javafx.charts.data.ColumnarSeries;
+
+/**
+ * This is a two-dimensional histogram with one bin per pixel. The data points
+ * of a series are projected with an affine transformation per axis, like the
+ * one of the axis renderers, and counted in the bin of the pixel they fall
+ * into.
+ * <p>
+ * Large series are binned in parallel. The series is split into contiguous
+ * ranges, one per worker, and each worker counts into its own bin array.
+ * Afterwards, the arrays are summed up into the result, which is split into
+ * ranges of bins for the workers, too. The bin arrays are kept and reused for
+ * the next frame. The series must not be changed while it is binned. An
+ * instance must not be used by more than one thread at a time.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class DensityGrid {
+
+    /**
+     * Series smaller than this are binned on the calling thread, because
+     * splitting them costs more than it saves.
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+    private static final int CHUNK_SIZE = 4096;
+
+    private final ForkJoinPool pool;
+    private final List<int[]> partialBins = new ArrayList<>();
+    private final List<ForkJoinTask<?>> jobs = new ArrayList<>();
+    private int width = 0;
+    private int height = 0;
+    private int[] bins = new int[0];
+    private int maxCount = 0;
+
+    /**
+     * Creates a grid binning on the common {@link ForkJoinPool}.
+     */
+    public DensityGrid() {
+	this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool is the {@link ForkJoinPool} to bin large series on.
+     */
+    public DensityGrid(ForkJoinPool pool) {
+	super();
+	this.pool = pool;
+    }
+
+    public final int getWidth() {
+	return width;
+    }
+
+    public final int getHeight() {
+	return height;
+    }
+
+    /**
+     * @return The largest count of all bins is returned.
+     */
+    public final int getMaxCount() {
+	return maxCount;
+    }
+
+    /**
+     * @param column is the pixel column.
+     * @param row    is the pixel row.
+     * @return The number of data points in the bin is returned.
+     */
+    public final int getCount(int column, int row) {
+	if ((column < 0) || (column >= width) || (row < 0) || (row >= height)) {
+	    throw new IndexOutOfBoundsException(
+		    "Bin (" + column + ", " + row + ") is out of bounds for size " + width + "x" + height + ".");
+	}
+	return bins[(row * width) + column];
+    }
+
+    /**
+     * Counts the data points of a series. The bin of a data point is
+     * <code>(offsetX + scaleX * x, offsetY + scaleY * y)</code> rounded down.
+     * Data points outside of the grid or with undefined (NaN) values are
+     * skipped.
+     *
+     * @param series  is the series to be binned.
+     * @param width   is the number of bin columns.
+     * @param height  is the number of bin rows.
+     * @param offsetX is the bin column of x = 0.
+     * @param scaleX  is the number of bin columns per x unit.
+     * @param offsetY is the bin row of y = 0.
+     * @param scaleY  is the number of bin rows per y unit.
+     */
+    public void bin(ColumnarSeries series, int width, int height, double offsetX, double scaleX, double offsetY,
+	    double scaleY) {
+	if ((width < 0) || (height < 0)) {
+	    throw new IllegalArgumentException("Size " + width + "x" + height + " is invalid.");
+	}
+	this.width = width;
+	this.height = height;
+	int size = series.size();
+	int workers = Math.min(pool.getParallelism(), size / PARALLEL_THRESHOLD);
+	bins = clearBins(bins);
+	if (workers <= 1) {
+	    countRange(series, 0, size, bins, offsetX, scaleX, offsetY, scaleY);
+	} else {
+	    while (partialBins.size() < (workers - 1)) {
+		partialBins.add(new int[0]);
+	    }
+	    for (int partial = 0; partial < (workers - 1); partial++) {
+		partialBins.set(partial, clearBins(partialBins.get(partial)));
+	    }
+	    for (int worker = 0; worker < workers; worker++) {
+		// the first worker counts into the result directly
+		int[] target = worker == 0 ? bins : partialBins.get(worker - 1);
+		int from = (int) (((long) size * worker) / workers);
+		int to = (int) (((long) size * (worker + 1)) / workers);
+		jobs.add(pool.submit(() -> countRange(series, from, to, target, offsetX, scaleX, offsetY, scaleY)));
+	    }
+	    joinAll();
+	    int binCount = width * height;
+	    for (int worker = 0; worker < workers; worker++) {
+		int from = (int) (((long) binCount * worker) / workers);
+		int to = (int) (((long) binCount * (worker + 1)) / workers);
+		int partialCount = workers - 1;
+		int[] result = bins;
+		jobs.add(pool.submit(() -> {
+		    for (int partial = 0; partial < partialCount; partial++) {
+			int[] counts = partialBins.get(partial);
+			for (int i = from; i < to; i++) {
+			    result[i] += counts[i];
+			}
+		    }
+		}));
+	    }
+	    joinAll();
+	}
+	int max = 0;
+	for (int i = 0; i < (width * height); i++) {
+	    max = Math.max(max, bins[i]);
+	}
+	maxCount = max;
+    }
+
+    /**
+     * Returns a cleared array for the current size. The array is only
+     * reallocated in case it is too small.
+     */
+    private int[] clearBins(int[] counts) {
+	int binCount = width * height;
+	if (counts.length < binCount) {
+	    return new int[binCount];
+	}
+	Arrays.fill(counts, 0, binCount, 0);
+	return counts;
+    }
+
+    /**
+     * Counts a range of the series. The values are copied chunk by chunk, so that
+     * the series is read sequentially.
+     */
+    private void countRange(ColumnarSeries series, int from, int to, int[] counts, double offsetX, double scaleX,
+	    double offsetY, double scaleY) {
+	double[] xValues = new double[Math.min(CHUNK_SIZE, to - from)];
+	double[] yValues = new double[xValues.length];
+	for (int start = from; start < to; start += CHUNK_SIZE) {
+	    int end = Math.min(to, start + CHUNK_SIZE);
+	    series.copyX(start, end, xValues, 0);
+	    series.copyY(start, end, yValues, 0);
+	    for (int i = 0; i < (end - start); i++) {
+		// NaN fails both comparisons, so it is skipped, too
+		double column = offsetX + (scaleX * xValues[i]);
+		double row = offsetY + (scaleY * yValues[i]);
+		if ((column >= 0.0) && (column < width) && (row >= 0.0) && (row < height)) {
+		    counts[((int) row * width) + (int) column]++;
+		}
+	    }
+	}
+    }
+
+    /**
+     * Maps the counts to colors. The intensity grows logarithmically with the
+     * count, so that sparse areas stay visible next to dense clusters. Empty
+     * bins are transparent.
+     *
+     * @param palette is the color lookup table in ARGB format. The first entry
+     *                is used for a count of 1 and the last entry for the
+     *                largest count.
+     * @param pixels  is the array to write the ARGB values to row by row. It
+     *                needs to have at least <code>width * height</code>
+     *                entries.
+     */
+    public void colorize(int[] palette, int[] pixels) {
+	int binCount = width * height;
+	if (pixels.length < binCount) {
+	    throw new IllegalArgumentException(
+		    "Pixel array of length " + pixels.length + " is too small for " + binCount + " bins.");
+	}
+	double factor = maxCount > 1 ? (palette.length - 1) / Math.log(maxCount) : 0.0;
+	for (int i = 0; i < binCount; i++) {
+	    int count = bins[i];
+	    pixels[i] = count == 0 ? 0 : palette[(int) (Math.log(count) * factor)];
+	}
+    }
+
+    /**
+     * Waits for all jobs, even if one of them failed, so that no job is using the
+     * bins anymore when this grid is used again.
+     */
+    private void joinAll() {
+	RuntimeException failure = null;
+	for (ForkJoinTask<?> job : jobs) {
+	    try {
+		job.join();
+	    } catch (RuntimeException e) {
+		if (failure == null) {
+		    failure = e;
+		}
+	    }
+	}
+	jobs.clear();
+	if (failure != null) {
+	    throw failure;
+	}
+    }
+
+}
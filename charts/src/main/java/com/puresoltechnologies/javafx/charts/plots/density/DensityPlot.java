@@ -0,0 +1,85 @@
+package com.puresoltechnologies.javafx.charts.plots.density;
+
+import java.util.List;
+
+import com.puresoltechnologies.javafx.charts.axes.AxisRenderer;
+import com.puresoltechnologies.javafx.charts.axes.NumberAxis;
+import com.puresoltechnologies.javafx.charts.axes.NumberAxisRenderer;
+import com.puresoltechnologies.javafx.charts.plots.AbstractPointBasedPlot;
+import com.puresoltechnologies.javafx.charts.plots.PlotRenderer;
+import com.puresoltechnologies.javafx.charts.plots.xy.XYPlot;
+import com.puresoltechnologies.javafx.charts.plots.xy.XYValue;
+
+/**
+ * This plot shows the same data like an {@link XYPlot}, but as density
+ * heatmap: the data points are counted per pixel and the pixels are colored by
+ * their count. It is meant for scatter data with far more points than pixels,
+ * where single marks overlap to an unreadable area.
+ *
+ * @author Rick-Rainer Ludwig
+ *
+ * @param <X> see {@link XYPlot}.
+ * @param <Y> see {@link XYPlot}.
+ */
+public class DensityPlot<X extends Number & Comparable<X>, Y extends Number & Comparable<Y>>
+	extends AbstractPointBasedPlot<X, Y, XYValue<X, Y>> {
+
+    public DensityPlot(String title, NumberAxis<X> xAxis, NumberAxis<Y> yAxis) {
+	super(title, xAxis, yAxis);
+    }
+
+    public DensityPlot(String title, NumberAxis<X> xAxis, NumberAxis<Y> yAxis, List<XYValue<X, Y>> data) {
+	super(title, xAxis, yAxis, data);
+    }
+
+    /**
+     * Adds a point without creating a data item. This is the fast way to feed
+     * large or streaming data sets, see {@link AbstractPointBasedPlot}.
+     *
+     * @param x is the x value.
+     * @param y is the y value.
+     */
+    public final void add(double x, double y) {
+	addPoint(x, y);
+    }
+
+    @Override
+    public X getAxisX(XYValue<X, Y> date) {
+	return date.getX();
+    }
+
+    @Override
+    public Y getAxisY(XYValue<X, Y> date) {
+	return date.getY();
+    }
+
+    @Override
+    protected double getSeriesX(XYValue<X, Y> date) {
+	return date.getX().doubleValue();
+    }
+
+    @Override
+    protected double getSeriesY(XYValue<X, Y> date) {
+	return date.getY().doubleValue();
+    }
+
+    @Override
+    protected X toAxisX(double value) {
+	return NumberAxis.valueOf(value, getXAxis().getValueType());
+    }
+
+    @Override
+    protected Y toAxisY(double value) {
+	return NumberAxis.valueOf(value, getYAxis().getValueType());
+    }
+
+    @Override
+    public PlotRenderer<X, Y, XYValue<X, Y>, ? extends AxisRenderer<X>, ? extends AxisRenderer<Y>> getRenderer(
+	    AxisRenderer<X> xAxisRenderer, AxisRenderer<Y> yAxisRenderer) {
+	@SuppressWarnings("unchecked")
+	PlotRenderer<X, Y, XYValue<X, Y>, ? extends AxisRenderer<X>, ? extends AxisRenderer<Y>> renderer = (PlotRenderer<X, Y, XYValue<X, Y>, ? extends AxisRenderer<X>, ? extends AxisRenderer<Y>>) new DensityPlotRenderer<>(
+		this, (NumberAxisRenderer) xAxisRenderer, (NumberAxisRenderer) yAxisRenderer);
+	return renderer;
+    }
+
+}
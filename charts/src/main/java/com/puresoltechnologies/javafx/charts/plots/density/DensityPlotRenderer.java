@@ -0,0 +1,153 @@
+package com.puresoltechnologies.javafx.charts.plots.density;
+
+import com.puresoltechnologies.javafx.charts.axes.NumberAxisRenderer;
+import com.puresoltechnologies.javafx.charts.data.ArraySeries;
+import com.puresoltechnologies.javafx.charts.data.ColumnarSeries;
+import com.puresoltechnologies.javafx.charts.plots.AbstractPlotRenderer;
+import com.puresoltechnologies.javafx.charts.plots.Plot;
+import com.puresoltechnologies.javafx.charts.plots.PointBasedPlot;
+import com.puresoltechnologies.javafx.charts.plots.Raster;
+import com.puresoltechnologies.javafx.charts.plots.RasterPlotRenderer;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+/**
+ * This renderer draws a {@link DensityPlot}. The visible data points are
+ * binned into a {@link DensityGrid} with one bin per pixel of the plotting
+ * area, which runs in parallel for large series. The counts are mapped to
+ * colors of the plot color with growing opacity and drawn as one image, so the
+ * costs of a frame do not grow with the number of points beyond the binning.
+ * <p>
+ * For background rendering, only the visible data points are copied on the FX
+ * thread. Binning and coloring run in the {@link RasterTask} with buffers of
+ * their own.
+ * <p>
+ * The series is not decimated, because decimation would change the density.
+ * No hits are recorded, because a pixel stands for many data points.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class DensityPlotRenderer<X extends Number & Comparable<X>, Y extends Number & Comparable<Y>, D>
+	extends AbstractPlotRenderer<X, Y, D, NumberAxisRenderer, NumberAxisRenderer> implements RasterPlotRenderer {
+
+    private static final int PALETTE_SIZE = 256;
+    private static final double MIN_OPACITY = 0.25;
+
+    private final DensityGrid grid = new DensityGrid();
+    private final int[] palette = new int[PALETTE_SIZE];
+    private Color paletteColor = null;
+    private int[] pixels = new int[0];
+    private WritableImage image = null;
+    /*
+     * Buffers of the raster tasks, which run while the FX thread may render
+     * again.
+     */
+    private final DensityGrid rasterGrid = new DensityGrid();
+    private final ArraySeries rasterSnapshot = new ArraySeries();
+    private final int[] rasterPalette = new int[PALETTE_SIZE];
+    private int[] rasterPixels = new int[0];
+
+    public DensityPlotRenderer(Plot<X, Y, D> plot, NumberAxisRenderer xAxisRenderer,
+	    NumberAxisRenderer yAxisRenderer) {
+	super(plot, xAxisRenderer, yAxisRenderer);
+    }
+
+    @Override
+    public void renderTo(Canvas canvas, double x, double y, double width, double height) {
+	int left = (int) Math.floor(x);
+	int top = (int) Math.floor(y);
+	int columns = (int) Math.ceil(x + width) - left;
+	int rows = (int) Math.ceil(y + height) - top;
+	if ((columns <= 0) || (rows <= 0)) {
+	    return;
+	}
+	binAndColorize(x, y, width, height, left, top, columns, rows);
+	if ((image == null) || (image.getWidth() < columns) || (image.getHeight() < rows)) {
+	    image = new WritableImage(columns, rows);
+	}
+	image.getPixelWriter().setPixels(0, 0, columns, rows, PixelFormat.getIntArgbInstance(), pixels, 0, columns);
+	canvas.getGraphicsContext2D().drawImage(image, 0.0, 0.0, columns, rows, left, top, columns, rows);
+    }
+
+    @Override
+    public RasterTask prepareRaster(double x, double y, double width, double height) {
+	int left = (int) Math.floor(x);
+	int top = (int) Math.floor(y);
+	int columns = (int) Math.ceil(x + width) - left;
+	int rows = (int) Math.ceil(y + height) - top;
+	if ((columns <= 0) || (rows <= 0)) {
+	    return raster -> {
+	    };
+	}
+	NumberAxisRenderer xAxisRenderer = getXAxisRenderer();
+	NumberAxisRenderer yAxisRenderer = getYAxisRenderer();
+	double originX = xAxisRenderer.calculatePos(x, y, width, height, 0.0);
+	double scaleX = xAxisRenderer.calculatePos(x, y, width, height, 1.0) - originX;
+	double originY = yAxisRenderer.calculatePos(x, y, width, height, 0.0);
+	double scaleY = yAxisRenderer.calculatePos(x, y, width, height, 1.0) - originY;
+	rasterSnapshot.setAll(getVisibleSeries());
+	updatePalette(getPlot().getColor());
+	System.arraycopy(palette, 0, rasterPalette, 0, PALETTE_SIZE);
+	return raster -> {
+	    rasterGrid.bin(rasterSnapshot, columns, rows, originX - left, scaleX, originY - top, scaleY);
+	    if (rasterPixels.length < (columns * rows)) {
+		rasterPixels = new int[columns * rows];
+	    }
+	    rasterGrid.colorize(rasterPalette, rasterPixels);
+	    for (int row = 0; row < rows; row++) {
+		int offset = row * columns;
+		for (int column = 0; column < columns; column++) {
+		    int argb = rasterPixels[offset + column];
+		    if (argb != 0) {
+			raster.fillRect(left + column, top + row, 1.0, 1.0, argb);
+		    }
+		}
+	    }
+	};
+    }
+
+    /**
+     * Bins the visible data points and maps the counts to
+     * <code>columns x rows</code> pixels starting at <code>(left, top)</code>.
+     */
+    private void binAndColorize(double x, double y, double width, double height, int left, int top, int columns,
+	    int rows) {
+	NumberAxisRenderer xAxisRenderer = getXAxisRenderer();
+	NumberAxisRenderer yAxisRenderer = getYAxisRenderer();
+	// the projection of the axes is affine, so it is described by two points
+	double originX = xAxisRenderer.calculatePos(x, y, width, height, 0.0);
+	double scaleX = xAxisRenderer.calculatePos(x, y, width, height, 1.0) - originX;
+	double originY = yAxisRenderer.calculatePos(x, y, width, height, 0.0);
+	double scaleY = yAxisRenderer.calculatePos(x, y, width, height, 1.0) - originY;
+	grid.bin(getVisibleSeries(), columns, rows, originX - left, scaleX, originY - top, scaleY);
+	if (pixels.length < (columns * rows)) {
+	    pixels = new int[columns * rows];
+	}
+	updatePalette(getPlot().getColor());
+	grid.colorize(palette, pixels);
+    }
+
+    private ColumnarSeries getVisibleSeries() {
+	NumberAxisRenderer xAxisRenderer = getXAxisRenderer();
+	return getVisibleSlice(((PointBasedPlot<?, ?, ?>) getPlot()).getSeries(), xAxisRenderer.getMinValue(),
+		xAxisRenderer.getMaxValue());
+    }
+
+    private void updatePalette(Color color) {
+	if (color == null) {
+	    color = Color.BLACK;
+	}
+	if (color.equals(paletteColor)) {
+	    return;
+	}
+	for (int i = 0; i < PALETTE_SIZE; i++) {
+	    double opacity = MIN_OPACITY + (((1.0 - MIN_OPACITY) * i) / (PALETTE_SIZE - 1));
+	    palette[i] = Raster.toArgb(color, opacity);
+	}
+	paletteColor = color;
+    }
+
+}
@@ -0,0 +1,270 @@
+package com.puresoltechnologies.javafx.charts.plots.ohlc;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.puresoltechnologies.javafx.utils.FXThreads;
+
+import javafx.animation.AnimationTimer;
+import javafx.collections.ObservableList;
+
+/**
+ * This class aggregates raw ticks into candles of a fixed interval, like one
+ * second, one minute or one hour, and feeds them into an {@link OHLCPlot}.
+ * Ticks can be added from any thread. The candles are aligned to multiples of
+ * the interval since the epoch.
+ * <p>
+ * Only the newest candle is open and changes with every tick. Once per pulse it
+ * is set as the last data item of the plot in place, so the plot only updates
+ * its extrema for this item and the plot canvas only redraws this candle.
+ * Closed candles are appended once.
+ * <p>
+ * Ticks are expected in chronological order. Ticks older than the open candle
+ * cannot change the closed candles anymore and are dropped (see
+ * {@link #getDroppedTicks()}).
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class OHLCAggregator {
+
+    private final OHLCPlot<Double> plot;
+    private final long interval;
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private final Runnable startPulses;
+    private final Runnable stopPulses;
+    /*
+     * Created on the FX thread with the first tick.
+     */
+    private AnimationTimer timer = null;
+    /*
+     * The state of the candles is guarded by this object.
+     */
+    private final List<OHLCValue<Double>> closedCandles = new ArrayList<>();
+    private long start = Long.MIN_VALUE;
+    private double open;
+    private double high;
+    private double low;
+    private double close;
+    private double volume;
+    private boolean changed = false;
+    private long droppedTicks = 0;
+    /*
+     * Only used on the FX thread.
+     */
+    private final List<OHLCValue<Double>> batch = new ArrayList<>();
+    private volatile int maxSize = 0;
+
+    /**
+     * @param plot     is the plot to feed the candles into.
+     * @param interval is the time range of a single candle. It must be at least
+     *                 one millisecond.
+     */
+    public OHLCAggregator(OHLCPlot<Double> plot, Duration interval) {
+	super();
+	this.plot = plot;
+	this.interval = toMillis(interval);
+	this.startPulses = () -> FXThreads.runOnFXThread(this::startTimer);
+	this.stopPulses = this::stopTimer;
+    }
+
+    /**
+     * Creates an aggregator which is driven by another source of pulses than an
+     * {@link AnimationTimer}. The source needs to call {@link #onPulse()} after
+     * it was started until it is stopped.
+     *
+     * @param plot        is the plot to feed the candles into.
+     * @param interval    is the time range of a single candle.
+     * @param startPulses starts the pulses. It is called from any thread.
+     * @param stopPulses  stops the pulses. It is called from within
+     *                    {@link #onPulse()}.
+     */
+    OHLCAggregator(OHLCPlot<Double> plot, Duration interval, Runnable startPulses, Runnable stopPulses) {
+	super();
+	this.plot = plot;
+	this.interval = toMillis(interval);
+	this.startPulses = startPulses;
+	this.stopPulses = stopPulses;
+    }
+
+    private static long toMillis(Duration interval) {
+	if (interval.toMillis() <= 0) {
+	    throw new IllegalArgumentException("Interval must be at least one millisecond, but was " + interval + ".");
+	}
+	return interval.toMillis();
+    }
+
+    public final OHLCPlot<Double> getPlot() {
+	return plot;
+    }
+
+    public final Duration getInterval() {
+	return Duration.ofMillis(interval);
+    }
+
+    /**
+     * Returns the maximum number of candles kept in the plot.
+     *
+     * @return The maximum number of candles is returned. 0 means unlimited.
+     */
+    public int getMaxSize() {
+	return maxSize;
+    }
+
+    /**
+     * Limits the plot data to the last candles.
+     *
+     * @param maxSize is the maximum number of candles to keep. 0 means
+     *                unlimited.
+     */
+    public void setMaxSize(int maxSize) {
+	if (maxSize < 0) {
+	    throw new IllegalArgumentException("Maximum size must not be negative.");
+	}
+	this.maxSize = maxSize;
+    }
+
+    /**
+     * @return The number of ticks dropped, because they were older than the open
+     *         candle, is returned.
+     */
+    public synchronized long getDroppedTicks() {
+	return droppedTicks;
+    }
+
+    /**
+     * Adds a tick. This method can be called from any thread.
+     *
+     * @param time   is the time of the tick.
+     * @param price  is the price of the tick.
+     * @param volume is the traded volume of the tick.
+     */
+    public void add(Instant time, double price, double volume) {
+	long millis = time.toEpochMilli();
+	long tickStart = millis - Math.floorMod(millis, interval);
+	synchronized (this) {
+	    if (start == Long.MIN_VALUE) {
+		open(tickStart, price, volume);
+	    } else if (tickStart > start) {
+		closedCandles.add(createCandle());
+		open(tickStart, price, volume);
+	    } else if (tickStart < start) {
+		droppedTicks++;
+		return;
+	    } else {
+		high = Math.max(high, price);
+		low = Math.min(low, price);
+		close = price;
+		this.volume += volume;
+	    }
+	    changed = true;
+	}
+	schedule();
+    }
+
+    private void open(long tickStart, double price, double volume) {
+	start = tickStart;
+	open = price;
+	high = price;
+	low = price;
+	close = price;
+	this.volume = volume;
+    }
+
+    private OHLCValue<Double> createCandle() {
+	return new OHLCValue<>(Instant.ofEpochMilli(start), Instant.ofEpochMilli(start + interval), open, high, low,
+		close, volume);
+    }
+
+    private void schedule() {
+	if (scheduled.compareAndSet(false, true)) {
+	    startPulses.run();
+	}
+    }
+
+    private void startTimer() {
+	if (timer == null) {
+	    timer = new AnimationTimer() {
+		@Override
+		public void handle(long now) {
+		    onPulse();
+		}
+	    };
+	}
+	timer.start();
+    }
+
+    private void stopTimer() {
+	timer.stop();
+    }
+
+    /**
+     * Moves the closed candles and the current state of the open candle into the
+     * plot. Without new ticks, the pulses are stopped until the next tick
+     * arrives. It is called once per pulse on the FX thread.
+     */
+    void onPulse() {
+	OHLCValue<Double> openCandle = null;
+	synchronized (this) {
+	    batch.addAll(closedCandles);
+	    closedCandles.clear();
+	    if (changed) {
+		openCandle = createCandle();
+		changed = false;
+	    }
+	}
+	if (batch.isEmpty() && (openCandle == null)) {
+	    stopPulses.run();
+	    scheduled.set(false);
+	    // a tick may have been added after taking the candles, but before resetting
+	    synchronized (this) {
+		if (!changed) {
+		    return;
+		}
+	    }
+	    schedule();
+	    return;
+	}
+	try {
+	    flush(openCandle);
+	} finally {
+	    batch.clear();
+	}
+    }
+
+    private void flush(OHLCValue<Double> openCandle) {
+	ObservableList<OHLCValue<Double>> data = plot.data();
+	List<OHLCValue<Double>> candles = batch;
+	if (!candles.isEmpty() && isLast(data, candles.get(0))) {
+	    // the open candle shown so far was closed in the meantime
+	    data.set(data.size() - 1, candles.get(0));
+	    candles = candles.subList(1, candles.size());
+	}
+	if (!candles.isEmpty()) {
+	    data.addAll(candles);
+	}
+	if (openCandle != null) {
+	    if (isLast(data, openCandle)) {
+		data.set(data.size() - 1, openCandle);
+	    } else {
+		data.add(openCandle);
+	    }
+	}
+	int size = maxSize;
+	if ((size > 0) && (data.size() > size)) {
+	    data.remove(0, data.size() - size);
+	}
+    }
+
+    /**
+     * Checks whether the last candle of the plot has the same time range. The
+     * data may have been changed by others, so it is checked instead of
+     * remembered.
+     */
+    private static boolean isLast(List<OHLCValue<Double>> data, OHLCValue<Double> candle) {
+	return !data.isEmpty() && data.get(data.size() - 1).getStart().equals(candle.getStart());
+    }
+
+}
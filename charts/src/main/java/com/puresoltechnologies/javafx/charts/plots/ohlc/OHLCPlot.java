@@ -35,6 +35,16 @@ public class OHLCPlot<Y extends Number & Comparable<Y>> extends AbstractPlot<Ins
 	return date.getClose();
     }
 
+    @Override
+    protected Y getLowerAxisY(OHLCValue<Y> date) {
+	return date.getLow();
+    }
+
+    @Override
+    protected Y getUpperAxisY(OHLCValue<Y> date) {
+	return date.getHigh();
+    }
+
     @Override
     public PlotRenderer getRenderer(AxisRenderer<Instant> xAxisRenderer, AxisRenderer<Y> yAxisRenderer) {
 	return new OHLCPlotRenderer<>(this, (InstantAxisRenderer) xAxisRenderer, (NumberAxisRenderer) yAxisRenderer);
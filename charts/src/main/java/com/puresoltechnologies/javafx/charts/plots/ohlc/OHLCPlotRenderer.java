@@ -1,10 +1,12 @@
 package com.puresoltechnologies.javafx.charts.plots.ohlc;
 
 import java.time.Instant;
+import java.util.List;
 
 import com.puresoltechnologies.javafx.charts.axes.InstantAxisRenderer;
 import com.puresoltechnologies.javafx.charts.axes.NumberAxisRenderer;
 import com.puresoltechnologies.javafx.charts.plots.AbstractPlotRenderer;
+import com.puresoltechnologies.javafx.charts.plots.ItemPlotRenderer;
 import com.puresoltechnologies.javafx.charts.plots.Plot;
 import com.puresoltechnologies.javafx.charts.preferences.OHLCPlotProperties;
 import com.puresoltechnologies.javafx.preferences.Preferences;
@@ -15,13 +17,22 @@ import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 
 public class OHLCPlotRenderer<Y extends Number & Comparable<Y>>
-	extends AbstractPlotRenderer<Instant, Y, OHLCValue<Y>, InstantAxisRenderer, NumberAxisRenderer> {
+	extends AbstractPlotRenderer<Instant, Y, OHLCValue<Y>, InstantAxisRenderer, NumberAxisRenderer>
+	implements ItemPlotRenderer {
 
     private static final ObjectProperty<Color> upwardTrendColor = Preferences
 	    .getProperty(OHLCPlotProperties.UPWARD_TREND_COLOR);
     private static final ObjectProperty<Color> downwardTrendColor = Preferences
 	    .getProperty(OHLCPlotProperties.DOWNWARD_TREND_COLOR);
 
+    private final double[] startX = new double[CHUNK_SIZE];
+    private final double[] endX = new double[CHUNK_SIZE];
+    private final double[] openY = new double[CHUNK_SIZE];
+    private final double[] closeY = new double[CHUNK_SIZE];
+    private final double[] highY = new double[CHUNK_SIZE];
+    private final double[] lowY = new double[CHUNK_SIZE];
+    private final double[] range = new double[2];
+
     public OHLCPlotRenderer(Plot<Instant, Y, OHLCValue<Y>> plot, InstantAxisRenderer xAxisRenderer,
 	    NumberAxisRenderer yAxisRenderer) {
 	super(plot, xAxisRenderer, yAxisRenderer);
@@ -29,29 +40,85 @@ public class OHLCPlotRenderer<Y extends Number & Comparable<Y>>
 
     @Override
     public void renderTo(Canvas canvas, double x, double y, double width, double height) {
+	renderItems(canvas, x, y, width, height, 0, getPlot().getData().size());
+    }
+
+    @Override
+    public void calculateItemRange(double x, double y, double width, double height, int index, double[] range) {
+	OHLCValue<Y> value = getPlot().getData().get(index);
+	InstantAxisRenderer xAxisRenderer = getXAxisRenderer();
+	double start = xAxisRenderer.calculatePos(x, y, width, height, value.getStart());
+	double end = xAxisRenderer.calculatePos(x, y, width, height, value.getEnd());
+	// the candles are drawn shifted by half of their width
+	double middlePos = (end - start) / 2.0;
+	range[0] = start + middlePos;
+	range[1] = end + middlePos;
+    }
+
+    /**
+     * Draws the candles overlapping the range. The candles are expected in
+     * chronological order, so the search stops at the first candle left of the
+     * range.
+     */
+    @Override
+    public void renderRangeTo(Canvas canvas, double x, double y, double width, double height, double fromX,
+	    double toX) {
+	int size = getPlot().getData().size();
+	int first = size;
+	while (first > 0) {
+	    calculateItemRange(x, y, width, height, first - 1, range);
+	    if (range[1] < fromX) {
+		break;
+	    }
+	    first--;
+	}
+	renderItems(canvas, x, y, width, height, first, size);
+    }
+
+    private void renderItems(Canvas canvas, double x, double y, double width, double height, int first, int last) {
 	GraphicsContext gc = canvas.getGraphicsContext2D();
 	InstantAxisRenderer xAxisRenderer = getXAxisRenderer();
 	NumberAxisRenderer yAxisRenderer = getYAxisRenderer();
 	Plot<Instant, Y, OHLCValue<Y>> plot = getPlot();
 	gc.setStroke(plot.getColor());
 	gc.setLineWidth(1.0);
-	for (OHLCValue<Y> value : plot.getData()) {
-	    double startX = xAxisRenderer.calculatePos(x, y, width, height, value.getStart());
-	    double endX = xAxisRenderer.calculatePos(x, y, width, height, value.getEnd());
-	    double openY = yAxisRenderer.calculatePos(x, y, width, height, value.getOpen());
-	    double closeY = yAxisRenderer.calculatePos(x, y, width, height, value.getClose());
-	    double highY = yAxisRenderer.calculatePos(x, y, width, height, value.getHigh());
-	    double lowY = yAxisRenderer.calculatePos(x, y, width, height, value.getLow());
-	    gc.setFill(plot.getColor());
-	    double middlePos = (endX - startX) / 2.0;
-	    gc.fillRect(startX + ((endX - startX) / 3.0) + middlePos, highY, (endX - startX) / 3.0, lowY - highY);
-	    gc.strokeRect(startX + ((endX - startX) / 3.0) + middlePos, highY, (endX - startX) / 3.0, lowY - highY);
-	    if (value.isIncrease()) {
-		gc.setFill(upwardTrendColor.get());
-		gc.fillRect(startX + middlePos, closeY, endX - startX, openY - closeY);
-	    } else {
-		gc.setFill(downwardTrendColor.get());
-		gc.fillRect(startX + middlePos, openY, endX - startX, closeY - openY);
+	List<OHLCValue<Y>> data = plot.getData();
+	for (int from = first; from < last; from += CHUNK_SIZE) {
+	    int count = Math.min(CHUNK_SIZE, last - from);
+	    for (int i = 0; i < count; i++) {
+		OHLCValue<Y> value = data.get(from + i);
+		startX[i] = value.getStart().toEpochMilli();
+		endX[i] = value.getEnd().toEpochMilli();
+		openY[i] = value.getOpen().doubleValue();
+		closeY[i] = value.getClose().doubleValue();
+		highY[i] = value.getHigh().doubleValue();
+		lowY[i] = value.getLow().doubleValue();
+	    }
+	    xAxisRenderer.project(x, y, width, height, startX, startX, 0, count);
+	    xAxisRenderer.project(x, y, width, height, endX, endX, 0, count);
+	    yAxisRenderer.project(x, y, width, height, openY, openY, 0, count);
+	    yAxisRenderer.project(x, y, width, height, closeY, closeY, 0, count);
+	    yAxisRenderer.project(x, y, width, height, highY, highY, 0, count);
+	    yAxisRenderer.project(x, y, width, height, lowY, lowY, 0, count);
+	    for (int i = 0; i < count; i++) {
+		double candleWidth = endX[i] - startX[i];
+		double middlePos = candleWidth / 2.0;
+		gc.setFill(plot.getColor());
+		gc.fillRect(startX[i] + (candleWidth / 3.0) + middlePos, highY[i], candleWidth / 3.0,
+			lowY[i] - highY[i]);
+		gc.strokeRect(startX[i] + (candleWidth / 3.0) + middlePos, highY[i], candleWidth / 3.0,
+			lowY[i] - highY[i]);
+		if (getHitIndex() != null) {
+		    getHitIndex().add(startX[i] + middlePos, Math.min(highY[i], lowY[i]), candleWidth,
+			    Math.abs(lowY[i] - highY[i]), plot, from + i);
+		}
+		if (data.get(from + i).isIncrease()) {
+		    gc.setFill(upwardTrendColor.get());
+		    gc.fillRect(startX[i] + middlePos, closeY[i], candleWidth, openY[i] - closeY[i]);
+		} else {
+		    gc.setFill(downwardTrendColor.get());
+		    gc.fillRect(startX[i] + middlePos, openY[i], candleWidth, closeY[i] - openY[i]);
+		}
 	    }
 	}
     }
@@ -10,9 +10,14 @@ public class OHLCValue<T extends Number & Comparable<T>> implements Comparable<O
     private final T high;
     private final T low;
     private final T close;
+    private final double volume;
     private final boolean increase;
 
     public OHLCValue(Instant start, Instant end, T open, T high, T low, T close) {
+	this(start, end, open, high, low, close, 0.0);
+    }
+
+    public OHLCValue(Instant start, Instant end, T open, T high, T low, T close, double volume) {
 	super();
 	this.start = start;
 	this.end = end;
@@ -20,6 +25,7 @@ public class OHLCValue<T extends Number & Comparable<T>> implements Comparable<O
 	this.high = high;
 	this.low = low;
 	this.close = close;
+	this.volume = volume;
 	this.increase = close.doubleValue() > open.doubleValue() ? true : false;
     }
 
@@ -47,6 +53,14 @@ public class OHLCValue<T extends Number & Comparable<T>> implements Comparable<O
 	return close;
     }
 
+    /**
+     * @return The traded volume within the time range is returned. It is 0.0 in
+     *         case it is not known.
+     */
+    public final double getVolume() {
+	return volume;
+    }
+
     public final boolean isIncrease() {
 	return increase;
     }
@@ -82,6 +96,9 @@ public class OHLCValue<T extends Number & Comparable<T>> implements Comparable<O
 	result = (prime * result) + ((low == null) ? 0 : low.hashCode());
 	result = (prime * result) + ((open == null) ? 0 : open.hashCode());
 	result = (prime * result) + ((start == null) ? 0 : start.hashCode());
+	long temp;
+	temp = Double.doubleToLongBits(volume);
+	result = (prime * result) + (int) (temp ^ (temp >>> 32));
 	return result;
     }
 
@@ -139,6 +156,9 @@ public class OHLCValue<T extends Number & Comparable<T>> implements Comparable<O
 	} else if (!start.equals(other.start)) {
 	    return false;
 	}
+	if (Double.doubleToLongBits(volume) != Double.doubleToLongBits(other.volume)) {
+	    return false;
+	}
 	return true;
     }
 
@@ -0,0 +1,139 @@
+package com.puresoltechnologies.javafx.charts.plots.timeseries;
+
+import java.time.Instant;
+
+import com.puresoltechnologies.javafx.charts.axes.Axis;
+import com.puresoltechnologies.javafx.charts.axes.AxisRenderer;
+import com.puresoltechnologies.javafx.charts.axes.InstantAxisRenderer;
+import com.puresoltechnologies.javafx.charts.axes.NumberAxisRenderer;
+import com.puresoltechnologies.javafx.charts.data.ColumnarSeries;
+import com.puresoltechnologies.javafx.charts.data.Decimator;
+import com.puresoltechnologies.javafx.charts.data.M4Decimator;
+import com.puresoltechnologies.javafx.charts.data.MappedSeriesFile;
+import com.puresoltechnologies.javafx.charts.plots.AbstractPlot;
+import com.puresoltechnologies.javafx.charts.plots.ConnectingLineStyle;
+import com.puresoltechnologies.javafx.charts.plots.PlotRenderer;
+import com.puresoltechnologies.javafx.charts.plots.PointBasedPlot;
+
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+
+/**
+ * This is a time series plot reading a value column of a
+ * {@link MappedSeriesFile}. The data items are the row indices of the file, so
+ * {@link #data()} stays empty and nothing is parsed or copied when the plot is
+ * created. The axis ranges are taken from the header of the file.
+ * <p>
+ * The renderer reads the visible time range only and decimates it to the
+ * available pixel columns, so only the visible part of the file is paged in.
+ * Showing the whole range of a huge file still needs to read the whole file
+ * once.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class MappedTimeSeriesPlot extends AbstractPlot<Instant, Double, Integer>
+	implements PointBasedPlot<Instant, Double, Integer> {
+
+    private final ObjectProperty<ConnectingLineStyle> connectingLineStyle = new SimpleObjectProperty<>(
+	    ConnectingLineStyle.NONE);
+    private final ObjectProperty<Decimator> decimator = new SimpleObjectProperty<>(new M4Decimator());
+    private final MappedSeriesFile file;
+    private final int column;
+    private final ColumnarSeries series;
+
+    public MappedTimeSeriesPlot(Axis<Instant> xAxis, Axis<Double> yAxis, MappedSeriesFile file, int column) {
+	this(null, xAxis, yAxis, file, column);
+    }
+
+    public MappedTimeSeriesPlot(String title, Axis<Instant> xAxis, Axis<Double> yAxis, MappedSeriesFile file,
+	    int column) {
+	super(title, xAxis, yAxis);
+	this.file = file;
+	this.column = column;
+	this.series = file.getSeries(column);
+	if (file.size() > 0) {
+	    setMinX(Instant.ofEpochMilli(file.getMinTimestamp()));
+	    setMaxX(Instant.ofEpochMilli(file.getMaxTimestamp()));
+	    if (!Double.isNaN(file.getMinValue(column))) {
+		setMinY(file.getMinValue(column));
+		setMaxY(file.getMaxValue(column));
+	    }
+	}
+    }
+
+    public final MappedSeriesFile getFile() {
+	return file;
+    }
+
+    public final int getColumn() {
+	return column;
+    }
+
+    @Override
+    public ObjectProperty<ConnectingLineStyle> connectingLineStyleProperty() {
+	return connectingLineStyle;
+    }
+
+    @Override
+    public ConnectingLineStyle getConnectingLineStyle() {
+	return connectingLineStyle.getValue();
+    }
+
+    @Override
+    public void setConnectingLineStyle(ConnectingLineStyle connectingLineStyle) {
+	this.connectingLineStyle.setValue(connectingLineStyle);
+    }
+
+    @Override
+    public ObjectProperty<Decimator> decimatorProperty() {
+	return decimator;
+    }
+
+    @Override
+    public Decimator getDecimator() {
+	return decimator.getValue();
+    }
+
+    @Override
+    public void setDecimator(Decimator decimator) {
+	this.decimator.setValue(decimator);
+    }
+
+    @Override
+    public ColumnarSeries getSeries() {
+	return series;
+    }
+
+    @Override
+    public int getItemCount() {
+	return series.size();
+    }
+
+    @Override
+    public Integer getItem(int index) {
+	if ((index < 0) || (index >= series.size())) {
+	    throw new IndexOutOfBoundsException("Row " + index + " is not within [0, " + series.size() + ").");
+	}
+	return index;
+    }
+
+    @Override
+    public Instant getAxisX(Integer row) {
+	return Instant.ofEpochMilli(file.getTimestamp(row));
+    }
+
+    @Override
+    public Double getAxisY(Integer row) {
+	return file.getValue(column, row);
+    }
+
+    @Override
+    protected PlotRenderer<Instant, Double, Integer, ? extends AxisRenderer<Instant>, ? extends AxisRenderer<Double>> getRenderer(
+	    AxisRenderer<Instant> xAxisRenderer, AxisRenderer<Double> yAxisRenderer) {
+	@SuppressWarnings("unchecked")
+	PlotRenderer<Instant, Double, Integer, ? extends AxisRenderer<Instant>, ? extends AxisRenderer<Double>> renderer = (PlotRenderer<Instant, Double, Integer, ? extends AxisRenderer<Instant>, ? extends AxisRenderer<Double>>) (PlotRenderer<?, ?, ?, ?, ?>) new TimeSeriesPlotRenderer<>(
+		this, (InstantAxisRenderer) xAxisRenderer, (NumberAxisRenderer) (AxisRenderer<?>) yAxisRenderer);
+	return renderer;
+    }
+
+}
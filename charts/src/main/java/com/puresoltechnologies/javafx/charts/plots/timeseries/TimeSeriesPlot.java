@@ -7,7 +7,10 @@ import java.util.function.Function;
 import com.puresoltechnologies.javafx.charts.axes.Axis;
 import com.puresoltechnologies.javafx.charts.axes.AxisRenderer;
 import com.puresoltechnologies.javafx.charts.axes.InstantAxisRenderer;
+import com.puresoltechnologies.javafx.charts.axes.NumberAxis;
 import com.puresoltechnologies.javafx.charts.axes.NumberAxisRenderer;
+import com.puresoltechnologies.javafx.charts.data.ChunkedSeries;
+import com.puresoltechnologies.javafx.charts.data.PyramidSeries;
 import com.puresoltechnologies.javafx.charts.plots.AbstractPointBasedPlot;
 import com.puresoltechnologies.javafx.charts.plots.PlotRenderer;
 
@@ -37,6 +40,17 @@ public class TimeSeriesPlot<Y extends Number & Comparable<Y>, D> extends Abstrac
 	this.yValueFactory = yValueFactory;
     }
 
+    /**
+     * Adds a point without creating a data item. This is the fast way to feed
+     * long or streaming time series, see {@link AbstractPointBasedPlot}.
+     *
+     * @param epochMillis is the time in milliseconds since the epoch.
+     * @param y           is the y value.
+     */
+    public final void add(long epochMillis, double y) {
+	addPoint(epochMillis, y);
+    }
+
     @Override
     public PlotRenderer<Instant, Y, D, ? extends AxisRenderer<Instant>, ? extends AxisRenderer<Y>> getRenderer(
 	    AxisRenderer<Instant> xAxisRenderer, AxisRenderer<Y> yAxisRenderer) {
@@ -46,6 +60,15 @@ public class TimeSeriesPlot<Y extends Number & Comparable<Y>, D> extends Abstrac
 	return renderer;
     }
 
+    /**
+     * Time series are usually long and appended in chronological order, so they
+     * keep a multi-resolution pyramid to draw large time ranges fast.
+     */
+    @Override
+    protected ChunkedSeries createSeries() {
+	return new PyramidSeries();
+    }
+
     @Override
     public Instant getAxisX(D date) {
 	return xValueFactory.apply(date);
@@ -56,4 +79,24 @@ public class TimeSeriesPlot<Y extends Number & Comparable<Y>, D> extends Abstrac
 	return yValueFactory.apply(date);
     }
 
+    @Override
+    protected double getSeriesX(D date) {
+	return xValueFactory.apply(date).toEpochMilli();
+    }
+
+    @Override
+    protected double getSeriesY(D date) {
+	return yValueFactory.apply(date).doubleValue();
+    }
+
+    @Override
+    protected Instant toAxisX(double value) {
+	return Instant.ofEpochMilli(Math.round(value));
+    }
+
+    @Override
+    protected Y toAxisY(double value) {
+	return NumberAxis.valueOf(value, getYAxis().getValueType());
+    }
+
 }
@@ -1,18 +1,27 @@
 package com.puresoltechnologies.javafx.charts.plots.timeseries;
 
 import java.time.Instant;
-import java.util.List;
 
 import com.puresoltechnologies.javafx.charts.axes.InstantAxisRenderer;
 import com.puresoltechnologies.javafx.charts.axes.NumberAxisRenderer;
+import com.puresoltechnologies.javafx.charts.data.ColumnarSeries;
+import com.puresoltechnologies.javafx.charts.data.Decimator;
+import com.puresoltechnologies.javafx.charts.data.PyramidSeries;
 import com.puresoltechnologies.javafx.charts.plots.AbstractPlotRenderer;
 import com.puresoltechnologies.javafx.charts.plots.Plot;
+import com.puresoltechnologies.javafx.charts.plots.PointBasedPlot;
+import com.puresoltechnologies.javafx.charts.plots.PositionBuffer;
+import com.puresoltechnologies.javafx.charts.plots.Raster;
+import com.puresoltechnologies.javafx.charts.plots.RasterPlotRenderer;
 
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 
 public class TimeSeriesPlotRenderer<Y extends Number & Comparable<Y>, D>
-	extends AbstractPlotRenderer<Instant, Y, D, InstantAxisRenderer, NumberAxisRenderer> {
+	extends AbstractPlotRenderer<Instant, Y, D, InstantAxisRenderer, NumberAxisRenderer>
+	implements RasterPlotRenderer {
+
+    private final PositionBuffer positions = new PositionBuffer();
 
     public TimeSeriesPlotRenderer(Plot<Instant, Y, D> plot, InstantAxisRenderer xAxisRenderer,
 	    NumberAxisRenderer yAxisRenderer) {
@@ -21,27 +30,49 @@ public class TimeSeriesPlotRenderer<Y extends Number & Comparable<Y>, D>
 
     @Override
     public void renderTo(Canvas canvas, double x, double y, double width, double height) {
-	TimeSeriesPlot<Y, D> plot = (TimeSeriesPlot<Y, D>) getPlot();
-	List<D> data = plot.getData();
-	if (data.size() == 0) {
+	ColumnarSeries series = selectSeries(width);
+	if (series.size() == 0) {
 	    return;
 	}
-	InstantAxisRenderer xAxisRenderer = getXAxisRenderer();
-	NumberAxisRenderer yAxisRenderer = getYAxisRenderer();
 	GraphicsContext gc = canvas.getGraphicsContext2D();
-	gc.setStroke(plot.getColor());
+	gc.setStroke(getPlot().getColor());
 	gc.setLineWidth(1.0);
-	double lastXValue = xAxisRenderer.calculatePos(x, y, width, height, plot.getAxisX(data.get(0)));
-	double lastYValue = yAxisRenderer.calculatePos(x, y, width, height, plot.getAxisY(data.get(0)));
-	for (D value : data) {
-	    double xValue = xAxisRenderer.calculatePos(x, y, width, height, plot.getAxisX(value));
-	    double yValue = yAxisRenderer.calculatePos(x, y, width, height, plot.getAxisY(value));
-	    if ((!Double.isNaN(xValue)) && (!Double.isNaN(yValue))) {
-		gc.strokeLine(lastXValue, lastYValue, xValue, yValue);
+	strokePolyline(gc, series, x, y, width, height, true);
+    }
+
+    @Override
+    public RasterTask prepareRaster(double x, double y, double width, double height) {
+	projectSeries(selectSeries(width), x, y, width, height, positions, true);
+	int argb = Raster.toArgb(getPlot().getColor(), 1.0);
+	return raster -> {
+	    for (int i = 1; i < positions.size(); i++) {
+		raster.drawLine(positions.getX(i - 1), positions.getY(i - 1), positions.getX(i), positions.getY(i),
+			argb);
 	    }
-	    lastXValue = xValue;
-	    lastYValue = yValue;
+	};
+    }
+
+    /**
+     * Selects the data points to be drawn: the visible part of the series, which
+     * is read from the pyramid or decimated in case it is larger than the
+     * available pixel columns.
+     */
+    private ColumnarSeries selectSeries(double width) {
+	PointBasedPlot<Instant, Y, D> plot = (PointBasedPlot<Instant, Y, D>) getPlot();
+	InstantAxisRenderer xAxisRenderer = getXAxisRenderer();
+	double minX = xAxisRenderer.getMinValue();
+	double maxX = xAxisRenderer.getMaxValue();
+	ColumnarSeries series = plot.getSeries();
+	ColumnarSeries aggregated = null;
+	if ((series instanceof PyramidSeries) && !Double.isNaN(minX) && !Double.isNaN(maxX)) {
+	    aggregated = ((PyramidSeries) series).select(minX, maxX, (int) Math.ceil(width));
+	}
+	series = aggregated != null ? aggregated : getVisibleSlice(series, minX, maxX);
+	Decimator decimator = plot.getDecimator();
+	if ((decimator != null) && (series.size() > 0)) {
+	    series = decimator.decimate(series, minX, maxX, (int) Math.ceil(width));
 	}
+	return series;
     }
 
 }
@@ -19,6 +19,17 @@ public class XYPlot<X extends Number & Comparable<X>, Y extends Number & Compara
 	super(title, xAxis, yAxis, data);
     }
 
+    /**
+     * Adds a point without creating a data item. This is the fast way to feed
+     * large or streaming data sets, see {@link AbstractPointBasedPlot}.
+     *
+     * @param x is the x value.
+     * @param y is the y value.
+     */
+    public final void add(double x, double y) {
+	addPoint(x, y);
+    }
+
     @Override
     public X getAxisX(XYValue<X, Y> date) {
 	return date.getX();
@@ -29,6 +40,26 @@ public class XYPlot<X extends Number & Comparable<X>, Y extends Number & Compara
 	return date.getY();
     }
 
+    @Override
+    protected double getSeriesX(XYValue<X, Y> date) {
+	return date.getX().doubleValue();
+    }
+
+    @Override
+    protected double getSeriesY(XYValue<X, Y> date) {
+	return date.getY().doubleValue();
+    }
+
+    @Override
+    protected X toAxisX(double value) {
+	return NumberAxis.valueOf(value, getXAxis().getValueType());
+    }
+
+    @Override
+    protected Y toAxisY(double value) {
+	return NumberAxis.valueOf(value, getYAxis().getValueType());
+    }
+
     @Override
     public PlotRenderer<X, Y, XYValue<X, Y>, ? extends AxisRenderer<X>, ? extends AxisRenderer<Y>> getRenderer(
 	    AxisRenderer<X> xAxisRenderer, AxisRenderer<Y> yAxisRenderer) {
@@ -1,15 +1,37 @@
 package com.puresoltechnologies.javafx.charts.plots.xy;
 
+import java.util.Arrays;
+
+import com.puresoltechnologies.javafx.charts.HitIndex;
 import com.puresoltechnologies.javafx.charts.axes.NumberAxisRenderer;
+import com.puresoltechnologies.javafx.charts.data.ArraySeries;
+import com.puresoltechnologies.javafx.charts.data.ColumnarSeries;
+import com.puresoltechnologies.javafx.charts.data.Decimator;
 import com.puresoltechnologies.javafx.charts.plots.AbstractPlotRenderer;
 import com.puresoltechnologies.javafx.charts.plots.ConnectingLineStyle;
+import com.puresoltechnologies.javafx.charts.plots.PixelMask;
 import com.puresoltechnologies.javafx.charts.plots.Plot;
+import com.puresoltechnologies.javafx.charts.plots.Raster;
+import com.puresoltechnologies.javafx.charts.plots.RasterPlotRenderer;
 
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 
 public class XYPlotRenderer<X extends Number & Comparable<X>, Y extends Number & Comparable<Y>, D>
-	extends AbstractPlotRenderer<X, Y, D, NumberAxisRenderer, NumberAxisRenderer> {
+	extends AbstractPlotRenderer<X, Y, D, NumberAxisRenderer, NumberAxisRenderer> implements RasterPlotRenderer {
+
+    private static final long NO_PIXEL = Long.MIN_VALUE;
+
+    /*
+     * Buffers of the raster tasks, which run while the FX thread may render
+     * again. The hits are collected while rasterizing and recorded afterwards
+     * on the FX thread.
+     */
+    private final ArraySeries rasterMarkers = new ArraySeries();
+    private final ArraySeries rasterLine = new ArraySeries();
+    private final PixelMask rasterMask = new PixelMask();
+    private final ArraySeries rasterHits = new ArraySeries();
+    private int[] rasterHitIndices = new int[256];
 
     public XYPlotRenderer(Plot<X, Y, D> plot, NumberAxisRenderer xAxisRenderer, NumberAxisRenderer yAxisRenderer) {
 	super(plot, xAxisRenderer, yAxisRenderer);
@@ -18,29 +40,148 @@ public class XYPlotRenderer<X extends Number & Comparable<X>, Y extends Number &
     @Override
     public void renderTo(Canvas canvas, double x, double y, double width, double height) {
 	GraphicsContext gc = canvas.getGraphicsContext2D();
-	NumberAxisRenderer xAxisRenderer = getXAxisRenderer();
-	NumberAxisRenderer yAxisRenderer = getYAxisRenderer();
 	@SuppressWarnings("unchecked")
 	XYPlot<X, Y> plot = (XYPlot<X, Y>) getPlot();
 	gc.setStroke(plot.getColor());
 	gc.setFill(plot.getColor());
 	gc.setLineWidth(1.0);
-	double oldPosX = -Double.MAX_VALUE;
-	double oldPosY = -Double.MAX_VALUE;
-	for (XYValue<X, Y> value : plot.getData()) {
-	    double posX = xAxisRenderer.calculatePos(x, y, width, height, value.getX());
-	    double posY = yAxisRenderer.calculatePos(x, y, width, height, value.getY());
-	    gc.fillRect(posX - 3.0, posY - 3.0, 6.0, 6.0);
-	    if (posX != -Double.MAX_VALUE) {
-		if (plot.getConnectingLineStyle() == ConnectingLineStyle.STRAIGHT_LINE) {
-		    gc.setGlobalAlpha(0.2);
-		    gc.strokeLine(oldPosX, oldPosY, posX, posY);
-		    gc.setGlobalAlpha(1.0);
+	ColumnarSeries series = selectVisibleSeries();
+	if (plot.getConnectingLineStyle() == ConnectingLineStyle.STRAIGHT_LINE) {
+	    gc.setGlobalAlpha(0.2);
+	    strokePolyline(gc, decimate(series, width), x, y, width, height);
+	    gc.setGlobalAlpha(1.0);
+	}
+	// a marker falling onto the pixel of the previous one would not change it
+	long lastPixel = NO_PIXEL;
+	for (int from = 0; from < series.size();) {
+	    int count = projectSeries(series, from, x, y, width, height);
+	    double[] xPositions = getXPositions();
+	    double[] yPositions = getYPositions();
+	    for (int i = 0; i < count; i++) {
+		long pixel = toPixel(xPositions[i], yPositions[i]);
+		if ((pixel != lastPixel) && (pixel != NO_PIXEL)) {
+		    gc.fillRect(xPositions[i] - 3.0, yPositions[i] - 3.0, 6.0, 6.0);
+		    lastPixel = pixel;
+		}
+	    }
+	    recordHits(series, from, count, HIT_RADIUS);
+	    from += count;
+	}
+    }
+
+    @Override
+    public RasterTask prepareRaster(double x, double y, double width, double height) {
+	@SuppressWarnings("unchecked")
+	XYPlot<X, Y> plot = (XYPlot<X, Y>) getPlot();
+	NumberAxisRenderer xAxisRenderer = getXAxisRenderer();
+	NumberAxisRenderer yAxisRenderer = getYAxisRenderer();
+	// the projection of the axes is affine, so it is described by two points
+	double originX = xAxisRenderer.calculatePos(x, y, width, height, 0.0);
+	double scaleX = xAxisRenderer.calculatePos(x, y, width, height, 1.0) - originX;
+	double originY = yAxisRenderer.calculatePos(x, y, width, height, 0.0);
+	double scaleY = yAxisRenderer.calculatePos(x, y, width, height, 1.0) - originY;
+	ColumnarSeries series = selectVisibleSeries();
+	int firstIndex = series.size() > 0 ? getDataIndex(series, 0) : 0;
+	rasterMarkers.setAll(series);
+	ColumnarSeries line = null;
+	if (plot.getConnectingLineStyle() == ConnectingLineStyle.STRAIGHT_LINE) {
+	    // decimators reuse their buffers, so the decimation is run here
+	    ColumnarSeries decimated = decimate(series, width);
+	    if (decimated == series) {
+		line = rasterMarkers;
+	    } else {
+		rasterLine.setAll(decimated);
+		line = rasterLine;
+	    }
+	}
+	ColumnarSeries lineSeries = line;
+	// markers reach 3 pixels beyond the plotting area
+	int left = (int) Math.floor(x) - 3;
+	int top = (int) Math.floor(y) - 3;
+	int columns = ((int) Math.ceil(x + width) + 3) - left;
+	int rows = ((int) Math.ceil(y + height) + 3) - top;
+	int lineArgb = Raster.toArgb(plot.getColor(), 0.2);
+	int markerArgb = Raster.toArgb(plot.getColor(), 1.0);
+	return new RasterTask() {
+
+	    @Override
+	    public void rasterize(Raster raster) {
+		if (lineSeries != null) {
+		    for (int i = 1; i < lineSeries.size(); i++) {
+			raster.drawLine(originX + (scaleX * lineSeries.getX(i - 1)),
+				originY + (scaleY * lineSeries.getY(i - 1)), originX + (scaleX * lineSeries.getX(i)),
+				originY + (scaleY * lineSeries.getY(i)), lineArgb);
+		    }
+		}
+		rasterMask.reset(left, top, columns, rows);
+		rasterHits.clear();
+		for (int i = 0; i < rasterMarkers.size(); i++) {
+		    double markerX = originX + (scaleX * rasterMarkers.getX(i));
+		    double markerY = originY + (scaleY * rasterMarkers.getY(i));
+		    // a marker falling onto the pixel of another one would not change it
+		    if (rasterMask.mark(markerX, markerY)) {
+			raster.fillRect(markerX - 3.0, markerY - 3.0, 6.0, 6.0, markerArgb);
+			addRasterHit(markerX, markerY, firstIndex + i);
+		    }
 		}
 	    }
-	    oldPosX = posX;
-	    oldPosY = posY;
+
+	    @Override
+	    public void recordHits(HitIndex hitIndex) {
+		for (int i = 0; i < rasterHits.size(); i++) {
+		    hitIndex.addPoint(rasterHits.getX(i), rasterHits.getY(i), HIT_RADIUS, plot, rasterHitIndices[i]);
+		}
+	    }
+
+	};
+    }
+
+    private void addRasterHit(double x, double y, int dataIndex) {
+	int hit = rasterHits.size();
+	if (hit == rasterHitIndices.length) {
+	    rasterHitIndices = Arrays.copyOf(rasterHitIndices, 2 * hit);
+	}
+	rasterHits.add(x, y);
+	rasterHitIndices[hit] = dataIndex;
+    }
+
+    /**
+     * Returns the visible part of the series. All of its points get a marker,
+     * so it must not be decimated.
+     */
+    private ColumnarSeries selectVisibleSeries() {
+	NumberAxisRenderer xAxisRenderer = getXAxisRenderer();
+	@SuppressWarnings("unchecked")
+	XYPlot<X, Y> plot = (XYPlot<X, Y>) getPlot();
+	return getVisibleSlice(plot.getSeries(), xAxisRenderer.getMinValue(), xAxisRenderer.getMaxValue());
+    }
+
+    /**
+     * Decimates the visible series for the connecting line. Decimation keeps the
+     * shape of lines, but not the single point marks, so it is applied to the
+     * line only.
+     */
+    private ColumnarSeries decimate(ColumnarSeries series, double width) {
+	@SuppressWarnings("unchecked")
+	XYPlot<X, Y> plot = (XYPlot<X, Y>) getPlot();
+	Decimator decimator = plot.getDecimator();
+	if (decimator == null) {
+	    return series;
+	}
+	NumberAxisRenderer xAxisRenderer = getXAxisRenderer();
+	return decimator.decimate(series, xAxisRenderer.getMinValue(), xAxisRenderer.getMaxValue(),
+		(int) Math.ceil(width));
+    }
+
+    /**
+     * Packs the pixel of a position into one value. Positions which are not a
+     * number are mapped to {@link #NO_PIXEL}, their markers are not drawn.
+     */
+    private static long toPixel(double x, double y) {
+	if (Double.isNaN(x) || Double.isNaN(y)) {
+	    return NO_PIXEL;
 	}
+	return (((long) Math.floor(x)) << 32) ^ (((long) Math.floor(y)) & 0xFFFFFFFFL);
     }
 
 }
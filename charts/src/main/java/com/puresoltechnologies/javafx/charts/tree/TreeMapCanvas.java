@@ -1,16 +1,15 @@
 package com.puresoltechnologies.javafx.charts.tree;
 
-import java.awt.Point;
-
+import com.puresoltechnologies.javafx.charts.HitIndex;
 import com.puresoltechnologies.javafx.charts.preferences.ChartsProperties;
 import com.puresoltechnologies.javafx.extensions.fonts.FontDefinition;
 import com.puresoltechnologies.javafx.preferences.Preferences;
 
 import javafx.beans.property.ObjectProperty;
-import javafx.geometry.Point2D;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.Tooltip;
+import javafx.scene.input.MouseEvent;
 import javafx.scene.paint.Color;
 
 class TreeMapCanvas<T extends TreeMapNode> extends Canvas {
@@ -25,6 +24,7 @@ class TreeMapCanvas<T extends TreeMapNode> extends Canvas {
     private T rootNode = null;
     private int depth = 1;
     private final Tooltip tooltip = new Tooltip();
+    private final HitIndex hitIndex = new HitIndex();
 
     public TreeMapCanvas(TreeMapRenderer<T> renderer) {
 	super();
@@ -32,19 +32,23 @@ class TreeMapCanvas<T extends TreeMapNode> extends Canvas {
 	widthProperty().addListener(event -> draw());
 	heightProperty().addListener(event -> draw());
 	draw();
-	Tooltip.install(this, tooltip);
+	addEventHandler(MouseEvent.MOUSE_MOVED, event -> showTooltip(event));
+	addEventHandler(MouseEvent.MOUSE_EXITED, event -> tooltip.hide());
+    }
 
-	tooltip.setOnShowing(windowEvent -> {// called just prior to being shown
-	    Point mouse = java.awt.MouseInfo.getPointerInfo().getLocation();
-	    Point2D local = TreeMapCanvas.this.screenToLocal(mouse.x, mouse.y);
+    HitIndex getHitIndex() {
+	return hitIndex;
+    }
 
-	    // my app-specific code to get the chart's yaxis value
-	    // then set the text as I want
-	    // double pitch = yaxis.getValueForDisplay(local.getY()).doubleValue();
-	    // double freq = AudioUtil.pitch2frequency(pitch);
-	    // t.setText(String.format("Pitch %.1f: %.1f Hz %.1f samples", pitch, freq,
-	    // audio.rate / freq));
-	});
+    private void showTooltip(MouseEvent event) {
+	int entry = hitIndex.find(event.getX(), event.getY());
+	if (entry < 0) {
+	    tooltip.hide();
+	    return;
+	}
+	TreeMapNode node = (TreeMapNode) hitIndex.getOwner(entry);
+	tooltip.setText(node.getName() + "\n" + node.getValue());
+	tooltip.show(this, event.getScreenX() + 12.0, event.getScreenY() + 12.0);
     }
 
     @Override
@@ -92,6 +96,7 @@ class TreeMapCanvas<T extends TreeMapNode> extends Canvas {
 
     private void draw() {
 	clearPlotArea();
+	hitIndex.reset(getWidth(), getHeight());
 	if (rootNode != null) {
 	    double x = 0.0;
 	    double y = 0.0;
@@ -112,6 +117,15 @@ class TreeMapCanvas<T extends TreeMapNode> extends Canvas {
 
     public void setData(T rootNode) {
 	this.rootNode = rootNode;
+	if (rootNode != null) {
+	    // the tree may have been changed although the root is the same
+	    renderer.nodeChanged(rootNode);
+	}
+	draw();
+    }
+
+    public void nodeChanged(T node) {
+	renderer.nodeChanged(node);
 	draw();
     }
 
@@ -0,0 +1,485 @@
+package com.puresoltechnologies.javafx.charts.tree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * This class calculates the squarified layout of a tree map and keeps it in
+ * flat arrays. The nodes are stored in pre-order with the children of every
+ * node sorted by descending value, so the subtree of an entry is the range from
+ * the entry to {@link #getEnd(int)} and the children can be laid out without
+ * sorting again.
+ * <p>
+ * The layout is cached for the root node, the depth and the area. As long as
+ * they do not change, {@link #update(TreeMapNode, int, double, double, double,
+ * double)} does not do anything, so repainting the canvas is cheap. When values
+ * of nodes change, {@link #nodeChanged(TreeMapNode)} marks them and only the
+ * subtrees of their parents are laid out again. The entries of the nodes are
+ * found in an identity map, so a change does not need a search.
+ * <p>
+ * In parallel mode, the subtrees of siblings are laid out concurrently on the
+ * common {@link ForkJoinPool} after the layout of their parent, because they do
+ * not depend on each other. Every task writes to a distinct range of the
+ * arrays. The flattening of the tree is still done by the calling thread, as
+ * the nodes are not required to be thread-safe.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class TreeMapLayout {
+
+    private static final int X = 0;
+    private static final int Y = 1;
+    private static final int WIDTH = 2;
+    private static final int HEIGHT = 3;
+    private static final int STRIDE = 4;
+    /**
+     * Subtrees with fewer entries are laid out in one task.
+     */
+    private static final int PARALLEL_THRESHOLD = 4096;
+    /**
+     * Marks nodes which appear more than once in the tree.
+     */
+    private static final int SHARED = -1;
+
+    private final ToDoubleFunction<TreeMapNode> titleHeight;
+    private TreeMapNode[] nodes = new TreeMapNode[64];
+    private double[] values = new double[64];
+    private double[] titleHeights = new double[64];
+    private int[] parents = new int[64];
+    private int[] ends = new int[64];
+    private double[] bounds = new double[64 * STRIDE];
+    private int size = 0;
+    private final Map<TreeMapNode, Integer> entries = new IdentityHashMap<>();
+    private final Set<TreeMapNode> changedNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private boolean parallel = false;
+    private boolean valid = false;
+    private TreeMapNode root = null;
+    private int depth = 0;
+    private double x = Double.NaN;
+    private double y = Double.NaN;
+    private double width = Double.NaN;
+    private double height = Double.NaN;
+
+    /**
+     * @param titleHeight is the function to calculate the height of the title
+     *                    of a node. The children of a node are laid out below
+     *                    its title.
+     */
+    public TreeMapLayout(ToDoubleFunction<TreeMapNode> titleHeight) {
+	super();
+	this.titleHeight = titleHeight;
+    }
+
+    /**
+     * Brings the layout up to date. Only the parts of the layout which are
+     * affected by changes are calculated again.
+     *
+     * @param root   is the root node of the tree map.
+     * @param depth  is the number of levels to be laid out.
+     * @param x      is the x position of the area.
+     * @param y      is the y position of the area.
+     * @param width  is the width of the area.
+     * @param height is the height of the area.
+     * @return <code>true</code> is returned in case the layout changed.
+     */
+    public boolean update(TreeMapNode root, int depth, double x, double y, double width, double height) {
+	if (!valid || (root != this.root) || (depth != this.depth) || (x != this.x) || (y != this.y)
+		|| (width != this.width) || (height != this.height)) {
+	    this.root = root;
+	    this.depth = depth;
+	    this.x = x;
+	    this.y = y;
+	    this.width = width;
+	    this.height = height;
+	    layoutAll();
+	    return true;
+	}
+	if (changedNodes.isEmpty()) {
+	    return false;
+	}
+	for (TreeMapNode node : changedNodes) {
+	    Integer entry = entries.get(node);
+	    if ((entry == null) || ((entry != SHARED) && (nodes[entry] != node))) {
+		// the node is not part of the layout
+		continue;
+	    }
+	    if ((entry == SHARED) || !relayout(parents[entry] >= 0 ? parents[entry] : entry)) {
+		// the structure of the tree changed, so everything is laid out again
+		layoutAll();
+		return true;
+	    }
+	}
+	changedNodes.clear();
+	return true;
+    }
+
+    /**
+     * Marks the value or the children of a node as changed. The subtree of the
+     * parent of the node is laid out again with the next update.
+     *
+     * @param node is the changed node.
+     */
+    public void nodeChanged(TreeMapNode node) {
+	changedNodes.add(node);
+    }
+
+    public boolean isParallel() {
+	return parallel;
+    }
+
+    /**
+     * Enables the parallel layout of large trees.
+     *
+     * @param parallel specifies whether sibling subtrees are laid out in
+     *                 parallel.
+     */
+    public void setParallel(boolean parallel) {
+	this.parallel = parallel;
+    }
+
+    /**
+     * Drops the whole layout, so it is calculated again with the next update.
+     * It is needed in case the title heights changed.
+     */
+    public void invalidate() {
+	valid = false;
+    }
+
+    private void layoutAll() {
+	size = 0;
+	changedNodes.clear();
+	entries.clear();
+	if ((root != null) && (depth > 0)) {
+	    flatten(root, depth, -1);
+	    for (int entry = 0; entry < size; entry++) {
+		putEntry(entry);
+	    }
+	    setBounds(0, x, y, width, height);
+	    layoutSubtree(0);
+	}
+	valid = true;
+    }
+
+    /**
+     * Maps the node of an entry to the entry. Nodes found at another entry, too,
+     * are marked as {@link #SHARED}.
+     */
+    private void putEntry(int entry) {
+	TreeMapNode node = nodes[entry];
+	Integer previous = entries.put(node, entry);
+	if ((previous != null) && (previous != entry)
+		&& ((previous == SHARED) || ((previous < size) && (nodes[previous] == node)))) {
+	    entries.put(node, SHARED);
+	}
+    }
+
+    /**
+     * Lays out the subtree of an entry again. The bounds of the entry itself
+     * stay the same.
+     *
+     * @return <code>false</code> is returned in case the number of nodes in the
+     *         subtree changed, so it cannot be replaced in place.
+     */
+    private boolean relayout(int entry) {
+	int level = 0;
+	for (int parent = parents[entry]; parent >= 0; parent = parents[parent]) {
+	    level++;
+	}
+	// the subtree is flattened behind the current entries and moved in place
+	int start = size;
+	flatten(nodes[entry], depth - level, parents[entry]);
+	int count = size - start;
+	size = start;
+	if (count != (ends[entry] - entry)) {
+	    return false;
+	}
+	int shift = start - entry;
+	System.arraycopy(nodes, start, nodes, entry, count);
+	System.arraycopy(values, start, values, entry, count);
+	System.arraycopy(titleHeights, start, titleHeights, entry, count);
+	for (int i = 0; i < count; i++) {
+	    int parent = parents[start + i];
+	    parents[entry + i] = parent >= start ? parent - shift : parent;
+	    ends[entry + i] = ends[start + i] - shift;
+	}
+	Arrays.fill(nodes, start, start + count, null);
+	for (int i = 0; i < count; i++) {
+	    putEntry(entry + i);
+	}
+	layoutSubtree(entry);
+	return true;
+    }
+
+    /**
+     * Appends the node and its subtree in pre-order with the children sorted by
+     * descending value. Nodes which are already on the path from the root are
+     * skipped to stop at cycles.
+     */
+    private void flatten(TreeMapNode node, int depth, int parent) {
+	ensureCapacity(size + 1);
+	int entry = size++;
+	nodes[entry] = node;
+	values[entry] = node.getValue();
+	titleHeights[entry] = titleHeight.applyAsDouble(node);
+	parents[entry] = parent;
+	if (depth > 1) {
+	    List<TreeMapNode> children = new ArrayList<>(node.getChildren());
+	    children.sort((l, r) -> Double.compare(r.getValue(), l.getValue()));
+	    for (TreeMapNode child : children) {
+		if (!isOnPath(child, entry)) {
+		    flatten(child, depth - 1, entry);
+		}
+	    }
+	}
+	ends[entry] = size;
+    }
+
+    private boolean isOnPath(TreeMapNode node, int entry) {
+	for (int current = entry; current >= 0; current = parents[current]) {
+	    if (nodes[current] == node) {
+		return true;
+	    }
+	}
+	return false;
+    }
+
+    private void ensureCapacity(int capacity) {
+	if (capacity > nodes.length) {
+	    int newCapacity = Math.max(capacity, nodes.length * 2);
+	    nodes = Arrays.copyOf(nodes, newCapacity);
+	    values = Arrays.copyOf(values, newCapacity);
+	    titleHeights = Arrays.copyOf(titleHeights, newCapacity);
+	    parents = Arrays.copyOf(parents, newCapacity);
+	    ends = Arrays.copyOf(ends, newCapacity);
+	    bounds = Arrays.copyOf(bounds, newCapacity * STRIDE);
+	}
+    }
+
+    /**
+     * Lays out the subtree of an entry whose bounds are set already.
+     */
+    private void layoutSubtree(int entry) {
+	if (parallel && ((ends[entry] - entry) >= PARALLEL_THRESHOLD)) {
+	    ForkJoinPool.commonPool().invoke(new LayoutTask(entry, ends[entry]));
+	} else {
+	    layoutChildren(entry, ends[entry]);
+	}
+    }
+
+    /**
+     * This task lays out a range of sibling subtrees. Ranges with a single large
+     * subtree are split: the children of the subtree root are laid out first and
+     * the subtrees of the children are forked afterwards. Small siblings are
+     * grouped, so that every task has a reasonable amount of work.
+     */
+    private final class LayoutTask extends RecursiveAction {
+
+	private static final long serialVersionUID = -2415006853384961327L;
+
+	private final int from;
+	private final int to;
+
+	LayoutTask(int from, int to) {
+	    super();
+	    this.from = from;
+	    this.to = to;
+	}
+
+	@Override
+	protected void compute() {
+	    if ((ends[from] != to) || ((to - from) < PARALLEL_THRESHOLD)) {
+		layoutChildren(from, to);
+		return;
+	    }
+	    squarify(from);
+	    List<LayoutTask> tasks = new ArrayList<>();
+	    int batchStart = from + 1;
+	    for (int child = from + 1; child < to; child = ends[child]) {
+		if ((ends[child] - child) >= PARALLEL_THRESHOLD) {
+		    if (batchStart < child) {
+			tasks.add(new LayoutTask(batchStart, child));
+		    }
+		    tasks.add(new LayoutTask(child, ends[child]));
+		    batchStart = ends[child];
+		} else if ((ends[child] - batchStart) >= PARALLEL_THRESHOLD) {
+		    tasks.add(new LayoutTask(batchStart, ends[child]));
+		    batchStart = ends[child];
+		}
+	    }
+	    if (batchStart < to) {
+		tasks.add(new LayoutTask(batchStart, to));
+	    }
+	    invokeAll(tasks);
+	}
+    }
+
+    /**
+     * Lays out the children of all entries in the range. The entries are in
+     * pre-order, so the bounds of every entry are known before its children are
+     * laid out.
+     */
+    private void layoutChildren(int from, int to) {
+	for (int entry = from; entry < to; entry++) {
+	    if ((entry + 1) < ends[entry]) {
+		squarify(entry);
+	    }
+	}
+    }
+
+    /**
+     * Lays out the children of an entry below its title with the squarified
+     * algorithm: the children are added to a row as long as the worst aspect
+     * ratio within the row improves. The sums are kept incrementally, so every
+     * child is only visited a constant number of times.
+     */
+    private void squarify(int entry) {
+	int offset = entry * STRIDE;
+	double title = Math.min(titleHeights[entry], bounds[offset + HEIGHT]);
+	double areaX = bounds[offset + X];
+	double areaY = bounds[offset + Y] + title;
+	double areaWidth = bounds[offset + WIDTH];
+	double areaHeight = bounds[offset + HEIGHT] - title;
+	int end = ends[entry];
+	double total = 0.0;
+	for (int child = entry + 1; child < end; child = ends[child]) {
+	    if (values[child] > 0.0) {
+		total += values[child];
+	    }
+	}
+	double scale = (areaWidth > 0.0) && (areaHeight > 0.0) && (total > 0.0) ? (areaWidth * areaHeight) / total
+		: 0.0;
+	int child = entry + 1;
+	while (child < end) {
+	    if ((scale == 0.0) || (values[child] <= 0.0)) {
+		// nothing to be seen, the children are sorted, so all remaining ones
+		// are empty, too
+		setBounds(child, areaX, areaY, 0.0, 0.0);
+		child = ends[child];
+		continue;
+	    }
+	    boolean vertical = areaWidth > areaHeight;
+	    double side = vertical ? areaHeight : areaWidth;
+	    double rowArea = values[child] * scale;
+	    double maxArea = rowArea;
+	    double worst = worst(rowArea, rowArea, maxArea, side);
+	    int rowEnd = ends[child];
+	    while ((rowEnd < end) && (values[rowEnd] > 0.0)) {
+		double area = values[rowEnd] * scale;
+		double candidate = worst(rowArea + area, area, maxArea, side);
+		if (candidate > worst) {
+		    break;
+		}
+		rowArea += area;
+		worst = candidate;
+		rowEnd = ends[rowEnd];
+	    }
+	    double thickness = rowArea / side;
+	    double position = vertical ? areaY : areaX;
+	    for (int rowEntry = child; rowEntry < rowEnd; rowEntry = ends[rowEntry]) {
+		double length = (values[rowEntry] * scale) / thickness;
+		if (vertical) {
+		    setBounds(rowEntry, areaX, position, thickness, length);
+		} else {
+		    setBounds(rowEntry, position, areaY, length, thickness);
+		}
+		position += length;
+	    }
+	    if (vertical) {
+		areaX += thickness;
+		areaWidth = Math.max(0.0, areaWidth - thickness);
+	    } else {
+		areaY += thickness;
+		areaHeight = Math.max(0.0, areaHeight - thickness);
+	    }
+	    child = rowEnd;
+	}
+    }
+
+    /**
+     * Calculates the worst aspect ratio of the rectangles in a row.
+     */
+    private static double worst(double rowArea, double minArea, double maxArea, double side) {
+	double sideSquare = side * side;
+	double rowAreaSquare = rowArea * rowArea;
+	return Math.max((sideSquare * maxArea) / rowAreaSquare, rowAreaSquare / (sideSquare * minArea));
+    }
+
+    private void setBounds(int entry, double x, double y, double width, double height) {
+	int offset = entry * STRIDE;
+	bounds[offset + X] = x;
+	bounds[offset + Y] = y;
+	bounds[offset + WIDTH] = width;
+	bounds[offset + HEIGHT] = height;
+    }
+
+    /**
+     * @return The number of laid out nodes is returned.
+     */
+    public int size() {
+	return size;
+    }
+
+    public TreeMapNode getNode(int entry) {
+	checkEntry(entry);
+	return nodes[entry];
+    }
+
+    /**
+     * @param entry is the entry.
+     * @return The entry of the parent is returned or -1 for the root.
+     */
+    public int getParent(int entry) {
+	checkEntry(entry);
+	return parents[entry];
+    }
+
+    /**
+     * @param entry is the entry.
+     * @return The entry after the last entry of the subtree is returned.
+     */
+    public int getEnd(int entry) {
+	checkEntry(entry);
+	return ends[entry];
+    }
+
+    public double getTitleHeight(int entry) {
+	checkEntry(entry);
+	return titleHeights[entry];
+    }
+
+    public double getX(int entry) {
+	checkEntry(entry);
+	return bounds[(entry * STRIDE) + X];
+    }
+
+    public double getY(int entry) {
+	checkEntry(entry);
+	return bounds[(entry * STRIDE) + Y];
+    }
+
+    public double getWidth(int entry) {
+	checkEntry(entry);
+	return bounds[(entry * STRIDE) + WIDTH];
+    }
+
+    public double getHeight(int entry) {
+	checkEntry(entry);
+	return bounds[(entry * STRIDE) + HEIGHT];
+    }
+
+    private void checkEntry(int entry) {
+	if ((entry < 0) || (entry >= size)) {
+	    throw new IndexOutOfBoundsException("Entry " + entry + " is out of bounds for size " + size + ".");
+	}
+    }
+
+}
@@ -17,4 +17,14 @@ public interface TreeMapRenderer<T extends TreeMapNode> {
     public void drawMap(TreeMapCanvas<T> canvas, int depth, double x, double y, double width, double height,
 	    T rootNode);
 
+    /**
+     * Notifies the renderer about a changed value or changed children of a node,
+     * so that cached layouts are updated with the next drawing.
+     *
+     * @param node is the changed node.
+     */
+    public default void nodeChanged(T node) {
+	// nothing is cached by default
+    }
+
 }
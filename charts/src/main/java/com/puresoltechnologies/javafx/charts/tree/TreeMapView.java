@@ -4,7 +4,8 @@ import javafx.scene.layout.BorderPane;
 
 public class TreeMapView<T extends TreeMapNode> extends BorderPane {
 
-    private final TreeMapCanvas<T> area = new TreeMapCanvas<>(new SquarifiedTreeMapRenderer<>());
+    private final SquarifiedTreeMapRenderer<T> renderer = new SquarifiedTreeMapRenderer<>();
+    private final TreeMapCanvas<T> area = new TreeMapCanvas<>(renderer);
 
     public TreeMapView() {
 	super();
@@ -15,6 +16,29 @@ public class TreeMapView<T extends TreeMapNode> extends BorderPane {
 	area.setData(rootNode);
     }
 
+    /**
+     * Redraws the tree map after the value or the children of a node changed.
+     * Only the part of the map containing the node and its siblings is laid out
+     * again. Parents whose values changed as well, like parents summing up
+     * their children, need to be passed separately.
+     *
+     * @param node is the changed node.
+     */
+    public void nodeChanged(T node) {
+	area.nodeChanged(node);
+    }
+
+    /**
+     * Enables the parallel layout of the map, which speeds up the layout of
+     * trees with hundreds of thousands of nodes.
+     *
+     * @param parallelLayout specifies whether the layout is calculated in
+     *                       parallel.
+     */
+    public void setParallelLayout(boolean parallelLayout) {
+	renderer.setParallelLayout(parallelLayout);
+    }
+
     public void setDepth(int depth) {
 	area.setDepthTest(depth);
     }
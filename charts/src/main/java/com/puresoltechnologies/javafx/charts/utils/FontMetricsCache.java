@@ -0,0 +1,124 @@
+package com.puresoltechnologies.javafx.charts.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.puresoltechnologies.javafx.charts.preferences.ChartsProperties;
+import com.puresoltechnologies.javafx.extensions.fonts.FontDefinition;
+import com.puresoltechnologies.javafx.extensions.properties.PropertyDefinition;
+import com.puresoltechnologies.javafx.preferences.Preferences;
+
+import javafx.geometry.Bounds;
+import javafx.scene.text.Text;
+
+/**
+ * This class caches the layout bounds of texts, so that the measurement with a
+ * {@link Text} node and {@link Text#applyCss()} is only done once per font and
+ * string and not on every draw.
+ * <p>
+ * The cache is cleared as soon as one of the chart font preferences changes.
+ * The number of entries is limited, the least recently used entries are
+ * dropped first. The cache must only be used from the FX thread.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class FontMetricsCache {
+
+    private static final int MAX_ENTRIES = 4096;
+
+    private static final Map<Key, Bounds> cache = new LinkedHashMap<Key, Bounds>(256, 0.75f, true) {
+
+	private static final long serialVersionUID = 3604585164620233387L;
+
+	@Override
+	protected boolean removeEldestEntry(Entry<Key, Bounds> eldest) {
+	    return size() > MAX_ENTRIES;
+	}
+    };
+    private static final Text text = new Text();
+
+    static {
+	invalidateOnChange(ChartsProperties.TITLE_FONT);
+	invalidateOnChange(ChartsProperties.SUBTITLE_FONT);
+	invalidateOnChange(ChartsProperties.AXIS_TITLE_FONT);
+	invalidateOnChange(ChartsProperties.AXIS_LABEL_FONT);
+	invalidateOnChange(ChartsProperties.DATA_LABEL_FONT);
+    }
+
+    private static void invalidateOnChange(PropertyDefinition<FontDefinition> definition) {
+	Preferences.getProperty(definition).addListener((observable, oldValue, newValue) -> invalidate());
+    }
+
+    /**
+     * Returns the layout bounds of the given string rendered with the given font.
+     *
+     * @param font   is the font to be used.
+     * @param string is the text to be measured.
+     * @return The layout {@link Bounds} are returned.
+     */
+    public static Bounds getBounds(FontDefinition font, String string) {
+	Key key = new Key(font, string);
+	Bounds bounds = cache.get(key);
+	if (bounds == null) {
+	    text.setText(string);
+	    text.setFont(font.toFont());
+	    text.applyCss();
+	    bounds = text.getLayoutBounds();
+	    cache.put(key, bounds);
+	}
+	return bounds;
+    }
+
+    public static double getWidth(FontDefinition font, String string) {
+	return getBounds(font, string).getWidth();
+    }
+
+    public static double getHeight(FontDefinition font, String string) {
+	return getBounds(font, string).getHeight();
+    }
+
+    /**
+     * Removes all cached measurements.
+     */
+    public static void invalidate() {
+	cache.clear();
+    }
+
+    private static final class Key {
+
+	private final FontDefinition font;
+	private final String string;
+	private final int hashCode;
+
+	Key(FontDefinition font, String string) {
+	    this.font = font;
+	    this.string = string;
+	    this.hashCode = (31 * font.hashCode()) + ((string == null) ? 0 : string.hashCode());
+	}
+
+	@Override
+	public int hashCode() {
+	    return hashCode;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+	    if (this == obj)
+		return true;
+	    if ((obj == null) || (getClass() != obj.getClass()))
+		return false;
+	    Key other = (Key) obj;
+	    if (string == null) {
+		if (other.string != null)
+		    return false;
+	    } else if (!string.equals(other.string))
+		return false;
+	    return font.equals(other.font);
+	}
+    }
+
+    private FontMetricsCache() {
+    }
+
+}
@@ -0,0 +1,217 @@
+package com.puresoltechnologies.javafx.charts.utils;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * This class contains utilities for calculating the ticks of time axes. The
+ * ticks are derived from the axis range and length only, so the costs do not
+ * depend on the amount of data. Ticks are placed on calendar boundaries in UTC
+ * like full minutes, hours, days, months or years.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class InstantTickCalculator {
+
+    private static final long SECOND = 1000L;
+    private static final long MINUTE = 60L * SECOND;
+    private static final long HOUR = 60L * MINUTE;
+    private static final long DAY = 24L * HOUR;
+    private static final long MONTH = (long) (30.436875 * DAY);
+    private static final long YEAR = (long) (365.2425 * DAY);
+    /**
+     * 1970-01-05 was the first Monday after the epoch.
+     */
+    private static final long FIRST_MONDAY = 4L * DAY;
+
+    private static final Map<ChronoUnit, DateTimeFormatter> formatters = new EnumMap<>(ChronoUnit.class);
+
+    static {
+	formatters.put(ChronoUnit.MILLIS, DateTimeFormatter.ofPattern("yy MMM dd\nHH:mm:ss.SSS"));
+	formatters.put(ChronoUnit.SECONDS, DateTimeFormatter.ofPattern("yy MMM dd\nHH:mm:ss"));
+	formatters.put(ChronoUnit.MINUTES, DateTimeFormatter.ofPattern("yy MMM dd\nHH:mm"));
+	formatters.put(ChronoUnit.HOURS, DateTimeFormatter.ofPattern("yy MMM dd\nHH:mm"));
+	formatters.put(ChronoUnit.DAYS, DateTimeFormatter.ofPattern("yyyy\nMMM dd"));
+	formatters.put(ChronoUnit.WEEKS, DateTimeFormatter.ofPattern("yyyy\nMMM dd"));
+	formatters.put(ChronoUnit.MONTHS, DateTimeFormatter.ofPattern("yyyy\nMMM"));
+	formatters.put(ChronoUnit.YEARS, DateTimeFormatter.ofPattern("yyyy"));
+	formatters.replaceAll((unit, formatter) -> formatter.withZone(ZoneOffset.UTC));
+    }
+
+    private static final TickStep[] steps = new TickStep[] { //
+	    new TickStep(ChronoUnit.MILLIS, 1, 1L), //
+	    new TickStep(ChronoUnit.MILLIS, 2, 2L), //
+	    new TickStep(ChronoUnit.MILLIS, 5, 5L), //
+	    new TickStep(ChronoUnit.MILLIS, 10, 10L), //
+	    new TickStep(ChronoUnit.MILLIS, 20, 20L), //
+	    new TickStep(ChronoUnit.MILLIS, 50, 50L), //
+	    new TickStep(ChronoUnit.MILLIS, 100, 100L), //
+	    new TickStep(ChronoUnit.MILLIS, 200, 200L), //
+	    new TickStep(ChronoUnit.MILLIS, 500, 500L), //
+	    new TickStep(ChronoUnit.SECONDS, 1, SECOND), //
+	    new TickStep(ChronoUnit.SECONDS, 2, 2L * SECOND), //
+	    new TickStep(ChronoUnit.SECONDS, 5, 5L * SECOND), //
+	    new TickStep(ChronoUnit.SECONDS, 10, 10L * SECOND), //
+	    new TickStep(ChronoUnit.SECONDS, 15, 15L * SECOND), //
+	    new TickStep(ChronoUnit.SECONDS, 30, 30L * SECOND), //
+	    new TickStep(ChronoUnit.MINUTES, 1, MINUTE), //
+	    new TickStep(ChronoUnit.MINUTES, 2, 2L * MINUTE), //
+	    new TickStep(ChronoUnit.MINUTES, 5, 5L * MINUTE), //
+	    new TickStep(ChronoUnit.MINUTES, 10, 10L * MINUTE), //
+	    new TickStep(ChronoUnit.MINUTES, 15, 15L * MINUTE), //
+	    new TickStep(ChronoUnit.MINUTES, 30, 30L * MINUTE), //
+	    new TickStep(ChronoUnit.HOURS, 1, HOUR), //
+	    new TickStep(ChronoUnit.HOURS, 2, 2L * HOUR), //
+	    new TickStep(ChronoUnit.HOURS, 3, 3L * HOUR), //
+	    new TickStep(ChronoUnit.HOURS, 6, 6L * HOUR), //
+	    new TickStep(ChronoUnit.HOURS, 12, 12L * HOUR), //
+	    new TickStep(ChronoUnit.DAYS, 1, DAY), //
+	    new TickStep(ChronoUnit.DAYS, 2, 2L * DAY), //
+	    new TickStep(ChronoUnit.WEEKS, 1, 7L * DAY), //
+	    new TickStep(ChronoUnit.MONTHS, 1, MONTH), //
+	    new TickStep(ChronoUnit.MONTHS, 3, 3L * MONTH), //
+	    new TickStep(ChronoUnit.MONTHS, 6, 6L * MONTH), //
+	    new TickStep(ChronoUnit.YEARS, 1, YEAR) //
+    };
+
+    /**
+     * This class represents the distance between two ticks.
+     */
+    public static final class TickStep {
+
+	private final ChronoUnit unit;
+	private final int amount;
+	private final long approximateMillis;
+
+	private TickStep(ChronoUnit unit, int amount, long approximateMillis) {
+	    this.unit = unit;
+	    this.amount = amount;
+	    this.approximateMillis = approximateMillis;
+	}
+
+	public ChronoUnit getUnit() {
+	    return unit;
+	}
+
+	public int getAmount() {
+	    return amount;
+	}
+
+	/**
+	 * Returns the formatter for the tick labels. The formatter is shared by all
+	 * steps of the same unit.
+	 *
+	 * @return A {@link DateTimeFormatter} with UTC zone is returned.
+	 */
+	public DateTimeFormatter getFormatter() {
+	    return formatters.get(unit);
+	}
+
+	@Override
+	public String toString() {
+	    return amount + " " + unit;
+	}
+    }
+
+    /**
+     * Calculates the smallest step for which the ticks have at least the given
+     * distance.
+     *
+     * @param minEpochMilli is the minimum of the axis in epoch milliseconds.
+     * @param maxEpochMilli is the maximum of the axis in epoch milliseconds.
+     * @param length        is the length of the axis in pixels.
+     * @param minDistance   is the minimum distance between two ticks in pixels.
+     * @return The {@link TickStep} is returned.
+     */
+    public static TickStep calculateStep(long minEpochMilli, long maxEpochMilli, double length, double minDistance) {
+	long maxTicks = Math.max(1L, (long) (length / minDistance));
+	double minStep = (double) (maxEpochMilli - minEpochMilli) / maxTicks;
+	for (TickStep step : steps) {
+	    if (step.approximateMillis >= minStep) {
+		return step;
+	    }
+	}
+	// 1, 2, 5, 10, 20, 50,... years
+	long years = 1;
+	while (true) {
+	    for (int factor : new int[] { 1, 2, 5 }) {
+		long amount = years * factor;
+		if ((amount * YEAR) >= minStep) {
+		    return new TickStep(ChronoUnit.YEARS, (int) Math.min(amount, Integer.MAX_VALUE), amount * YEAR);
+		}
+	    }
+	    years *= 10;
+	}
+    }
+
+    /**
+     * Calculates the ticks within the given range.
+     *
+     * @param minEpochMilli is the minimum of the axis in epoch milliseconds.
+     * @param maxEpochMilli is the maximum of the axis in epoch milliseconds.
+     * @param step          is the step calculated with
+     *                      {@link #calculateStep(long, long, double, double)}.
+     * @return An array with the ticks in epoch milliseconds in ascending order is
+     *         returned.
+     */
+    public static long[] calculateTicks(long minEpochMilli, long maxEpochMilli, TickStep step) {
+	long[] ticks = new long[16];
+	int count = 0;
+	switch (step.unit) {
+	case MONTHS:
+	case YEARS:
+	    LocalDate date = LocalDate.ofEpochDay(Math.floorDiv(minEpochMilli, DAY)).withDayOfMonth(1);
+	    if (step.unit == ChronoUnit.YEARS) {
+		date = date.withDayOfYear(1).withYear(Math.floorDiv(date.getYear(), step.amount) * step.amount);
+	    } else {
+		date = date.withMonth((((date.getMonthValue() - 1) / step.amount) * step.amount) + 1);
+	    }
+	    long tick = date.toEpochDay() * DAY;
+	    while (tick <= maxEpochMilli) {
+		if (tick >= minEpochMilli) {
+		    ticks = add(ticks, count++, tick);
+		}
+		date = date.plus(step.amount, step.unit);
+		tick = date.toEpochDay() * DAY;
+	    }
+	    break;
+	default:
+	    long stepMillis = step.approximateMillis;
+	    long alignment = step.unit == ChronoUnit.WEEKS ? FIRST_MONDAY : 0L;
+	    long first = (Math.floorDiv(minEpochMilli - alignment, stepMillis) * stepMillis) + alignment;
+	    if (first < minEpochMilli) {
+		first += stepMillis;
+	    }
+	    for (long current = first; current <= maxEpochMilli; current += stepMillis) {
+		ticks = add(ticks, count++, current);
+	    }
+	}
+	return Arrays.copyOf(ticks, count);
+    }
+
+    private static long[] add(long[] ticks, int index, long tick) {
+	if (index == ticks.length) {
+	    ticks = Arrays.copyOf(ticks, ticks.length * 2);
+	}
+	ticks[index] = tick;
+	return ticks;
+    }
+
+    /**
+     * Formats a tick.
+     *
+     * @param epochMilli is the tick in epoch milliseconds.
+     * @param step       is the step the tick was calculated with.
+     * @return The label of the tick is returned.
+     */
+    public static String format(long epochMilli, TickStep step) {
+	return step.getFormatter().format(Instant.ofEpochMilli(epochMilli));
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.puresoltechnologies.javafx.charts.utils;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.LongFunction;
+
+/**
+ * This class caches the labels of axis ticks, so that they are only formatted
+ * once and not on every draw. The ticks are identified by a <code>long</code>
+ * key, like the epoch milliseconds of a time tick or the index of a number
+ * tick, and the labels are valid for one format, like the accuracy of a number
+ * axis. Changing the format drops all labels.
+ * <p>
+ * The cache is direct mapped: every key has exactly one slot, and a key taking
+ * the slot of another one replaces it. This keeps lookups free of allocations,
+ * so redrawing an unchanged axis does not create any garbage. The capacity only
+ * needs to exceed the number of ticks visible at once. The cache must only be
+ * used from one thread.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class TickLabelCache {
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final long[] keys;
+    private final String[] labels;
+    private final int mask;
+    private Object format = null;
+
+    public TickLabelCache() {
+	this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity is the number of labels to be kept. It is rounded up to
+     *                 the next power of two.
+     */
+    public TickLabelCache(int capacity) {
+	super();
+	if ((capacity < 1) || (capacity > (1 << 24))) {
+	    throw new IllegalArgumentException("Capacity " + capacity + " is not within [1, 2^24].");
+	}
+	int size = Integer.highestOneBit(capacity);
+	if (size < capacity) {
+	    size <<= 1;
+	}
+	keys = new long[size];
+	labels = new String[size];
+	mask = size - 1;
+    }
+
+    /**
+     * Returns the label of a tick and formats it in case it is not cached.
+     *
+     * @param key       is the key of the tick.
+     * @param format    is the format of the labels. It is compared with
+     *                  {@link Object#equals(Object)} to the format of the
+     *                  cached labels, which are dropped in case it differs.
+     * @param formatter is the function to format the label of a key. It should
+     *                  be kept in a field instead of passing a new lambda on
+     *                  every call.
+     * @return The label is returned.
+     */
+    public String getLabel(long key, Object format, LongFunction<String> formatter) {
+	if (!Objects.equals(this.format, format)) {
+	    clear();
+	    this.format = format;
+	}
+	// Fibonacci hashing spreads consecutive keys and multiples of a step
+	int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+	String label = labels[slot];
+	if ((label == null) || (keys[slot] != key)) {
+	    label = formatter.apply(key);
+	    keys[slot] = key;
+	    labels[slot] = label;
+	}
+	return label;
+    }
+
+    /**
+     * Removes all labels.
+     */
+    public void clear() {
+	Arrays.fill(labels, null);
+	format = null;
+    }
+
+}
@@ -10,9 +10,11 @@ module com.puresoltechnologies.javafx.charts {
 
     exports com.puresoltechnologies.javafx.charts;
     exports com.puresoltechnologies.javafx.charts.axes;
+    exports com.puresoltechnologies.javafx.charts.data;
     exports com.puresoltechnologies.javafx.charts.meter;
     exports com.puresoltechnologies.javafx.charts.plots;
     exports com.puresoltechnologies.javafx.charts.plots.box;
+    exports com.puresoltechnologies.javafx.charts.plots.density;
     exports com.puresoltechnologies.javafx.charts.plots.ohlc;
     exports com.puresoltechnologies.javafx.charts.plots.timeseries;
     exports com.puresoltechnologies.javafx.charts.plots.xy;
@@ -0,0 +1,79 @@
+package com.puresoltechnologies.javafx.charts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+public class HitIndexTest {
+
+    @Test
+    public void testFind() {
+	Object owner = new Object();
+	HitIndex index = new HitIndex();
+	index.reset(200.0, 100.0);
+	for (int i = 0; i < 1000; i++) {
+	    index.add(i * 0.2, 50.0, 4.0, 4.0, owner, i);
+	}
+	assertEquals(1000, index.size());
+	int entry = index.find(100.0, 52.0);
+	assertSame(owner, index.getOwner(entry));
+	// the topmost entry is the last one containing the position, bounds are
+	// inclusive
+	assertEquals(500, index.getIndex(entry));
+	assertEquals(-1, index.find(100.0, 10.0));
+	assertEquals(-1, index.find(-1.0, 52.0));
+	assertEquals(-1, index.find(300.0, 52.0));
+    }
+
+    @Test
+    public void testOverlappingCells() {
+	HitIndex index = new HitIndex();
+	index.reset(100.0, 100.0);
+	index.add(10.0, 10.0, 80.0, 80.0, "large", -1);
+	index.add(40.0, 40.0, 10.0, 10.0, "small", -1);
+	assertEquals("large", index.getOwner(index.find(15.0, 85.0)));
+	assertEquals("small", index.getOwner(index.find(45.0, 45.0)));
+	assertEquals(-1, index.find(5.0, 5.0));
+    }
+
+    @Test
+    public void testReset() {
+	HitIndex index = new HitIndex();
+	index.reset(100.0, 100.0);
+	index.add(10.0, 10.0, 10.0, 10.0, "entry", -1);
+	index.reset(400.0, 400.0);
+	assertEquals(0, index.size());
+	assertEquals(-1, index.find(15.0, 15.0));
+	assertThrows(IndexOutOfBoundsException.class, () -> index.getOwner(0));
+	index.add(350.0, 350.0, 10.0, 10.0, "entry", 7);
+	assertEquals(7, index.getIndex(index.find(355.0, 355.0)));
+    }
+
+    @Test
+    public void testPointsAreRecordedOncePerPixel() {
+	HitIndex index = new HitIndex();
+	index.reset(100.0, 100.0);
+	for (int i = 0; i < 100000; i++) {
+	    index.addPoint(50.0 + ((i % 100) / 1000.0), 50.5, 4.0, "plot", i);
+	}
+	assertEquals(1, index.size());
+	int entry = index.find(51.0, 51.0);
+	// the point drawn last is on top
+	assertEquals(99999, index.getIndex(entry));
+	assertEquals(46.0, index.getX(entry));
+	for (int i = 0; i < 10000; i++) {
+	    index.addPoint(i % 100, i / 100, 0.5, "plot", i);
+	}
+	assertEquals(10000, index.size());
+	assertEquals(5050, index.getIndex(index.find(50.2, 50.2)));
+	index.reset(100.0, 100.0);
+	index.addPoint(50.0, 50.0, 4.0, "plot", 1);
+	assertEquals(1, index.size());
+	index.addPoint(Double.NaN, 50.0, 4.0, "plot", 2);
+	index.addPoint(500.0, 50.0, 4.0, "plot", 3);
+	assertEquals(1, index.size());
+    }
+
+}
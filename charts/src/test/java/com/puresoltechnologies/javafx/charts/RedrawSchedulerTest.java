@@ -0,0 +1,91 @@
+package com.puresoltechnologies.javafx.charts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The scheduler is driven by calling its pulse directly instead of an
+ * animation timer, so the tests do not need a running toolkit.
+ */
+public class RedrawSchedulerTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    private RedrawScheduler scheduler;
+    private int redraws = 0;
+    private int starts = 0;
+    private int stops = 0;
+
+    @BeforeEach
+    public void createScheduler() {
+	scheduler = new RedrawScheduler(() -> redraws++, () -> starts++, () -> stops++);
+    }
+
+    @Test
+    public void testRequestsAreCoalesced() {
+	scheduler.requestRedraw();
+	scheduler.requestRedraw();
+	scheduler.requestRedraw();
+	assertEquals(1, starts);
+	assertEquals(0, redraws);
+	scheduler.onPulse(1_000 * MILLIS);
+	assertEquals(1, redraws);
+	// a pulse without requests stops the pulses until the next request
+	scheduler.onPulse(2_000 * MILLIS);
+	assertEquals(1, redraws);
+	assertEquals(1, stops);
+	scheduler.requestRedraw();
+	scheduler.requestRedraw();
+	assertEquals(2, starts);
+	scheduler.onPulse(3_000 * MILLIS);
+	assertEquals(2, redraws);
+    }
+
+    @Test
+    public void testRequestDuringRedraw() {
+	scheduler = new RedrawScheduler(() -> {
+	    redraws++;
+	    scheduler.requestRedraw();
+	}, () -> starts++, () -> stops++);
+	scheduler.requestRedraw();
+	scheduler.onPulse(0L);
+	// the request is drawn with the next pulse without restarting the pulses
+	assertEquals(1, redraws);
+	assertEquals(1, starts);
+	scheduler.onPulse(1_000 * MILLIS);
+	assertEquals(2, redraws);
+	assertEquals(0, stops);
+    }
+
+    @Test
+    public void testFrameRateCap() {
+	scheduler.setMaxFrameRate(10.0);
+	scheduler.requestRedraw();
+	// the first redraw is not delayed, whatever the time of the pulse is
+	scheduler.onPulse(-5 * MILLIS);
+	assertEquals(1, redraws);
+	scheduler.requestRedraw();
+	scheduler.onPulse(11 * MILLIS);
+	scheduler.onPulse(50 * MILLIS);
+	scheduler.onPulse(94 * MILLIS);
+	// the request is kept, so the pulses go on
+	assertEquals(1, redraws);
+	assertEquals(0, stops);
+	scheduler.onPulse(95 * MILLIS);
+	assertEquals(2, redraws);
+	scheduler.onPulse(200 * MILLIS);
+	assertEquals(2, redraws);
+	assertEquals(1, stops);
+	// without a limit, there is one redraw per pulse at most
+	scheduler.setMaxFrameRate(0.0);
+	scheduler.requestRedraw();
+	scheduler.onPulse(201 * MILLIS);
+	scheduler.requestRedraw();
+	scheduler.requestRedraw();
+	scheduler.onPulse(202 * MILLIS);
+	assertEquals(4, redraws);
+    }
+
+}
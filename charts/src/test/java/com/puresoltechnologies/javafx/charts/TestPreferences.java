@@ -0,0 +1,29 @@
+package com.puresoltechnologies.javafx.charts;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+import com.puresoltechnologies.javafx.preferences.Preferences;
+
+/**
+ * Axes read their fonts from the {@link Preferences}. The tests use an empty
+ * temporary directory for them, so that the defaults are used and the
+ * preferences of the user are not touched.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public final class TestPreferences {
+
+    public static synchronized void initialize() throws IOException {
+	if (Preferences.isInitialized()) {
+	    return;
+	}
+	System.setProperty(Preferences.PREFERENCES_DIRECTORY_PROPERTY,
+		Files.createTempDirectory("test-preferences").toString());
+	Preferences.initialize();
+    }
+
+    private TestPreferences() {
+    }
+
+}
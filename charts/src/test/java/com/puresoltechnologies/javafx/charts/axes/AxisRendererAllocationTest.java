@@ -0,0 +1,136 @@
+package com.puresoltechnologies.javafx.charts.axes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.puresoltechnologies.javafx.charts.TestPreferences;
+import com.puresoltechnologies.javafx.charts.plots.Plot;
+import com.puresoltechnologies.javafx.charts.plots.timeseries.TimeSeriesPlot;
+import com.puresoltechnologies.javafx.charts.plots.xy.XYPlot;
+import com.puresoltechnologies.javafx.extensions.fonts.FontDefinition;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+
+/**
+ * Checks that the part of an axis redraw which does not need a graphics
+ * context, the thickness and the ticks with their labels, does not allocate
+ * anything for an unchanged axis. Texts cannot be measured without a running
+ * toolkit, so the renderers measure every text with the same fixed bounds.
+ * They count the measurements, because an unchanged axis must not measure
+ * again.
+ */
+public class AxisRendererAllocationTest {
+
+    private static final Bounds TEXT_BOUNDS = new BoundingBox(0.0, 0.0, 40.0, 12.0);
+    private static final int FRAMES = 10000;
+
+    private com.sun.management.ThreadMXBean threadMXBean;
+    private int measurements = 0;
+    private int measurementsAfterFirstFrame = 0;
+
+    @BeforeAll
+    public static void initializePreferences() throws IOException {
+	TestPreferences.initialize();
+    }
+
+    @BeforeEach
+    public void enableAllocationCounting() {
+	assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+	threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+	assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+	threadMXBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testNumberAxisDoesNotAllocate() {
+	NumberAxis<Double> xAxis = new NumberAxis<>("x", "m", AxisType.X, Double.class);
+	NumberAxis<Double> yAxis = new NumberAxis<>("y", "s", AxisType.Y, Double.class);
+	XYPlot<Double, Double> plot = new XYPlot<>("plot", xAxis, yAxis);
+	plot.add(-1.5, 0.25);
+	plot.add(123.4, 17.0);
+	ObservableList<Plot<?, ?, ?>> plots = FXCollections.observableArrayList(plot);
+	NumberAxisRenderer renderer = new NumberAxisRenderer((Axis<Number>) (Axis<?>) xAxis, plots) {
+	    @Override
+	    protected Bounds measureText(FontDefinition font, String text) {
+		measurements++;
+		return TEXT_BOUNDS;
+	    }
+	};
+	int ticks = renderer.calculateTicks(50.0, 400.0, 800.0, 30.0);
+	assertTrue(ticks > 1, "Only " + ticks + " ticks.");
+	assertEquals("-10", renderer.getTickTexts()[0]);
+	assertAllocationFree(() -> {
+	    double checksum = renderer.getTickness();
+	    int count = renderer.calculateTicks(50.0, 400.0, 800.0, 30.0);
+	    for (int i = 0; i < count; i++) {
+		checksum += renderer.getTickPositions()[i] + renderer.getTickTexts()[i].length();
+	    }
+	    return checksum;
+	});
+	assertEquals(0, measurements - measurementsAfterFirstFrame);
+    }
+
+    @Test
+    public void testInstantAxisDoesNotAllocate() {
+	TimeSeriesAxis xAxis = new TimeSeriesAxis("time", AxisType.X);
+	NumberAxis<Double> yAxis = new NumberAxis<>("value", "V", AxisType.Y, Double.class);
+	TimeSeriesPlot<Double, Object> plot = new TimeSeriesPlot<>("plot", xAxis, yAxis, item -> Instant.EPOCH,
+		item -> 0.0);
+	plot.add(1_500_000_000_000L, 1.0);
+	plot.add(1_500_000_000_000L + (6L * 3600L * 1000L), 2.0);
+	ObservableList<Plot<?, ?, ?>> plots = FXCollections.observableArrayList(plot);
+	InstantAxisRenderer renderer = new InstantAxisRenderer(xAxis, plots) {
+	    @Override
+	    protected Bounds measureText(FontDefinition font, String text) {
+		measurements++;
+		return TEXT_BOUNDS;
+	    }
+	};
+	int ticks = renderer.calculateTicks(50.0, 400.0, 800.0, 30.0);
+	assertTrue(ticks > 1, "Only " + ticks + " ticks.");
+	assertAllocationFree(() -> {
+	    double checksum = renderer.getTickness();
+	    int count = renderer.calculateTicks(50.0, 400.0, 800.0, 30.0);
+	    for (int i = 0; i < count; i++) {
+		checksum += renderer.getTickPositions()[i] + renderer.getTickTexts()[i].length();
+	    }
+	    return checksum;
+	});
+	assertEquals(0, measurements - measurementsAfterFirstFrame);
+    }
+
+    private interface Frame {
+	double draw();
+    }
+
+    private void assertAllocationFree(Frame frame) {
+	double checksum = frame.draw();
+	measurementsAfterFirstFrame = measurements;
+	// the first frames fill the caches and let the JIT compile the loop
+	for (int i = 0; i < FRAMES; i++) {
+	    checksum += frame.draw();
+	}
+	long threadId = Thread.currentThread().getId();
+	long before = threadMXBean.getThreadAllocatedBytes(threadId);
+	for (int i = 0; i < FRAMES; i++) {
+	    checksum += frame.draw();
+	}
+	long bytesPerFrame = (threadMXBean.getThreadAllocatedBytes(threadId) - before) / FRAMES;
+	assertTrue(checksum > 0.0);
+	assertTrue(bytesPerFrame < 16, bytesPerFrame + " bytes allocated per frame.");
+    }
+
+}
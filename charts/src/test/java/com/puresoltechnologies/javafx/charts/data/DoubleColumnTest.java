@@ -0,0 +1,60 @@
+package com.puresoltechnologies.javafx.charts.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class DoubleColumnTest {
+
+    @Test
+    public void testAddAcrossChunks() {
+	DoubleColumn column = new DoubleColumn();
+	assertTrue(column.isEmpty());
+	for (int i = 0; i < 100_000; i++) {
+	    column.add(i);
+	}
+	assertEquals(100_000, column.size());
+	for (int i = 0; i < 100_000; i++) {
+	    assertEquals(i, column.get(i));
+	}
+	assertThrows(IndexOutOfBoundsException.class, () -> column.get(100_000));
+    }
+
+    @Test
+    public void testRemoveFirst() {
+	DoubleColumn column = new DoubleColumn();
+	for (int i = 0; i < 50_000; i++) {
+	    column.add(i);
+	}
+	column.removeFirst(20_000);
+	assertEquals(30_000, column.size());
+	assertEquals(20_000.0, column.get(0));
+	assertEquals(49_999.0, column.get(29_999));
+	for (int i = 50_000; i < 60_000; i++) {
+	    column.add(i);
+	}
+	assertEquals(40_000, column.size());
+	assertEquals(59_999.0, column.get(39_999));
+	column.removeFirst(40_000);
+	assertTrue(column.isEmpty());
+	column.add(1.0);
+	assertEquals(1.0, column.get(0));
+    }
+
+    @Test
+    public void testCopyTo() {
+	DoubleColumn column = new DoubleColumn();
+	for (int i = 0; i < 40_000; i++) {
+	    column.add(i);
+	}
+	column.removeFirst(5);
+	double[] values = new double[30_000];
+	column.copyTo(1_000, 31_000, values, 0);
+	for (int i = 0; i < values.length; i++) {
+	    assertEquals(1_005.0 + i, values[i]);
+	}
+    }
+
+}
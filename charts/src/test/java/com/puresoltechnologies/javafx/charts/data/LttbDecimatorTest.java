@@ -0,0 +1,23 @@
+package com.puresoltechnologies.javafx.charts.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class LttbDecimatorTest {
+
+    @Test
+    public void testLttbKeepsFixedNumberOfPoints() {
+	ChunkedSeries series = new ChunkedSeries();
+	for (int i = 0; i < 100_000; i++) {
+	    series.add(i, i % 100);
+	}
+	ColumnarSeries decimated = new LttbDecimator().decimate(series, 0.0, 100_000.0, 500);
+	assertEquals(1_000, decimated.size());
+	assertEquals(0.0, decimated.getX(0));
+	assertEquals(99_999.0, decimated.getX(decimated.size() - 1));
+	assertTrue(decimated.isSortedByX());
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.puresoltechnologies.javafx.charts.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class M4DecimatorTest {
+
+    @Test
+    public void testSmallSeriesIsNotDecimated() {
+	ChunkedSeries series = new ChunkedSeries();
+	for (int i = 0; i < 100; i++) {
+	    series.add(i, i);
+	}
+	assertSame(series, new M4Decimator().decimate(series, 0.0, 99.0, 100));
+    }
+
+    @Test
+    public void testUnsortedSeriesIsNotDecimated() {
+	ChunkedSeries series = new ChunkedSeries();
+	for (int i = 0; i < 10_000; i++) {
+	    series.add(i % 2 == 0 ? i : -i, i);
+	}
+	assertSame(series, new M4Decimator().decimate(series, -10_000.0, 10_000.0, 100));
+    }
+
+    @Test
+    public void testExtremaPerColumnArePreserved() {
+	ChunkedSeries series = new ChunkedSeries();
+	int size = 1_000_000;
+	for (int i = 0; i < size; i++) {
+	    series.add(i, Math.sin(i / 1000.0) + ((i % 7 == 0) ? 0.5 : 0.0));
+	}
+	int columns = 1_000;
+	ColumnarSeries decimated = new M4Decimator().decimate(series, 0.0, size, columns);
+	assertTrue(decimated.size() <= 4 * columns);
+	assertTrue(decimated.isSortedByX());
+	assertEquals(0.0, decimated.getX(0));
+	assertEquals(size - 1.0, decimated.getX(decimated.size() - 1));
+	double globalMin = Double.MAX_VALUE;
+	double globalMax = -Double.MAX_VALUE;
+	for (int i = 0; i < size; i++) {
+	    globalMin = Math.min(globalMin, series.getY(i));
+	    globalMax = Math.max(globalMax, series.getY(i));
+	}
+	double decimatedMin = Double.MAX_VALUE;
+	double decimatedMax = -Double.MAX_VALUE;
+	for (int i = 0; i < decimated.size(); i++) {
+	    decimatedMin = Math.min(decimatedMin, decimated.getY(i));
+	    decimatedMax = Math.max(decimatedMax, decimated.getY(i));
+	}
+	assertEquals(globalMin, decimatedMin);
+	assertEquals(globalMax, decimatedMax);
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.puresoltechnologies.javafx.charts.data;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class MappedSeriesFileTest {
+
+    private Path file;
+
+    @BeforeEach
+    public void createFile() throws IOException {
+	file = Files.createTempFile("series", ".ptsf");
+    }
+
+    @AfterEach
+    public void deleteFile() throws IOException {
+	Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testReadWrite() throws IOException {
+	int rows = 10000;
+	long[] timestamps = new long[rows];
+	double[] sine = new double[rows];
+	double[] ramp = new double[rows];
+	for (int row = 0; row < rows; row++) {
+	    timestamps[row] = 1_500_000_000_000L + (row * 100L);
+	    sine[row] = Math.sin(row / 100.0);
+	    ramp[row] = row == 5 ? Double.NaN : row;
+	}
+	MappedSeriesFile.write(file, timestamps, sine, ramp);
+	try (MappedSeriesFile mapped = MappedSeriesFile.open(file)) {
+	    assertEquals(rows, mapped.size());
+	    assertEquals(2, mapped.getColumnCount());
+	    assertTrue(mapped.isSorted());
+	    assertEquals(timestamps[0], mapped.getFirstTimestamp());
+	    assertEquals(timestamps[rows - 1], mapped.getLastTimestamp());
+	    assertEquals(timestamps[0], mapped.getMinTimestamp());
+	    assertEquals(timestamps[rows - 1], mapped.getMaxTimestamp());
+	    assertEquals(0.0, mapped.getMinValue(1));
+	    assertEquals(rows - 1, mapped.getMaxValue(1));
+	    ColumnarSeries series = mapped.getSeries(0);
+	    assertEquals(rows, series.size());
+	    assertEquals(timestamps[1234], series.getX(1234));
+	    assertEquals(sine[1234], series.getY(1234));
+	    assertTrue(Double.isNaN(mapped.getSeries(1).getY(5)));
+	    assertEquals(3000, series.ceilingIndex(timestamps[3000] - 50.0));
+	    double[] x = new double[102];
+	    double[] y = new double[102];
+	    series.copyX(500, 600, x, 2);
+	    series.copyY(500, 600, y, 2);
+	    for (int i = 0; i < 100; i++) {
+		assertEquals(timestamps[500 + i], x[2 + i]);
+		assertEquals(sine[500 + i], y[2 + i]);
+	    }
+	    assertThrows(IndexOutOfBoundsException.class, () -> series.getY(rows));
+	    assertThrows(IndexOutOfBoundsException.class, () -> mapped.getSeries(2));
+	}
+    }
+
+    @Test
+    public void testUnsortedAndEmpty() throws IOException {
+	MappedSeriesFile.write(file, new long[] { 3, 1, 2 }, new double[] { 1.0, 2.0, 3.0 });
+	try (MappedSeriesFile mapped = MappedSeriesFile.open(file)) {
+	    assertFalse(mapped.isSorted());
+	    assertEquals(1, mapped.getMinTimestamp());
+	    assertEquals(3, mapped.getMaxTimestamp());
+	    double[] x = new double[3];
+	    mapped.getSeries(0).copyX(0, 3, x, 0);
+	    assertArrayEquals(new double[] { 3.0, 1.0, 2.0 }, x);
+	}
+	MappedSeriesFile.write(file, new long[0], new double[0]);
+	try (MappedSeriesFile mapped = MappedSeriesFile.open(file)) {
+	    assertEquals(0, mapped.size());
+	    assertTrue(Double.isNaN(mapped.getMinValue(0)));
+	    assertThrows(IndexOutOfBoundsException.class, () -> mapped.getMinTimestamp());
+	}
+    }
+
+    @Test
+    public void testInvalidFile() throws IOException {
+	Files.write(file, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, 21,
+		22, 23, 24 });
+	assertThrows(IOException.class, () -> MappedSeriesFile.open(file));
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.puresoltechnologies.javafx.charts.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class PyramidSeriesTest {
+
+    private static PyramidSeries createSeries(int size) {
+	PyramidSeries series = new PyramidSeries();
+	for (int i = 0; i < size; i++) {
+	    series.add(i, Math.sin(i / 1000.0) * 100.0);
+	}
+	return series;
+    }
+
+    private static double min(ColumnarSeries series) {
+	double min = Double.MAX_VALUE;
+	for (int i = 0; i < series.size(); i++) {
+	    min = Math.min(min, series.getY(i));
+	}
+	return min;
+    }
+
+    private static double max(ColumnarSeries series) {
+	double max = -Double.MAX_VALUE;
+	for (int i = 0; i < series.size(); i++) {
+	    max = Math.max(max, series.getY(i));
+	}
+	return max;
+    }
+
+    @Test
+    public void testSmallRangeIsNotAggregated() {
+	PyramidSeries series = createSeries(10000);
+	assertNull(series.select(0.0, 999.0, 500));
+    }
+
+    @Test
+    public void testSelectKeepsExtremaAndOrder() {
+	PyramidSeries series = createSeries(1000000);
+	ColumnarSeries selection = series.select(0.0, 999999.0, 1000);
+	assertNotNull(selection);
+	assertTrue(selection.size() <= 4 * 1000, "Too many points: " + selection.size());
+	assertTrue(selection.isSortedByX());
+	assertEquals(min(series), min(selection));
+	assertEquals(max(series), max(selection));
+	assertEquals(0.0, selection.getX(0));
+	assertEquals(999999.0, selection.getX(selection.size() - 1));
+    }
+
+    @Test
+    public void testSelectAfterRemoval() {
+	PyramidSeries series = createSeries(1000000);
+	series.removeFirst(500001);
+	for (int i = 1000000; i < 1100000; i++) {
+	    series.add(i, Math.sin(i / 1000.0) * 100.0);
+	}
+	ColumnarSeries selection = series.select(series.getX(0), series.getX(series.size() - 1), 500);
+	assertNotNull(selection);
+	assertTrue(selection.size() <= (4 * 500) + 8, "Too many points: " + selection.size());
+	assertEquals(max(series), max(selection));
+	assertEquals(1099999.0, selection.getX(selection.size() - 1));
+    }
+
+    /**
+     * The removed data points of a partially removed bucket must not show up,
+     * so they get extreme values here.
+     */
+    @Test
+    public void testRemovedPointsOfPartialBucketAreNotSelected() {
+	PyramidSeries series = new PyramidSeries();
+	for (int i = 0; i < 1000000; i++) {
+	    series.add(i, i < 1000 ? 1000.0 * ((i % 2) == 0 ? 1 : -1) : Math.sin(i / 1000.0));
+	}
+	// not aligned to any bucket size
+	series.removeFirst(999);
+	series.removeFirst(2);
+	ColumnarSeries selection = series.select(series.getX(0), series.getX(series.size() - 1), 100);
+	assertNotNull(selection);
+	assertEquals(min(series), min(selection));
+	assertEquals(max(series), max(selection));
+	assertEquals(1001.0, selection.getX(0));
+	// points added to the rebuilt bucket are taken into account
+	series.removeFirst(series.size() - 1);
+	series.add(1000000.0, 5.0);
+	for (int i = 1000001; i < 1100000; i++) {
+	    series.add(i, 0.0);
+	}
+	selection = series.select(series.getX(0), series.getX(series.size() - 1), 100);
+	assertEquals(5.0, max(selection));
+	assertEquals(min(series), min(selection));
+	assertEquals(999999.0, selection.getX(0));
+    }
+
+    @Test
+    public void testClear() {
+	PyramidSeries series = createSeries(100000);
+	series.clear();
+	assertEquals(0, series.size());
+	for (int i = 0; i < 100000; i++) {
+	    series.add(i, i);
+	}
+	ColumnarSeries selection = series.select(0.0, 99999.0, 100);
+	assertEquals(0.0, selection.getY(0));
+	assertEquals(99999.0, max(selection));
+    }
+
+}
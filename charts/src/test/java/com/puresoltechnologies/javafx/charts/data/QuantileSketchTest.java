@@ -0,0 +1,92 @@
+package com.puresoltechnologies.javafx.charts.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class QuantileSketchTest {
+
+    private static final double[] QUANTILES = { 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99 };
+
+    /**
+     * For uniformly distributed samples between 0 and 1 the value of a quantile
+     * is its rank, so the rank error can be checked directly.
+     */
+    private static void assertUniformQuantiles(QuantileSketch sketch) {
+	for (double quantile : QUANTILES) {
+	    assertEquals(quantile, sketch.getQuantile(quantile), 0.02, "Quantile " + quantile);
+	}
+    }
+
+    @Test
+    public void testEmpty() {
+	QuantileSketch sketch = new QuantileSketch();
+	assertTrue(sketch.isEmpty());
+	assertTrue(Double.isNaN(sketch.getQuantile(0.5)));
+	assertTrue(Double.isNaN(sketch.getMin()));
+	sketch.add(Double.NaN);
+	assertTrue(sketch.isEmpty());
+	assertThrows(IllegalArgumentException.class, () -> sketch.getQuantile(1.5));
+    }
+
+    @Test
+    public void testUniform() {
+	QuantileSketch sketch = new QuantileSketch();
+	Random random = new Random(42);
+	double min = 1.0;
+	double max = 0.0;
+	for (int i = 0; i < 1_000_000; i++) {
+	    double value = random.nextDouble();
+	    min = Math.min(min, value);
+	    max = Math.max(max, value);
+	    sketch.add(value);
+	}
+	assertEquals(1_000_000, sketch.getCount());
+	assertEquals(min, sketch.getQuantile(0.0));
+	assertEquals(max, sketch.getQuantile(1.0));
+	assertUniformQuantiles(sketch);
+    }
+
+    @Test
+    public void testSortedInput() {
+	QuantileSketch sketch = new QuantileSketch();
+	for (int i = 0; i < 100_000; i++) {
+	    sketch.add(i / 100_000.0);
+	}
+	assertUniformQuantiles(sketch);
+    }
+
+    @Test
+    public void testMerge() {
+	Random random = new Random(42);
+	QuantileSketch merged = new QuantileSketch();
+	for (int part = 0; part < 10; part++) {
+	    QuantileSketch sketch = new QuantileSketch();
+	    // every part covers another tenth of the range
+	    for (int i = 0; i < 50_000; i++) {
+		sketch.add((part + random.nextDouble()) / 10.0);
+	    }
+	    merged.merge(sketch);
+	}
+	assertEquals(500_000, merged.getCount());
+	assertUniformQuantiles(merged);
+	assertThrows(IllegalArgumentException.class, () -> merged.merge(new QuantileSketch(100)));
+    }
+
+    @Test
+    public void testClear() {
+	QuantileSketch sketch = new QuantileSketch();
+	for (int i = 0; i < 10_000; i++) {
+	    sketch.add(i);
+	}
+	sketch.clear();
+	assertTrue(sketch.isEmpty());
+	sketch.add(5.0);
+	assertEquals(5.0, sketch.getQuantile(0.5));
+    }
+
+}
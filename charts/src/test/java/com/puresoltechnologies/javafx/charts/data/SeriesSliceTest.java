@@ -0,0 +1,46 @@
+package com.puresoltechnologies.javafx.charts.data;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+public class SeriesSliceTest {
+
+    private static ChunkedSeries createSeries(int size) {
+	ChunkedSeries series = new ChunkedSeries();
+	for (int i = 0; i < size; i++) {
+	    series.add(2.0 * i, i);
+	}
+	return series;
+    }
+
+    @Test
+    public void testCeilingIndex() {
+	ChunkedSeries series = createSeries(100);
+	assertEquals(0, series.ceilingIndex(-1.0));
+	assertEquals(0, series.ceilingIndex(0.0));
+	assertEquals(1, series.ceilingIndex(0.5));
+	assertEquals(5, series.ceilingIndex(10.0));
+	assertEquals(99, series.ceilingIndex(198.0));
+	assertEquals(100, series.ceilingIndex(1000.0));
+    }
+
+    @Test
+    public void testSlice() {
+	ChunkedSeries series = createSeries(100);
+	SeriesSlice slice = new SeriesSlice();
+	slice.set(series, 10, 14);
+	assertEquals(4, slice.size());
+	assertEquals(20.0, slice.getX(0));
+	assertEquals(13.0, slice.getY(3));
+	double[] values = new double[4];
+	slice.copyY(1, 3, values, 1);
+	assertArrayEquals(new double[] { 0.0, 11.0, 12.0, 0.0 }, values);
+	assertEquals(2, slice.ceilingIndex(24.0));
+	assertThrows(IndexOutOfBoundsException.class, () -> slice.getX(4));
+	assertThrows(IndexOutOfBoundsException.class, () -> slice.set(series, 90, 101));
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.puresoltechnologies.javafx.charts.meter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+
+/**
+ * The canvas is driven by calling its pulse directly and the dial is not
+ * snapshot, so the tests do not need a running toolkit.
+ */
+public class MeterCanvasTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private MeterCanvas<Integer> meter;
+    private long now = 0L;
+    private int dialRenders = 0;
+    private int needleDraws = 0;
+
+    @BeforeEach
+    public void createMeter() {
+	meter = new MeterCanvas<Integer>(() -> {
+	}, () -> {
+	}) {
+	    @Override
+	    WritableImage renderDial(double width, double height, double scale) {
+		dialRenders++;
+		return null;
+	    }
+
+	    @Override
+	    void drawNeedle(GraphicsContext gc, double width, double height) {
+		needleDraws++;
+	    }
+	};
+	meter.setWidth(200.0);
+	meter.setHeight(100.0);
+	meter.setUnit("km/h");
+	meter.setStart(0);
+	meter.setEnd(100);
+	meter.setValue(50);
+	pulse();
+    }
+
+    private void pulse() {
+	now += SECOND;
+	meter.onPulse(now);
+    }
+
+    @Test
+    public void testValueOnlyRedrawsNeedle() {
+	assertEquals(1, dialRenders);
+	assertEquals(1, needleDraws);
+	meter.setValue(60);
+	meter.setValue(70);
+	pulse();
+	assertEquals(1, dialRenders);
+	assertEquals(2, needleDraws);
+	// nothing is drawn without changes
+	pulse();
+	assertEquals(2, needleDraws);
+    }
+
+    @Test
+    public void testDialChanges() {
+	meter.setWidth(300.0);
+	pulse();
+	assertEquals(2, dialRenders);
+	meter.setHeight(150.0);
+	pulse();
+	assertEquals(3, dialRenders);
+	meter.setUnit("m/s");
+	pulse();
+	assertEquals(4, dialRenders);
+	meter.setStart(10);
+	pulse();
+	assertEquals(5, dialRenders);
+	meter.setEnd(200);
+	pulse();
+	assertEquals(6, dialRenders);
+	assertEquals(6, needleDraws);
+	// all changes within a frame are drawn once
+	meter.setEnd(300);
+	meter.setUnit("mph");
+	meter.setValue(20);
+	pulse();
+	assertEquals(7, dialRenders);
+	assertEquals(7, needleDraws);
+	meter.setValue(30);
+	pulse();
+	assertEquals(7, dialRenders);
+	assertEquals(8, needleDraws);
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.puresoltechnologies.javafx.charts.plots;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import javafx.collections.ListChangeListener;
+
+public class ObservableRingBufferTest {
+
+    @Test
+    public void testRandomOperationsAgainstArrayList() {
+	Random random = new Random(4711);
+	ObservableRingBuffer<Integer> buffer = new ObservableRingBuffer<>();
+	List<Integer> reference = new ArrayList<>();
+	for (int i = 0; i < 20_000; i++) {
+	    int operation = random.nextInt(10);
+	    if ((operation < 5) || reference.isEmpty()) {
+		buffer.add(i);
+		reference.add(i);
+	    } else if (operation < 7) {
+		buffer.remove(0);
+		reference.remove(0);
+	    } else if (operation == 7) {
+		int index = random.nextInt(reference.size() + 1);
+		buffer.add(index, i);
+		reference.add(index, i);
+	    } else if (operation == 8) {
+		int index = random.nextInt(reference.size());
+		buffer.remove(index);
+		reference.remove(index);
+	    } else {
+		int index = random.nextInt(reference.size());
+		buffer.set(index, -i);
+		reference.set(index, -i);
+	    }
+	}
+	assertEquals(reference, buffer);
+    }
+
+    @Test
+    public void testSlidingWindowFiresSingleRemoval() {
+	ObservableRingBuffer<Integer> buffer = new ObservableRingBuffer<>();
+	for (int i = 0; i < 100; i++) {
+	    buffer.add(i);
+	}
+	List<String> changes = new ArrayList<>();
+	buffer.addListener((ListChangeListener<Integer>) change -> {
+	    while (change.next()) {
+		assertTrue(change.wasRemoved());
+		assertFalse(change.wasAdded());
+		changes.add(change.getFrom() + ":" + change.getRemovedSize());
+	    }
+	});
+	buffer.remove(0, 30);
+	assertEquals(List.of("0:30"), changes);
+	assertEquals(70, buffer.size());
+	assertEquals(Integer.valueOf(30), buffer.get(0));
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.puresoltechnologies.javafx.charts.plots;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.puresoltechnologies.javafx.charts.plots.RasterPlotRenderer.RasterTask;
+
+public class ParallelRasterizerTest {
+
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    public static void createPool() {
+	pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    public static void shutdownPool() {
+	pool.shutdown();
+    }
+
+    private static List<RasterTask> createTasks(int count) {
+	List<RasterTask> tasks = new ArrayList<>();
+	for (int i = 0; i < count; i++) {
+	    int offset = 2 * i;
+	    int argb = 0xFF000000 | (i * 0x0A0B0C);
+	    // overlapping rectangles, so the order of the tasks is visible
+	    tasks.add(raster -> {
+		raster.fillRect(offset, offset, 20.0, 20.0, argb);
+		raster.drawLine(0.0, offset, 63.0, 63.0 - offset, argb);
+	    });
+	}
+	return tasks;
+    }
+
+    @Test
+    public void testSameResultAsSequential() {
+	List<RasterTask> tasks = createTasks(10);
+	Raster expected = new Raster(64, 48);
+	expected.setClip(4, 4, 50, 40);
+	for (RasterTask task : tasks) {
+	    task.rasterize(expected);
+	}
+	ParallelRasterizer rasterizer = new ParallelRasterizer(pool);
+	Raster actual = new Raster();
+	// the second run reuses the rasters of the workers
+	for (int run = 0; run < 2; run++) {
+	    actual.resize(64, 48);
+	    actual.setClip(4, 4, 50, 40);
+	    rasterizer.rasterize(actual, tasks);
+	    for (int y = 0; y < 48; y++) {
+		for (int x = 0; x < 64; x++) {
+		    assertEquals(expected.getPixel(x, y), actual.getPixel(x, y), "Pixel (" + x + ", " + y + ")");
+		}
+	    }
+	}
+    }
+
+    @Test
+    public void testTranslucentLayers() {
+	List<RasterTask> tasks = new ArrayList<>();
+	tasks.add(raster -> raster.fillRect(0.0, 0.0, 4.0, 4.0, 0xFF0000FF));
+	tasks.add(raster -> raster.fillRect(0.0, 0.0, 4.0, 4.0, 0x80FF0000));
+	Raster raster = new Raster(4, 4);
+	new ParallelRasterizer(pool).rasterize(raster, tasks);
+	int pixel = raster.getPixel(2, 2);
+	assertEquals(0xFF, pixel >>> 24);
+	assertEquals(128, (pixel >> 16) & 0xFF, 1);
+	assertEquals(127, pixel & 0xFF, 1);
+    }
+
+}
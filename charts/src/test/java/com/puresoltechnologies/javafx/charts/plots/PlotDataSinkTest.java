@@ -0,0 +1,155 @@
+package com.puresoltechnologies.javafx.charts.plots;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.puresoltechnologies.javafx.charts.TestPreferences;
+import com.puresoltechnologies.javafx.charts.axes.AxisType;
+import com.puresoltechnologies.javafx.charts.axes.NumberAxis;
+import com.puresoltechnologies.javafx.charts.axes.TimeSeriesAxis;
+import com.puresoltechnologies.javafx.charts.plots.timeseries.TimeSeriesPlot;
+import com.puresoltechnologies.javafx.charts.plots.xy.XYPlot;
+import com.puresoltechnologies.javafx.charts.plots.xy.XYValue;
+
+/**
+ * The sink is driven by calling its pulse directly instead of an animation
+ * timer, so the tests do not need a running toolkit.
+ */
+public class PlotDataSinkTest {
+
+    private TimeSeriesPlot<Double, Instant> plot;
+    private PlotDataSink<Instant> sink;
+    private int starts = 0;
+    private int stops = 0;
+    private Runnable onStop = null;
+
+    @BeforeAll
+    public static void initializePreferences() throws IOException {
+	TestPreferences.initialize();
+    }
+
+    @BeforeEach
+    public void createSink() {
+	plot = new TimeSeriesPlot<>("plot", new TimeSeriesAxis("time", AxisType.X),
+		new NumberAxis<>("value", "", AxisType.Y, Double.class), time -> time,
+		time -> (double) time.getEpochSecond());
+	sink = new PlotDataSink<>(plot, () -> starts++, () -> {
+	    stops++;
+	    if (onStop != null) {
+		onStop.run();
+	    }
+	});
+    }
+
+    private static Instant seconds(long seconds) {
+	return Instant.ofEpochSecond(seconds);
+    }
+
+    private void addSeconds(int from, int to) {
+	sink.addAll(IntStream.range(from, to).mapToObj(PlotDataSinkTest::seconds).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testSamplesAreFlushedOncePerPulse() {
+	sink.add(seconds(1));
+	sink.add(seconds(2));
+	addSeconds(3, 5);
+	assertEquals(1, starts);
+	assertTrue(plot.getData().isEmpty());
+	sink.onPulse();
+	assertEquals(Arrays.asList(seconds(1), seconds(2), seconds(3), seconds(4)), plot.getData());
+	assertEquals(0, stops);
+	// a pulse without samples stops the pulses until the next sample
+	sink.onPulse();
+	assertEquals(1, stops);
+	assertEquals(4, plot.getData().size());
+	sink.add(seconds(5));
+	assertEquals(2, starts);
+	sink.onPulse();
+	assertEquals(seconds(5), plot.getData().get(4));
+    }
+
+    @Test
+    public void testSampleAddedWhileStopping() {
+	sink.add(seconds(1));
+	sink.onPulse();
+	// the sample arrives after the queue was found empty
+	onStop = () -> sink.add(seconds(2));
+	sink.onPulse();
+	onStop = null;
+	assertEquals(1, stops);
+	// the pulses are started again, so the sample is not lost
+	assertEquals(2, starts);
+	sink.onPulse();
+	assertEquals(Arrays.asList(seconds(1), seconds(2)), plot.getData());
+	sink.onPulse();
+	assertEquals(2, stops);
+	assertEquals(2, starts);
+    }
+
+    @Test
+    public void testMaxSize() {
+	sink.setMaxSize(5);
+	addSeconds(0, 3);
+	sink.onPulse();
+	assertEquals(3, plot.getData().size());
+	addSeconds(3, 7);
+	sink.onPulse();
+	assertEquals(Arrays.asList(seconds(2), seconds(3), seconds(4), seconds(5), seconds(6)), plot.getData());
+	assertEquals(seconds(2), plot.getMinX());
+	// only the last samples of a large batch are added at all
+	addSeconds(7, 1000);
+	sink.onPulse();
+	assertEquals(Arrays.asList(seconds(995), seconds(996), seconds(997), seconds(998), seconds(999)),
+		plot.getData());
+	assertEquals(seconds(995), plot.getMinX());
+	assertEquals(Double.valueOf(999.0), plot.getMaxY());
+	assertThrows(IllegalArgumentException.class, () -> sink.setMaxSize(-1));
+    }
+
+    @Test
+    public void testMaxAge() {
+	sink.setMaxAge(Duration.ofSeconds(10));
+	sink.add(seconds(0));
+	sink.add(seconds(5));
+	sink.add(seconds(9));
+	sink.onPulse();
+	assertEquals(3, plot.getData().size());
+	sink.add(seconds(15));
+	sink.onPulse();
+	// samples exactly at the border are kept
+	assertEquals(Arrays.asList(seconds(5), seconds(9), seconds(15)), plot.getData());
+	sink.setMaxSize(2);
+	sink.add(seconds(16));
+	sink.onPulse();
+	// the stricter of both windows wins
+	assertEquals(Arrays.asList(seconds(15), seconds(16)), plot.getData());
+	sink.setMaxSize(0);
+	sink.add(seconds(100));
+	sink.onPulse();
+	assertEquals(Arrays.asList(seconds(100)), plot.getData());
+    }
+
+    @Test
+    public void testMaxAgeNeedsTimeAxis() {
+	XYPlot<Double, Double> xyPlot = new XYPlot<>("plot", new NumberAxis<>("x", "", AxisType.X, Double.class),
+		new NumberAxis<>("y", "", AxisType.Y, Double.class));
+	PlotDataSink<XYValue<Double, Double>> xySink = new PlotDataSink<>(xyPlot, () -> {
+	}, () -> {
+	});
+	assertThrows(IllegalStateException.class, () -> xySink.setMaxAge(Duration.ofSeconds(1)));
+    }
+
+}
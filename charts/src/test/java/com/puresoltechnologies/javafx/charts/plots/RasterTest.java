@@ -0,0 +1,79 @@
+package com.puresoltechnologies.javafx.charts.plots;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import javafx.scene.paint.Color;
+
+public class RasterTest {
+
+    private static final int RED = 0xFFFF0000;
+    private static final int BLUE = 0xFF0000FF;
+
+    @Test
+    public void testFillRect() {
+	Raster raster = new Raster(10, 10);
+	raster.fillRect(1.6, 2.0, 3.0, 2.0, RED);
+	assertEquals(0, raster.getPixel(1, 2));
+	assertEquals(RED, raster.getPixel(2, 2));
+	assertEquals(RED, raster.getPixel(4, 3));
+	assertEquals(0, raster.getPixel(5, 3));
+	assertEquals(0, raster.getPixel(2, 4));
+	// clipped at the borders
+	raster.fillRect(-5.0, -5.0, 100.0, 100.0, BLUE);
+	assertEquals(BLUE, raster.getPixel(0, 0));
+	assertEquals(BLUE, raster.getPixel(9, 9));
+	assertThrows(IndexOutOfBoundsException.class, () -> raster.getPixel(10, 0));
+    }
+
+    @Test
+    public void testDrawLine() {
+	Raster raster = new Raster(10, 10);
+	raster.drawLine(0.0, 0.0, 9.0, 9.0, RED);
+	for (int i = 0; i < 10; i++) {
+	    assertEquals(RED, raster.getPixel(i, i));
+	}
+	assertEquals(0, raster.getPixel(1, 0));
+	// a line far outside the raster is clipped to it
+	raster.clear();
+	raster.drawLine(-1.0e9, 5.0, 1.0e9, 5.0, BLUE);
+	for (int i = 0; i < 10; i++) {
+	    assertEquals(BLUE, raster.getPixel(i, 5));
+	    assertEquals(0, raster.getPixel(i, 4));
+	}
+	raster.drawLine(Double.NaN, 0.0, 5.0, 5.0, RED);
+	assertEquals(0, raster.getPixel(0, 0));
+    }
+
+    @Test
+    public void testClip() {
+	Raster raster = new Raster(10, 10);
+	raster.setClip(2, 2, 4, 4);
+	raster.fillRect(0.0, 0.0, 10.0, 10.0, RED);
+	raster.drawLine(0.0, 8.0, 9.0, 8.0, RED);
+	assertEquals(0, raster.getPixel(1, 1));
+	assertEquals(RED, raster.getPixel(2, 2));
+	assertEquals(RED, raster.getPixel(5, 5));
+	assertEquals(0, raster.getPixel(6, 5));
+	assertEquals(0, raster.getPixel(3, 8));
+    }
+
+    @Test
+    public void testBlend() {
+	Raster raster = new Raster(2, 1);
+	raster.fillRect(0.0, 0.0, 2.0, 1.0, Raster.toArgb(Color.BLUE, 1.0));
+	raster.fillRect(0.0, 0.0, 1.0, 1.0, Raster.toArgb(Color.RED, 0.5));
+	int pixel = raster.getPixel(0, 0);
+	assertEquals(0xFF, pixel >>> 24);
+	assertEquals(128, (pixel >> 16) & 0xFF, 1);
+	assertEquals(127, pixel & 0xFF, 1);
+	assertEquals(BLUE, raster.getPixel(1, 0));
+	// translucent over transparent keeps the color
+	raster.clear();
+	raster.fillRect(0.0, 0.0, 1.0, 1.0, 0x80FF0000);
+	assertEquals(0x80FF0000, raster.getPixel(0, 0));
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.puresoltechnologies.javafx.charts.plots;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class SlidingExtremaTest {
+
+    @Test
+    public void testEmpty() {
+	SlidingExtrema<Double> extrema = new SlidingExtrema<>();
+	assertNull(extrema.getMin());
+	assertNull(extrema.getMax());
+	extrema.add(1.0);
+	extrema.removeFirst(1);
+	assertEquals(0, extrema.size());
+	assertNull(extrema.getMin());
+	assertNull(extrema.getMax());
+    }
+
+    @Test
+    public void testSlidingWindowAgainstFullScan() {
+	Random random = new Random(42);
+	SlidingExtrema<Double> extrema = new SlidingExtrema<>();
+	Deque<Double> window = new ArrayDeque<>();
+	for (int i = 0; i < 10_000; i++) {
+	    double value = Math.round(random.nextGaussian() * 100.0);
+	    extrema.add(value);
+	    window.addLast(value);
+	    if (window.size() > 100) {
+		int count = 1 + random.nextInt(3);
+		for (int j = 0; j < count; j++) {
+		    window.removeFirst();
+		}
+		extrema.removeFirst(count);
+	    }
+	    assertEquals(window.size(), extrema.size());
+	    assertEquals(Collections.min(window), extrema.getMin());
+	    assertEquals(Collections.max(window), extrema.getMax());
+	}
+    }
+
+    @Test
+    public void testNullValuesAreIgnored() {
+	SlidingExtrema<Integer> extrema = new SlidingExtrema<>();
+	extrema.add(null);
+	extrema.add(5);
+	extrema.add(null);
+	assertEquals(3, extrema.size());
+	assertEquals(Integer.valueOf(5), extrema.getMin());
+	extrema.removeFirst(2);
+	assertNull(extrema.getMax());
+    }
+
+    @Test
+    public void testReplaceLastAgainstFullScan() {
+	Random random = new Random(42);
+	SlidingExtrema<Double> extrema = new SlidingExtrema<>();
+	Deque<Double> window = new ArrayDeque<>();
+	for (int i = 0; i < 10_000; i++) {
+	    double value = Math.round(random.nextGaussian() * 100.0);
+	    if (!window.isEmpty() && random.nextBoolean()) {
+		window.removeLast();
+		extrema.replaceLast(value);
+	    } else {
+		extrema.add(value);
+	    }
+	    window.addLast(value);
+	    if (window.size() > 100) {
+		window.removeFirst();
+		extrema.removeFirst(1);
+	    }
+	    assertEquals(window.size(), extrema.size());
+	    assertEquals(Collections.min(window), extrema.getMin());
+	    assertEquals(Collections.max(window), extrema.getMax());
+	}
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.puresoltechnologies.javafx.charts.plots.box;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.puresoltechnologies.javafx.charts.HitIndex;
+import com.puresoltechnologies.javafx.charts.TestPreferences;
+import com.puresoltechnologies.javafx.charts.axes.Axis;
+import com.puresoltechnologies.javafx.charts.axes.AxisType;
+import com.puresoltechnologies.javafx.charts.axes.NumberAxis;
+import com.puresoltechnologies.javafx.charts.axes.NumberAxisRenderer;
+import com.puresoltechnologies.javafx.charts.axes.OrdinalAxis;
+import com.puresoltechnologies.javafx.charts.axes.OridinalAxisRenderer;
+import com.puresoltechnologies.javafx.charts.plots.Plot;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.paint.Color;
+
+public class BoxPlotRendererTest {
+
+    @BeforeAll
+    public static void initializePreferences() throws IOException {
+	TestPreferences.initialize();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testCategoriesArePlacedSideBySide() {
+	OrdinalAxis<String> xAxis = new OrdinalAxis<>("category", "", AxisType.X, String.class);
+	NumberAxis<Double> yAxis = new NumberAxis<>("value", "", AxisType.Y, Double.class);
+	BoxPlot<String> plot = new BoxPlot<>("plot", xAxis, yAxis);
+	plot.setColor(Color.BLUE);
+	plot.add("c", new double[] { 1.0, 2.0, 3.0 });
+	plot.add("a", new double[] { 2.0, 4.0, 6.0 });
+	plot.add("b", new double[] { 0.0, 5.0, 10.0 });
+	ObservableList<Plot<?, ?, ?>> plots = FXCollections.observableArrayList(plot);
+	BoxPlotRenderer<String, OridinalAxisRenderer> renderer = new BoxPlotRenderer<>(plot,
+		new OridinalAxisRenderer((Axis<Comparable<Object>>) (Axis<?>) xAxis, plots),
+		new NumberAxisRenderer((Axis<Number>) (Axis<?>) yAxis, plots));
+	HitIndex hitIndex = new HitIndex();
+	hitIndex.reset(400.0, 300.0);
+	renderer.setHitIndex(hitIndex);
+	renderer.renderTo(new Canvas(400.0, 300.0), 100.0, 0.0, 300.0, 300.0);
+
+	assertEquals(3, hitIndex.size());
+	double lastCenter = Double.NEGATIVE_INFINITY;
+	// the categories are ordered, "a" is data item 1, "b" is 2 and "c" is 0
+	for (int index : new int[] { 1, 2, 0 }) {
+	    int entry = findEntry(hitIndex, index);
+	    double center = hitIndex.getX(entry) + (hitIndex.getWidth(entry) / 2.0);
+	    assertTrue(center > lastCenter, "Category " + index + " is not right of the previous one.");
+	    assertTrue((center > 100.0) && (center < 400.0), "Category " + index + " is outside at " + center + ".");
+	    lastCenter = center;
+	}
+	// each category is centered in a band of a third of the width
+	assertEquals(150.0, hitIndex.getX(findEntry(hitIndex, 1)) + (hitIndex.getWidth(findEntry(hitIndex, 1)) / 2.0),
+		1e-9);
+	assertEquals(350.0, hitIndex.getX(findEntry(hitIndex, 0)) + (hitIndex.getWidth(findEntry(hitIndex, 0)) / 2.0),
+		1e-9);
+    }
+
+    private static int findEntry(HitIndex hitIndex, int index) {
+	for (int entry = 0; entry < hitIndex.size(); entry++) {
+	    if (hitIndex.getIndex(entry) == index) {
+		return entry;
+	    }
+	}
+	throw new AssertionError("No entry for data item " + index + ".");
+    }
+
+}
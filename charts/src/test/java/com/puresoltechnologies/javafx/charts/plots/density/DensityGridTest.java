@@ -0,0 +1,96 @@
+package com.puresoltechnologies.javafx.charts.plots.density;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.puresoltechnologies.javafx.charts.data.ArraySeries;
+
+public class DensityGridTest {
+
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    public static void createPool() {
+	pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    public static void shutdownPool() {
+	pool.shutdown();
+    }
+
+    private static ArraySeries createSeries(double[] x, double[] y) {
+	ArraySeries series = new ArraySeries(x.length);
+	for (int i = 0; i < x.length; i++) {
+	    series.add(x[i], y[i]);
+	}
+	return series;
+    }
+
+    @Test
+    public void testBinning() {
+	ArraySeries series = createSeries(new double[] { 0.0, 0.5, 1.5, 9.9, 10.0, -0.1, Double.NaN },
+		new double[] { 0.0, 0.2, 0.0, 4.9, 0.0, 0.0, 1.0 });
+	DensityGrid grid = new DensityGrid(pool);
+	// 1 column per x unit, y is flipped like on screen
+	grid.bin(series, 10, 5, 0.0, 1.0, 4.999, -1.0);
+	assertEquals(2, grid.getCount(0, 4));
+	assertEquals(1, grid.getCount(1, 4));
+	assertEquals(1, grid.getCount(9, 0));
+	assertEquals(2, grid.getMaxCount());
+	int total = 0;
+	for (int row = 0; row < 5; row++) {
+	    for (int column = 0; column < 10; column++) {
+		total += grid.getCount(column, row);
+	    }
+	}
+	assertEquals(4, total);
+	int[] pixels = new int[50];
+	grid.colorize(new int[] { 1, 2, 3 }, pixels);
+	assertEquals(3, pixels[40]);
+	assertEquals(1, pixels[41]);
+	assertEquals(0, pixels[42]);
+    }
+
+    @Test
+    public void testParallelBinning() {
+	int size = 10 * DensityGrid.PARALLEL_THRESHOLD;
+	double[] x = new double[size];
+	double[] y = new double[size];
+	Random random = new Random(42);
+	for (int i = 0; i < size; i++) {
+	    x[i] = random.nextGaussian();
+	    y[i] = random.nextGaussian();
+	}
+	ArraySeries series = createSeries(x, y);
+	int[] expected = new int[64 * 48];
+	for (int i = 0; i < size; i++) {
+	    double column = 32.0 + (8.0 * x[i]);
+	    double row = 24.0 - (8.0 * y[i]);
+	    if ((column >= 0.0) && (column < 64.0) && (row >= 0.0) && (row < 48.0)) {
+		expected[((int) row * 64) + (int) column]++;
+	    }
+	}
+	// the second run bins a snapshot, like the raster task does
+	ArraySeries snapshot = new ArraySeries();
+	snapshot.setAll(series);
+	DensityGrid grid = new DensityGrid(pool);
+	// the second run reuses the bins of the workers
+	for (int run = 0; run < 2; run++) {
+	    grid.bin(run == 0 ? series : snapshot, 64, 48, 32.0, 8.0, 24.0, -8.0);
+	    for (int row = 0; row < 48; row++) {
+		for (int column = 0; column < 64; column++) {
+		    assertEquals(expected[(row * 64) + column], grid.getCount(column, row),
+			    "Bin (" + column + ", " + row + ")");
+		}
+	    }
+	}
+    }
+
+}
@@ -0,0 +1,186 @@
+package com.puresoltechnologies.javafx.charts.plots.ohlc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.puresoltechnologies.javafx.charts.TestPreferences;
+import com.puresoltechnologies.javafx.charts.axes.AxisType;
+import com.puresoltechnologies.javafx.charts.axes.NumberAxis;
+import com.puresoltechnologies.javafx.charts.axes.TimeSeriesAxis;
+
+import javafx.collections.ListChangeListener;
+
+/**
+ * The aggregator is driven by calling its pulse directly instead of an
+ * animation timer, so the tests do not need a running toolkit.
+ */
+public class OHLCAggregatorTest {
+
+    private static final long MINUTE = 60_000L;
+
+    private OHLCPlot<Double> plot;
+    private OHLCAggregator aggregator;
+    private int starts = 0;
+    private int stops = 0;
+    private int replacements = 0;
+    private int additions = 0;
+
+    @BeforeAll
+    public static void initializePreferences() throws IOException {
+	TestPreferences.initialize();
+    }
+
+    @BeforeEach
+    public void createAggregator() {
+	plot = new OHLCPlot<>("plot", new TimeSeriesAxis("time", AxisType.X),
+		new NumberAxis<>("price", "", AxisType.Y, Double.class));
+	plot.data().addListener((ListChangeListener<OHLCValue<Double>>) change -> {
+	    while (change.next()) {
+		if (change.wasReplaced()) {
+		    replacements++;
+		} else if (change.wasAdded()) {
+		    additions += change.getAddedSize();
+		}
+	    }
+	});
+	aggregator = new OHLCAggregator(plot, Duration.ofMinutes(1), () -> starts++, () -> stops++);
+    }
+
+    private void tick(long millis, double price) {
+	aggregator.add(Instant.ofEpochMilli(millis), price, 1.0);
+    }
+
+    private static void assertCandle(OHLCValue<Double> candle, long start, double open, double high, double low,
+	    double close, double volume) {
+	assertEquals(Instant.ofEpochMilli(start), candle.getStart());
+	assertEquals(Instant.ofEpochMilli(start + MINUTE), candle.getEnd());
+	assertEquals(Double.valueOf(open), candle.getOpen());
+	assertEquals(Double.valueOf(high), candle.getHigh());
+	assertEquals(Double.valueOf(low), candle.getLow());
+	assertEquals(Double.valueOf(close), candle.getClose());
+	assertEquals(volume, candle.getVolume());
+    }
+
+    @Test
+    public void testBucketBoundaries() {
+	tick(-1L, 1.0);
+	tick(0L, 2.0);
+	tick(MINUTE - 1L, 3.0);
+	tick(MINUTE, 4.0);
+	tick(MINUTE + 30_000L, 5.0);
+	aggregator.onPulse();
+	List<OHLCValue<Double>> data = plot.getData();
+	assertEquals(3, data.size());
+	// candles are aligned to multiples of the interval, before the epoch, too
+	assertCandle(data.get(0), -MINUTE, 1.0, 1.0, 1.0, 1.0, 1.0);
+	assertCandle(data.get(1), 0L, 2.0, 3.0, 2.0, 3.0, 2.0);
+	assertCandle(data.get(2), MINUTE, 4.0, 5.0, 4.0, 5.0, 2.0);
+	assertEquals(1, starts);
+    }
+
+    @Test
+    public void testOpenCandleIsUpdatedInPlace() {
+	tick(1_000L, 10.0);
+	aggregator.onPulse();
+	assertEquals(1, plot.getData().size());
+	assertEquals(1, additions);
+	tick(2_000L, 12.0);
+	tick(3_000L, 8.0);
+	tick(4_000L, 9.0);
+	aggregator.onPulse();
+	assertEquals(1, plot.getData().size());
+	assertEquals(1, additions);
+	assertEquals(1, replacements);
+	assertCandle(plot.getData().get(0), 0L, 10.0, 12.0, 8.0, 9.0, 4.0);
+	assertEquals(Double.valueOf(12.0), plot.getMaxY());
+	assertEquals(Double.valueOf(8.0), plot.getMinY());
+    }
+
+    @Test
+    public void testRollover() {
+	tick(1_000L, 10.0);
+	aggregator.onPulse();
+	// the open candle changes and is closed before the next pulse
+	tick(2_000L, 11.0);
+	tick(MINUTE + 1_000L, 20.0);
+	tick((2 * MINUTE) + 1_000L, 30.0);
+	aggregator.onPulse();
+	List<OHLCValue<Double>> data = plot.getData();
+	assertEquals(3, data.size());
+	assertCandle(data.get(0), 0L, 10.0, 11.0, 10.0, 11.0, 2.0);
+	assertCandle(data.get(1), MINUTE, 20.0, 20.0, 20.0, 20.0, 1.0);
+	assertCandle(data.get(2), 2 * MINUTE, 30.0, 30.0, 30.0, 30.0, 1.0);
+	// the shown open candle was replaced by its closed state
+	assertEquals(1, replacements);
+	assertEquals(3, additions);
+    }
+
+    @Test
+    public void testOutOfOrderTicks() {
+	tick(MINUTE + 30_000L, 10.0);
+	// older ticks within the open candle are still taken into account
+	tick(MINUTE + 10_000L, 7.0);
+	// ticks of closed candles are dropped
+	tick(MINUTE - 1L, 100.0);
+	tick(0L, 100.0);
+	assertEquals(2, aggregator.getDroppedTicks());
+	aggregator.onPulse();
+	assertEquals(1, plot.getData().size());
+	assertCandle(plot.getData().get(0), MINUTE, 10.0, 10.0, 7.0, 7.0, 2.0);
+	tick(2 * MINUTE, 11.0);
+	tick(MINUTE + 50_000L, 100.0);
+	aggregator.onPulse();
+	assertEquals(3, aggregator.getDroppedTicks());
+	assertCandle(plot.getData().get(0), MINUTE, 10.0, 10.0, 7.0, 7.0, 2.0);
+	assertEquals(2, plot.getData().size());
+    }
+
+    @Test
+    public void testMaxSize() {
+	aggregator.setMaxSize(3);
+	for (int minute = 0; minute < 5; minute++) {
+	    tick((minute * MINUTE) + 1L, minute);
+	    aggregator.onPulse();
+	    assertEquals(Math.min(3, minute + 1), plot.getData().size());
+	}
+	List<OHLCValue<Double>> data = plot.getData();
+	assertEquals(Instant.ofEpochMilli(2 * MINUTE), data.get(0).getStart());
+	assertEquals(Instant.ofEpochMilli(4 * MINUTE), data.get(2).getStart());
+	assertEquals(Double.valueOf(2.0), plot.getMinY());
+	// many closed candles within one pulse
+	for (int minute = 5; minute < 20; minute++) {
+	    tick((minute * MINUTE) + 1L, minute);
+	}
+	aggregator.onPulse();
+	assertEquals(3, data.size());
+	assertEquals(Instant.ofEpochMilli(17 * MINUTE), data.get(0).getStart());
+	assertThrows(IllegalArgumentException.class, () -> aggregator.setMaxSize(-1));
+    }
+
+    @Test
+    public void testPulsesStopWithoutTicks() {
+	tick(1_000L, 10.0);
+	tick(2_000L, 11.0);
+	assertEquals(1, starts);
+	aggregator.onPulse();
+	assertEquals(0, stops);
+	aggregator.onPulse();
+	assertEquals(1, stops);
+	tick(3_000L, 12.0);
+	assertEquals(2, starts);
+	aggregator.onPulse();
+	assertEquals(Double.valueOf(12.0), plot.getData().get(0).getClose());
+	assertThrows(IllegalArgumentException.class,
+		() -> new OHLCAggregator(plot, Duration.ZERO, () -> starts++, () -> stops++));
+    }
+
+}
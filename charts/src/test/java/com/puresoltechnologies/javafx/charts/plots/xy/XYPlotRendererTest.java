@@ -0,0 +1,74 @@
+package com.puresoltechnologies.javafx.charts.plots.xy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.puresoltechnologies.javafx.charts.HitIndex;
+import com.puresoltechnologies.javafx.charts.TestPreferences;
+import com.puresoltechnologies.javafx.charts.axes.Axis;
+import com.puresoltechnologies.javafx.charts.axes.AxisType;
+import com.puresoltechnologies.javafx.charts.axes.NumberAxis;
+import com.puresoltechnologies.javafx.charts.axes.NumberAxisRenderer;
+import com.puresoltechnologies.javafx.charts.plots.Plot;
+import com.puresoltechnologies.javafx.charts.plots.Raster;
+import com.puresoltechnologies.javafx.charts.plots.RasterPlotRenderer.RasterTask;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.paint.Color;
+
+public class XYPlotRendererTest {
+
+    @BeforeAll
+    public static void initializePreferences() throws IOException {
+	TestPreferences.initialize();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testRasterDrawsAndRecordsOneMarkerPerPixel() {
+	NumberAxis<Double> xAxis = new NumberAxis<>("x", "", AxisType.X, Double.class);
+	NumberAxis<Double> yAxis = new NumberAxis<>("y", "", AxisType.Y, Double.class);
+	XYPlot<Double, Double> plot = new XYPlot<>("plot", xAxis, yAxis);
+	plot.setColor(Color.RED);
+	int points = 100000;
+	for (int i = 0; i < points; i++) {
+	    plot.add(i / (double) points, (i % 7) / 7.0);
+	}
+	ObservableList<Plot<?, ?, ?>> plots = FXCollections.observableArrayList(plot);
+	XYPlotRenderer<Double, Double, XYValue<Double, Double>> renderer = new XYPlotRenderer<>(plot,
+		new NumberAxisRenderer((Axis<Number>) (Axis<?>) xAxis, plots),
+		new NumberAxisRenderer((Axis<Number>) (Axis<?>) yAxis, plots));
+	RasterTask task = renderer.prepareRaster(10.0, 10.0, 20.0, 20.0);
+	// the task works on a snapshot, so later points are not drawn
+	plot.add(2.0, 2.0);
+
+	Raster raster = new Raster(40, 40);
+	task.rasterize(raster);
+	HitIndex hitIndex = new HitIndex();
+	hitIndex.reset(40.0, 40.0);
+	task.recordHits(hitIndex);
+
+	assertTrue(hitIndex.size() > 0);
+	assertTrue(hitIndex.size() <= (27 * 27), hitIndex.size() + " hits for " + (27 * 27) + " pixels.");
+	int entry = hitIndex.find(20.0, 20.0);
+	assertTrue(entry >= 0);
+	assertEquals(plot, hitIndex.getOwner(entry));
+	int index = hitIndex.getIndex(entry);
+	assertTrue((index >= 0) && (index < points), "Index " + index + " is out of range.");
+	int markerPixels = 0;
+	for (int pixel : raster.getPixels()) {
+	    if (pixel == Raster.toArgb(Color.RED, 1.0)) {
+		markerPixels++;
+	    }
+	}
+	assertTrue(markerPixels > 0);
+	assertEquals(0, raster.getPixel(38, 38));
+    }
+
+}
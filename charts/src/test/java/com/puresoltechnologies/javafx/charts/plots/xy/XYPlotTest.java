@@ -0,0 +1,106 @@
+package com.puresoltechnologies.javafx.charts.plots.xy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.puresoltechnologies.javafx.charts.TestPreferences;
+import com.puresoltechnologies.javafx.charts.axes.AxisType;
+import com.puresoltechnologies.javafx.charts.axes.NumberAxis;
+
+public class XYPlotTest {
+
+    @BeforeAll
+    public static void initializePreferences() throws IOException {
+	TestPreferences.initialize();
+    }
+
+    private static XYPlot<Integer, Double> createPlot() {
+	return new XYPlot<>("plot", new NumberAxis<>("x", "", AxisType.X, Integer.class),
+		new NumberAxis<>("y", "", AxisType.Y, Double.class));
+    }
+
+    @Test
+    public void testAddPoints() {
+	XYPlot<Integer, Double> plot = createPlot();
+	long revision = plot.revisionProperty().get();
+	plot.add(3.0, 1.5);
+	plot.add(-2.0, Double.NaN);
+	plot.add(7.0, -4.0);
+	assertTrue(plot.revisionProperty().get() > revision);
+	assertTrue(plot.data().isEmpty());
+	assertEquals(3, plot.getSeries().size());
+	assertEquals(-2.0, plot.getSeries().getX(1));
+	assertTrue(plot.hasData());
+	assertEquals(Integer.valueOf(-2), plot.getMinX());
+	assertEquals(Integer.valueOf(7), plot.getMaxX());
+	assertEquals(Double.valueOf(-4.0), plot.getMinY());
+	assertEquals(Double.valueOf(1.5), plot.getMaxY());
+	assertEquals(3, plot.getItemCount());
+	assertEquals(Integer.valueOf(7), plot.getItemX(2));
+	assertEquals(Double.valueOf(-4.0), plot.getItemY(2));
+	assertThrows(UnsupportedOperationException.class, () -> plot.getItem(0));
+	assertThrows(IllegalStateException.class, () -> {
+	    XYPlot<Integer, Double> dataPlot = createPlot();
+	    dataPlot.data().add(new XYValue<>(1, 1.0));
+	    dataPlot.add(2.0, 2.0);
+	});
+	plot.clearPoints();
+	assertFalse(plot.hasData());
+	assertEquals(0, plot.getSeries().size());
+    }
+
+    @Test
+    public void testDataReplacesPoints() {
+	XYPlot<Integer, Double> plot = createPlot();
+	plot.add(100.0, 100.0);
+	plot.setData(Arrays.asList(new XYValue<>(1, 2.0), new XYValue<>(3, 4.0)));
+	assertEquals(2, plot.getItemCount());
+	assertEquals(2, plot.getSeries().size());
+	assertEquals(Integer.valueOf(1), plot.getMinX());
+	assertEquals(Integer.valueOf(3), plot.getMaxX());
+	assertEquals(Double.valueOf(4.0), plot.getMaxY());
+	assertEquals(Integer.valueOf(3), plot.getItemX(1));
+    }
+
+    /**
+     * Streams ascending x values, which are not tracked by the extrema, and
+     * later unordered ones, which are, and compares to a full scan.
+     */
+    @Test
+    public void testStreamingXExtremaAgainstFullScan() {
+	XYPlot<Integer, Double> plot = createPlot();
+	Random random = new Random(42);
+	int x = 0;
+	for (int i = 0; i < 5_000; i++) {
+	    // the second half is not ordered anymore
+	    x = i < 2_500 ? x + random.nextInt(3) : random.nextInt(1000);
+	    XYValue<Integer, Double> value = new XYValue<>(x, random.nextGaussian());
+	    if (!plot.data().isEmpty() && (random.nextInt(4) == 0)) {
+		plot.data().set(plot.data().size() - 1, value);
+	    } else {
+		plot.data().add(value);
+	    }
+	    if (plot.data().size() > 100) {
+		plot.data().remove(0, 1 + random.nextInt(3));
+	    }
+	    List<Integer> xValues = plot.data().stream().map(XYValue::getX).collect(Collectors.toList());
+	    assertEquals(Collections.min(xValues), plot.getMinX());
+	    assertEquals(Collections.max(xValues), plot.getMaxX());
+	}
+	plot.data().clear();
+	assertFalse(plot.hasData());
+    }
+
+}
@@ -0,0 +1,226 @@
+package com.puresoltechnologies.javafx.charts.tree;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class TreeMapLayoutTest {
+
+    private static final double TITLE_HEIGHT = 10.0;
+
+    private static class Node implements TreeMapNode {
+
+	private final String name;
+	private final Node parent;
+	private final List<TreeMapNode> children = new ArrayList<>();
+	private double value;
+
+	Node(Node parent, String name, double value) {
+	    this.parent = parent;
+	    this.name = name;
+	    this.value = value;
+	    if (parent != null) {
+		parent.children.add(this);
+	    }
+	}
+
+	@Override
+	public String getName() {
+	    return name;
+	}
+
+	@Override
+	public double getValue() {
+	    return value;
+	}
+
+	@Override
+	public TreeMapNode getParent() {
+	    return parent;
+	}
+
+	@Override
+	public List<TreeMapNode> getChildren() {
+	    return children;
+	}
+    }
+
+    private static Node createTree() {
+	Node root = new Node(null, "root", 100.0);
+	Node a = new Node(root, "a", 10.0);
+	new Node(root, "b", 60.0);
+	new Node(root, "c", 30.0);
+	for (int i = 1; i <= 4; i++) {
+	    new Node(a, "a" + i, i);
+	}
+	return root;
+    }
+
+    private static void assertChildrenFillParent(TreeMapLayout layout, int entry) {
+	double parentArea = layout.getWidth(entry) * (layout.getHeight(entry) - TITLE_HEIGHT);
+	double valueSum = 0.0;
+	for (int child = entry + 1; child < layout.getEnd(entry); child = layout.getEnd(child)) {
+	    valueSum += layout.getNode(child).getValue();
+	}
+	for (int child = entry + 1; child < layout.getEnd(entry); child = layout.getEnd(child)) {
+	    assertEquals(entry, layout.getParent(child));
+	    double area = layout.getWidth(child) * layout.getHeight(child);
+	    assertEquals((parentArea * layout.getNode(child).getValue()) / valueSum, area, 1.0e-6);
+	    assertTrue(layout.getX(child) >= (layout.getX(entry) - 1.0e-9));
+	    assertTrue(layout.getY(child) >= ((layout.getY(entry) + TITLE_HEIGHT) - 1.0e-9));
+	    assertTrue((layout.getX(child) + layout.getWidth(child)) <= (layout.getX(entry) + layout.getWidth(entry)
+		    + 1.0e-9));
+	    assertTrue((layout.getY(child) + layout.getHeight(child)) <= (layout.getY(entry)
+		    + layout.getHeight(entry) + 1.0e-9));
+	}
+    }
+
+    @Test
+    public void testLayout() {
+	Node root = createTree();
+	TreeMapLayout layout = new TreeMapLayout(node -> TITLE_HEIGHT);
+	assertTrue(layout.update(root, 3, 0.0, 0.0, 400.0, 210.0));
+	assertEquals(8, layout.size());
+	assertSame(root, layout.getNode(0));
+	assertEquals(-1, layout.getParent(0));
+	assertEquals(8, layout.getEnd(0));
+	// children are sorted by descending value
+	assertEquals("b", layout.getNode(1).getName());
+	assertEquals("c", layout.getNode(2).getName());
+	assertEquals("a", layout.getNode(3).getName());
+	assertEquals("a4", layout.getNode(4).getName());
+	assertChildrenFillParent(layout, 0);
+	assertChildrenFillParent(layout, 3);
+	// the tree itself is not sorted
+	assertEquals("a", root.getChildren().get(0).getName());
+    }
+
+    @Test
+    public void testDepth() {
+	TreeMapLayout layout = new TreeMapLayout(node -> TITLE_HEIGHT);
+	layout.update(createTree(), 2, 0.0, 0.0, 400.0, 210.0);
+	assertEquals(4, layout.size());
+	layout.update(createTree(), 1, 0.0, 0.0, 400.0, 210.0);
+	assertEquals(1, layout.size());
+    }
+
+    @Test
+    public void testCache() {
+	Node root = createTree();
+	TreeMapLayout layout = new TreeMapLayout(node -> TITLE_HEIGHT);
+	assertTrue(layout.update(root, 3, 0.0, 0.0, 400.0, 210.0));
+	assertFalse(layout.update(root, 3, 0.0, 0.0, 400.0, 210.0));
+	assertTrue(layout.update(root, 3, 0.0, 0.0, 500.0, 210.0));
+	layout.invalidate();
+	assertTrue(layout.update(root, 3, 0.0, 0.0, 500.0, 210.0));
+    }
+
+    @Test
+    public void testNodeChanged() {
+	Node root = createTree();
+	TreeMapLayout layout = new TreeMapLayout(node -> TITLE_HEIGHT);
+	layout.update(root, 3, 0.0, 0.0, 400.0, 210.0);
+	double rootWidth = layout.getWidth(0);
+	Node a3 = (Node) root.getChildren().get(0).getChildren().get(2);
+	a3.value = 20.0;
+	layout.nodeChanged(a3);
+	assertTrue(layout.update(root, 3, 0.0, 0.0, 400.0, 210.0));
+	// a3 is the largest child of a now
+	assertSame(a3, layout.getNode(4));
+	assertEquals(rootWidth, layout.getWidth(0), 1.0e-9);
+	assertChildrenFillParent(layout, 3);
+	assertFalse(layout.update(root, 3, 0.0, 0.0, 400.0, 210.0));
+	// a new node changes the structure, so everything is laid out again
+	assertTrue(layout.update(root, 4, 0.0, 0.0, 400.0, 210.0));
+	assertEquals(8, layout.size());
+	new Node(a3, "a31", 1.0);
+	layout.nodeChanged(a3);
+	assertTrue(layout.update(root, 4, 0.0, 0.0, 400.0, 210.0));
+	assertEquals(9, layout.size());
+	assertEquals("a31", layout.getNode(5).getName());
+	assertChildrenFillParent(layout, 0);
+    }
+
+    @Test
+    public void testManyChangedNodes() {
+	Node root = new Node(null, "root", 1.0);
+	List<Node> leafs = new ArrayList<>();
+	for (int i = 0; i < 50; i++) {
+	    Node child = new Node(root, "n" + i, 1.0 + i);
+	    for (int j = 0; j < 20; j++) {
+		leafs.add(new Node(child, "n" + i + "." + j, 1.0 + j));
+	    }
+	}
+	// a node shared by two parents is laid out at both places
+	Node shared = new Node((Node) root.getChildren().get(0), "shared", 5.0);
+	((Node) root.getChildren().get(1)).children.add(shared);
+	TreeMapLayout layout = new TreeMapLayout(node -> TITLE_HEIGHT);
+	layout.update(root, 3, 0.0, 0.0, 1000.0, 800.0);
+	Random random = new Random(7);
+	// the entries move within their parents, so they are changed in rounds
+	for (int round = 0; round < 5; round++) {
+	    for (int i = 0; i < 100; i++) {
+		Node leaf = leafs.get(random.nextInt(leafs.size()));
+		leaf.value = 1.0 + random.nextInt(100);
+		layout.nodeChanged(leaf);
+		layout.nodeChanged(leaf);
+	    }
+	    assertTrue(layout.update(root, 3, 0.0, 0.0, 1000.0, 800.0));
+	    assertSameLayout(root, layout);
+	}
+	shared.value = 500.0;
+	layout.nodeChanged(shared);
+	assertTrue(layout.update(root, 3, 0.0, 0.0, 1000.0, 800.0));
+	assertSameLayout(root, layout);
+	assertFalse(layout.update(root, 3, 0.0, 0.0, 1000.0, 800.0));
+    }
+
+    private static void assertSameLayout(Node root, TreeMapLayout layout) {
+	TreeMapLayout expected = new TreeMapLayout(node -> TITLE_HEIGHT);
+	expected.update(root, 3, 0.0, 0.0, 1000.0, 800.0);
+	assertEquals(expected.size(), layout.size());
+	for (int entry = 0; entry < expected.size(); entry++) {
+	    assertSame(expected.getNode(entry), layout.getNode(entry));
+	    assertEquals(expected.getX(entry), layout.getX(entry), 1.0e-9);
+	    assertEquals(expected.getY(entry), layout.getY(entry), 1.0e-9);
+	    assertEquals(expected.getWidth(entry), layout.getWidth(entry), 1.0e-9);
+	    assertEquals(expected.getHeight(entry), layout.getHeight(entry), 1.0e-9);
+	}
+    }
+
+    private static void addChildren(Node parent, int depth, Random random) {
+	int count = depth == 0 ? 0 : 2 + random.nextInt(depth * 4);
+	for (int i = 0; i < count; i++) {
+	    Node child = new Node(parent, parent.getName() + "." + i, 1.0 + random.nextInt(1000));
+	    addChildren(child, depth - 1, random);
+	}
+    }
+
+    @Test
+    public void testParallelLayout() {
+	Node root = new Node(null, "root", 1.0);
+	addChildren(root, 5, new Random(42));
+	TreeMapLayout sequential = new TreeMapLayout(node -> 2.0);
+	sequential.update(root, 10, 0.0, 0.0, 1920.0, 1080.0);
+	TreeMapLayout parallel = new TreeMapLayout(node -> 2.0);
+	parallel.setParallel(true);
+	parallel.update(root, 10, 0.0, 0.0, 1920.0, 1080.0);
+	assertTrue(sequential.size() > 10000, "Tree is too small with " + sequential.size() + " nodes.");
+	assertEquals(sequential.size(), parallel.size());
+	for (int entry = 0; entry < sequential.size(); entry++) {
+	    assertSame(sequential.getNode(entry), parallel.getNode(entry));
+	    assertEquals(sequential.getX(entry), parallel.getX(entry));
+	    assertEquals(sequential.getY(entry), parallel.getY(entry));
+	    assertEquals(sequential.getWidth(entry), parallel.getWidth(entry));
+	    assertEquals(sequential.getHeight(entry), parallel.getHeight(entry));
+	}
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.puresoltechnologies.javafx.charts.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.puresoltechnologies.javafx.charts.utils.InstantTickCalculator.TickStep;
+
+public class InstantTickCalculatorTest {
+
+    private static long millis(String instant) {
+	return Instant.parse(instant).toEpochMilli();
+    }
+
+    @Test
+    public void testCalculateStep() {
+	long min = millis("2019-01-01T00:00:00Z");
+	// one hour on 600 pixels with at least 50 pixels gives 12 ticks at most
+	TickStep step = InstantTickCalculator.calculateStep(min, min + 3600000L, 600.0, 50.0);
+	assertEquals(ChronoUnit.MINUTES, step.getUnit());
+	assertEquals(5, step.getAmount());
+	// one year on 600 pixels
+	step = InstantTickCalculator.calculateStep(min, millis("2020-01-01T00:00:00Z"), 600.0, 50.0);
+	assertEquals(ChronoUnit.MONTHS, step.getUnit());
+	assertEquals(1, step.getAmount());
+	// a century on 600 pixels
+	step = InstantTickCalculator.calculateStep(min, millis("2119-01-01T00:00:00Z"), 600.0, 50.0);
+	assertEquals(ChronoUnit.YEARS, step.getUnit());
+	assertEquals(10, step.getAmount());
+    }
+
+    @Test
+    public void testCalculateTicksFixedStep() {
+	long min = millis("2019-01-01T00:03:20Z");
+	long max = millis("2019-01-01T00:21:00Z");
+	TickStep step = InstantTickCalculator.calculateStep(min, max, 400.0, 100.0);
+	assertEquals(ChronoUnit.MINUTES, step.getUnit());
+	assertEquals(5, step.getAmount());
+	assertArrayEquals(new long[] { //
+		millis("2019-01-01T00:05:00Z"), //
+		millis("2019-01-01T00:10:00Z"), //
+		millis("2019-01-01T00:15:00Z"), //
+		millis("2019-01-01T00:20:00Z") //
+	}, InstantTickCalculator.calculateTicks(min, max, step));
+    }
+
+    @Test
+    public void testCalculateTicksMonths() {
+	long min = millis("2019-02-15T12:00:00Z");
+	long max = millis("2019-12-31T00:00:00Z");
+	TickStep step = InstantTickCalculator.calculateStep(min, max, 400.0, 100.0);
+	assertEquals(ChronoUnit.MONTHS, step.getUnit());
+	assertEquals(3, step.getAmount());
+	assertArrayEquals(new long[] { //
+		millis("2019-04-01T00:00:00Z"), //
+		millis("2019-07-01T00:00:00Z"), //
+		millis("2019-10-01T00:00:00Z") //
+	}, InstantTickCalculator.calculateTicks(min, max, step));
+	assertTrue(InstantTickCalculator.format(millis("2019-07-01T00:00:00Z"), step).startsWith("2019\n"));
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.puresoltechnologies.javafx.charts.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.LongFunction;
+
+import org.junit.jupiter.api.Test;
+
+public class TickLabelCacheTest {
+
+    @Test
+    public void testLabels() {
+	int[] calls = new int[1];
+	LongFunction<String> formatter = tick -> {
+	    calls[0]++;
+	    return String.valueOf(tick);
+	};
+	TickLabelCache cache = new TickLabelCache(4);
+	String label = cache.getLabel(42, "a", formatter);
+	assertEquals("42", label);
+	assertSame(label, cache.getLabel(42, "a", formatter));
+	assertEquals(1, calls[0]);
+	// more keys than slots replace each other, but the labels stay correct
+	for (long key = 0; key < 100; key++) {
+	    assertEquals(String.valueOf(key), cache.getLabel(key, "a", formatter));
+	}
+	// a new format drops the labels
+	calls[0] = 0;
+	cache.getLabel(99, "b", formatter);
+	assertEquals(1, calls[0]);
+    }
+
+    /**
+     * Labels the ticks of an unchanged axis again and again, like a redraw does,
+     * and checks that no memory is allocated for it.
+     */
+    @Test
+    public void testSteadyStateDoesNotAllocate() {
+	assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+	com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory
+		.getThreadMXBean();
+	assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+	threadMXBean.setThreadAllocatedMemoryEnabled(true);
+	TickLabelCache cache = new TickLabelCache();
+	LongFunction<String> formatter = tick -> String.format("%.2f", tick * 0.01);
+	Integer format = -2;
+	int frames = 10000;
+	long checksum = 0;
+	// the first frames fill the cache and let the JIT compile the loop
+	for (int frame = 0; frame < frames; frame++) {
+	    checksum += drawFrame(cache, format, formatter);
+	}
+	long threadId = Thread.currentThread().getId();
+	long before = threadMXBean.getThreadAllocatedBytes(threadId);
+	for (int frame = 0; frame < frames; frame++) {
+	    checksum += drawFrame(cache, format, formatter);
+	}
+	long bytesPerFrame = (threadMXBean.getThreadAllocatedBytes(threadId) - before) / frames;
+	assertTrue(checksum > 0);
+	assertTrue(bytesPerFrame < 16, bytesPerFrame + " bytes allocated per frame.");
+    }
+
+    private static long drawFrame(TickLabelCache cache, Integer format, LongFunction<String> formatter) {
+	long length = 0;
+	for (long tick = -10; tick <= 20; tick++) {
+	    length += cache.getLabel(tick, format, formatter).length();
+	}
+	return length;
+    }
+
+}
@@ -67,6 +67,48 @@ public class FontDefinition implements Serializable {
 	return Font.font(family, weight, posture, size);
     }
 
+    @Override
+    public int hashCode() {
+	final int prime = 31;
+	int result = 1;
+	result = prime * result + ((color == null) ? 0 : color.hashCode());
+	result = prime * result + ((family == null) ? 0 : family.hashCode());
+	result = prime * result + ((posture == null) ? 0 : posture.hashCode());
+	long temp;
+	temp = Double.doubleToLongBits(size);
+	result = prime * result + (int) (temp ^ (temp >>> 32));
+	result = prime * result + ((weight == null) ? 0 : weight.hashCode());
+	return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+	if (this == obj)
+	    return true;
+	if (obj == null)
+	    return false;
+	if (getClass() != obj.getClass())
+	    return false;
+	FontDefinition other = (FontDefinition) obj;
+	if (color == null) {
+	    if (other.color != null)
+		return false;
+	} else if (!color.equals(other.color))
+	    return false;
+	if (family == null) {
+	    if (other.family != null)
+		return false;
+	} else if (!family.equals(other.family))
+	    return false;
+	if (posture != other.posture)
+	    return false;
+	if (Double.doubleToLongBits(size) != Double.doubleToLongBits(other.size))
+	    return false;
+	if (weight != other.weight)
+	    return false;
+	return true;
+    }
+
     @Override
     public String toString() {
 	StringBuilder builder = new StringBuilder(family);